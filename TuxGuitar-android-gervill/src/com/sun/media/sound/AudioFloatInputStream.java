@@ -68,6 +68,26 @@ public abstract class AudioFloatInputStream {
 
         }
 
+        private boolean isCompatible(AudioFormat format) {
+            AudioFormat cformat = converter.getFormat();
+            return cformat.getEncoding().equals(format.getEncoding())
+                    && cformat.getChannels() == format.getChannels()
+                    && cformat.getSampleSizeInBits() == format.getSampleSizeInBits()
+                    && cformat.getFrameSize() == format.getFrameSize()
+                    && (cformat.getSampleSizeInBits() <= 8
+                        || cformat.isBigEndian() == format.isBigEndian());
+        }
+
+        private void open(AudioFormat format, byte[] buffer, int offset,
+                int len) {
+            this.format = format;
+            this.buffer = buffer;
+            this.buffer_offset = offset;
+            this.buffer_len = len / framesize_pc;
+            this.pos = 0;
+            this.markpos = 0;
+        }
+
         public AudioFormat getFormat() {
             return format;
         }
@@ -236,6 +256,24 @@ public abstract class AudioFloatInputStream {
         return new DirectAudioFloatInputStream(stream);
     }
 
+    /**
+     * Same as getInputStream(format, buffer, offset, len), but rewinds and
+     * returns the given stream when it was created by this method for a
+     * compatible sample encoding, so reopening a stream doesn't allocate.
+     */
+    public static AudioFloatInputStream getInputStream(AudioFormat format,
+            byte[] buffer, int offset, int len, AudioFloatInputStream reuse) {
+        if (reuse instanceof BytaArrayAudioFloatInputStream) {
+            BytaArrayAudioFloatInputStream stream
+                    = (BytaArrayAudioFloatInputStream) reuse;
+            if (stream.isCompatible(format)) {
+                stream.open(format, buffer, offset, len);
+                return stream;
+            }
+        }
+        return getInputStream(format, buffer, offset, len);
+    }
+
     public static AudioFloatInputStream getInputStream(AudioFormat format,
             byte[] buffer, int offset, int len) {
         AudioFloatConverter converter = AudioFloatConverter
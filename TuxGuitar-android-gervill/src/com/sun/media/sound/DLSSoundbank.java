@@ -183,6 +183,7 @@ public class DLSSoundbank implements Soundbank {
 
     private boolean largeFormat = false;
     private File sampleFile;
+    private ModelByteBuffer mappedFile;
 
     public DLSSoundbank() {
     }
@@ -197,8 +198,19 @@ public class DLSSoundbank implements Soundbank {
     }
 
     public DLSSoundbank(File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * Reads the soundbank headers only. Sample data is read from the file
+     * when instruments are loaded or, if mapped is true, memory-mapped and
+     * paged in per sample on first use (see ModelByteBuffer.map).
+     */
+    public DLSSoundbank(File file, boolean mapped) throws IOException {
         largeFormat = true;
         sampleFile = file;
+        if (mapped)
+            mappedFile = ModelByteBuffer.map(file, 0, file.length());
         InputStream is = new FileInputStream(file);
         try {
             readSoundbank(is);
@@ -791,7 +803,12 @@ public class DLSSoundbank implements Soundbank {
                 }
 
                 if (format.equals("data")) {
-                    if (largeFormat) {
+                    if (mappedFile != null && mappedFile.isMapped()) {
+                        sample.setData(mappedFile.subbuffer(
+                                chunk.getFilePointer(),
+                                chunk.getFilePointer() + chunk.available(),
+                                true));
+                    } else if (largeFormat) {
                         sample.setData(new ModelByteBuffer(sampleFile,
                                 chunk.getFilePointer(), chunk.available()));
                     } else {
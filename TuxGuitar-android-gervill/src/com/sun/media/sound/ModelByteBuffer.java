@@ -27,23 +27,43 @@ package com.sun.media.sound;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 /**
  * This class is a pointer to a binary array either in memory or on disk.
  *
+ * Buffers created with map() are backed by a read-only memory mapping of
+ * the file. Their data is copied into the heap by loadAll(), or the first
+ * time array() is called, and the least recently used copies are dropped
+ * again once all mapped buffers together hold more than
+ * getMappedCacheSize() bytes.
+ *
  * @author Karl Helgason
  */
 public class ModelByteBuffer {
 
+    private static final long DEFAULT_MAPPED_CACHE_SIZE = 64L * 1024 * 1024;
+
+    // resident mapped buffers, least recently used first
+    private static final LinkedHashMap<ModelByteBuffer, Boolean> mappedResident
+            = new LinkedHashMap<ModelByteBuffer, Boolean>(16, 0.75f, true);
+    private static long mappedCacheSize = DEFAULT_MAPPED_CACHE_SIZE;
+    private static long mappedResidentSize = 0;
+
     private ModelByteBuffer root = this;
     private File file;
     private long fileoffset;
-    private byte[] buffer;
+    private ByteBuffer mapped;
+    private volatile byte[] buffer;
     private long offset;
     private long len;
 
@@ -155,6 +175,13 @@ public class ModelByteBuffer {
             if (root.file != null) {
                 file = root.file;
                 fileoffset = root.fileoffset + arrayOffset();
+                if (root.mapped != null) {
+                    ByteBuffer region = root.mapped.duplicate();
+                    region.position((int) arrayOffset());
+                    region.limit((int) (arrayOffset() + len));
+                    mapped = region.slice();
+                    buffer = null;
+                }
                 offset = 0;
             } else
                 offset = arrayOffset();
@@ -186,8 +213,87 @@ public class ModelByteBuffer {
         this.len = len;
     }
 
+    /**
+     * Creates a buffer backed by a read-only memory mapping of the given
+     * file region. Regions too large to be mapped at once fall back to
+     * a plain file buffer.
+     */
+    public static ModelByteBuffer map(File file, long offset, long len)
+            throws IOException {
+        ModelByteBuffer mbuff = new ModelByteBuffer(file, offset, len);
+        if (len > Integer.MAX_VALUE)
+            return mbuff;
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            // the mapping stays valid after the channel is closed
+            mbuff.mapped = fis.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                    offset, len);
+        } finally {
+            fis.close();
+        }
+        return mbuff;
+    }
+
+    public static long getMappedCacheSize() {
+        synchronized (mappedResident) {
+            return mappedCacheSize;
+        }
+    }
+
+    public static void setMappedCacheSize(long size) {
+        synchronized (mappedResident) {
+            mappedCacheSize = size;
+            trimMapped(null);
+        }
+    }
+
+    public static long getMappedResidentSize() {
+        synchronized (mappedResident) {
+            return mappedResidentSize;
+        }
+    }
+
+    private static void trimMapped(ModelByteBuffer keep) {
+        Iterator<ModelByteBuffer> iter = mappedResident.keySet().iterator();
+        while (mappedResidentSize > mappedCacheSize && iter.hasNext()) {
+            ModelByteBuffer mbuff = iter.next();
+            if (mbuff == keep)
+                continue;
+            iter.remove();
+            mbuff.buffer = null;
+            mappedResidentSize -= mbuff.len;
+        }
+    }
+
+    private byte[] pageIn() {
+        byte[] data = buffer;
+        if (data == null) {
+            // copied outside the lock, a concurrent page in of the same
+            // buffer only wastes its copy
+            data = new byte[(int) len];
+            ByteBuffer region = mapped.duplicate();
+            region.position(0);
+            region.get(data);
+        }
+        synchronized (mappedResident) {
+            if (buffer != null) {
+                mappedResident.get(this);
+                return buffer;
+            }
+            buffer = data;
+            mappedResident.put(this, Boolean.TRUE);
+            mappedResidentSize += len;
+            trimMapped(this);
+            return data;
+        }
+    }
+
+    public boolean isMapped() {
+        return root.mapped != null;
+    }
+
     public void writeTo(OutputStream out) throws IOException {
-        if (root.file != null && root.buffer == null) {
+        if (root.file != null && root.mapped == null && root.buffer == null) {
             InputStream is = getInputStream();
             byte[] buff = new byte[1024];
             int ret;
@@ -198,7 +304,7 @@ public class ModelByteBuffer {
     }
 
     public InputStream getInputStream() {
-        if (root.file != null && root.buffer == null) {
+        if (root.file != null && root.mapped == null && root.buffer == null) {
             try {
                 return new RandomFileInputStream();
             } catch (IOException e) {
@@ -224,6 +330,8 @@ public class ModelByteBuffer {
     }
 
     public byte[] array() {
+        if (root.mapped != null)
+            return root.pageIn();
         return root.buffer;
     }
 
@@ -260,6 +368,12 @@ public class ModelByteBuffer {
                     continue;
                 if (mbuff.buffer != null)
                     continue;
+                // mapped buffers are paged in here, when the instrument is
+                // loaded, so that notes do not copy them while rendering
+                if (mbuff.mapped != null) {
+                    mbuff.pageIn();
+                    continue;
+                }
                 if (selfile == null || !selfile.equals(mbuff.file)) {
                     if (raf != null) {
                         raf.close();
@@ -304,6 +418,10 @@ public class ModelByteBuffer {
             throw new IllegalStateException(
                     "No file associated with this ByteBuffer!");
         }
+        if (mapped != null) {
+            pageIn();
+            return;
+        }
 
         DataInputStream is = new DataInputStream(getInputStream());
         buffer = new byte[(int) capacity()];
@@ -322,6 +440,14 @@ public class ModelByteBuffer {
             throw new IllegalStateException(
                     "No file associated with this ByteBuffer!");
         }
+        if (mapped != null) {
+            synchronized (mappedResident) {
+                if (mappedResident.remove(this) != null)
+                    mappedResidentSize -= len;
+                buffer = null;
+            }
+            return;
+        }
         root.buffer = null;
     }
 }
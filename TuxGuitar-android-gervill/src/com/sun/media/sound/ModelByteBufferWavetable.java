@@ -194,6 +194,10 @@ public class ModelByteBufferWavetable implements ModelWavetable {
     }
 
     public AudioFloatInputStream openStream() {
+        return openStream(null);
+    }
+
+    public AudioFloatInputStream openStream(AudioFloatInputStream reuse) {
         if (buffer == null)
             return null;
         if (format == null) {
@@ -230,7 +234,7 @@ public class ModelByteBufferWavetable implements ModelWavetable {
             }
         }
         return AudioFloatInputStream.getInputStream(format, buffer.array(),
-                (int)buffer.arrayOffset(), (int)buffer.capacity());
+                (int)buffer.arrayOffset(), (int)buffer.capacity(), reuse);
     }
 
     public int getChannels() {
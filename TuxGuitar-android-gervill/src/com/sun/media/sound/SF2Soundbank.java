@@ -99,6 +99,7 @@ public class SF2Soundbank implements Soundbank {
     private ModelByteBuffer sampleData24 = null;
     private File sampleFile = null;
     private boolean largeFormat = false;
+    private boolean mappedFormat = false;
     private List<SF2Instrument> instruments = new ArrayList<SF2Instrument>();
     private List<SF2Layer> layers = new ArrayList<SF2Layer>();
     private List<SF2Sample> samples = new ArrayList<SF2Sample>();
@@ -117,7 +118,17 @@ public class SF2Soundbank implements Soundbank {
     }
 
     public SF2Soundbank(File file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * Reads the soundbank headers only. Sample data is read from the file
+     * when instruments are loaded or, if mapped is true, memory-mapped and
+     * paged in per sample on first use (see ModelByteBuffer.map).
+     */
+    public SF2Soundbank(File file, boolean mapped) throws IOException {
         largeFormat = true;
+        mappedFormat = mapped;
         sampleFile = file;
         InputStream is = new FileInputStream(file);
         try {
@@ -208,6 +219,9 @@ public class SF2Soundbank implements Soundbank {
                     }
                     this.sampleData = new ModelByteBuffer(sampleData);
                     //chunk.read(sampleData);
+                } else if (mappedFormat) {
+                    this.sampleData = ModelByteBuffer.map(sampleFile,
+                            chunk.getFilePointer(), chunk.available());
                 } else {
                     this.sampleData = new ModelByteBuffer(sampleFile,
                             chunk.getFilePointer(), chunk.available());
@@ -231,6 +245,9 @@ public class SF2Soundbank implements Soundbank {
 
                     }
                     this.sampleData24 = new ModelByteBuffer(sampleData24);
+                } else if (mappedFormat) {
+                    this.sampleData24 = ModelByteBuffer.map(sampleFile,
+                            chunk.getFilePointer(), chunk.available());
                 } else {
                     this.sampleData24 = new ModelByteBuffer(sampleFile,
                             chunk.getFilePointer(), chunk.available());
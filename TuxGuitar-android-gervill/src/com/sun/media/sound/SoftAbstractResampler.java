@@ -98,7 +98,10 @@ public abstract class SoftAbstractResampler implements SoftResampler {
                 ibuffer = new float[nrofchannels][sector_size + pad2];
             }
 
-            stream = osc.openStream();
+            if (osc instanceof ModelByteBufferWavetable)
+                stream = ((ModelByteBufferWavetable)osc).openStream(stream);
+            else
+                stream = osc.openStream();
             streampos = 0;
             stream_eof = false;
             pitchcorrection = osc.getPitchcorrection();
@@ -40,6 +40,7 @@ public class SoftAudioBuffer {
 
     private int size;
     private float[] buffer;
+    private float[] ramp;
     private boolean empty = true;
     private AudioFormat format;
     private AudioFloatConverter converter;
@@ -51,6 +52,22 @@ public class SoftAudioBuffer {
         converter = AudioFloatConverter.getConverter(format);
     }
 
+    /**
+     * Returns a table holding (i + 1) / size for every sample.
+     *
+     * Gain ramps written as from + (to - from) * ramp[i] have no dependency
+     * between iterations, which lets the JIT vectorize them. The table
+     * belongs to the buffer, so it is only touched by the thread rendering it.
+     */
+    public float[] getRamp() {
+        if (ramp == null) {
+            ramp = new float[size];
+            for (int i = 0; i < size; i++)
+                ramp[i] = (i + 1) / (float) size;
+        }
+        return ramp;
+    }
+
     public AudioFormat getFormat() {
         return format;
     }
@@ -361,7 +361,6 @@ public class SoftChannel implements MidiChannel, ModelDirectedPlayer {
         voice.program = program;
         voice.instrument = current_instrument;
         voice.performer = p;
-        voice.objects.clear();
         voice.objects.put("midi", co_midi[noteNumber]);
         voice.objects.put("midi_cc", co_midi_cc);
         voice.objects.put("midi_rpn", co_midi_rpn);
@@ -420,6 +420,8 @@ public class SoftMainMixer {
     }
 
     private void processMessages(long timeStamp) {
+        if (midimessages.isEmpty())
+            return;
         Iterator<Entry<Long, Object>> iter = midimessages.entrySet().iterator();
         while (iter.hasNext()) {
             Entry<Long, Object> entry = iter.next();
@@ -575,21 +577,18 @@ public class SoftMainMixer {
             float[] right = buffers[CHANNEL_RIGHT].array();
             int bufferlen = buffers[CHANNEL_LEFT].getSize();
 
+            float[] ramp = buffers[CHANNEL_LEFT].getRamp();
             float amp;
-            float amp_delta;
+            float amp_range;
             amp = (float)(last_volume_left * last_volume_left);
-            amp_delta = (float)((volume_left * volume_left - amp) / bufferlen);
-            for (int i = 0; i < bufferlen; i++) {
-                amp += amp_delta;
-                left[i] *= amp;
-            }
+            amp_range = (float)(volume_left * volume_left - amp);
+            for (int i = 0; i < bufferlen; i++)
+                left[i] *= amp + amp_range * ramp[i];
             if (nrofchannels != 1) {
                 amp = (float)(last_volume_right * last_volume_right);
-                amp_delta = (float)((volume_right*volume_right - amp) / bufferlen);
-                for (int i = 0; i < bufferlen; i++) {
-                    amp += amp_delta;
-                    right[i] *= volume_right;
-                }
+                amp_range = (float)(volume_right * volume_right - amp);
+                for (int i = 0; i < bufferlen; i++)
+                    right[i] *= amp + amp_range * ramp[i];
             }
             last_volume_left = volume_left;
             last_volume_right = volume_right;
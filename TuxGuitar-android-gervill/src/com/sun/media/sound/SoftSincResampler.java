@@ -35,22 +35,35 @@ import com.sun.media.sound.SoftAbstractResampler;
  */
 public class SoftSincResampler extends SoftAbstractResampler {
 
+    static final int sinc_scale_size = 100;
+    static final int sinc_table_fsize = 800;
+    static final int sinc_table_size = 30;
+    static final int sinc_table_center = sinc_table_size / 2;
+
+    // The tables take about 10 MB and are the same for every instance,
+    // so they are built once and shared by all synthesizers.
+    private static float[][][] shared_sinc_table;
+
     float[][][] sinc_table;
-    int sinc_scale_size = 100;
-    int sinc_table_fsize = 800;
-    int sinc_table_size = 30;
-    int sinc_table_center = sinc_table_size / 2;
 
     public SoftSincResampler() {
         super();
-        sinc_table = new float[sinc_scale_size][sinc_table_fsize][];
-        for (int s = 0; s < sinc_scale_size; s++) {
-            float scale = (float) (1.0 / (1.0 + Math.pow(s, 1.1) / 10.0));
-            for (int i = 0; i < sinc_table_fsize; i++) {
-                sinc_table[s][i] = sincTable(sinc_table_size,
-                        -i / ((float)sinc_table_fsize), scale);
+        sinc_table = getSincTable();
+    }
+
+    private static synchronized float[][][] getSincTable() {
+        if (shared_sinc_table == null) {
+            float[][][] table = new float[sinc_scale_size][sinc_table_fsize][];
+            for (int s = 0; s < sinc_scale_size; s++) {
+                float scale = (float) (1.0 / (1.0 + Math.pow(s, 1.1) / 10.0));
+                for (int i = 0; i < sinc_table_fsize; i++) {
+                    table[s][i] = sincTable(sinc_table_size,
+                            -i / ((float)sinc_table_fsize), scale);
+                }
             }
+            shared_sinc_table = table;
         }
+        return shared_sinc_table;
     }
 
     // Normalized sinc function
@@ -768,14 +768,12 @@ public class SoftVoice extends VoiceStatus {
             for (int i = 0; i < bufferlen; i++)
                 fout[i] += fin[i] * amp_to;
         } else {
-            float amp = amp_from;
-            float amp_delta = (amp_to - amp_from) / bufferlen;
+            float amp_range = amp_to - amp_from;
+            float[] ramp = in.getRamp();
             float[] fout = out.array();
             float[] fin = in.array();
-            for (int i = 0; i < bufferlen; i++) {
-                amp += amp_delta;
-                fout[i] += fin[i] * amp;
-            }
+            for (int i = 0; i < bufferlen; i++)
+                fout[i] += fin[i] * (amp_from + amp_range * ramp[i]);
         }
 
     }
@@ -6,6 +6,9 @@ import org.herac.tuxguitar.util.configuration.TGConfigManager;
 public class MidiSettings {
 
 	private static final String MIDI_SOUNDBANK_PREFIX = "tuxguitar-gervill.soundbank.";
+	private static final String MIDI_SOUNDBANK_CACHE_SIZE = (MIDI_SOUNDBANK_PREFIX + "cache-size");
+	
+	private static final int DEFAULT_SOUNDBANK_CACHE_SIZE = 32;
 	
 	private TGContext context;
 	private TGConfigManager config;
@@ -36,4 +39,8 @@ public class MidiSettings {
 	public String getSoundBankResource(int index) {
 		return this.getConfig().getStringValue(MIDI_SOUNDBANK_PREFIX + index + ".resource");
 	}
+	
+	public long getSoundBankCacheSize() {
+		return (this.getConfig().getIntegerValue(MIDI_SOUNDBANK_CACHE_SIZE, DEFAULT_SOUNDBANK_CACHE_SIZE) * 1024L * 1024L);
+	}
 }
@@ -1,16 +1,24 @@
 package org.herac.tuxguitar.android.midi.port.gervill;
 
 import com.sun.media.sound.AudioSynthesizer;
+import com.sun.media.sound.ModelByteBuffer;
 import com.sun.media.sound.ModelPatch;
 import com.sun.media.sound.SF2Instrument;
+import com.sun.media.sound.SF2Soundbank;
 import com.sun.media.sound.SoftSynthesizer;
 
+import org.herac.tuxguitar.android.activity.TGActivityController;
 import org.herac.tuxguitar.gm.port.GMReceiver;
 import org.herac.tuxguitar.player.base.MidiControllers;
 import org.herac.tuxguitar.resource.TGResourceManager;
 import org.herac.tuxguitar.util.TGContext;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
 
 import javax.sound.midi.Instrument;
 import javax.sound.midi.MidiChannel;
@@ -27,6 +35,9 @@ public class MidiSynthesizerManager {
 	private static final int DEFAULT_INSTRUMENT_BANK = 0;
 	private static final int DEFAULT_PERCUSSION_PROGRAM  = 0;
 	
+	private static final String CACHE_FOLDER = "gervill";
+	private static final int CACHE_BUFFER_SIZE = (8 * 1024);
+	
 	private TGContext context;
 	private AudioSynthesizer synth;
 	private GMReceiver receiver;
@@ -42,6 +53,8 @@ public class MidiSynthesizerManager {
 	}
 	
 	public void open() {
+		ModelByteBuffer.setMappedCacheSize(new MidiSettings(this.context).getSoundBankCacheSize());
+		
 		this.getSynth();
 	}
 	
@@ -86,28 +99,83 @@ public class MidiSynthesizerManager {
 		return this.synthesizerLoaded;
 	}
 	
+	public String findResourceName(Patch patch) {
+		return (this.resource + "/instrument-" + patch.getBank() + "-" + patch.getProgram() + ".sf2");
+	}
+	
 	public InputStream findResource(Patch patch) {
-		String resourceName = (this.resource + "/instrument-" + patch.getBank() + "-" + patch.getProgram() + ".sf2");
+		return TGResourceManager.getInstance(this.context).getResourceAsStream(this.findResourceName(patch));
+	}
+	
+	public File findResourceFile(Patch patch) throws Exception {
+		String resourceName = this.findResourceName(patch);
+		URL url = TGResourceManager.getInstance(this.context).getResource(resourceName);
+		if( url == null ) {
+			return null;
+		}
+		if( "file".equals(url.getProtocol()) ) {
+			return new File(url.toURI());
+		}
 		
-		return TGResourceManager.getInstance(this.context).getResourceAsStream(resourceName);
+		// packaged soundbanks are copied once to the cache folder, the file can be mapped from there.
+		File file = new File(new File(TGActivityController.getInstance(this.context).getActivity().getCacheDir(), CACHE_FOLDER), resourceName);
+		if(!file.exists()) {
+			this.copyResource(url, file);
+		}
+		return file;
+	}
+	
+	private void copyResource(URL url, File file) throws IOException {
+		File tempFile = new File(file.getParentFile(), (file.getName() + ".tmp"));
+		if(!tempFile.getParentFile().exists() && !tempFile.getParentFile().mkdirs()) {
+			throw new IOException("Can't create " + tempFile.getParentFile());
+		}
+		InputStream inputStream = url.openStream();
+		try {
+			OutputStream outputStream = new FileOutputStream(tempFile);
+			try {
+				byte[] buffer = new byte[CACHE_BUFFER_SIZE];
+				int length = 0;
+				while((length = inputStream.read(buffer)) > 0) {
+					outputStream.write(buffer, 0, length);
+				}
+			} finally {
+				outputStream.close();
+			}
+		} finally {
+			inputStream.close();
+		}
+		if(!tempFile.renameTo(file)) {
+			throw new IOException("Can't create " + file);
+		}
+	}
+	
+	public Soundbank findSoundbank(Patch patch) throws Exception {
+		File file = this.findResourceFile(patch);
+		if( file != null ) {
+			// sample data stays mapped, only the samples of loaded instruments are paged into the heap.
+			return new SF2Soundbank(file, true);
+		}
+		InputStream inputStream = this.findResource(patch);
+		if( inputStream != null ) {
+			return MidiSystem.getSoundbank(inputStream);
+		}
+		return null;
 	}
 	
 	public Instrument findInstrument(Patch patch) {
 		Instrument instrument = null;
 		try {
 			Patch resourcePatch = patch;
-			InputStream inputStream = this.findResource(resourcePatch);
-			if( inputStream == null ) {
+			Soundbank soundbank = this.findSoundbank(resourcePatch);
+			if( soundbank == null ) {
 				resourcePatch = this.toDefaultPatch(patch);
 				if( resourcePatch.getBank() != patch.getBank() || resourcePatch.getProgram() != patch.getProgram() ) {
-					inputStream = this.findResource(resourcePatch);
+					soundbank = this.findSoundbank(resourcePatch);
 				}
 			}
-			if( inputStream != null ) {
-				Soundbank soundbank = MidiSystem.getSoundbank(inputStream);
-				if( soundbank != null ) {
-					instrument = soundbank.getInstrument(this.toModelPatch(resourcePatch));
-				}
+			if( soundbank != null ) {
+				instrument = soundbank.getInstrument(this.toModelPatch(resourcePatch));
 			}
 			if( instrument != null ) {
 				this.setInstrumentPatch(instrument, patch);
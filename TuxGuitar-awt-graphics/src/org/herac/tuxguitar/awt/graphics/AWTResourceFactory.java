@@ -1,8 +1,10 @@
 package org.herac.tuxguitar.awt.graphics;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.herac.tuxguitar.ui.resource.UIAlphaImageFactory;
 import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIColorModel;
 import org.herac.tuxguitar.ui.resource.UIFont;
@@ -11,7 +13,7 @@ import org.herac.tuxguitar.ui.resource.UIImage;
 import org.herac.tuxguitar.ui.resource.UIResourceFactory;
 import org.herac.tuxguitar.util.TGException;
 
-public class AWTResourceFactory implements UIResourceFactory {
+public class AWTResourceFactory implements UIResourceFactory, UIAlphaImageFactory {
 	
 	public AWTResourceFactory(){
 		super();
@@ -44,4 +46,20 @@ public class AWTResourceFactory implements UIResourceFactory {
 			throw new TGException();
 		}
 	}
+	
+	public UIImage createAlphaImage(UIImage mask, UIColor color) {
+		BufferedImage maskImage = (BufferedImage) ((AWTImage) mask).getHandle();
+		BufferedImage image = new BufferedImage(maskImage.getWidth(), maskImage.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		
+		int rgb = ((color.getRed() << 16) | (color.getGreen() << 8) | color.getBlue());
+		int[] row = new int[maskImage.getWidth()];
+		for(int y = 0; y < maskImage.getHeight(); y ++) {
+			maskImage.getRGB(0, y, row.length, 1, row, 0, row.length);
+			for(int x = 0; x < row.length; x ++) {
+				row[x] = (((0xff - ((row[x] >> 16) & 0xff)) << 24) | rgb);
+			}
+			image.setRGB(0, y, row.length, 1, row, 0, row.length);
+		}
+		return new AWTImage(image);
+	}
 }
@@ -112,7 +112,7 @@ public class TGShareSong {
 		tgHandle.setFactory(new TGFactory());
 		tgHandle.setSong(song);
 		tgHandle.setOutputStream(out);
-		TGSongWriter tgStream = new TGSongWriterImpl();
+		TGSongWriter tgStream = new TGSongWriterImpl(true);
 		tgStream.write(tgHandle);
 		out.close();
 		return out.toByteArray();
@@ -0,0 +1,44 @@
+package org.herac.tuxguitar.debug;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.herac.tuxguitar.app.util.TGFileUtils;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.plugin.TGPlugin;
+import org.herac.tuxguitar.util.plugin.TGPluginException;
+import org.herac.tuxguitar.util.trace.TGTracer;
+
+public class TGTracePlugin implements TGPlugin {
+	
+	public String getModuleId() {
+		return TGDebugHelperPlugin.MODULE_ID;
+	}
+	
+	public void connect(TGContext context) throws TGPluginException {
+		TGTracer.getInstance(context).setEnabled(true);
+	}
+	
+	public void disconnect(TGContext context) throws TGPluginException {
+		try {
+			TGTracer tracer = TGTracer.getInstance(context);
+			tracer.setEnabled(false);
+			
+			File file = new File(TGFileUtils.PATH_USER_DIR + File.separator + "log" + File.separator + "tuxguitar-trace.folded");
+			if(!file.getParentFile().exists()){
+				file.getParentFile().mkdirs();
+			}
+			
+			OutputStream outputStream = new FileOutputStream(file);
+			try {
+				tracer.writeFoldedStacks(outputStream);
+			} finally {
+				outputStream.close();
+			}
+		} catch (IOException e) {
+			throw new TGPluginException(e);
+		}
+	}
+}
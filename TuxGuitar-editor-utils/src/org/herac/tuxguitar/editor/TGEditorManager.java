@@ -20,9 +20,11 @@ public class TGEditorManager {
 	
 	private TGContext context;
 	private TGLock lockControl;
+	private TGRedrawScheduler redrawScheduler;
 	
 	public TGEditorManager(TGContext context){
 		this.context = context;
+		this.redrawScheduler = new TGRedrawScheduler(context, this);
 	}
 	
 	public void setLockControl(TGLock lockControl) {
@@ -33,6 +35,10 @@ public class TGEditorManager {
 		return lockControl;
 	}
 	
+	public TGRedrawScheduler getRedrawScheduler() {
+		return redrawScheduler;
+	}
+	
 	public void redraw(){
 		this.redraw(null);
 	}
@@ -49,24 +55,16 @@ public class TGEditorManager {
 		this.redrawPlayingThread(null);
 	}
 	
-	public void redrawPlayingThread(final TGAbstractContext sourceContext){
-		this.asyncRunLocked(new Runnable() {
-			public void run() {
-				doRedraw(TGRedrawEvent.PLAYING_THREAD, sourceContext);
-			}
-		});
+	public void redrawPlayingThread(TGAbstractContext sourceContext){
+		this.redrawScheduler.requestPlayingThread(sourceContext);
 	}
 	
 	public void redrawPlayingNewBeat(){
 		this.redrawPlayingNewBeat(null);
 	}
 	
-	public void redrawPlayingNewBeat(final TGAbstractContext sourceContext){
-		this.asyncRunLocked(new Runnable() {
-			public void run() {
-				doRedraw(TGRedrawEvent.PLAYING_NEW_BEAT, sourceContext);
-			}
-		});
+	public void redrawPlayingNewBeat(TGAbstractContext sourceContext){
+		this.redrawScheduler.requestPlayingNewBeat(sourceContext);
 	}
 	
 	public void updateSelection() {
@@ -161,7 +159,7 @@ public class TGEditorManager {
 		TGEventManager.getInstance(this.context).removeListener(TGDestroyEvent.EVENT_TYPE, listener);
 	}
 	
-	private void doRedraw(int type, TGAbstractContext context){
+	void doRedraw(int type, TGAbstractContext context){
 		TGEventManager.getInstance(this.context).fireEvent(new TGRedrawEvent(type, context));
 	}
 	
@@ -0,0 +1,256 @@
+package org.herac.tuxguitar.editor;
+
+import org.herac.tuxguitar.editor.event.TGRedrawEvent;
+import org.herac.tuxguitar.thread.TGThreadManager;
+import org.herac.tuxguitar.util.TGAbstractContext;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.error.TGErrorManager;
+
+/**
+ * Coalesces playback redraw requests so that at most one redraw is in flight.
+ *
+ * PLAYING_THREAD requests are frame paced: they are dropped while a redraw is running or
+ * when they arrive before the current frame interval has elapsed. PLAYING_NEW_BEAT requests
+ * are never dropped, but several of them arriving during a redraw collapse into one.
+ *
+ * Listeners that paint later on the ui thread attach their paint to the frame while its event
+ * is dispatched, and the frame ends when the last attached paint completes. Frames longer than
+ * the interval are late: the interval is stretched while frames are late and shrunk back once
+ * they fit in the shorter one again.
+ */
+public class TGRedrawScheduler {
+	
+	public static final long NO_FRAME = 0;
+	
+	private static final long[] FRAME_INTERVALS = new long[] { 16, 33, 50 };
+	
+	private static final int RECOVERY_FRAMES = 8;
+	
+	private static final long STALLED_FRAME_TIME = 1000;
+	
+	private static final long NANOS_PER_MILLI = 1000000L;
+	
+	private TGContext context;
+	private TGEditorManager editorManager;
+	private Object lock;
+	
+	private boolean inFlight;
+	private boolean pendingNewBeat;
+	private TGAbstractContext pendingSourceContext;
+	
+	private long frame;
+	private Thread dispatchThread;
+	private boolean dispatched;
+	private int attachedPaints;
+	
+	private int frameIntervalIndex;
+	private int recoveredFrames;
+	private long lastFrameTime;
+	
+	private long frameCount;
+	private long droppedFrameCount;
+	private long lateFrameCount;
+	
+	public TGRedrawScheduler(TGContext context, TGEditorManager editorManager) {
+		this.context = context;
+		this.editorManager = editorManager;
+		this.lock = new Object();
+		this.lastFrameTime = (System.nanoTime() - (FRAME_INTERVALS[0] * NANOS_PER_MILLI));
+	}
+	
+	public void requestPlayingThread(TGAbstractContext sourceContext) {
+		synchronized (this.lock) {
+			long elapsed = (System.nanoTime() - this.lastFrameTime);
+			if( this.isFrameRunning(elapsed) || elapsed < (this.getFrameIntervalLocked() * NANOS_PER_MILLI) ) {
+				this.droppedFrameCount ++;
+				return;
+			}
+			this.inFlight = true;
+			this.lastFrameTime = System.nanoTime();
+		}
+		this.startFrame(TGRedrawEvent.PLAYING_THREAD, sourceContext);
+	}
+	
+	public void requestPlayingNewBeat(TGAbstractContext sourceContext) {
+		synchronized (this.lock) {
+			if( this.isFrameRunning(System.nanoTime() - this.lastFrameTime) ) {
+				if( this.pendingNewBeat ) {
+					this.droppedFrameCount ++;
+				}
+				this.pendingNewBeat = true;
+				this.pendingSourceContext = sourceContext;
+				return;
+			}
+			this.inFlight = true;
+			this.lastFrameTime = System.nanoTime();
+		}
+		this.startFrame(TGRedrawEvent.PLAYING_NEW_BEAT, sourceContext);
+	}
+	
+	private boolean isFrameRunning(long elapsed) {
+		// a paint that never runs (e.g. a disposed window) must not stop playback redraws.
+		if( this.inFlight && elapsed > (STALLED_FRAME_TIME * NANOS_PER_MILLI) ) {
+			this.endFrameLocked(System.nanoTime());
+			this.dispatchThread = null;
+			this.inFlight = false;
+		}
+		return this.inFlight;
+	}
+	
+	private void startFrame(final int type, final TGAbstractContext sourceContext) {
+		TGThreadManager.getInstance(this.context).start(new Runnable() {
+			public void run() {
+				long frame = TGRedrawScheduler.this.beginDispatch();
+				try {
+					TGRedrawScheduler.this.editorManager.lock();
+					try {
+						TGRedrawScheduler.this.editorManager.doRedraw(type, sourceContext);
+					} finally {
+						TGRedrawScheduler.this.editorManager.unlock();
+					}
+				} catch (Throwable throwable) {
+					TGErrorManager.getInstance(TGRedrawScheduler.this.context).handleError(throwable);
+				} finally {
+					TGRedrawScheduler.this.endDispatch(frame);
+				}
+			}
+		});
+	}
+	
+	private long beginDispatch() {
+		synchronized (this.lock) {
+			this.frame ++;
+			this.dispatchThread = Thread.currentThread();
+			this.dispatched = false;
+			this.attachedPaints = 0;
+			return this.frame;
+		}
+	}
+	
+	private void endDispatch(long frame) {
+		boolean finished = false;
+		synchronized (this.lock) {
+			if( this.frame == frame ) {
+				this.dispatchThread = null;
+				this.dispatched = true;
+				finished = (this.attachedPaints == 0);
+			}
+		}
+		if( finished ) {
+			this.finishFrame(frame);
+		}
+	}
+	
+	/**
+	 * Attaches a deferred paint to the frame being dispatched by the calling thread.
+	 *
+	 * @return the frame to pass to detachPaint once the paint completes, or NO_FRAME when
+	 * the caller is not dispatching a playback redraw.
+	 */
+	public long attachPaint() {
+		synchronized (this.lock) {
+			if( this.dispatchThread != null && this.dispatchThread == Thread.currentThread() ) {
+				this.attachedPaints ++;
+				return this.frame;
+			}
+			return NO_FRAME;
+		}
+	}
+	
+	public void detachPaint(long frame) {
+		boolean finished = false;
+		synchronized (this.lock) {
+			if( this.inFlight && this.frame == frame && this.attachedPaints > 0 ) {
+				this.attachedPaints --;
+				finished = (this.dispatched && this.attachedPaints == 0);
+			}
+		}
+		if( finished ) {
+			this.finishFrame(frame);
+		}
+	}
+	
+	private void finishFrame(long frame) {
+		TGAbstractContext nextSourceContext = null;
+		boolean next = false;
+		
+		synchronized (this.lock) {
+			if(!this.inFlight || this.frame != frame ) {
+				return;
+			}
+			this.endFrameLocked(System.nanoTime());
+			
+			if( this.pendingNewBeat ) {
+				next = true;
+				nextSourceContext = this.pendingSourceContext;
+				this.lastFrameTime = System.nanoTime();
+				this.pendingNewBeat = false;
+				this.pendingSourceContext = null;
+			} else {
+				this.inFlight = false;
+			}
+		}
+		
+		if( next ) {
+			this.startFrame(TGRedrawEvent.PLAYING_NEW_BEAT, nextSourceContext);
+		}
+	}
+	
+	private void endFrameLocked(long endTime) {
+		long frameTime = ((endTime - this.lastFrameTime) / NANOS_PER_MILLI);
+		
+		this.frameCount ++;
+		this.frame ++;
+		if( frameTime > this.getFrameIntervalLocked() ) {
+			this.lateFrameCount ++;
+			this.recoveredFrames = 0;
+			this.frameIntervalIndex = Math.min(this.frameIntervalIndex + 1, FRAME_INTERVALS.length - 1);
+		} else if( this.frameIntervalIndex > 0 && frameTime <= FRAME_INTERVALS[this.frameIntervalIndex - 1] ) {
+			this.recoveredFrames ++;
+			if( this.recoveredFrames >= RECOVERY_FRAMES ) {
+				this.recoveredFrames = 0;
+				this.frameIntervalIndex --;
+			}
+		} else {
+			this.recoveredFrames = 0;
+		}
+	}
+	
+	private long getFrameIntervalLocked() {
+		return FRAME_INTERVALS[this.frameIntervalIndex];
+	}
+	
+	public long getFrameInterval() {
+		synchronized (this.lock) {
+			return this.getFrameIntervalLocked();
+		}
+	}
+	
+	public long getFrameCount() {
+		synchronized (this.lock) {
+			return this.frameCount;
+		}
+	}
+	
+	public long getDroppedFrameCount() {
+		synchronized (this.lock) {
+			return this.droppedFrameCount;
+		}
+	}
+	
+	public long getLateFrameCount() {
+		synchronized (this.lock) {
+			return this.lateFrameCount;
+		}
+	}
+	
+	public void resetStatistics() {
+		synchronized (this.lock) {
+			this.frameCount = 0;
+			this.droppedFrameCount = 0;
+			this.lateFrameCount = 0;
+			this.recoveredFrames = 0;
+			this.frameIntervalIndex = 0;
+		}
+	}
+}
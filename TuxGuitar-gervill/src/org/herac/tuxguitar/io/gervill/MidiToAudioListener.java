@@ -0,0 +1,15 @@
+package org.herac.tuxguitar.io.gervill;
+
+public interface MidiToAudioListener {
+	
+	/**
+	 * Called from the export thread after every rendered block.
+	 * The writer may be cancelled from here or from any other thread.
+	 */
+	void onProgress(MidiToAudioWriter writer);
+	
+	/**
+	 * Called from the export thread once the export ended, whether it succeeded, failed or was cancelled.
+	 */
+	void onFinish(MidiToAudioWriter writer);
+}
@@ -0,0 +1,118 @@
+package org.herac.tuxguitar.io.gervill;
+
+import org.herac.tuxguitar.app.TuxGuitar;
+import org.herac.tuxguitar.app.ui.TGApplication;
+import org.herac.tuxguitar.app.view.main.TGWindow;
+import org.herac.tuxguitar.app.view.util.TGDialogUtil;
+import org.herac.tuxguitar.app.view.util.TGProcess;
+import org.herac.tuxguitar.app.view.util.TGSyncProcess;
+import org.herac.tuxguitar.ui.UIFactory;
+import org.herac.tuxguitar.ui.event.UIDisposeEvent;
+import org.herac.tuxguitar.ui.event.UIDisposeListener;
+import org.herac.tuxguitar.ui.event.UISelectionEvent;
+import org.herac.tuxguitar.ui.event.UISelectionListener;
+import org.herac.tuxguitar.ui.layout.UITableLayout;
+import org.herac.tuxguitar.ui.widget.UIButton;
+import org.herac.tuxguitar.ui.widget.UIPanel;
+import org.herac.tuxguitar.ui.widget.UIProgressBar;
+import org.herac.tuxguitar.ui.widget.UIWindow;
+import org.herac.tuxguitar.util.TGContext;
+
+/**
+ * Shows the export progress, closing the dialog before the export ends cancels it.
+ */
+public class MidiToAudioProgressDialog implements MidiToAudioListener {
+	
+	private static final int MAXIMUM = 1000;
+	
+	private TGContext context;
+	private UIWindow dialog;
+	private UIProgressBar progressBar;
+	private TGProcess updateProcess;
+	private volatile MidiToAudioWriter writer;
+	private volatile boolean finished;
+	
+	public MidiToAudioProgressDialog(TGContext context){
+		this.context = context;
+		this.updateProcess = new TGSyncProcess(context, new Runnable() {
+			public void run() {
+				update();
+			}
+		});
+	}
+	
+	public void open() {
+		final UIFactory uiFactory = TGApplication.getInstance(this.context).getFactory();
+		final UIWindow uiParent = TGWindow.getInstance(this.context).getWindow();
+		final UITableLayout dialogLayout = new UITableLayout();
+		
+		this.dialog = uiFactory.createWindow(uiParent, true, false);
+		this.dialog.setLayout(dialogLayout);
+		this.dialog.setText(TuxGuitar.getProperty("gervill.progress"));
+		this.dialog.addDisposeListener(new UIDisposeListener() {
+			public void onDispose(UIDisposeEvent event) {
+				cancel();
+			}
+		});
+		
+		this.progressBar = uiFactory.createProgressBar(this.dialog);
+		this.progressBar.setMinimum(0);
+		this.progressBar.setMaximum(MAXIMUM);
+		this.progressBar.setValue(0);
+		dialogLayout.set(this.progressBar, 1, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_CENTER, true, false, 1, 1, 300f, null, null);
+		
+		//------------------BUTTONS--------------------------
+		UITableLayout buttonsLayout = new UITableLayout(0f);
+		UIPanel buttons = uiFactory.createPanel(this.dialog, false);
+		buttons.setLayout(buttonsLayout);
+		dialogLayout.set(buttons, 2, 1, UITableLayout.ALIGN_RIGHT, UITableLayout.ALIGN_FILL, true, true);
+		
+		UIButton buttonCancel = uiFactory.createButton(buttons);
+		buttonCancel.setText(TuxGuitar.getProperty("cancel"));
+		buttonCancel.addSelectionListener(new UISelectionListener() {
+			public void onSelect(UISelectionEvent event) {
+				MidiToAudioProgressDialog.this.dialog.dispose();
+			}
+		});
+		buttonsLayout.set(buttonCancel, 1, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true, 1, 1, 80f, 25f, null);
+		buttonsLayout.set(buttonCancel, UITableLayout.MARGIN_RIGHT, 0f);
+		
+		TGDialogUtil.openDialog(this.dialog, TGDialogUtil.OPEN_STYLE_CENTER | TGDialogUtil.OPEN_STYLE_PACK);
+	}
+	
+	public boolean isOpen() {
+		return (this.dialog != null && !this.dialog.isDisposed());
+	}
+	
+	private void update() {
+		if( this.isOpen() ) {
+			if( this.finished ) {
+				this.dialog.dispose();
+			} else if( this.writer != null ) {
+				this.progressBar.setValue(Math.round(this.writer.getProgress() * MAXIMUM));
+			}
+		}
+	}
+	
+	private void cancel() {
+		MidiToAudioWriter writer = this.writer;
+		if( writer != null && !this.finished ) {
+			writer.cancel();
+		}
+		this.finished = true;
+	}
+	
+	public void onProgress(MidiToAudioWriter writer) {
+		if( this.finished ) {
+			writer.cancel();
+		}
+		this.writer = writer;
+		this.updateProcess.process();
+	}
+	
+	public void onFinish(MidiToAudioWriter writer) {
+		this.writer = writer;
+		this.finished = true;
+		this.updateProcess.process();
+	}
+}
@@ -32,6 +32,11 @@ public class MidiToAudioSettingsHandler implements TGPersistenceSettingsHandler
 					public void run() {
 						context.setAttribute(MidiToAudioSettings.class.getName(), midiToAudioSettings);
 						context.setAttribute(TGFileFormat.class.getName(), new MidiToAudioFormat(midiToAudioSettings));
+						
+						MidiToAudioProgressDialog progressDialog = new MidiToAudioProgressDialog(MidiToAudioSettingsHandler.this.context);
+						context.setAttribute(MidiToAudioListener.class.getName(), progressDialog);
+						progressDialog.open();
+						
 						callback.run();
 					}
 				});
@@ -25,12 +25,15 @@ public class MidiToAudioSongWriter implements TGSongWriter {
 	}
 	
 	public void write(TGSongWriterHandle handle) throws TGFileFormatException {
+		MidiToAudioSettings settings = handle.getContext().getAttribute(MidiToAudioSettings.class.getName());
+		if( settings == null ) {
+			settings = new MidiToAudioSettings();
+		}
+		
+		MidiToAudioListener listener = handle.getContext().getAttribute(MidiToAudioListener.class.getName());
+		MidiToAudioWriter midiToAudioWriter = new MidiToAudioWriter(settings);
+		midiToAudioWriter.setListener(listener);
 		try{
-			MidiToAudioSettings settings = handle.getContext().getAttribute(MidiToAudioSettings.class.getName());
-			if( settings == null ) {
-				settings = new MidiToAudioSettings();
-			}
-			
 			OutputStream stream = handle.getOutputStream();
 			TGSong tgSong = handle.getSong();
 			TGSongManager tgSongManager = new TGSongManager();
@@ -42,9 +45,14 @@ public class MidiToAudioSongWriter implements TGSongWriter {
 			MidiSequenceParser midiSequenceParser = new MidiSequenceParser(tgSong, tgSongManager,MidiSequenceParser.DEFAULT_EXPORT_FLAGS);
 			MidiSequenceHandlerImpl midiSequenceHandler = new MidiSequenceHandlerImpl((tgSong.countTracks() + 1), gmChannelRouter);
 			midiSequenceParser.parse(midiSequenceHandler);
-			MidiToAudioWriter.write(stream, midiSequenceHandler.getEvents(), settings );
+			
+			midiToAudioWriter.write(stream, midiSequenceHandler.getEvents());
 		}catch(Throwable throwable){
 			throw new TGFileFormatException(throwable);
+		}finally{
+			if( listener != null ) {
+				listener.onFinish(midiToAudioWriter);
+			}
 		}
 	}
 }
@@ -0,0 +1,123 @@
+package org.herac.tuxguitar.io.gervill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.List;
+
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+import javax.sound.midi.Receiver;
+import javax.sound.sampled.AudioInputStream;
+
+/**
+ * Pulls audio from the synthesizer stream, sending the midi events just ahead of the read position.
+ * The synthesizer only queues the events of the next few blocks, whatever the song length is.
+ */
+public class MidiToAudioStream extends InputStream {
+	
+	private static final int MAX_READ_FRAMES = 4096;
+	private static final long LOOKAHEAD_TIME = 50000;
+	
+	private MidiToAudioWriter writer;
+	private AudioInputStream stream;
+	private Receiver receiver;
+	private List<MidiEvent> events;
+	private MidiToAudioTempoMap tempoMap;
+	private int frameSize;
+	private double frameRate;
+	private long frames;
+	private int index;
+	private byte[] frame;
+	private int frameOffset;
+	private int frameLength;
+	
+	public MidiToAudioStream(MidiToAudioWriter writer, AudioInputStream stream, Receiver receiver, List<MidiEvent> sortedEvents, MidiToAudioTempoMap tempoMap) {
+		this.writer = writer;
+		this.stream = stream;
+		this.receiver = receiver;
+		this.events = sortedEvents;
+		this.tempoMap = tempoMap;
+		this.frameSize = stream.getFormat().getFrameSize();
+		this.frameRate = stream.getFormat().getFrameRate();
+	}
+	
+	public int read() throws IOException {
+		if( this.frameOffset >= this.frameLength ) {
+			if( this.frame == null ) {
+				this.frame = new byte[this.frameSize];
+			}
+			this.frameOffset = 0;
+			this.frameLength = 0;
+			
+			int read = 0;
+			while( read == 0 ) {
+				read = this.readFrames(this.frame, 0, this.frame.length);
+			}
+			if( read < 0 ) {
+				return -1;
+			}
+			this.frameLength = read;
+		}
+		return (this.frame[this.frameOffset ++] & 0xff);
+	}
+	
+	public int read(byte[] b, int off, int len) throws IOException {
+		if( this.frameOffset < this.frameLength ) {
+			int length = Math.min(len, (this.frameLength - this.frameOffset));
+			System.arraycopy(this.frame, this.frameOffset, b, off, length);
+			this.frameOffset += length;
+			return length;
+		}
+		return this.readFrames(b, off, len);
+	}
+	
+	private int readFrames(byte[] b, int off, int len) throws IOException {
+		if( this.writer.isCancelled() ) {
+			throw new InterruptedIOException("Audio export cancelled");
+		}
+		
+		int length = Math.min(len, (MAX_READ_FRAMES * this.frameSize));
+		length -= (length % this.frameSize);
+		if( length == 0 ) {
+			return 0;
+		}
+		
+		this.sendEvents(this.getTime(this.frames + (length / this.frameSize)) + LOOKAHEAD_TIME);
+		
+		int read = this.stream.read(b, off, length);
+		if( read > 0 ) {
+			this.frames += (read / this.frameSize);
+			this.writer.updateProgress(this.frames);
+		}
+		return read;
+	}
+	
+	private void sendEvents(long limit) {
+		while( this.index < this.events.size() ) {
+			MidiEvent event = this.events.get(this.index);
+			long time = this.tempoMap.getTime(event.getTick());
+			if( time > limit ) {
+				return;
+			}
+			MidiMessage message = event.getMessage();
+			if(!(message instanceof MetaMessage)) {
+				this.receiver.send(message, time);
+			}
+			this.index ++;
+		}
+	}
+	
+	private long getTime(long frames) {
+		return (long) ((frames * 1000000.0) / this.frameRate);
+	}
+	
+	public int available() throws IOException {
+		return ((this.frameLength - this.frameOffset) + this.stream.available());
+	}
+	
+	public void close() throws IOException {
+		this.stream.close();
+	}
+}
@@ -0,0 +1,83 @@
+package org.herac.tuxguitar.io.gervill;
+
+import java.util.List;
+
+import javax.sound.midi.MetaMessage;
+import javax.sound.midi.MidiEvent;
+import javax.sound.midi.MidiMessage;
+
+import org.herac.tuxguitar.song.models.TGDuration;
+
+public class MidiToAudioTempoMap {
+	
+	private static final int DEFAULT_TEMPO = (60000000 / 120);
+	private static final int TEMPO_META_TYPE = 0x51;
+	
+	private long[] ticks;
+	private long[] times;
+	private int[] tempos;
+	private int length;
+	
+	public MidiToAudioTempoMap(List<MidiEvent> sortedEvents) {
+		this.ticks = new long[8];
+		this.times = new long[8];
+		this.tempos = new int[8];
+		this.addTempo(0, 0, DEFAULT_TEMPO);
+		
+		for(MidiEvent event : sortedEvents) {
+			MidiMessage message = event.getMessage();
+			if( message instanceof MetaMessage && ((MetaMessage) message).getType() == TEMPO_META_TYPE ) {
+				byte[] data = ((MetaMessage) message).getData();
+				int tempo = ((data[0] & 0xff) << 16) | ((data[1] & 0xff) << 8) | (data[2] & 0xff);
+				
+				this.addTempo(event.getTick(), this.getTime(event.getTick()), tempo);
+			}
+		}
+	}
+	
+	private void addTempo(long tick, long time, int tempo) {
+		if( this.length > 0 && this.ticks[this.length - 1] == tick ) {
+			this.length --;
+		}
+		if( this.length == this.ticks.length ) {
+			int capacity = (this.length * 2);
+			this.ticks = copyOf(this.ticks, capacity);
+			this.times = copyOf(this.times, capacity);
+			int[] tempos = new int[capacity];
+			System.arraycopy(this.tempos, 0, tempos, 0, this.length);
+			this.tempos = tempos;
+		}
+		this.ticks[this.length] = tick;
+		this.times[this.length] = time;
+		this.tempos[this.length] = tempo;
+		this.length ++;
+	}
+	
+	/**
+	 * Returns the position of a tick in microseconds.
+	 */
+	public long getTime(long tick) {
+		int index = this.findSegment(tick);
+		return (this.times[index] + (((tick - this.ticks[index]) * this.tempos[index]) / TGDuration.QUARTER_TIME));
+	}
+	
+	private int findSegment(long tick) {
+		int low = 0;
+		int high = (this.length - 1);
+		while( low < high ) {
+			int middle = ((low + high + 1) >>> 1);
+			if( this.ticks[middle] <= tick ) {
+				low = middle;
+			} else {
+				high = (middle - 1);
+			}
+		}
+		return low;
+	}
+	
+	private static long[] copyOf(long[] array, int capacity) {
+		long[] copy = new long[capacity];
+		System.arraycopy(array, 0, copy, 0, Math.min(array.length, capacity));
+		return copy;
+	}
+}
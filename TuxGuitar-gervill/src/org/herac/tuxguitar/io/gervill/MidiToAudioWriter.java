@@ -7,7 +7,6 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
-import javax.sound.midi.MetaMessage;
 import javax.sound.midi.MidiEvent;
 import javax.sound.midi.MidiMessage;
 import javax.sound.midi.Patch;
@@ -17,49 +16,80 @@ import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 
 import org.herac.tuxguitar.player.base.MidiControllers;
-import org.herac.tuxguitar.song.models.TGDuration;
 
+/**
+ * Renders a midi sequence to an audio file.
+ *
+ * The song is pulled from the synthesizer block by block: events are converted to
+ * microseconds through a precomputed tempo map and sent just ahead of the render
+ * position, so memory does not grow with the song length.
+ */
 public class MidiToAudioWriter {
 	
+	private MidiToAudioSettings settings;
+	private MidiToAudioListener listener;
+	private volatile boolean cancelled;
+	private volatile long frames;
+	private volatile long totalFrames;
+	
+	public MidiToAudioWriter(MidiToAudioSettings settings) {
+		this.settings = settings;
+	}
+	
 	public static void write(OutputStream out, List<MidiEvent> events, MidiToAudioSettings settings) throws Throwable {
+		new MidiToAudioWriter(settings).write(out, events);
+	}
+	
+	public void write(OutputStream out, List<MidiEvent> events) throws Throwable {
 		MidiToAudioSynth.instance().openSynth();
-		MidiToAudioSynth.instance().loadSoundbank(getPatchs(events), settings.getSoundbankPath());
-		
-		int usqTempo = 60000000 / 120;
-		long previousTick = 0;
-		long timePosition = 0;
-		MidiToAudioWriter.sort(events);
-		Receiver receiver = MidiToAudioSynth.instance().getReceiver();
-		AudioInputStream stream = MidiToAudioSynth.instance().getStream();
-		
-		Iterator<MidiEvent> it = events.iterator();
-		while(it.hasNext()){
-			MidiEvent event = (MidiEvent)it.next();
-			MidiMessage msg = event.getMessage();
+		try {
+			MidiToAudioSynth.instance().loadSoundbank(getPatchs(events), this.settings.getSoundbankPath());
 			
-			timePosition += ( (event.getTick() - previousTick) * usqTempo) / TGDuration.QUARTER_TIME;
+			MidiToAudioWriter.sort(events);
+			MidiToAudioTempoMap tempoMap = new MidiToAudioTempoMap(events);
+			Receiver receiver = MidiToAudioSynth.instance().getReceiver();
+			AudioInputStream stream = MidiToAudioSynth.instance().getStream();
 			
-			if (msg instanceof MetaMessage) {
-				if (((MetaMessage) msg).getType() == 0x51) {
-					byte[] data = ((MetaMessage) msg).getData();
-					usqTempo = ((data[0] & 0xff) << 16) | ((data[1] & 0xff) << 8) | (data[2] & 0xff);
-				}
-			} else {
-				receiver.send(msg, timePosition);
-			}
-			previousTick = event.getTick();
+			long timePosition = (!events.isEmpty() ? tempoMap.getTime(events.get(events.size() - 1).getTick()) : 0);
+			long duration = (long) (stream.getFormat().getFrameRate() * ( (timePosition / 1000000.0) ));
+			
+			this.frames = 0;
+			this.totalFrames = duration;
+			
+			MidiToAudioStream midiStream = new MidiToAudioStream(this, stream, receiver, events, tempoMap);
+			AudioInputStream srcStream = new AudioInputStream(midiStream, stream.getFormat(), duration );
+			AudioInputStream dstStream = AudioSystem.getAudioInputStream(this.settings.getFormat(), srcStream );
+			AudioSystem.write(new AudioInputStream(dstStream, dstStream.getFormat(), duration ), this.settings.getType(), out);
+			
+			dstStream.close();
+			srcStream.close();
+		} finally {
+			MidiToAudioSynth.instance().closeSynth();
 		}
-		
-		long duration = (long) (stream.getFormat().getFrameRate() * ( (timePosition / 1000000.0) ));
-		
-		AudioInputStream srcStream = new AudioInputStream(stream, stream.getFormat(), duration );
-		AudioInputStream dstStream = AudioSystem.getAudioInputStream(settings.getFormat(), srcStream );
-		AudioSystem.write(new AudioInputStream(dstStream, dstStream.getFormat(), duration ), settings.getType(), out);
-		
-		dstStream.close();
-		srcStream.close();
-		
-		MidiToAudioSynth.instance().closeSynth();
+	}
+	
+	public void setListener(MidiToAudioListener listener) {
+		this.listener = listener;
+	}
+	
+	public void updateProgress(long frames) {
+		this.frames = frames;
+		if( this.listener != null ) {
+			this.listener.onProgress(this);
+		}
+	}
+	
+	public float getProgress() {
+		long totalFrames = this.totalFrames;
+		return (totalFrames > 0 ? Math.min(1f, ((float) this.frames / (float) totalFrames)) : 0f);
+	}
+	
+	public void cancel() {
+		this.cancelled = true;
+	}
+	
+	public boolean isCancelled() {
+		return this.cancelled;
 	}
 	
 	private static void sort(List<MidiEvent> events){
@@ -48,10 +48,12 @@ public class GPXDocumentParser {
 	
 	private TGFactory factory;
 	private GPXDocument document;
+	private int measuresToRead;
 	
-	public GPXDocumentParser(TGFactory factory, GPXDocument document){
+	public GPXDocumentParser(TGFactory factory, GPXDocument document, int measuresToRead){
 		this.factory = factory;
 		this.document = document;
+		this.measuresToRead = measuresToRead;
 	}
 	
 	public TGSong parse(){
@@ -176,7 +178,7 @@ public class GPXDocumentParser {
 			}
 			tgSong.addMeasureHeader(tgMeasureHeader);
 			
-			for( int t = 0 ; t < tgSong.countTracks() ; t ++ ){
+			for( int t = 0 ; t < tgSong.countTracks() && i < this.measuresToRead ; t ++ ){
 				TGTrack tgTrack = tgSong.getTrack(t);
 				TGMeasure tgMeasure = this.factory.newMeasure(tgMeasureHeader);
 				
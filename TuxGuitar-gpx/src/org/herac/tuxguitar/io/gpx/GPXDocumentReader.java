@@ -58,6 +58,19 @@ public class GPXDocumentReader {
 		return this.gpxDocument;
 	}
 	
+	/**
+	 * Reads the score, tracks and master bars, leaving out the bars and everything in them.
+	 */
+	public GPXDocument readMetadata(){
+		if( this.xmlDocument != null ){
+			this.readScore();
+			this.readAutomations();
+			this.readTracks();
+			this.readMasterBars();
+		}
+		return this.gpxDocument;
+	}
+	
 	public void readScore(){
 		if( this.xmlDocument != null ){
 			Node scoreNode = getChildNode(this.xmlDocument.getFirstChild(), "Score");
@@ -6,6 +6,7 @@ import org.herac.tuxguitar.io.base.TGSongReader;
 import org.herac.tuxguitar.io.base.TGSongReaderHandle;
 import org.herac.tuxguitar.io.gpx.GPXDocumentParser;
 import org.herac.tuxguitar.io.gpx.GPXDocumentReader;
+import org.herac.tuxguitar.io.gpx.score.GPXDocument;
 
 public class GPXInputStream implements TGSongReader {
 	
@@ -21,7 +22,8 @@ public class GPXInputStream implements TGSongReader {
 			gpxFileSystem.load(handle.getInputStream());
 			
 			GPXDocumentReader gpxReader = new GPXDocumentReader(gpxFileSystem.getFileContentsAsStream(GPXFileSystem.RESOURCE_SCORE), GPXDocumentReader.GP7);
-			GPXDocumentParser gpxParser = new GPXDocumentParser(handle.getFactory(), gpxReader.read());
+			GPXDocument gpxDocument = (handle.isMetadataOnly() ? gpxReader.readMetadata() : gpxReader.read());
+			GPXDocumentParser gpxParser = new GPXDocumentParser(handle.getFactory(), gpxDocument, handle.countMeasuresToRead(gpxDocument.getMasterBars().size()));
 			
 			handle.setSong(gpxParser.parse());
 		} catch (Throwable throwable) {
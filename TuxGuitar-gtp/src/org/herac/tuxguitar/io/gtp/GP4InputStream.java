@@ -132,10 +132,11 @@ public class GP4InputStream extends GTPInputStream {
 		TGTempo tempo = getFactory().newTempo();
 		tempo.setValue(tempoValue);
 		long start = TGDuration.QUARTER_TIME;
+		int measuresToRead = countMeasuresToRead(measures);
 		for (int i = 0; i < measures; i++) {
 			TGMeasureHeader header = song.getMeasureHeader(i);
 			header.setStart(start);
-			for (int j = 0; j < tracks; j++) {
+			for (int j = 0; j < tracks && i < measuresToRead; j++) {
 				TGTrack track = song.getTrack(j);
 				TGMeasure measure = getFactory().newMeasure(header);
 				track.addMeasure(measure);
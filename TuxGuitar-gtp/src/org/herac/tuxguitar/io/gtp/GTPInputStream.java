@@ -13,6 +13,7 @@ public abstract class GTPInputStream extends GTPFileFormat implements TGSongRead
 	private GTPFileFormatVersion version;
 	private GTPFileFormatVersion[] versions;
 	private InputStream stream;
+	private TGSongReaderHandle handle;
 	
 	public GTPInputStream(GTPSettings settings, GTPFileFormatVersion[] versions){
 		super(settings);
@@ -25,6 +26,7 @@ public abstract class GTPInputStream extends GTPFileFormat implements TGSongRead
 		try {
 			this.version = null;
 			this.stream = handle.getInputStream();
+			this.handle = handle;
 			this.init(handle.getFactory());
 			
 			handle.setSong(this.readSong());
@@ -35,6 +37,10 @@ public abstract class GTPInputStream extends GTPFileFormat implements TGSongRead
 		}
 	}
 	
+	protected int countMeasuresToRead(int measures){
+		return this.handle.countMeasuresToRead(measures);
+	}
+	
 	protected GTPFileFormatVersion getVersion(){
 		return this.version;
 	}
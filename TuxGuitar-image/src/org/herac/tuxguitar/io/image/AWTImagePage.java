@@ -0,0 +1,38 @@
+package org.herac.tuxguitar.io.image;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.herac.tuxguitar.awt.graphics.AWTImage;
+
+public class AWTImagePage implements ImagePage {
+	
+	private Image image;
+	
+	public AWTImagePage(AWTImage image) {
+		this.image = image.getHandle();
+	}
+	
+	public void write(ImageFormat format, OutputStream stream) throws IOException {
+		if(!ImageIO.write(this.toBufferedImage(format), format.getImageIOName(), stream)) {
+			throw new IOException("No image writer found for format: " + format.getName());
+		}
+	}
+	
+	private BufferedImage toBufferedImage(ImageFormat format) {
+		int type = (format.isAlphaSupported() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		if( this.image instanceof BufferedImage && (format.isAlphaSupported() || !((BufferedImage) this.image).getColorModel().hasAlpha()) ) {
+			return (BufferedImage) this.image;
+		}
+		BufferedImage bufferedImage = new BufferedImage(this.image.getWidth(null), this.image.getHeight(null), type);
+		Graphics2D graphics = bufferedImage.createGraphics();
+		graphics.drawImage(this.image, 0, 0, null);
+		graphics.dispose();
+		return bufferedImage;
+	}
+}
@@ -7,6 +7,7 @@ public class ImageExporterSettings {
 	private TGPrintSettings styles;
 	private ImageFormat format;
 	private String path;
+	private boolean headless;
 	
 	public ImageExporterSettings() {
 		super();
@@ -35,4 +36,12 @@ public class ImageExporterSettings {
 	public void setPath(String path) {
 		this.path = path;
 	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	public void setHeadless(boolean headless) {
+		this.headless = headless;
+	}
 }
@@ -66,6 +66,11 @@ public class ImageExporterSettingsDialog {
 		formatCombo.setSelectedValue(ImageFormat.IMAGE_FORMATS[0]);
 		formatLayout.set(formatCombo, 1, 2, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true);
 		
+		final UICheckBox headless = uiFactory.createCheckBox(formatGroup);
+		headless.setText(TuxGuitar.getProperty("tuxguitar-image.headless"));
+		headless.setSelected(false);
+		formatLayout.set(headless, 2, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true, 1, 2);
+		
 		//------------------TRACK SELECTION------------------
 		UITableLayout trackLayout = new UITableLayout();
 		UILegendPanel track = uiFactory.createLegendPanel(dialog);
@@ -221,6 +226,7 @@ public class ImageExporterSettingsDialog {
 				ImageExporterSettings settings = new ImageExporterSettings();
 				settings.setStyles(styles);
 				settings.setFormat(imageFormat);
+				settings.setHeadless(headless.isSelected());
 				
 				openDirectoryDialog(uiFactory, settings, context, callback);
 			}
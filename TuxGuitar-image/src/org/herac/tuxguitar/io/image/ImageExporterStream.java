@@ -1,8 +1,6 @@
 package org.herac.tuxguitar.io.image;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import org.herac.tuxguitar.awt.graphics.AWTResourceFactory;
 import org.herac.tuxguitar.app.printer.PrintController;
 import org.herac.tuxguitar.app.ui.TGApplication;
 import org.herac.tuxguitar.document.TGDocumentContextAttributes;
@@ -51,14 +49,19 @@ public class ImageExporterStream implements TGSongStream{
 			UISize pageSize = new UISize(PAGE_WIDTH, PAGE_HEIGHT);
 			UIInset pageMargins = new UIInset(MARGIN_TOP, MARGIN_LEFT, MARGIN_RIGHT, MARGIN_BOTTOM);
 			
-			UIResourceFactory factory = getUIFactory();
+			UIResourceFactory factory = (settings.isHeadless() ? new AWTResourceFactory() : getUIFactory());
 			
 			TGPrintController controller = new PrintController(this.context, clonedSong, manager, factory);
 			TGPrintLayout layout = new TGPrintLayout(controller, settings.getStyles());
 			
 			layout.loadStyles(1f);
 			layout.updateSong();
-			layout.makeDocument(new PrintDocumentImpl(pageSize, pageMargins, settings.getFormat(), settings.getPath() ));
+			ImageWriter writer = new ImageWriter(settings.getFormat(), settings.getPath());
+			try {
+				layout.makeDocument(new PrintDocumentImpl(factory, pageSize, pageMargins, writer, !settings.isHeadless()));
+			} finally {
+				writer.close();
+			}
 		}
 	}
 	
@@ -69,19 +72,21 @@ public class ImageExporterStream implements TGSongStream{
 	private class PrintDocumentImpl implements TGPrintDocument{
 		
 		private TGPrintPainter painter;
+		private UIResourceFactory factory;
 		private UISize size;
 		private UIInset margins;
-		private String path;
-		private List<UIImage> pages;
-		private ImageFormat format;
+		private UIImage page;
+		private ImageWriter writer;
+		private Throwable error;
+		private boolean transparentBackground;
 		
-		public PrintDocumentImpl(UISize size, UIInset margins, ImageFormat format, String path){
+		public PrintDocumentImpl(UIResourceFactory factory, UISize size, UIInset margins, ImageWriter writer, boolean transparentBackground){
+			this.factory = factory;
 			this.size = size;
 			this.margins = margins;
-			this.path = path;
+			this.writer = writer;
+			this.transparentBackground = transparentBackground;
 			this.painter = new TGPrintPainter();
-			this.pages = new ArrayList<UIImage>();
-			this.format = format;
 		}
 		
 		public UIPainter getPainter() {
@@ -100,14 +105,22 @@ public class ImageExporterStream implements TGSongStream{
 			int width = Math.round(this.size.getWidth());
 			int height = Math.round(this.size.getHeight());
 			
-			UIFactory factory = getUIFactory();
-			UIImage page = factory.createImage(width, height);
-			this.painter.setHandle(page.createPainter());
-			this.pages.add( page );
+			this.page = this.factory.createImage(width, height);
+			this.painter.setHandle(this.page.createPainter());
 		}
 		
 		public void pageFinish() {
 			this.painter.dispose();
+			try {
+				if( this.error == null ) {
+					this.writer.writePage(this.page);
+				}
+			} catch (Throwable throwable) {
+				this.error = throwable;
+			} finally {
+				this.page.dispose();
+				this.page = null;
+			}
 		}
 		
 		public void start() {
@@ -116,10 +129,9 @@ public class ImageExporterStream implements TGSongStream{
 		
 		public void finish() {
 			try {
-				ImageWriter.write(this.format, this.path, this.pages);
-				
-				for(UIImage uiImage : this.pages) {
-					uiImage.dispose();
+				this.writer.finish();
+				if( this.error != null ) {
+					throw this.error;
 				}
 			} catch (Throwable throwable) {
 				TGErrorManager.getInstance(ImageExporterStream.this.context).handleError(throwable);
@@ -127,7 +139,7 @@ public class ImageExporterStream implements TGSongStream{
 		}
 		
 		public boolean isTransparentBackground() {
-			return true;
+			return this.transparentBackground;
 		}
 		
 		public boolean isPaintable(int page) {
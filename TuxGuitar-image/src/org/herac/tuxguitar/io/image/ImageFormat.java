@@ -5,19 +5,21 @@ import org.eclipse.swt.SWT;
 public class ImageFormat {
 	
 	public final static ImageFormat[] IMAGE_FORMATS = new ImageFormat[] {
-		new ImageFormat( SWT.IMAGE_PNG , "PNG" , ".png" ),
-		new ImageFormat( SWT.IMAGE_JPEG , "JPEG" , ".jpg" ),
-		new ImageFormat( SWT.IMAGE_BMP , "BMP", ".bmp" ),
+		new ImageFormat( SWT.IMAGE_PNG , "PNG" , ".png", "png" ),
+		new ImageFormat( SWT.IMAGE_JPEG , "JPEG" , ".jpg", "jpeg" ),
+		new ImageFormat( SWT.IMAGE_BMP , "BMP", ".bmp", "bmp" ),
 	};
 	
 	private int format;
 	private String name;
 	private String extension;
+	private String imageIOName;
 	
-	public ImageFormat(int format, String name, String extension){
+	public ImageFormat(int format, String name, String extension, String imageIOName){
 		this.format = format;
 		this.name = name;
 		this.extension = extension;
+		this.imageIOName = imageIOName;
 	}
 	
 	public int getFormat() {
@@ -31,4 +33,12 @@ public class ImageFormat {
 	public String getExtension() {
 		return this.extension;
 	}
+	
+	public String getImageIOName() {
+		return this.imageIOName;
+	}
+	
+	public boolean isAlphaSupported() {
+		return "png".equals(this.imageIOName);
+	}
 }
@@ -0,0 +1,13 @@
+package org.herac.tuxguitar.io.image;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Pixel snapshot of a rendered page, detached from the native image it was painted on
+ * so that it can be encoded on any thread.
+ */
+public interface ImagePage {
+	
+	void write(ImageFormat format, OutputStream stream) throws IOException;
+}
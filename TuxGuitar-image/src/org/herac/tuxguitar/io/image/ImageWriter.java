@@ -1,34 +1,135 @@
 package org.herac.tuxguitar.io.image;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.ImageLoader;
+import org.herac.tuxguitar.awt.graphics.AWTImage;
 import org.herac.tuxguitar.io.base.TGFileFormatException;
 import org.herac.tuxguitar.ui.resource.UIImage;
 import org.herac.tuxguitar.ui.swt.resource.SWTImage;
 
+/**
+ * Encodes pages while the layout keeps producing them.
+ *
+ * Every page is copied into an {@link ImagePage} snapshot, so the caller may dispose the
+ * native image as soon as {@link #writePage(UIImage)} returns. Snapshots are encoded by a
+ * small worker pool, and writePage blocks once {@code maxPendingPages} pages wait for
+ * encoding, which bounds memory to a couple of pages whatever the song length is.
+ */
 public class ImageWriter {
 	
-	public static void write(ImageFormat format, String path, List<UIImage> pages) throws TGFileFormatException {
+	private static final int MAX_WORKERS = 2;
+	
+	private ImageFormat format;
+	private String path;
+	private ExecutorService executor;
+	private Semaphore pendingPages;
+	private Throwable error;
+	private int pageCount;
+	
+	public ImageWriter(ImageFormat format, String path, int workers, int maxPendingPages) {
+		this.format = format;
+		this.path = path;
+		this.pendingPages = new Semaphore(maxPendingPages);
+		this.executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TuxGuitar-image-writer");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	public ImageWriter(ImageFormat format, String path) {
+		this(format, path, getDefaultWorkers(), getDefaultWorkers());
+	}
+	
+	public void writePage(UIImage image) throws TGFileFormatException {
+		this.checkError();
+		try {
+			this.pendingPages.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TGFileFormatException("Could not write song!.", e);
+		}
+		
+		final int index = (this.pageCount ++);
+		final ImagePage page;
+		try {
+			page = createPage(image);
+		} catch (RuntimeException e) {
+			this.pendingPages.release();
+			throw e;
+		}
+		
+		this.executor.execute(new Runnable() {
+			public void run() {
+				try {
+					ImageWriter.this.encodePage(index, page);
+				} catch (Throwable throwable) {
+					ImageWriter.this.setError(throwable);
+				} finally {
+					ImageWriter.this.pendingPages.release();
+				}
+			}
+		});
+	}
+	
+	public void finish() throws TGFileFormatException {
+		this.executor.shutdown();
 		try {
-			for(int i = 0; i < pages.size() ; i ++ ) {
-				OutputStream stream = new FileOutputStream(new File(path + File.separator + "page-" + i + format.getExtension() ));
-				
-				Image image = ((SWTImage) pages.get(i)).getHandle();
-				ImageLoader imageLoader = new ImageLoader();
-				imageLoader.data = new ImageData[] { image.getImageData() };
-				imageLoader.save(stream, format.getFormat() );
-				
-				stream.flush();
-				stream.close();
+			while(!this.executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				// keep waiting for pending pages
 			}
-		} catch (Throwable throwable) {
-			throw new TGFileFormatException("Could not write song!.",throwable);
+		} catch (InterruptedException e) {
+			this.executor.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new TGFileFormatException("Could not write song!.", e);
 		}
+		this.checkError();
+	}
+	
+	public void close() {
+		this.executor.shutdownNow();
+	}
+	
+	private void encodePage(int index, ImagePage page) throws Throwable {
+		OutputStream stream = new BufferedOutputStream(new FileOutputStream(new File(this.path + File.separator + "page-" + index + this.format.getExtension())));
+		try {
+			page.write(this.format, stream);
+			stream.flush();
+		} finally {
+			stream.close();
+		}
+	}
+	
+	private synchronized void setError(Throwable throwable) {
+		if( this.error == null ) {
+			this.error = throwable;
+		}
+	}
+	
+	private synchronized void checkError() throws TGFileFormatException {
+		if( this.error != null ) {
+			throw new TGFileFormatException("Could not write song!.", this.error);
+		}
+	}
+	
+	public static ImagePage createPage(UIImage image) {
+		if( image instanceof AWTImage ) {
+			return new AWTImagePage((AWTImage) image);
+		}
+		return new SWTImagePage((SWTImage) image);
+	}
+	
+	public static int getDefaultWorkers() {
+		return Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
 	}
 }
@@ -0,0 +1,22 @@
+package org.herac.tuxguitar.io.image;
+
+import java.io.OutputStream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.herac.tuxguitar.ui.swt.resource.SWTImage;
+
+public class SWTImagePage implements ImagePage {
+	
+	private ImageData imageData;
+	
+	public SWTImagePage(SWTImage image) {
+		this.imageData = image.getHandle().getImageData();
+	}
+	
+	public void write(ImageFormat format, OutputStream stream) {
+		ImageLoader imageLoader = new ImageLoader();
+		imageLoader.data = new ImageData[] { this.imageData };
+		imageLoader.save(stream, format.getFormat());
+	}
+}
@@ -10,16 +10,23 @@ import org.herac.tuxguitar.event.TGEventManager;
 import org.herac.tuxguitar.util.TGContext;
 import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
 import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+import org.herac.tuxguitar.util.trace.TGTracer;
 
 public class TGActionManager {
 	
+	private static final String TRACE_ACTION = "action:";
+	private static final String TRACE_INTERCEPTOR = "interceptor:";
+	private static final String TRACE_EXECUTE = "execute:";
+	
 	private TGContext context;
+	private TGTracer tracer;
 	private Map<String, TGAction> actions;
 	private List<TGActionInterceptor> interceptors;
 	private TGActionContextFactory actionContextFactory;
 	
 	private TGActionManager(TGContext context){
 		this.context = context;
+		this.tracer = TGTracer.getInstance(context);
 		this.actions = new HashMap<String, TGAction>();
 		this.interceptors = new ArrayList<TGActionInterceptor>();
 		this.actionContextFactory = null;
@@ -58,13 +65,14 @@ public class TGActionManager {
 	}
 	
 	public void execute(String id, TGActionContext context) throws TGActionException{
+		boolean traced = this.tracer.begin(TRACE_ACTION, id);
 		try {
 			TGAction action = getAction(id);
 			if( action != null ){
 				if(!this.intercept(id, context)){
 					this.doPreExecution(id, context);
 					
-					action.execute(context);
+					this.doExecution(action, context);
 					
 					this.doPostExecution(id, context);
 				}
@@ -77,18 +85,40 @@ public class TGActionManager {
 			this.fireErrorEvent(id, context, throwable);
 			
 			throw new TGActionException(throwable);
+		} finally {
+			if( traced ) {
+				this.tracer.end();
+			}
 		}
 	}
 	
 	public boolean intercept(String id, TGActionContext context) throws TGActionException{
 		for(TGActionInterceptor interceptor : this.interceptors){
-			if( interceptor.intercept(id, context) ) {
-				return true;
+			boolean traced = this.tracer.begin(TRACE_INTERCEPTOR, interceptor.getClass());
+			try {
+				if( interceptor.intercept(id, context) ) {
+					return true;
+				}
+			} finally {
+				if( traced ) {
+					this.tracer.end();
+				}
 			}
 		}
 		return false;
 	}
 	
+	public void doExecution(TGAction action, TGActionContext context) throws TGActionException{
+		boolean traced = this.tracer.begin(TRACE_EXECUTE, action.getClass());
+		try {
+			action.execute(context);
+		} finally {
+			if( traced ) {
+				this.tracer.end();
+			}
+		}
+	}
+	
 	public void doPreExecution(String id, TGActionContext context) throws TGActionException{
 		TGEventManager.getInstance(this.context).fireEvent(new TGActionPreExecutionEvent(id, context));
 	}
@@ -3,8 +3,12 @@ package org.herac.tuxguitar.event;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.herac.tuxguitar.util.trace.TGTracer;
+
 public class TGEventHandler {
 	
+	private static final String TRACE_LISTENER = "listener:";
+	
 	private Object lock;
 	private List<TGEventListener> listeners;
 	
@@ -14,6 +18,10 @@ public class TGEventHandler {
 	}
 	
 	public void processEvent(TGEvent event) throws TGEventException {
+		this.processEvent(event, null);
+	}
+	
+	public void processEvent(TGEvent event, TGTracer tracer) throws TGEventException {
 		List<TGEventListener> listeners = new ArrayList<TGEventListener>();
 		synchronized (this.lock) {
 			listeners.addAll(this.listeners);
@@ -21,7 +29,14 @@ public class TGEventHandler {
 		
 		try {
 			for(TGEventListener tgEventListener : listeners){
-				tgEventListener.processEvent(event);
+				boolean traced = (tracer != null && tracer.begin(TRACE_LISTENER, tgEventListener.getClass()));
+				try {
+					tgEventListener.processEvent(event);
+				} finally {
+					if( traced ) {
+						tracer.end();
+					}
+				}
 			}
 		} catch (Throwable e) {
 			throw new TGEventException(e);
@@ -7,12 +7,17 @@ import org.herac.tuxguitar.util.TGAbstractContext;
 import org.herac.tuxguitar.util.TGContext;
 import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
 import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+import org.herac.tuxguitar.util.trace.TGTracer;
 
 public class TGEventManager {
 	
+	private static final String TRACE_EVENT = "event:";
+	
+	private TGTracer tracer;
 	private Map<String, TGEventHandler> eventHandlers;
 	
-	private TGEventManager() {
+	private TGEventManager(TGContext context) {
+		this.tracer = TGTracer.getInstance(context);
 		this.eventHandlers = new HashMap<String, TGEventHandler>();
 	}
 	
@@ -29,17 +34,24 @@ public class TGEventManager {
 	}
 	
 	public void fireEvent(TGEvent event) throws TGEventException {
-		TGAbstractContext sourceContext = event.getAttribute(TGEvent.ATTRIBUTE_SOURCE_CONTEXT);
-		if( sourceContext != null ) {
-			TGEventListener listener = sourceContext.getAttribute(TGEventListener.class.getName());
-			if( listener != null ) {
-				listener.processEvent(event);
+		boolean traced = this.tracer.begin(TRACE_EVENT, event.getEventType());
+		try {
+			TGAbstractContext sourceContext = event.getAttribute(TGEvent.ATTRIBUTE_SOURCE_CONTEXT);
+			if( sourceContext != null ) {
+				TGEventListener listener = sourceContext.getAttribute(TGEventListener.class.getName());
+				if( listener != null ) {
+					listener.processEvent(event);
+				}
+			}
+			
+			TGEventHandler handler = this.findEventHandler(event.getEventType());
+			if( handler != null ) {
+				handler.processEvent(event, this.tracer);
+			}
+		} finally {
+			if( traced ) {
+				this.tracer.end();
 			}
-		}
-		
-		TGEventHandler handler = this.findEventHandler(event.getEventType());
-		if( handler != null ) {
-			handler.processEvent(event);
 		}
 	}
 	
@@ -62,7 +74,7 @@ public class TGEventManager {
 	public static TGEventManager getInstance(TGContext context) {
 		return TGSingletonUtil.getInstance(context, TGEventManager.class.getName(), new TGSingletonFactory<TGEventManager>() {
 			public TGEventManager createInstance(TGContext context) {
-				return new TGEventManager();
+				return new TGEventManager(context);
 			}
 		});
 	}
@@ -0,0 +1,291 @@
+package org.herac.tuxguitar.graphics.control;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.herac.tuxguitar.graphics.command.TGPaintCommand;
+import org.herac.tuxguitar.ui.resource.UIAlphaImageFactory;
+import org.herac.tuxguitar.ui.resource.UIColor;
+import org.herac.tuxguitar.ui.resource.UIImage;
+import org.herac.tuxguitar.ui.resource.UIPainter;
+import org.herac.tuxguitar.ui.resource.UIResourceFactory;
+
+/**
+ * Pre-rasterized notation symbols.
+ *
+ * Every paint model is rendered once per (style, line width, color, scale) into a page
+ * shared by all the glyphs of the same color, then copied from it when painted. Glyphs
+ * are placed with a quarter pixel precision, each offset being rasterized on its own.
+ *
+ * New glyphs are painted as paths until flush() is called at the end of the paint pass,
+ * which rebuilds each changed page once.
+ */
+public class TGGlyphAtlas {
+	
+	private static final int PAGE_SIZE = 256;
+	private static final int SUBPIXELS = 4;
+	private static final int PADDING = 1;
+	
+	private UIResourceFactory factory;
+	private UIColor maskBackground;
+	private UIColor maskForeground;
+	private TGGlyphKey lookup;
+	private Map<TGGlyphKey, TGGlyph> glyphs;
+	private Map<Integer, List<TGGlyphPage>> pages;
+	private List<TGGlyph> pending;
+	
+	public TGGlyphAtlas(UIResourceFactory factory) {
+		this.factory = factory;
+		this.lookup = new TGGlyphKey();
+		this.glyphs = new HashMap<TGGlyphKey, TGGlyph>();
+		this.pages = new HashMap<Integer, List<TGGlyphPage>>();
+		this.pending = new ArrayList<TGGlyph>();
+	}
+	
+	public static boolean isSupported(UIResourceFactory factory) {
+		return (factory instanceof UIAlphaImageFactory);
+	}
+	
+	/**
+	 * Paints the model with the given style, as painter.initPath(style) would.
+	 *
+	 * @return false when the glyph does not fit in a page or is not in its page image yet, so it must be painted as a path.
+	 */
+	public boolean paint(UIPainter painter, TGPaintCommand model, int style, float lineWidth, UIColor color, float x, float y, float scale) {
+		int originX = (int) Math.floor(x);
+		int originY = (int) Math.floor(y);
+		int subX = Math.round((x - originX) * SUBPIXELS);
+		int subY = Math.round((y - originY) * SUBPIXELS);
+		if( subX == SUBPIXELS ) {
+			originX ++;
+			subX = 0;
+		}
+		if( subY == SUBPIXELS ) {
+			originY ++;
+			subY = 0;
+		}
+		
+		int rgb = ((color.getRed() << 16) | (color.getGreen() << 8) | color.getBlue());
+		
+		this.lookup.set(model, style, lineWidth, rgb, scale, subX, subY);
+		TGGlyph glyph = this.glyphs.get(this.lookup);
+		if( glyph == null ) {
+			TGGlyphKey key = new TGGlyphKey();
+			key.set(model, style, lineWidth, rgb, scale, subX, subY);
+			glyph = this.createGlyph(key, color);
+			this.glyphs.put(key, glyph);
+		}
+		if( glyph.page == null || !glyph.ready ) {
+			return false;
+		}
+		painter.drawImage(glyph.page.getImage(), glyph.x, glyph.y, glyph.width, glyph.height, originX + glyph.left, originY + glyph.top, glyph.width, glyph.height);
+		
+		return true;
+	}
+	
+	private TGGlyph createGlyph(TGGlyphKey key, UIColor color) {
+		float offsetX = ((float) key.subX / SUBPIXELS);
+		float offsetY = ((float) key.subY / SUBPIXELS);
+		float padding = (PADDING + Math.max(key.lineWidth, 1f));
+		
+		TGGlyph glyph = new TGGlyph();
+		glyph.left = (int) Math.floor(offsetX + (key.model.getMinimumX() * key.scale) - padding);
+		glyph.top = (int) Math.floor(offsetY + (key.model.getMinimumY() * key.scale) - padding);
+		glyph.width = ((int) Math.ceil(offsetX + (key.model.getMaximumX() * key.scale) + padding) - glyph.left);
+		glyph.height = ((int) Math.ceil(offsetY + (key.model.getMaximumY() * key.scale) + padding) - glyph.top);
+		if( glyph.width <= PAGE_SIZE && glyph.height <= PAGE_SIZE ) {
+			glyph.page = this.findPage(key.rgb, color, glyph);
+			
+			UIPainter painter = glyph.page.mask.createPainter();
+			painter.setForeground(this.maskForeground);
+			painter.setBackground(this.maskForeground);
+			painter.setLineWidth(key.lineWidth);
+			painter.initPath(key.style);
+			key.model.paint(painter, (glyph.x - glyph.left + offsetX), (glyph.y - glyph.top + offsetY), key.scale);
+			painter.closePath();
+			painter.dispose();
+			
+			glyph.page.dirty = true;
+			this.pending.add(glyph);
+		}
+		return glyph;
+	}
+	
+	/**
+	 * Rebuilds the pages that received glyphs since the last call, the glyphs are copied from them afterwards.
+	 */
+	public void flush() {
+		if(!this.pending.isEmpty() ) {
+			for(TGGlyph glyph : this.pending) {
+				if( glyph.page.dirty ) {
+					glyph.page.update();
+				}
+				glyph.ready = true;
+			}
+			this.pending.clear();
+		}
+	}
+	
+	private TGGlyphPage findPage(Integer rgb, UIColor color, TGGlyph glyph) {
+		List<TGGlyphPage> colorPages = this.pages.get(rgb);
+		if( colorPages == null ) {
+			colorPages = new ArrayList<TGGlyphPage>();
+			this.pages.put(rgb, colorPages);
+		}
+		if(!colorPages.isEmpty() && colorPages.get(colorPages.size() - 1).allocate(glyph)) {
+			return colorPages.get(colorPages.size() - 1);
+		}
+		
+		TGGlyphPage page = new TGGlyphPage(this.createMask(), color);
+		page.allocate(glyph);
+		colorPages.add(page);
+		
+		return page;
+	}
+	
+	private UIImage createMask() {
+		if( this.maskBackground == null ) {
+			this.maskBackground = this.factory.createColor(0xff, 0xff, 0xff);
+			this.maskForeground = this.factory.createColor(0x00, 0x00, 0x00);
+		}
+		UIImage mask = this.factory.createImage(PAGE_SIZE, PAGE_SIZE);
+		UIPainter painter = mask.createPainter();
+		painter.setBackground(this.maskBackground);
+		painter.initPath(UIPainter.PATH_FILL);
+		painter.addRectangle(0, 0, PAGE_SIZE, PAGE_SIZE);
+		painter.closePath();
+		painter.dispose();
+		
+		return mask;
+	}
+	
+	public void clear() {
+		for(List<TGGlyphPage> colorPages : this.pages.values()) {
+			for(TGGlyphPage page : colorPages) {
+				page.dispose();
+			}
+		}
+		this.pages.clear();
+		this.glyphs.clear();
+		this.pending.clear();
+	}
+	
+	public void dispose() {
+		this.clear();
+		if( this.maskBackground != null ) {
+			this.maskBackground.dispose();
+			this.maskForeground.dispose();
+			this.maskBackground = null;
+			this.maskForeground = null;
+		}
+	}
+	
+	private class TGGlyphPage {
+		
+		private UIImage mask;
+		private UIImage image;
+		private UIColor color;
+		private boolean dirty;
+		private int shelfX;
+		private int shelfY;
+		private int shelfHeight;
+		
+		public TGGlyphPage(UIImage mask, UIColor color) {
+			this.mask = mask;
+			this.color = color;
+		}
+		
+		public boolean allocate(TGGlyph glyph) {
+			if( this.shelfX + glyph.width > PAGE_SIZE ) {
+				this.shelfX = 0;
+				this.shelfY += this.shelfHeight;
+				this.shelfHeight = 0;
+			}
+			if( this.shelfY + glyph.height > PAGE_SIZE ) {
+				return false;
+			}
+			glyph.x = this.shelfX;
+			glyph.y = this.shelfY;
+			
+			this.shelfX += glyph.width;
+			this.shelfHeight = Math.max(this.shelfHeight, glyph.height);
+			
+			return true;
+		}
+		
+		public UIImage getImage() {
+			return this.image;
+		}
+		
+		public void update() {
+			if( this.image != null ) {
+				this.image.dispose();
+			}
+			this.image = ((UIAlphaImageFactory) TGGlyphAtlas.this.factory).createAlphaImage(this.mask, this.color);
+			this.dirty = false;
+		}
+		
+		public void dispose() {
+			if( this.image != null && !this.image.isDisposed() ) {
+				this.image.dispose();
+			}
+			if(!this.mask.isDisposed() ) {
+				this.mask.dispose();
+			}
+		}
+	}
+	
+	private static class TGGlyph {
+		
+		private TGGlyphPage page;
+		private boolean ready;
+		private int x;
+		private int y;
+		private int left;
+		private int top;
+		private int width;
+		private int height;
+	}
+	
+	private static class TGGlyphKey {
+		
+		private TGPaintCommand model;
+		private int style;
+		private float lineWidth;
+		private int rgb;
+		private float scale;
+		private int subX;
+		private int subY;
+		
+		public void set(TGPaintCommand model, int style, float lineWidth, int rgb, float scale, int subX, int subY) {
+			this.model = model;
+			this.style = style;
+			this.lineWidth = lineWidth;
+			this.rgb = rgb;
+			this.scale = scale;
+			this.subX = subX;
+			this.subY = subY;
+		}
+		
+		public int hashCode() {
+			int hash = System.identityHashCode(this.model);
+			hash = (31 * hash + this.style);
+			hash = (31 * hash + Float.floatToIntBits(this.lineWidth));
+			hash = (31 * hash + this.rgb);
+			hash = (31 * hash + Float.floatToIntBits(this.scale));
+			hash = (31 * hash + (this.subX * SUBPIXELS + this.subY));
+			return hash;
+		}
+		
+		public boolean equals(Object obj) {
+			if(!(obj instanceof TGGlyphKey)) {
+				return false;
+			}
+			TGGlyphKey key = (TGGlyphKey) obj;
+			return (this.model == key.model && this.style == key.style && this.rgb == key.rgb && this.subX == key.subX && this.subY == key.subY &&
+					Float.floatToIntBits(this.lineWidth) == Float.floatToIntBits(key.lineWidth) && Float.floatToIntBits(this.scale) == Float.floatToIntBits(key.scale));
+		}
+	}
+}
@@ -8,6 +8,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.herac.tuxguitar.graphics.command.TGPaintCommand;
 import org.herac.tuxguitar.song.managers.TGSongManager;
 import org.herac.tuxguitar.song.models.TGDuration;
 import org.herac.tuxguitar.song.models.TGMeasure;
@@ -16,6 +17,7 @@ import org.herac.tuxguitar.song.models.TGSong;
 import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIPainter;
 import org.herac.tuxguitar.ui.resource.UIRectangle;
+import org.herac.tuxguitar.ui.resource.UIResourceFactory;
 
 public abstract class TGLayout {
 	
@@ -72,6 +74,7 @@ public abstract class TGLayout {
 	
 	private TGController controller;
 	private TGResources resources;
+	private TGGlyphAtlas glyphAtlas;
 	private TGDrumMap drumMap;
 	private Map<TGMeasureHeader, List<TGMeasureHeader>> updateDependants;
 	
@@ -151,6 +154,30 @@ public abstract class TGLayout {
 		}
 		
 		this.getResources().load(styles);
+		this.loadGlyphAtlas(styles);
+	}
+	
+	private void loadGlyphAtlas(TGLayoutStyles styles) {
+		if( this.glyphAtlas != null ) {
+			this.glyphAtlas.dispose();
+			this.glyphAtlas = null;
+		}
+		UIResourceFactory factory = this.getComponent().getResourceFactory();
+		if( styles.isGlyphAtlasEnabled() && TGGlyphAtlas.isSupported(factory) ) {
+			this.glyphAtlas = new TGGlyphAtlas(factory);
+		}
+	}
+	
+	/**
+	 * Paints a notation symbol, copying it from the glyph atlas when enabled.
+	 * Painter colors and line width must already be set, color being the one used by the style.
+	 */
+	public void paintGlyph(UIPainter painter, TGPaintCommand model, int style, float lineWidth, UIColor color, float x, float y, float scale) {
+		if( this.glyphAtlas == null || !this.glyphAtlas.paint(painter, model, style, lineWidth, color, x, y, scale) ) {
+			painter.initPath(style);
+			model.paint(painter, x, y, scale);
+			painter.closePath();
+		}
 	}
 	
 	public abstract void paintSong(UIPainter painter,UIRectangle clientArea,float fromX,float fromY);
@@ -160,6 +187,9 @@ public abstract class TGLayout {
 	public void paint(UIPainter painter,UIRectangle clientArea,float fromX,float fromY){
 		this.playModeEnabled = false;
 		paintSong(painter,clientArea,fromX,fromY);
+		if( this.glyphAtlas != null ) {
+			this.glyphAtlas.flush();
+		}
 	}
 	
 	public void paintMeasure(TGMeasureImpl measure,UIPainter painter,float spacing) {
@@ -430,11 +460,11 @@ public abstract class TGLayout {
 	}
 	
 	public void setKeySignatureStyle(UIPainter painter){
-		painter.setBackground(getDarkColor(getResources().getForegroundColor()));
+		painter.setBackground(getSymbolColor());
 	}
 	
 	public void setClefStyle(UIPainter painter){
-		painter.setBackground(getDarkColor(getResources().getForegroundColor()));
+		painter.setBackground(getSymbolColor());
 	}
 	
 	public void setLineStyle(UIPainter painter){
@@ -443,18 +473,18 @@ public abstract class TGLayout {
 	}
 	
 	public void setScoreSilenceStyle(UIPainter painter,boolean playMode){
-		painter.setForeground( (playMode ? getResources().getPlayNoteColor() : getDarkColor(getResources().getScoreNoteColor())));
-		painter.setBackground( (playMode ? getResources().getPlayNoteColor() : getDarkColor(getResources().getScoreNoteColor())));
+		painter.setForeground(getScoreNoteColor(playMode));
+		painter.setBackground(getScoreNoteColor(playMode));
 	}
 	
 	public void setTabSilenceStyle(UIPainter painter,boolean playMode){
-		painter.setForeground( (playMode ? getResources().getPlayNoteColor() : getDarkColor(getResources().getTabNoteColor()) ));
-		painter.setBackground( (playMode ? getResources().getPlayNoteColor() : getDarkColor(getResources().getTabNoteColor()) ));
+		painter.setForeground(getTabNoteColor(playMode));
+		painter.setBackground(getTabNoteColor(playMode));
 	}
 	
 	public void setScoreNoteStyle(UIPainter painter,boolean playing){
-		painter.setForeground( (playing ? getResources().getPlayNoteColor() : getDarkColor(getResources().getScoreNoteColor())));
-		painter.setBackground( (playing ? getResources().getPlayNoteColor() : getDarkColor(getResources().getScoreNoteColor())));
+		painter.setForeground(getScoreNoteColor(playing));
+		painter.setBackground(getScoreNoteColor(playing));
 	}
 	
 	public void setScoreNoteFooterStyle(UIPainter painter){
@@ -557,6 +587,18 @@ public abstract class TGLayout {
 		painter.setBackground(getResources().getLoopEMarkerColor());
 	}
 	
+	public UIColor getScoreNoteColor(boolean playing) {
+		return (playing ? getResources().getPlayNoteColor() : getDarkColor(getResources().getScoreNoteColor()));
+	}
+	
+	public UIColor getTabNoteColor(boolean playing) {
+		return (playing ? getResources().getPlayNoteColor() : getDarkColor(getResources().getTabNoteColor()));
+	}
+	
+	public UIColor getSymbolColor() {
+		return getDarkColor(getResources().getForegroundColor());
+	}
+	
 	public UIColor getDarkColor(UIColor color) {
 		return ((this.getStyle() & TGLayout.DISPLAY_MODE_BLACK_WHITE) != 0 ? getResources().getColorBlack() : color );
 	}
@@ -794,6 +836,10 @@ public abstract class TGLayout {
 	}
 	
 	public void disposeLayout(){
+		if( this.glyphAtlas != null ) {
+			this.glyphAtlas.dispose();
+			this.glyphAtlas = null;
+		}
 		this.getResources().dispose();
 	}
 	
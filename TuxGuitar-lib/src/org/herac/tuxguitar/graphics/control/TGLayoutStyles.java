@@ -7,6 +7,7 @@ public class TGLayoutStyles {
 	
 	private boolean bufferEnabled;
 	private boolean tabNotePathRendererEnabled;
+	private boolean glyphAtlasEnabled;
 	private float minBufferSeparator;
 	private float minTopSpacing;
 	private float minScoreTabSpacing;
@@ -72,6 +73,14 @@ public class TGLayoutStyles {
 		this.tabNotePathRendererEnabled = tabNotePathRendererEnabled;
 	}
 
+	public boolean isGlyphAtlasEnabled() {
+		return glyphAtlasEnabled;
+	}
+
+	public void setGlyphAtlasEnabled(boolean glyphAtlasEnabled) {
+		this.glyphAtlasEnabled = glyphAtlasEnabled;
+	}
+
 	public float getMinBufferSeparator() {
 		return minBufferSeparator;
 	}
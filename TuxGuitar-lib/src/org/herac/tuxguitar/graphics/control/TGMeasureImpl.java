@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.herac.tuxguitar.graphics.command.TGPaintCommand;
 import org.herac.tuxguitar.graphics.control.painters.TGClefPainter;
 import org.herac.tuxguitar.graphics.control.painters.TGKeySignaturePainter;
 import org.herac.tuxguitar.graphics.control.painters.TGNumberPainter;
@@ -908,24 +909,26 @@ public class TGMeasureImpl extends TGMeasure{
 			float x = (fromX + getHeaderImpl().getLeftSpacing(layout));
 			float y = (fromY + getTs().getPosition(TGTrackSpacing.POSITION_SCORE_MIDDLE_LINES));
 			layout.setClefStyle(painter);
-			painter.initPath(UIPainter.PATH_FILL);
 			
+			TGPaintCommand model = null;
 			if(layout.getSongManager().isPercussionChannel(this.getTrack().getSong(), this.getTrack().getChannelId())) {
-				TGClefPainter.paintNeutral(painter, x, y, layout.getScoreLineSpacing());
+				model = TGClefPainter.NEUTRAL_MODEL;
 			}
 			else if(this.getClef() == TGMeasure.CLEF_TREBLE){
-				TGClefPainter.paintTreble(painter, x, y,layout.getScoreLineSpacing());
+				model = TGClefPainter.TREBLE_MODEL;
 			}
 			else if(this.getClef() == TGMeasure.CLEF_BASS){
-				TGClefPainter.paintBass(painter, x, y,layout.getScoreLineSpacing());
+				model = TGClefPainter.BASS_MODEL;
 			}
 			else if(this.getClef() == TGMeasure.CLEF_TENOR){
-				TGClefPainter.paintTenor(painter, x, y,layout.getScoreLineSpacing());
+				model = TGClefPainter.TENOR_MODEL;
 			}
 			else if(this.getClef() == TGMeasure.CLEF_ALTO){
-				TGClefPainter.paintAlto(painter, x, y,layout.getScoreLineSpacing());
+				model = TGClefPainter.ALTO_MODEL;
+			}
+			if( model != null ) {
+				layout.paintGlyph(painter, model, UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getSymbolColor(), x, y, layout.getScoreLineSpacing());
 			}
-			painter.closePath();
 		}
 	}
 	
@@ -948,9 +951,7 @@ public class TGMeasureImpl extends TGMeasure{
 				int naturalFrom =  (currentKey >= 1 && currentKey <= 7) ? currentKey : 0;
 				for(int i = naturalFrom; i < previousKey; i ++ ){
 					float offset =  ( ( (scale / 2) * SCORE_KEY_SHARP_POSITIONS[clefIndex][i] )  - (scale / 2) );
-					painter.initPath(UIPainter.PATH_FILL);
-					TGKeySignaturePainter.paintNatural(painter,x, (y +  offset  ), scale);
-					painter.closePath();
+					layout.paintGlyph(painter, TGKeySignaturePainter.NATURAL_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getSymbolColor(), x, (y + offset), scale);
 					x += (scale - (scale / 4));
 				}
 			}
@@ -958,9 +959,7 @@ public class TGMeasureImpl extends TGMeasure{
 				int naturalFrom =  (currentKey >= 8 && currentKey <= 14) ? currentKey : 7;
 				for(int i = naturalFrom; i < previousKey; i ++ ){
 					float offset =  ( ( (scale / 2) * SCORE_KEY_FLAT_POSITIONS[clefIndex][i - 7] )  - (scale / 2) );
-					painter.initPath(UIPainter.PATH_FILL);
-					TGKeySignaturePainter.paintNatural(painter,x, (y +  offset  ), scale);
-					painter.closePath();
+					layout.paintGlyph(painter, TGKeySignaturePainter.NATURAL_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getSymbolColor(), x, (y + offset), scale);
 					x += (scale - (scale / 4));
 				}
 			}
@@ -969,9 +968,7 @@ public class TGMeasureImpl extends TGMeasure{
 			if(currentKey >= 1 && currentKey <= 7){
 				for(int i = 0; i < currentKey; i ++ ){
 					float offset =  ( ( (scale / 2) * SCORE_KEY_SHARP_POSITIONS[clefIndex][i] )  - (scale / 2) );
-					painter.initPath(UIPainter.PATH_FILL);
-					TGKeySignaturePainter.paintSharp(painter,x, (y +  offset  ), scale);
-					painter.closePath();
+					layout.paintGlyph(painter, TGKeySignaturePainter.SHARP_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getSymbolColor(), x, (y + offset), scale);
 					x += (scale - (scale / 4));
 				}
 			}
@@ -979,9 +976,7 @@ public class TGMeasureImpl extends TGMeasure{
 			else if(currentKey >= 8 && currentKey <= 14){
 				for(int i = 7; i < currentKey; i ++ ){
 					float offset =  ( ( (scale / 2) * SCORE_KEY_FLAT_POSITIONS[clefIndex][i - 7] )  - (scale / 2) );
-					painter.initPath(UIPainter.PATH_FILL);
-					TGKeySignaturePainter.paintFlat(painter,x, (y +  offset  ), scale);
-					painter.closePath();
+					layout.paintGlyph(painter, TGKeySignaturePainter.FLAT_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getSymbolColor(), x, (y + offset), scale);
 					x += (scale - (scale / 4));
 				}
 			}
@@ -13,6 +13,7 @@ import org.herac.tuxguitar.song.models.TGNote;
 import org.herac.tuxguitar.song.models.TGNoteEffect;
 import org.herac.tuxguitar.song.models.TGVoice;
 import org.herac.tuxguitar.song.models.effects.TGEffectHarmonic;
+import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIInset;
 import org.herac.tuxguitar.ui.resource.UIPainter;
 import org.herac.tuxguitar.ui.resource.UIRectangle;
@@ -304,36 +305,29 @@ public class TGNoteImpl extends TGNote {
 			}
 			
 			layout.setScoreNoteStyle(painter,playing);
+			UIColor noteColor = layout.getScoreNoteColor(playing);
 			
 			//----------sostenido--------------------------------------
 			if(this.accidental == TGMeasureImpl.NATURAL){
-				painter.initPath(UIPainter.PATH_FILL);
 				painter.setLineWidth(layout.getLineWidth(0));
-				TGKeySignaturePainter.paintNatural(painter,(x - (scale - (scale / 4)) ),(y1 + (scale / 2)), scale);
-				painter.closePath();
+				layout.paintGlyph(painter, TGKeySignaturePainter.NATURAL_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), noteColor, (x - (scale - (scale / 4)) ), (y1 + (scale / 2)), scale);
 			}
 			else if(this.accidental == TGMeasureImpl.SHARP){
-				painter.initPath(UIPainter.PATH_FILL);
 				painter.setLineWidth(layout.getLineWidth(0));
-				TGKeySignaturePainter.paintSharp(painter,(x - (scale - (scale / 4)) ),(y1 + (scale / 2)), scale);
-				painter.closePath();
+				layout.paintGlyph(painter, TGKeySignaturePainter.SHARP_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), noteColor, (x - (scale - (scale / 4)) ), (y1 + (scale / 2)), scale);
 			}
 			else if(this.accidental == TGMeasureImpl.FLAT){
-				painter.initPath(UIPainter.PATH_FILL);
 				painter.setLineWidth(layout.getLineWidth(0));
-				TGKeySignaturePainter.paintFlat(painter,(x - (scale - (scale / 4)) ),(y1 + (scale / 2)), scale);
-				painter.closePath();
+				layout.paintGlyph(painter, TGKeySignaturePainter.FLAT_MODEL, UIPainter.PATH_FILL, layout.getLineWidth(0), noteColor, (x - (scale - (scale / 4)) ), (y1 + (scale / 2)), scale);
 			}
 			//----------fin sostenido--------------------------------------
 			if(getEffect().isHarmonic()) {
 				boolean fill = (getVoice().getDuration().getValue() >= TGDuration.QUARTER);
 				painter.setLineWidth(layout.getLineWidth(1));
-				painter.initPath((fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW));
-				TGNotePainter.paintHarmonic(painter, x, y1 + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
-				painter.closePath();
+				layout.paintGlyph(painter, TGNotePainter.HARMONIC_MODEL, (fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW), layout.getLineWidth(1), noteColor, x, y1 + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
 			}
 			else if (layout.getSongManager().isPercussionChannel(getMeasureImpl().getTrack().getSong(), getMeasureImpl().getTrack().getChannelId())) {
-				this.paintPercussionScoreNote(layout, painter, x, y1);
+				this.paintPercussionScoreNote(layout, painter, noteColor, x, y1);
 			}
 			else {
 				boolean fill = (getVoice().getDuration().getValue() >= TGDuration.QUARTER);
@@ -342,9 +336,7 @@ public class TGNoteImpl extends TGNote {
 				float noteScale = (fill ? ((layout.getScoreLineSpacing() - ((scale / 10f) * 1f) )) : ((layout.getScoreLineSpacing() - ((scale / 10f) * 2f) )));
 				
 				painter.setLineWidth(layout.getLineWidth(1));
-				painter.initPath((fill ? UIPainter.PATH_FILL : UIPainter.PATH_DRAW));
-				TGNotePainter.paintNote(painter, noteX, noteY, noteScale);
-				painter.closePath();
+				layout.paintGlyph(painter, TGNotePainter.NOTE_MODEL, (fill ? UIPainter.PATH_FILL : UIPainter.PATH_DRAW), layout.getLineWidth(1), noteColor, noteX, noteY, noteScale);
 			}
 			
 			if(!layout.isPlayModeEnabled() ){
@@ -430,7 +422,7 @@ public class TGNoteImpl extends TGNote {
 		}
 	}
 	
-	private void paintPercussionScoreNote(TGLayout layout,UIPainter painter, float fromX, float fromY) {
+	private void paintPercussionScoreNote(TGLayout layout,UIPainter painter, UIColor noteColor, float fromX, float fromY) {
 		float scale = layout.getScoreLineSpacing();
 		
 		// drum gets special treatment according to value.
@@ -439,9 +431,7 @@ public class TGNoteImpl extends TGNote {
 		if ((renderType & TGDrumMap.KIND_CYMBAL) != 0) {
 			// paint as X
 			painter.setLineWidth(layout.getLineWidth(1));
-			painter.initPath(UIPainter.PATH_DRAW);
-			TGNotePainter.paintXNote(painter, fromX, fromY + 1, layout.getScoreLineSpacing() - 2);
-			painter.closePath();
+			layout.paintGlyph(painter, TGNotePainter.PERCUSSION_X_MODEL, UIPainter.PATH_DRAW, layout.getLineWidth(1), noteColor, fromX, fromY + 1, layout.getScoreLineSpacing() - 2);
 		}
 		
 		if ((renderType & TGDrumMap.KIND_NOTE) != 0) {
@@ -452,35 +442,27 @@ public class TGNoteImpl extends TGNote {
 			float noteScale = (fill ? ((layout.getScoreLineSpacing() - ((scale / 10f) * 1f) )) : ((layout.getScoreLineSpacing() - ((scale / 10f) * 2f) )));
 			
 			painter.setLineWidth(layout.getLineWidth(1));
-			painter.initPath((fill ? UIPainter.PATH_FILL : UIPainter.PATH_DRAW));
-			TGNotePainter.paintNote(painter, noteX, noteY, noteScale);
-			painter.closePath();
+			layout.paintGlyph(painter, TGNotePainter.NOTE_MODEL, (fill ? UIPainter.PATH_FILL : UIPainter.PATH_DRAW), layout.getLineWidth(1), noteColor, noteX, noteY, noteScale);
 		}
 		
 		if ((renderType & TGDrumMap.KIND_SLANTED_DIAMOND) != 0) {
 			// paint as harmonic
 			boolean fill = (getVoice().getDuration().getValue() >= TGDuration.QUARTER);
 			painter.setLineWidth(layout.getLineWidth(1));
-			painter.initPath((fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW));
-			TGNotePainter.paintHarmonic(painter, fromX, fromY + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
-			painter.closePath();
+			layout.paintGlyph(painter, TGNotePainter.HARMONIC_MODEL, (fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW), layout.getLineWidth(1), noteColor, fromX, fromY + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
 		} 
 		
 		if ((renderType & TGDrumMap.KIND_TRIANGLE) != 0) {
 			// paint as triangle thing
 			boolean fill = (getVoice().getDuration().getValue() >= TGDuration.QUARTER);
 			painter.setLineWidth(layout.getLineWidth(1));
-			painter.initPath((fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW));
-			TGNotePainter.paintTriangle(painter, fromX, fromY + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
-			painter.closePath();
+			layout.paintGlyph(painter, TGNotePainter.PERCUSSION_TRIANGLE_MODEL, (fill ? (UIPainter.PATH_FILL | UIPainter.PATH_DRAW) : UIPainter.PATH_DRAW), layout.getLineWidth(1), noteColor, fromX, fromY + (1f * (scale / 10f)), (layout.getScoreLineSpacing() - ((scale / 10f) * 2f)));
 		}
 		
 		if ((renderType & TGDrumMap.KIND_EFFECT_CYMBAL) != 0) {
 			// paint as weird X thing
 			painter.setLineWidth(layout.getLineWidth(1));
-			painter.initPath(UIPainter.PATH_DRAW);
-			TGNotePainter.paintEffectCymbalXNote(painter, fromX, fromY + 1, layout.getScoreLineSpacing() - 2);
-			painter.closePath();
+			layout.paintGlyph(painter, TGNotePainter.PERCUSSION_CYMBAL_MODEL, UIPainter.PATH_DRAW, layout.getLineWidth(1), noteColor, fromX, fromY + 1, layout.getScoreLineSpacing() - 2);
 		}
 		
 		// other render artifacts
@@ -694,18 +676,14 @@ public class TGNoteImpl extends TGNote {
 		
 		layout.setScoreEffectStyle(painter);
 		painter.setLineWidth(layout.getLineWidth(1));
-		painter.initPath(UIPainter.PATH_FILL);
-		TGNotePainter.paintFooter(painter,x, y , -1 , scale);
-		painter.closePath();
+		layout.paintGlyph(painter, TGNotePainter.getFooterModel(-1), UIPainter.PATH_FILL, layout.getLineWidth(1), layout.getScoreNoteColor(false), x, y, scale);
 		
 		painter.initPath();
 		painter.moveTo(x, y - (2f * scale));
 		painter.lineTo(x, y + (2f * scale) - (scale / 4f));
 		painter.closePath();
 		
-		painter.initPath(UIPainter.PATH_DRAW | UIPainter.PATH_FILL);
-		TGNotePainter.paintNote(painter, x - scale * 1.33f, y + scale + (scale / 4f),  scale);
-		painter.closePath();
+		layout.paintGlyph(painter, TGNotePainter.NOTE_MODEL, (UIPainter.PATH_DRAW | UIPainter.PATH_FILL), layout.getLineWidth(1), layout.getScoreNoteColor(false), x - scale * 1.33f, y + scale + (scale / 4f), scale);
 		
 		painter.initPath();
 		painter.moveTo(x - scale, y );
@@ -2,12 +2,14 @@ package org.herac.tuxguitar.graphics.control;
 
 import java.util.Iterator;
 
+import org.herac.tuxguitar.graphics.command.TGPaintCommand;
 import org.herac.tuxguitar.graphics.control.painters.TGNotePainter;
 import org.herac.tuxguitar.graphics.control.painters.TGSilencePainter;
 import org.herac.tuxguitar.song.factory.TGFactory;
 import org.herac.tuxguitar.song.models.TGDuration;
 import org.herac.tuxguitar.song.models.TGNote;
 import org.herac.tuxguitar.song.models.TGVoice;
+import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIPainter;
 
 public class TGVoiceImpl extends TGVoice{
@@ -379,37 +381,43 @@ public class TGVoiceImpl extends TGVoice{
 			scale = (lineSpacing / 10.0f);
 		}
 		
-		setStyle(layout, painter,(layout.isPlayModeEnabled() && isPlaying(layout)));
-		painter.initPath(UIPainter.PATH_FILL);
+		boolean playMode = (layout.isPlayModeEnabled() && isPlaying(layout));
+		setStyle(layout, painter, playMode);
 		
-		int duration = getDuration().getValue();
-		if(duration == TGDuration.WHOLE){
-			TGSilencePainter.paintWhole(painter, x, y , scale);
+		TGPaintCommand model = getSilenceModel(getDuration().getValue());
+		if( model != null ) {
+			UIColor color = ((style & TGLayout.DISPLAY_SCORE) != 0 ? layout.getScoreNoteColor(playMode) : layout.getTabNoteColor(playMode));
+			layout.paintGlyph(painter, model, UIPainter.PATH_FILL, layout.getLineWidth(0), color, x, y, scale);
 		}
-		else if(duration == TGDuration.HALF){
-			TGSilencePainter.paintHalf(painter, x, y , scale);
+		
+		if( getDuration().isDotted() || getDuration().isDoubleDotted()) {
+			paintDot(layout, painter, (x + 10f * layoutScale), (y + 2f * layoutScale), layoutScale);
 		}
-		else if(duration == TGDuration.QUARTER){
-			TGSilencePainter.paintQuarter(painter, x, y, scale);
+	}
+	
+	private TGPaintCommand getSilenceModel(int duration){
+		if(duration == TGDuration.WHOLE){
+			return TGSilencePainter.WHOLE_MODEL;
 		}
-		else if(duration == TGDuration.EIGHTH){
-			TGSilencePainter.paintEighth(painter, x, y, scale);
+		if(duration == TGDuration.HALF){
+			return TGSilencePainter.HALF_MODEL;
 		}
-		else if(duration == TGDuration.SIXTEENTH){
-			TGSilencePainter.paintSixteenth(painter, x, y, scale);
+		if(duration == TGDuration.QUARTER){
+			return TGSilencePainter.QUARTER_MODEL;
 		}
-		else if(duration == TGDuration.THIRTY_SECOND){
-			TGSilencePainter.paintThirtySecond(painter, x, y, scale);
+		if(duration == TGDuration.EIGHTH){
+			return TGSilencePainter.EIGHTH_MODEL;
 		}
-		else if(duration == TGDuration.SIXTY_FOURTH){
-			TGSilencePainter.paintSixtyFourth(painter, x, y, scale);
+		if(duration == TGDuration.SIXTEENTH){
+			return TGSilencePainter.SIXTEENTH_MODEL;
 		}
-		
-		painter.closePath();
-		
-		if( getDuration().isDotted() || getDuration().isDoubleDotted()) {
-			paintDot(layout, painter, (x + 10f * layoutScale), (y + 2f * layoutScale), layoutScale);
+		if(duration == TGDuration.THIRTY_SECOND){
+			return TGSilencePainter.THIRTY_SECOND_MODEL;
+		}
+		if(duration == TGDuration.SIXTY_FOURTH){
+			return TGSilencePainter.SIXTY_FOURTH_MODEL;
 		}
+		return null;
 	}
 	
 	public void setStyle(TGLayout layout, UIPainter painter, boolean playMode){
@@ -546,9 +554,7 @@ public class TGVoiceImpl extends TGVoice{
 						float hX = (fromX + xMove + getPosX() + spacing - (0.5f * scale));
 						float hY = ((fromY + this.group.getY2(layout,getPosX() + spacing,key,clef)) - ( (lineSpacing * 2)* dir )) ;
 						for(int i = 0; i <= index; i ++){
-							painter.initPath(UIPainter.PATH_FILL);
-							TGNotePainter.paintFooter(painter, hX, (hY - ( (i * (lineSpacing / 2.0f)) * dir)),dir,lineSpacing);
-							painter.closePath();
+							layout.paintGlyph(painter, TGNotePainter.getFooterModel(dir), UIPainter.PATH_FILL, layout.getLineWidth(0), layout.getScoreNoteColor(false), hX, (hY - ( (i * (lineSpacing / 2.0f)) * dir)), lineSpacing);
 						}
 					} else {
 						float hX = (getPosX() + spacing);
@@ -9,7 +9,7 @@ import org.herac.tuxguitar.ui.resource.UIPainter;
 
 public class TGClefPainter {
 	
-	private static final TGPaintCommand TREBLE_MODEL = new TGPaintModel(
+	public static final TGPaintCommand TREBLE_MODEL = new TGPaintModel(
 		new TGMoveTo(0.9706216f, -0.9855771f),
 		new TGCubicTo(0.99023926f, -0.99538594f, 0.99350905f, -0.99538594f, 1.0131269f, -0.99538594f),
 		new TGCubicTo(1.0392835f, -0.99211615f, 1.055632f, -0.9823073f, 1.0915977f, -0.9430719f),
@@ -107,7 +107,7 @@ public class TGClefPainter {
 		new TGCubicTo(1.5591533f, 2.6829367f, 1.4676039f, 2.6371622f, 1.3924028f, 2.617545f)
 	);
 	
-	private static final TGPaintCommand BASS_MODEL = new TGPaintModel(
+	public static final TGPaintCommand BASS_MODEL = new TGPaintModel(
 		new TGMoveTo(0.71937084f, 0.16147426f),
 		new TGCubicTo(0.75454587f, 0.15827677f, 0.8920496f, 0.16147426f, 0.94321334f, 0.16467176f),
 		new TGCubicTo(1.3429334f, 0.20944051f, 1.6147422f, 0.4077018f, 1.7042797f, 0.72108173f),
@@ -150,7 +150,7 @@ public class TGClefPainter {
 		new TGCubicTo(1.8449808f, 1.338248f, 1.8929471f, 1.2774905f, 1.9632971f, 1.2583042f)
 	);
 	
-	private static final TGPaintCommand ALTO_MODEL = new TGPaintModel(
+	public static final TGPaintCommand ALTO_MODEL = new TGPaintModel(
 		new TGMoveTo(0.026545623f, 0.5470838f),
 		new TGCubicTo(0.03553187f, 0.5410925f, 0.053504374f, 0.5410925f, 0.21525937f, 0.5410925f),
 		new TGLineTo(0.39498562f, 0.5410925f),
@@ -249,7 +249,7 @@ public class TGClefPainter {
 		new TGCubicTo(0.5896894f, 0.55607f, 0.59568065f, 0.55007875f, 0.6016719f, 0.5470838f)
 	);
 	
-	private static final TGPaintCommand TENOR_MODEL = new TGPaintModel(
+	public static final TGPaintCommand TENOR_MODEL = new TGPaintModel(
 		new TGMoveTo(0.026545623f, -0.45291623f),
 		new TGCubicTo(0.03553187f, -0.45890749f, 0.053504374f, -0.45890749f, 0.21525937f, -0.45890749f),
 		new TGLineTo(0.39498562f, -0.45890749f),
@@ -348,7 +348,7 @@ public class TGClefPainter {
 		new TGCubicTo(0.5896894f, -0.44392997f, 0.59568065f, -0.44992122f, 0.6016719f, -0.45291623f)
 	);
 	
-	private static final TGPaintCommand NEUTRAL_MODEL = new TGPaintModel(
+	public static final TGPaintCommand NEUTRAL_MODEL = new TGPaintModel(
 		new TGMoveTo(0.0f, 1.0f),
 		new TGLineTo(0.0f, 3.0f),
 		new TGLineTo(0.5f, 3.0f),
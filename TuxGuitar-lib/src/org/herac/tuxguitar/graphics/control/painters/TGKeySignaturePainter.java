@@ -9,7 +9,7 @@ import org.herac.tuxguitar.ui.resource.UIPainter;
 
 public class TGKeySignaturePainter {
 	
-	private static final TGPaintCommand SHARP_MODEL = new TGPaintModel(
+	public static final TGPaintCommand SHARP_MODEL = new TGPaintModel(
 		new TGMoveTo(0.4330491f, -0.79610115f),
 		new TGCubicTo(0.44892004f, -0.80517024f, 0.47386006f, -0.7983684f, 0.48292914f, -0.7779629f),
 		new TGCubicTo(0.48746368f, -0.76889384f, 0.48746368f, -0.76209205f, 0.48746368f, -0.60338295f),
@@ -81,7 +81,7 @@ public class TGKeySignaturePainter {
 		new TGLineTo(0.40810916f, 0.00878073f)
 	);
 	
-	private static final TGPaintCommand FLAT_MODEL = new TGPaintModel(
+	public static final TGPaintCommand FLAT_MODEL = new TGPaintModel(
 		new TGMoveTo(0.036081146f, -1.227901f),
 		new TGCubicTo(0.066563375f, -1.2334433f, 0.11644338f, -1.227901f, 0.13584116f, -1.2140454f),
 		new TGCubicTo(0.14138338f, -1.2112744f, 0.14138338f, -1.1807921f, 0.13307005f, -0.72910094f),
@@ -114,7 +114,7 @@ public class TGKeySignaturePainter {
 		new TGCubicTo(0.37138563f, -0.18042086f, 0.35475895f, -0.1998186f, 0.32981896f, -0.21090315f)
 	);
 	
-	private static final TGPaintCommand NATURAL_MODEL = new TGPaintModel(
+	public static final TGPaintCommand NATURAL_MODEL = new TGPaintModel(
 		new TGMoveTo(0.038880464f, -0.9978458f),
 		new TGCubicTo(0.061049357f, -1.003388f, 0.11092936f, -0.9978458f, 0.13032715f, -0.98399025f),
 		new TGCubicTo(0.13309824f, -0.9812192f, 0.13309824f, -0.9396525f, 0.13032715f, -0.7429036f),
@@ -10,7 +10,7 @@ import org.herac.tuxguitar.ui.resource.UIPainter;
 
 public class TGNotePainter {
 	
-	private static final TGPaintCommand NOTE_MODEL = new TGPaintModel(
+	public static final TGPaintCommand NOTE_MODEL = new TGPaintModel(
 		new TGMoveTo(0.0f, 0.66f),
 		new TGCubicTo(0.0f, 0.83f, 0.166f, 1.0f, 0.33f, 1.0f),
 		new TGCubicTo(0.83f, 1.0f, 1.33f, 0.66f, 1.33f, 0.33f),
@@ -18,7 +18,7 @@ public class TGNotePainter {
 		new TGCubicTo(0.5f, 0.0f, 0.0f, 0.33f, 0.0f, 0.66f)
 	);
 	
-	private static final TGPaintCommand HARMONIC_MODEL = new TGPaintModel(
+	public static final TGPaintCommand HARMONIC_MODEL = new TGPaintModel(
 		new TGMoveTo(0.1f, 0.5f),
 		new TGLineTo(0.65000004f, 1.0f),
 		new TGLineTo(1.2f, 0.5f),
@@ -27,21 +27,21 @@ public class TGNotePainter {
 		new TGLineTo(0.65000004f, 1.0f)
 	);
 	
-	private static final TGPaintCommand PERCUSSION_X_MODEL = new TGPaintModel(
+	public static final TGPaintCommand PERCUSSION_X_MODEL = new TGPaintModel(
 		new TGMoveTo(0.166666666666666f, 0.0f),
 		new TGLineTo(1.166666666666666f, 1.0f),
 		new TGMoveTo(0.166666666666666f, 1.0f),
 		new TGLineTo(1.166666666666666f, 0.0f)
 	);
 	
-	private static final TGPaintCommand PERCUSSION_TRIANGLE_MODEL = new TGPaintModel(
+	public static final TGPaintCommand PERCUSSION_TRIANGLE_MODEL = new TGPaintModel(
 		new TGMoveTo(1.166666666666666f, 0.85f),
 		new TGLineTo(0.166666666666666f, 0.85f),
 		new TGLineTo(0.666666666666666f, (0.85f - 0.866025403784439f)),
 		new TGLineTo(1.166666666666666f, 0.85f)
 	);
 	
-	private static final TGPaintCommand PERCUSSION_CYMBAL_MODEL = new TGPaintModel(
+	public static final TGPaintCommand PERCUSSION_CYMBAL_MODEL = new TGPaintModel(
 		new TGMoveTo(0.166666666666666f, 0.0f),
 		new TGLineTo(1.166666666666666f, 1.0f),
 		new TGMoveTo(0.166666666666666f, 1.0f),
@@ -57,7 +57,7 @@ public class TGNotePainter {
 		new TGRectangle((1.166666666666666f - 0.25f), 0.0f, 0.25f, 0.25f)
 	);
 	
-	private static final TGPaintCommand FOOTER_UP_MODEL = new TGPaintModel(
+	public static final TGPaintCommand FOOTER_UP_MODEL = new TGPaintModel(
 		new TGMoveTo(0.64375f, -0.00625f),
 		new TGCubicTo(0.659375f, 0.0f, 0.69375f, -0.00625f, 0.70625f, -0.0125f),
 		new TGCubicTo(0.725f, -0.025f, 0.73125f, -0.03125f, 0.75f, -0.065625f),
@@ -82,7 +82,7 @@ public class TGNotePainter {
 		new TGCubicTo(0.58125f, -0.05f, 0.60625f, -0.01875f, 0.64375f, -0.00625f)
 	);
 	
-	private static final TGPaintCommand FOOTER_DOWN_MODEL = new TGPaintModel(
+	public static final TGPaintCommand FOOTER_DOWN_MODEL = new TGPaintModel(
 		new TGMoveTo(0.64375f, 0.00625f),
 		new TGCubicTo(0.659375f, 0.0f, 0.69375f, 0.00625f, 0.70625f, 0.0125f),
 		new TGCubicTo(0.725f, 0.025f, 0.73125f, 0.03125f, 0.75f, 0.065625f),
@@ -128,7 +128,10 @@ public class TGNotePainter {
 	}
 	
 	public static void paintFooter(UIPainter painter, float x, float y,int dir,float scale) {
-		TGPaintCommand tgPaintCommand = (dir > 0 ? FOOTER_DOWN_MODEL : FOOTER_UP_MODEL);
-		tgPaintCommand.paint(painter, x, y, scale);
+		getFooterModel(dir).paint(painter, x, y, scale);
+	}
+	
+	public static TGPaintCommand getFooterModel(int dir) {
+		return (dir > 0 ? FOOTER_DOWN_MODEL : FOOTER_UP_MODEL);
 	}
 }
@@ -9,7 +9,7 @@ import org.herac.tuxguitar.ui.resource.UIPainter;
 
 public class TGSilencePainter {
 	
-	private static final TGPaintCommand WHOLE_MODEL = new TGPaintModel(
+	public static final TGPaintCommand WHOLE_MODEL = new TGPaintModel(
 		new TGMoveTo(0.04681015f, 0.046812057f),
 		new TGLineTo(0.1170311f, 0.0f),
 		new TGLineTo(4.3769493f, 0.0f),
@@ -29,7 +29,7 @@ public class TGSilencePainter {
 		new TGLineTo(0.04681015f, 0.046812057f)
 	);
 	
-	private static final TGPaintCommand HALF_MODEL = new TGPaintModel(
+	public static final TGPaintCommand HALF_MODEL = new TGPaintModel(
 		new TGMoveTo(0.04681015f, 0.046812057f),
 		new TGLineTo(0.1170311f, 0.0f),
 		new TGLineTo(4.3769493f, 0.0f),
@@ -49,7 +49,7 @@ public class TGSilencePainter {
 		new TGLineTo(0.04681015f, 0.046812057f)
 	);
 	
-	private static final TGPaintCommand QUARTER_MODEL = new TGPaintModel(
+	public static final TGPaintCommand QUARTER_MODEL = new TGPaintModel(
 		new TGMoveTo(2.1034088f, 0.047267675f),
 		new TGCubicTo(2.1979485f, 0.0f, 2.2924728f, 0.0f, 2.387024f, 0.023633957f),
 		new TGCubicTo(2.4579277f, 0.070901394f, 6.121151f, 4.4195156f, 6.2156906f, 4.6085863f),
@@ -85,7 +85,7 @@ public class TGSilencePainter {
 		new TGCubicTo(1.8670654f, 0.30723906f, 1.9379692f, 0.11816859f, 2.1034088f, 0.047267675f)
 	);
 	
-	private static final TGPaintCommand EIGHTH_MODEL = new TGPaintModel(
+	public static final TGPaintCommand EIGHTH_MODEL = new TGPaintModel(
 		new TGMoveTo(1.6779978f, 0.070901394f),
 		new TGCubicTo(2.1979408f, 0.0f, 2.6469831f, 0.14180231f, 3.0014887f, 0.47267532f),
 		new TGCubicTo(3.214193f, 0.7090125f, 3.3087273f, 0.89808273f, 3.450531f, 1.4652932f),
@@ -110,7 +110,7 @@ public class TGSilencePainter {
 		new TGCubicTo(0.85081583f, 0.4254074f, 1.2525895f, 0.14180231f, 1.6779978f, 0.070901394f)
 	);
 	
-	private static final TGPaintCommand SIXTEENTH_MODEL = new TGPaintModel(
+	public static final TGPaintCommand SIXTEENTH_MODEL = new TGPaintModel(
 		new TGMoveTo(3.5214243f, 0.070901394f),
 		new TGCubicTo(4.041381f, 0.0f, 4.490409f, 0.14180231f, 4.8449125f, 0.4726758f),
 		new TGCubicTo(5.0576286f, 0.7090137f, 5.152153f, 0.89808273f, 5.2939644f, 1.4652946f),
@@ -147,7 +147,7 @@ public class TGSilencePainter {
 		new TGCubicTo(2.69425f, 0.4254074f, 3.096015f, 0.14180231f, 3.5214243f, 0.070901394f)
 	);
 	
-	private static final TGPaintCommand THIRTY_SECOND_MODEL = new TGPaintModel(
+	public static final TGPaintCommand THIRTY_SECOND_MODEL = new TGPaintModel(
 		new TGMoveTo(4.939474f, 0.070901155f),
 		new TGCubicTo(5.459408f, 0.0f, 5.9084606f, 0.14180207f, 6.2629623f, 0.4726758f),
 		new TGCubicTo(6.4756565f, 0.70901346f, 6.570204f, 0.89808273f, 6.7119904f, 1.4652941f),
@@ -196,7 +196,7 @@ public class TGSilencePainter {
 		new TGCubicTo(4.112276f, 0.4254074f, 4.5140667f, 0.14180207f, 4.939474f, 0.070901155f)
 	);
 	
-	private static final TGPaintCommand SIXTY_FOURTH_MODEL = new TGPaintModel(
+	public static final TGPaintCommand SIXTY_FOURTH_MODEL = new TGPaintModel(
 		new TGMoveTo(5.908436f, 0.07090092f),
 		new TGCubicTo(6.4283676f, 0.0f, 6.8774185f, 0.14180303f, 7.231926f, 0.4726758f),
 		new TGCubicTo(7.4446335f, 0.70901346f, 7.5391655f, 0.8980839f, 7.680977f, 1.4652941f),
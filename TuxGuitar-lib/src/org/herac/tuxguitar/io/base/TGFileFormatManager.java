@@ -1,7 +1,9 @@
 package org.herac.tuxguitar.io.base;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.herac.tuxguitar.event.TGEventListener;
 import org.herac.tuxguitar.event.TGEventManager;
@@ -16,6 +18,7 @@ public class TGFileFormatManager {
 	
 	private TGContext context;
 	private List<TGSongReader> readers;
+	private Map<TGSongReader, TGSongReaderFactory> readerFactories;
 	private List<TGSongWriter> writers;
 	private List<TGSongExporter> exporters;
 	private List<TGSongImporter> importers;
@@ -27,6 +30,7 @@ public class TGFileFormatManager {
 	private TGFileFormatManager(TGContext context){
 		this.context = context;
 		this.readers = new ArrayList<TGSongReader>();
+		this.readerFactories = new HashMap<TGSongReader, TGSongReaderFactory>();
 		this.writers = new ArrayList<TGSongWriter>();
 		this.exporters = new ArrayList<TGSongExporter>();
 		this.importers = new ArrayList<TGSongImporter>();
@@ -37,7 +41,11 @@ public class TGFileFormatManager {
 	}
 	
 	private void addDefaults(){
-		this.addReader(new TGSongReaderImpl());
+		this.addReader(new TGSongReaderImpl(), new TGSongReaderFactory() {
+			public TGSongReader createReader() {
+				return new TGSongReaderImpl();
+			}
+		});
 		this.addWriter(new TGSongWriterImpl());
 		this.addFileFormatDetector(new TGFileFormatDetectorImpl(TGSongReaderImpl.SUPPORTED_FORMAT));
 		this.addCommonReadFileFormat(TGSongReaderImpl.TG_FORMAT);
@@ -85,6 +93,17 @@ public class TGFileFormatManager {
 		return null;
 	}
 	
+	/**
+	 * @return the factory registered with the reader of the format, or null when the reader can only be shared.
+	 */
+	public TGSongReaderFactory findSongReaderFactory(TGFileFormat fileFormat) {
+		TGSongReader reader = this.findSongReader(fileFormat);
+		if( reader != null ) {
+			return this.readerFactories.get(reader);
+		}
+		return null;
+	}
+	
 	public TGSongWriter findSongWriter(TGFileFormat fileFormat) {
 		if( fileFormat != null ) {
 			for(TGSongWriter writer : this.writers) {
@@ -207,7 +226,13 @@ public class TGFileFormatManager {
 		}
 	}
 	
+	public void addReader(TGSongReader stream, TGSongReaderFactory factory){
+		this.readerFactories.put(stream, factory);
+		this.addReader(stream);
+	}
+	
 	public void removeReader(TGSongReader stream){
+		this.readerFactories.remove(stream);
 		if( this.readers.contains(stream)){
 			this.readers.remove(stream);
 			this.fireFileFormatAvailabilityEvent();
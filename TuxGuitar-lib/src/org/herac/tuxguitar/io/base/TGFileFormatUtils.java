@@ -63,9 +63,10 @@ public class TGFileFormatUtils {
 	
 	public static byte[] getBytes(InputStream in)throws Throwable {
 		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
 		int read = 0;
-		while((read = in.read()) != -1){
-			out.write(read);
+		while((read = in.read(buffer)) != -1){
+			out.write(buffer, 0, read);
 		}
 		byte[] bytes = out.toByteArray();
 		in.close();
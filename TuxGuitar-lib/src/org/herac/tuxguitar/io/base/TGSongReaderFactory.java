@@ -0,0 +1,9 @@
+package org.herac.tuxguitar.io.base;
+
+/**
+ * Creates a reader for every read, so songs of the same format can be read concurrently.
+ */
+public interface TGSongReaderFactory {
+	
+	TGSongReader createReader() throws TGFileFormatException;
+}
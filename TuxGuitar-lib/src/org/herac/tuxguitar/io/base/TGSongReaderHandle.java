@@ -4,10 +4,15 @@ import java.io.InputStream;
 
 public class TGSongReaderHandle extends TGSongPersistenceHandle {
 
+	public static final int MEASURE_LIMIT_NONE = -1;
+
 	private InputStream inputStream;
+	private boolean metadataOnly;
+	private int measureLimit;
 
 	public TGSongReaderHandle() {
 		super();
+		this.measureLimit = MEASURE_LIMIT_NONE;
 	}
 
 	public InputStream getInputStream() {
@@ -17,4 +22,41 @@ public class TGSongReaderHandle extends TGSongPersistenceHandle {
 	public void setInputStream(InputStream is) {
 		this.inputStream = is;
 	}
+
+	/**
+	 * When set, the song only needs its attributes, channels, measure headers and tracks.
+	 * Readers may leave the tracks without measures, so the song can not be edited or played,
+	 * and formats whose measures come from the notes may leave out measure headers too.
+	 */
+	public boolean isMetadataOnly() {
+		return this.metadataOnly;
+	}
+
+	public void setMetadataOnly(boolean metadataOnly) {
+		this.metadataOnly = metadataOnly;
+	}
+
+	/**
+	 * When not MEASURE_LIMIT_NONE, the song is cut after that many measures.
+	 */
+	public int getMeasureLimit() {
+		return this.measureLimit;
+	}
+
+	public void setMeasureLimit(int measureLimit) {
+		this.measureLimit = measureLimit;
+	}
+
+	/**
+	 * @return how many of the first measures of the file the reader has to decode.
+	 */
+	public int countMeasuresToRead(int measureCount) {
+		if( this.isMetadataOnly() ) {
+			return 0;
+		}
+		if( this.measureLimit != MEASURE_LIMIT_NONE ) {
+			return Math.max(0, Math.min(this.measureLimit, measureCount));
+		}
+		return measureCount;
+	}
 }
@@ -2,8 +2,11 @@ package org.herac.tuxguitar.io.base;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGTrack;
 import org.herac.tuxguitar.util.TGContext;
 
 public class TGSongReaderHelper extends TGSongPersistenceHelper {
@@ -23,11 +26,24 @@ public class TGSongReaderHelper extends TGSongPersistenceHelper {
 			
 			if( handle.getFormat() != null ) {
 				handle.setInputStream(new ByteArrayInputStream(buffer));
-				TGSongReader reader = TGFileFormatManager.getInstance(this.getContext()).findSongReader(handle.getFormat());
-				if( reader != null ){
-					reader.read(handle);
+				TGFileFormatManager fileFormatManager = TGFileFormatManager.getInstance(this.getContext());
+				TGSongReaderFactory factory = fileFormatManager.findSongReaderFactory(handle.getFormat());
+				if( factory != null ){
+					factory.createReader().read(handle);
+					this.applyMeasureLimit(handle);
 					success = true;
 				}
+				else {
+					TGSongReader reader = fileFormatManager.findSongReader(handle.getFormat());
+					if( reader != null ){
+						// readers keep their state in fields, a shared reader must not be used by two threads at once
+						synchronized (reader) {
+							reader.read(handle);
+						}
+						this.applyMeasureLimit(handle);
+						success = true;
+					}
+				}
 			}
 			
 			if(!success) {
@@ -46,6 +62,27 @@ public class TGSongReaderHelper extends TGSongPersistenceHelper {
 		}
 	}
 	
+	/**
+	 * Readers are free to ignore the measure limit, or to decode the measures but not the
+	 * headers after it, so the song is cut here.
+	 */
+	private void applyMeasureLimit(TGSongReaderHandle handle) {
+		TGSong song = handle.getSong();
+		if( song != null && !handle.isMetadataOnly() && handle.getMeasureLimit() != TGSongReaderHandle.MEASURE_LIMIT_NONE ) {
+			int measureCount = handle.countMeasuresToRead(song.countMeasureHeaders());
+			Iterator<TGTrack> tracks = song.getTracks();
+			while( tracks.hasNext() ) {
+				TGTrack track = tracks.next();
+				while( track.countMeasures() > measureCount ) {
+					track.removeMeasure(track.countMeasures() - 1);
+				}
+			}
+			while( song.countMeasureHeaders() > measureCount ) {
+				song.removeMeasureHeader(song.countMeasureHeaders() - 1);
+			}
+		}
+	}
+	
 	public TGFileFormat detectFileFormat(TGSongReaderHandle handle, byte[] buffer) throws IOException {
 		TGFileFormatManager fileFormatManager = TGFileFormatManager.getInstance(this.getContext());
 		List<TGFileFormatDetector> detectors = fileFormatManager.getFileFormatDetectors();
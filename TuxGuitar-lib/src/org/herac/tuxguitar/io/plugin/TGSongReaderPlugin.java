@@ -2,7 +2,9 @@ package org.herac.tuxguitar.io.plugin;
 
 import org.herac.tuxguitar.io.base.TGFileFormatDetector;
 import org.herac.tuxguitar.io.base.TGFileFormatManager;
+import org.herac.tuxguitar.io.base.TGFileFormatException;
 import org.herac.tuxguitar.io.base.TGSongReader;
+import org.herac.tuxguitar.io.base.TGSongReaderFactory;
 import org.herac.tuxguitar.util.TGContext;
 import org.herac.tuxguitar.util.plugin.TGPlugin;
 import org.herac.tuxguitar.util.plugin.TGPluginException;
@@ -21,14 +23,22 @@ public abstract class TGSongReaderPlugin implements TGPlugin{
 	
 	protected abstract TGFileFormatDetector createFileFormatDetector(TGContext context) throws TGPluginException;
 	
-	public void connect(TGContext context) throws TGPluginException {
+	public void connect(final TGContext context) throws TGPluginException {
 		try {
 			TGFileFormatManager fileFormatManager = TGFileFormatManager.getInstance(context);
 			
 			if( this.stream == null ) {
 				this.stream = createInputStream(context);
 				
-				fileFormatManager.addReader(this.stream);
+				fileFormatManager.addReader(this.stream, new TGSongReaderFactory() {
+					public TGSongReader createReader() throws TGFileFormatException {
+						try {
+							return createInputStream(context);
+						} catch (TGPluginException e) {
+							throw new TGFileFormatException(e);
+						}
+					}
+				});
 				
 				if( this.commonFileFormat ) {
 					fileFormatManager.addCommonReadFileFormat(this.stream.getFileFormat());
@@ -0,0 +1,127 @@
+package org.herac.tuxguitar.io.tg;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.herac.tuxguitar.io.base.TGFileFormatException;
+import org.herac.tuxguitar.io.tg.TGStream.TGChunk;
+import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.models.TGMeasure;
+import org.herac.tuxguitar.song.models.TGSong;
+
+/**
+ * Random access to the measures of a tg file.
+ *
+ * The file is mapped in memory and only the song header is decoded when it is opened, so
+ * its tracks come without measures. Measures are paged in by chunks when they are asked for.
+ */
+public class TGSongChunkReader {
+	
+	private TGSongReaderImpl reader;
+	private RandomAccessFile file;
+	private ByteBuffer buffer;
+	private int dataOffset;
+	private TGSong song;
+	private List<TGChunk> chunks;
+	
+	public TGSongChunkReader(TGFactory factory, File file) throws TGFileFormatException {
+		try {
+			this.file = new RandomAccessFile(file, "r");
+			this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, this.file.length());
+			this.reader = new TGSongReaderImpl();
+			this.chunks = new ArrayList<TGChunk>();
+			
+			ByteBuffer header = this.buffer.duplicate();
+			this.song = this.reader.readSong(factory, new TGByteBufferInputStream(header), this.chunks);
+			this.dataOffset = header.position();
+		} catch (TGFileFormatException e) {
+			this.close();
+			throw e;
+		} catch (Throwable throwable) {
+			this.close();
+			throw new TGFileFormatException(throwable);
+		}
+	}
+	
+	/**
+	 * @return the song, its tracks have no measures.
+	 */
+	public TGSong getSong() {
+		return this.song;
+	}
+	
+	/**
+	 * Decodes the measures [from, to) of a track. They belong to the headers of getSong().
+	 */
+	public synchronized List<TGMeasure> readMeasures(int track, int from, int to) throws TGFileFormatException {
+		if( this.buffer == null ) {
+			throw new TGFileFormatException("The reader is closed");
+		}
+		try {
+			List<TGMeasure> measures = new ArrayList<TGMeasure>();
+			for(TGChunk chunk : this.chunks) {
+				if( chunk.getTrack() == track && chunk.getMeasure() < to && chunk.getMeasure() + chunk.getCount() > from ) {
+					byte[] data = new byte[chunk.getLength()];
+					ByteBuffer buffer = this.buffer.duplicate();
+					buffer.position(this.dataOffset + chunk.getOffset());
+					buffer.get(data);
+					
+					List<TGMeasure> chunkMeasures = this.reader.readChunk(this.song, chunk, data);
+					int first = Math.max(from - chunk.getMeasure(), 0);
+					int last = Math.min(to - chunk.getMeasure(), chunkMeasures.size());
+					measures.addAll(chunkMeasures.subList(first, last));
+				}
+			}
+			return measures;
+		} catch (Throwable throwable) {
+			throw new TGFileFormatException(throwable);
+		}
+	}
+	
+	/**
+	 * Closes the file. The mapping itself is only released when the buffer is garbage collected,
+	 * until then the file stays locked on Windows and can not be replaced or deleted.
+	 */
+	public synchronized void close() {
+		try {
+			this.buffer = null;
+			if( this.file != null ) {
+				this.file.close();
+				this.file = null;
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	private static class TGByteBufferInputStream extends InputStream {
+		
+		private ByteBuffer buffer;
+		
+		public TGByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+		
+		public int read() {
+			return (this.buffer.hasRemaining() ? (this.buffer.get() & 0xff) : -1);
+		}
+		
+		public int read(byte[] b, int off, int len) {
+			if( len == 0 ) {
+				return 0;
+			}
+			if(!this.buffer.hasRemaining() ) {
+				return -1;
+			}
+			int count = Math.min(len, this.buffer.remaining());
+			this.buffer.get(b, off, count);
+			return count;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package org.herac.tuxguitar.io.tg;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes turning a song snapshot into another, to be applied in order.
+ */
+public class TGSongDelta {
+	
+	/** The song information and channels are replaced by data[0]. */
+	public static final int SONG = 1;
+	
+	/** The information of the track is replaced by data[0]. */
+	public static final int TRACK = 2;
+	
+	/** The measure header is replaced by data[0]. */
+	public static final int HEADER = 3;
+	
+	/** The measure of the track is replaced by data[0]. */
+	public static final int MEASURE = 4;
+	
+	/**
+	 * Length measures are removed from every track, starting at measure, and as many as
+	 * headers in data are inserted there. Data holds the new headers followed by the new
+	 * measures of each track.
+	 */
+	public static final int MEASURES = 5;
+	
+	/** Tracks are removed from track to the end. */
+	public static final int TRACK_REMOVE = 6;
+	
+	/** A track is appended, data[0] is its information and the rest its measures. */
+	public static final int TRACK_ADD = 7;
+	
+	private List<TGSongChange> changes;
+	
+	public TGSongDelta() {
+		this.changes = new ArrayList<TGSongChange>();
+	}
+	
+	public List<TGSongChange> getChanges() {
+		return this.changes;
+	}
+	
+	public void addChange(TGSongChange change) {
+		this.changes.add(change);
+	}
+	
+	public boolean isEmpty() {
+		return this.changes.isEmpty();
+	}
+	
+	public void write(DataOutputStream stream) throws IOException {
+		stream.writeInt(this.changes.size());
+		for(TGSongChange change : this.changes) {
+			stream.writeByte(change.getType());
+			stream.writeInt(change.getTrack());
+			stream.writeInt(change.getMeasure());
+			stream.writeInt(change.getLength());
+			TGSongSnapshot.writeBytesList(stream, change.getData());
+		}
+	}
+	
+	public static TGSongDelta read(DataInputStream stream) throws IOException {
+		TGSongDelta delta = new TGSongDelta();
+		int count = stream.readInt();
+		for(int i = 0; i < count; i ++) {
+			int type = stream.readByte();
+			int track = stream.readInt();
+			int measure = stream.readInt();
+			int length = stream.readInt();
+			delta.addChange(new TGSongChange(type, track, measure, length, TGSongSnapshot.readBytesList(stream)));
+		}
+		return delta;
+	}
+	
+	public static class TGSongChange {
+		
+		private int type;
+		private int track;
+		private int measure;
+		private int length;
+		private List<byte[]> data;
+		
+		public TGSongChange(int type, int track, int measure, int length, List<byte[]> data) {
+			this.type = type;
+			this.track = track;
+			this.measure = measure;
+			this.length = length;
+			this.data = data;
+		}
+		
+		public int getType() {
+			return this.type;
+		}
+		
+		public int getTrack() {
+			return this.track;
+		}
+		
+		public int getMeasure() {
+			return this.measure;
+		}
+		
+		public int getLength() {
+			return this.length;
+		}
+		
+		public List<byte[]> getData() {
+			return this.data;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package org.herac.tuxguitar.io.tg;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.herac.tuxguitar.io.tg.TGSongDelta.TGSongChange;
+import org.herac.tuxguitar.song.models.TGSong;
+
+/**
+ * Structural diff of songs.
+ *
+ * Tracks are matched by position. Measures are matched after skipping the longest common
+ * runs at the start and at the end of the song. When the measures in between keep their
+ * count only the changed headers and measures are part of the delta, otherwise the whole
+ * range is replaced.
+ */
+public class TGSongDiff {
+	
+	private TGSongDiff() {
+		super();
+	}
+	
+	public static TGSongDelta diff(TGSong from, TGSong to) throws IOException {
+		return diff(TGSongSnapshot.create(from), TGSongSnapshot.create(to));
+	}
+	
+	public static TGSongDelta diff(TGSongSnapshot from, TGSongSnapshot to) {
+		TGSongDelta delta = new TGSongDelta();
+		
+		int fromTracks = from.getTracks().size();
+		int toTracks = to.getTracks().size();
+		int tracks = Math.min(fromTracks, toTracks);
+		if( toTracks < fromTracks ) {
+			delta.addChange(createChange(TGSongDelta.TRACK_REMOVE, toTracks, 0, 0));
+		}
+		
+		int fromCount = from.getHeaders().size();
+		int toCount = to.getHeaders().size();
+		int count = Math.min(fromCount, toCount);
+		int prefix = 0;
+		while( prefix < count && isSameColumn(from, prefix, to, prefix, tracks) ) {
+			prefix ++;
+		}
+		int suffix = 0;
+		while( suffix < count - prefix && isSameColumn(from, fromCount - suffix - 1, to, toCount - suffix - 1, tracks) ) {
+			suffix ++;
+		}
+		
+		if( fromCount == toCount ) {
+			for(int m = prefix; m < toCount - suffix; m ++) {
+				if(!Arrays.equals(from.getHeaders().get(m), to.getHeaders().get(m))) {
+					delta.addChange(createChange(TGSongDelta.HEADER, 0, m, 0, to.getHeaders().get(m)));
+				}
+				for(int t = 0; t < tracks; t ++) {
+					byte[] measure = to.getMeasures().get(t).get(m);
+					if(!Arrays.equals(from.getMeasures().get(t).get(m), measure)) {
+						delta.addChange(createChange(TGSongDelta.MEASURE, t, m, 0, measure));
+					}
+				}
+			}
+		} else {
+			List<byte[]> data = new ArrayList<byte[]>(to.getHeaders().subList(prefix, toCount - suffix));
+			for(int t = 0; t < tracks; t ++) {
+				data.addAll(to.getMeasures().get(t).subList(prefix, toCount - suffix));
+			}
+			delta.addChange(new TGSongChange(TGSongDelta.MEASURES, 0, prefix, (fromCount - prefix - suffix), data));
+		}
+		
+		for(int t = 0; t < tracks; t ++) {
+			if(!Arrays.equals(from.getTracks().get(t), to.getTracks().get(t))) {
+				delta.addChange(createChange(TGSongDelta.TRACK, t, 0, 0, to.getTracks().get(t)));
+			}
+		}
+		if(!Arrays.equals(from.getSong(), to.getSong())) {
+			delta.addChange(createChange(TGSongDelta.SONG, 0, 0, 0, to.getSong()));
+		}
+		
+		for(int t = tracks; t < toTracks; t ++) {
+			List<byte[]> data = new ArrayList<byte[]>();
+			data.add(to.getTracks().get(t));
+			data.addAll(to.getMeasures().get(t));
+			delta.addChange(new TGSongChange(TGSongDelta.TRACK_ADD, t, 0, 0, data));
+		}
+		return delta;
+	}
+	
+	public static void apply(TGSongSnapshot snapshot, TGSongDelta delta) throws IOException {
+		for(TGSongChange change : delta.getChanges()) {
+			List<byte[]> data = change.getData();
+			switch (change.getType()) {
+				case TGSongDelta.SONG:
+					snapshot.setSong(data.get(0));
+				break;
+				case TGSongDelta.TRACK:
+					snapshot.getTracks().set(change.getTrack(), data.get(0));
+				break;
+				case TGSongDelta.HEADER:
+					snapshot.getHeaders().set(change.getMeasure(), data.get(0));
+				break;
+				case TGSongDelta.MEASURE:
+					snapshot.getMeasures().get(change.getTrack()).set(change.getMeasure(), data.get(0));
+				break;
+				case TGSongDelta.MEASURES:
+					applyMeasures(snapshot, change);
+				break;
+				case TGSongDelta.TRACK_REMOVE:
+					snapshot.getTracks().subList(change.getTrack(), snapshot.getTracks().size()).clear();
+					snapshot.getMeasures().subList(change.getTrack(), snapshot.getMeasures().size()).clear();
+				break;
+				case TGSongDelta.TRACK_ADD:
+					snapshot.getTracks().add(data.get(0));
+					snapshot.getMeasures().add(new ArrayList<byte[]>(data.subList(1, data.size())));
+				break;
+				default:
+					throw new IOException("Unknown change: " + change.getType());
+			}
+		}
+	}
+	
+	private static void applyMeasures(TGSongSnapshot snapshot, TGSongChange change) throws IOException {
+		int tracks = snapshot.getTracks().size();
+		int from = change.getMeasure();
+		int to = (from + change.getLength());
+		int count = (change.getData().size() / (tracks + 1));
+		if( count * (tracks + 1) != change.getData().size() ) {
+			throw new IOException("Invalid measure change");
+		}
+		
+		List<byte[]> data = change.getData();
+		splice(snapshot.getHeaders(), from, to, data.subList(0, count));
+		for(int t = 0; t < tracks; t ++) {
+			splice(snapshot.getMeasures().get(t), from, to, data.subList((t + 1) * count, (t + 2) * count));
+		}
+	}
+	
+	private static void splice(List<byte[]> list, int from, int to, List<byte[]> elements) {
+		list.subList(from, to).clear();
+		list.addAll(from, elements);
+	}
+	
+	private static boolean isSameColumn(TGSongSnapshot from, int fromIndex, TGSongSnapshot to, int toIndex, int tracks) {
+		if(!Arrays.equals(from.getHeaders().get(fromIndex), to.getHeaders().get(toIndex))) {
+			return false;
+		}
+		for(int t = 0; t < tracks; t ++) {
+			if(!Arrays.equals(from.getMeasures().get(t).get(fromIndex), to.getMeasures().get(t).get(toIndex))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static TGSongChange createChange(int type, int track, int measure, int length) {
+		return new TGSongChange(type, track, measure, length, Collections.<byte[]>emptyList());
+	}
+	
+	private static TGSongChange createChange(int type, int track, int measure, int length, byte[] data) {
+		return new TGSongChange(type, track, measure, length, Collections.singletonList(data));
+	}
+}
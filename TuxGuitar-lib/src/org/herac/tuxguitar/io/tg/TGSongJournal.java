@@ -0,0 +1,191 @@
+package org.herac.tuxguitar.io.tg;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.models.TGSong;
+
+/**
+ * Append only journal of a song.
+ *
+ * The journal starts with a snapshot of the song and every write appends the delta from the
+ * previous one. Records carry a checksum, so a record cut by a crash ends the journal. Once
+ * the deltas outgrow the snapshot the journal is rewritten from the current song.
+ */
+public class TGSongJournal {
+	
+	private static final int JOURNAL_MAGIC = 0x54474a4c;
+	private static final int JOURNAL_VERSION = 1;
+	
+	private static final int RECORD_SNAPSHOT = 1;
+	private static final int RECORD_DELTA = 2;
+	private static final int RECORD_HEADER_LENGTH = 9;
+	
+	private File file;
+	private String source;
+	private TGSongSnapshot snapshot;
+	private long snapshotLength;
+	private long deltaLength;
+	private boolean compactPending;
+	
+	public TGSongJournal(File file, String source) {
+		this.file = file;
+		this.source = source;
+	}
+	
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * @return the description of the song given on creation, may be empty.
+	 */
+	public String getSource() {
+		return this.source;
+	}
+	
+	public TGSong getSong(TGFactory factory) throws IOException {
+		return (this.snapshot != null ? this.snapshot.toSong(factory) : null);
+	}
+	
+	/**
+	 * Journals the song state. Nothing is written when it did not change since the last call.
+	 */
+	public synchronized void write(TGSongSnapshot snapshot) throws IOException {
+		if( this.snapshot == null || this.compactPending || this.deltaLength > this.snapshotLength ) {
+			this.compact(snapshot);
+		} else {
+			TGSongDelta delta = TGSongDiff.diff(this.snapshot, snapshot);
+			if(!delta.isEmpty() ) {
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				DataOutputStream stream = new DataOutputStream(buffer);
+				delta.write(stream);
+				stream.flush();
+				
+				FileOutputStream out = new FileOutputStream(this.file, true);
+				try {
+					this.deltaLength += writeRecord(out, RECORD_DELTA, buffer.toByteArray());
+				} finally {
+					out.close();
+				}
+			}
+		}
+		this.snapshot = snapshot;
+	}
+	
+	public synchronized void delete() {
+		this.snapshot = null;
+		if( this.file.exists() && !this.file.delete() ) {
+			this.file.deleteOnExit();
+		}
+	}
+	
+	private void compact(TGSongSnapshot snapshot) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream stream = new DataOutputStream(buffer);
+		snapshot.write(stream);
+		stream.flush();
+		
+		File tempFile = new File(this.file.getAbsolutePath() + ".tmp");
+		FileOutputStream out = new FileOutputStream(tempFile);
+		try {
+			DataOutputStream header = new DataOutputStream(out);
+			header.writeInt(JOURNAL_MAGIC);
+			header.writeInt(JOURNAL_VERSION);
+			header.writeUTF(this.source != null ? this.source : "");
+			header.flush();
+			
+			this.snapshotLength = writeRecord(out, RECORD_SNAPSHOT, buffer.toByteArray());
+			this.deltaLength = 0;
+			this.compactPending = false;
+		} finally {
+			out.close();
+		}
+		if(!tempFile.renameTo(this.file) ) {
+			this.file.delete();
+			if(!tempFile.renameTo(this.file) ) {
+				throw new IOException("Can't write " + this.file);
+			}
+		}
+	}
+	
+	private static int writeRecord(FileOutputStream out, int type, byte[] data) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(RECORD_HEADER_LENGTH + data.length);
+		DataOutputStream record = new DataOutputStream(buffer);
+		record.writeByte(type);
+		record.writeInt(data.length);
+		record.writeInt((int) crc.getValue());
+		record.write(data);
+		record.flush();
+		
+		out.write(buffer.toByteArray());
+		out.flush();
+		out.getFD().sync();
+		
+		return buffer.size();
+	}
+	
+	/**
+	 * Replays a journal up to its last complete record.
+	 *
+	 * @return the journal, which may go on being written, or null when there is no song in it.
+	 */
+	public static TGSongJournal open(File file) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if( in.readInt() != JOURNAL_MAGIC || in.readInt() != JOURNAL_VERSION ) {
+				return null;
+			}
+			TGSongJournal journal = new TGSongJournal(file, in.readUTF());
+			try {
+				long remaining = file.length();
+				int type;
+				while((type = in.read()) >= 0 ) {
+					int length = in.readInt();
+					int checksum = in.readInt();
+					if( length < 0 || length > remaining ) {
+						journal.compactPending = true;
+						break;
+					}
+					byte[] data = new byte[length];
+					in.readFully(data);
+					
+					CRC32 crc = new CRC32();
+					crc.update(data);
+					if( checksum != (int) crc.getValue() ) {
+						journal.compactPending = true;
+						break;
+					}
+					
+					DataInputStream record = new DataInputStream(new ByteArrayInputStream(data));
+					if( type == RECORD_SNAPSHOT ) {
+						journal.snapshot = TGSongSnapshot.read(record);
+						journal.snapshotLength = (RECORD_HEADER_LENGTH + data.length);
+						journal.deltaLength = 0;
+					} else if( type == RECORD_DELTA && journal.snapshot != null ) {
+						TGSongDiff.apply(journal.snapshot, TGSongDelta.read(record));
+						journal.deltaLength += (RECORD_HEADER_LENGTH + data.length);
+					}
+				}
+			} catch (EOFException e) {
+				journal.compactPending = true;
+			}
+			return (journal.snapshot != null ? journal : null);
+		} finally {
+			in.close();
+		}
+	}
+}
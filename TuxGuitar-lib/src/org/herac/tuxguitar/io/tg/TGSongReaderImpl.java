@@ -1,7 +1,14 @@
 package org.herac.tuxguitar.io.tg;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import org.herac.tuxguitar.io.base.TGFileFormat;
 import org.herac.tuxguitar.io.base.TGFileFormatException;
@@ -42,6 +49,7 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 	
 	private DataInputStream dataInputStream;
 	private TGFactory factory;
+	private Inflater inflater;
 	
 	public TGSongReaderImpl() {
 		super();
@@ -53,23 +61,156 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 	
 	public void read(TGSongReaderHandle handle) throws TGFileFormatException {
 		try {
-			this.factory = handle.getFactory();
-			this.dataInputStream = new DataInputStream(handle.getInputStream());
+			List<TGChunk> chunks = new ArrayList<TGChunk>();
+			TGSong song = this.readSong(handle.getFactory(), handle.getInputStream(), chunks);
 			
-			TGFileFormat fileFormat = new TGFileFormatDetectorImpl(SUPPORTED_FORMAT).getFileFormat(this.dataInputStream);
-			if( fileFormat == null || !fileFormat.equals(this.getFileFormat()) ) {
-				throw new TGFileFormatException("Unsupported Version");
+			//leo los bloques, los que no tienen compases pedidos no se leen
+			DataInputStream dataInputStream = this.dataInputStream;
+			int measuresToRead = handle.countMeasuresToRead(song.countMeasureHeaders());
+			int position = 0;
+			for(TGChunk chunk : chunks){
+				if( chunk.getMeasure() < measuresToRead ){
+					skipFully(dataInputStream, chunk.getOffset() - position);
+					
+					byte[] data = new byte[chunk.getLength()];
+					dataInputStream.readFully(data);
+					position = (chunk.getOffset() + chunk.getLength());
+					
+					TGTrack track = song.getTrack(chunk.getTrack());
+					for(TGMeasure measure : this.readChunk(song, chunk, data)){
+						track.addMeasure(measure);
+					}
+				}
 			}
-			
-			TGSong song = this.read();
-			this.dataInputStream.close();
+			dataInputStream.close();
 			handle.setSong(song);
 		} catch (Throwable throwable) {
 			throw new TGFileFormatException(throwable);
 		}
 	}
 	
-	private TGSong read() throws IOException {
+	void setDataInputStream(TGFactory factory, DataInputStream dataInputStream) {
+		this.factory = factory;
+		this.dataInputStream = dataInputStream;
+	}
+	
+	/**
+	 * Reads the song without measures, the tracks chunks are added to the given list.
+	 * The stream is left at the start of the first chunk.
+	 */
+	TGSong readSong(TGFactory factory, InputStream stream, List<TGChunk> chunks) throws TGFileFormatException, IOException {
+		this.factory = factory;
+		this.dataInputStream = new DataInputStream(stream);
+		
+		TGFileFormat fileFormat = new TGFileFormatDetectorImpl(SUPPORTED_FORMAT).getFileFormat(this.dataInputStream);
+		if( fileFormat == null || !fileFormat.equals(this.getFileFormat()) ) {
+			throw new TGFileFormatException("Unsupported Version");
+		}
+		
+		return this.read(chunks);
+	}
+	
+	/**
+	 * Decodes the measures of a chunk, data being its stored bytes.
+	 */
+	List<TGMeasure> readChunk(TGSong song, TGChunk chunk, byte[] data) throws IOException {
+		DataInputStream dataInputStream = this.dataInputStream;
+		try {
+			this.dataInputStream = new DataInputStream(new ByteArrayInputStream(this.inflate(chunk, data)));
+			
+			List<TGMeasure> measures = new ArrayList<TGMeasure>(chunk.getCount());
+			TGMeasure lastMeasure = null;
+			for(int i = 0;i < chunk.getCount();i++){
+				TGMeasure measure = readMeasure(song.getMeasureHeader(chunk.getMeasure() + i),lastMeasure);
+				measures.add(measure);
+				lastMeasure = measure;
+			}
+			return measures;
+		} finally {
+			this.dataInputStream = dataInputStream;
+		}
+	}
+	
+	private byte[] inflate(TGChunk chunk, byte[] data) throws IOException {
+		if((chunk.getFlags() & CHUNK_COMPRESSED) == 0 ){
+			return data;
+		}
+		if( this.inflater == null ){
+			this.inflater = new Inflater();
+		}
+		try {
+			this.inflater.reset();
+			this.inflater.setInput(data);
+			
+			byte[] raw = new byte[chunk.getRawLength()];
+			int length = 0;
+			while( length < raw.length ){
+				int count = this.inflater.inflate(raw, length, raw.length - length);
+				if( count == 0 && (this.inflater.finished() || this.inflater.needsInput()) ){
+					throw new EOFException("Truncated chunk");
+				}
+				length += count;
+			}
+			return raw;
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		}
+	}
+	
+	private static void skipFully(DataInputStream dataInputStream, int length) throws IOException {
+		int remaining = length;
+		while( remaining > 0 ){
+			int skipped = dataInputStream.skipBytes(remaining);
+			if( skipped <= 0 ){
+				if( dataInputStream.read() < 0 ){
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+	
+	private TGSong read(List<TGChunk> chunks) throws IOException {
+		TGSong song = readSongInfo();
+		
+		//leo la cantidad de measure headers
+		int headerCount = readShort();
+		
+		//leo las pistas
+		TGMeasureHeader lastHeader = null;
+		long headerStart = TGDuration.QUARTER_TIME;
+		for(int i = 0;i < headerCount;i++){
+			TGMeasureHeader header = readMeasureHeader(i + 1,headerStart,lastHeader);
+			song.addMeasureHeader(header);
+			headerStart += header.getLength();
+			lastHeader = header;
+		}
+		
+		//leo la cantidad de pistas
+		int trackCount = readByte();
+		
+		//leo las pistas
+		for(int i = 0;i < trackCount;i++){
+			song.addTrack(readTrack(i, chunks));
+		}
+		
+		return song;
+	}
+	
+	private TGTrack readTrack(int index,List<TGChunk> chunks) throws IOException {
+		TGTrack track = readTrackInfo(index);
+		
+		//leo la tabla de bloques
+		int chunkCount = readShort();
+		for(int i = 0;i < chunkCount;i++){
+			chunks.add(readChunkEntry(index));
+		}
+		
+		return track;
+	}
+	
+	TGSong readSongInfo() throws IOException {
 		TGSong song = this.factory.newSong();
 		
 		//leo el nombre
@@ -109,37 +250,16 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 			song.addChannel(channel);
 		}
 		
-		//leo la cantidad de measure headers
-		int headerCount = readShort();
-		
-		//leo las pistas
-		TGMeasureHeader lastHeader = null;
-		long headerStart = TGDuration.QUARTER_TIME;
-		for(int i = 0;i < headerCount;i++){
-			TGMeasureHeader header = readMeasureHeader(i + 1,headerStart,lastHeader);
-			song.addMeasureHeader(header);
-			headerStart += header.getLength();
-			lastHeader = header;
-		}
-		
-		//leo la cantidad de pistas
-		int trackCount = readByte();
-		
-		//leo las pistas
-		for(int i = 0;i < trackCount;i++){
-			song.addTrack(readTrack(i + 1,song));
-		}
-		
 		return song;
 	}
 	
-	private TGTrack readTrack(int number,TGSong song) throws IOException {
+	TGTrack readTrackInfo(int index) throws IOException {
 		//header
 		int header = readHeader();
 		
 		TGTrack track = this.factory.newTrack();
 		
-		track.setNumber(number);
+		track.setNumber(index + 1);
 		
 		//leo el nombre
 		track.setName(readUnsignedByteString());
@@ -153,17 +273,6 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 		//leo el id del canal
 		track.setChannelId(readShort());
 		
-		//leo la cantidad de compases
-		int measureCount = song.countMeasureHeaders();
-		
-		//leo los compases
-		TGMeasure lastMeasure = null;
-		for(int i = 0;i < measureCount;i++){
-			TGMeasure measure = readMeasure(song.getMeasureHeader(i),lastMeasure);
-			track.addMeasure(measure);
-			lastMeasure = measure;
-		}
-		
 		//leo la cantidad de cuerdas
 		int stringCount = readByte();
 		
@@ -186,7 +295,23 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 		return track;
 	}
 	
-	private TGMeasureHeader readMeasureHeader(int number,long start,TGMeasureHeader lastMeasureHeader) throws IOException {
+	private TGChunk readChunkEntry(int track) throws IOException {
+		//leo el primer compas y la cantidad de compases
+		int measure = readShort();
+		int count = readShort();
+		
+		//leo la cabecera
+		int flags = readHeader();
+		
+		//leo la posicion y los largos
+		int offset = this.dataInputStream.readInt();
+		int length = this.dataInputStream.readInt();
+		int rawLength = this.dataInputStream.readInt();
+		
+		return new TGChunk(track, measure, count, flags, offset, length, rawLength);
+	}
+	
+	TGMeasureHeader readMeasureHeader(int number,long start,TGMeasureHeader lastMeasureHeader) throws IOException {
 		int header = readHeader();
 		
 		TGMeasureHeader measureHeader = this.factory.newHeader();
@@ -233,14 +358,16 @@ public class TGSongReaderImpl extends TGStream implements TGSongReader {
 		return measureHeader;
 	}
 	
-	private TGMeasure readMeasure(TGMeasureHeader measureHeader,TGMeasure lastMeasure) throws IOException {
+	TGMeasure readMeasure(TGMeasureHeader measureHeader,TGMeasure lastMeasure) throws IOException {
 		int header = readHeader();
 		
 		TGMeasure measure = this.factory.newMeasure(measureHeader);
 		TGBeatData data = new TGBeatData(measure);
 		
 		//leo la los beats
-		readBeats(measure, data);
+		if(((header & MEASURE_EMPTY) == 0)){
+			readBeats(measure, data);
+		}
 		
 		//leo la clave
 		measure.setClef( (lastMeasure == null)?TGMeasure.CLEF_TREBLE:lastMeasure.getClef());
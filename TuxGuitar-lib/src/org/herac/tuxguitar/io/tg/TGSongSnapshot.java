@@ -0,0 +1,185 @@
+package org.herac.tuxguitar.io.tg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.models.TGDuration;
+import org.herac.tuxguitar.song.models.TGMeasureHeader;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGTrack;
+
+/**
+ * A song encoded with the tg format, one block for the song information, one per measure
+ * header, one per track and one per measure. Every block is written on its own, so two
+ * snapshots may be compared block by block.
+ */
+public class TGSongSnapshot {
+	
+	private byte[] song;
+	private List<byte[]> headers;
+	private List<byte[]> tracks;
+	private List<List<byte[]>> measures;
+	
+	private TGSongSnapshot() {
+		this.headers = new ArrayList<byte[]>();
+		this.tracks = new ArrayList<byte[]>();
+		this.measures = new ArrayList<List<byte[]>>();
+	}
+	
+	byte[] getSong() {
+		return this.song;
+	}
+	
+	void setSong(byte[] song) {
+		this.song = song;
+	}
+	
+	List<byte[]> getHeaders() {
+		return this.headers;
+	}
+	
+	List<byte[]> getTracks() {
+		return this.tracks;
+	}
+	
+	List<List<byte[]>> getMeasures() {
+		return this.measures;
+	}
+	
+	/**
+	 * @return the encoded size, in bytes.
+	 */
+	public int getLength() {
+		int length = this.song.length;
+		for(byte[] header : this.headers) {
+			length += header.length;
+		}
+		for(int i = 0; i < this.tracks.size(); i ++) {
+			length += this.tracks.get(i).length;
+			for(byte[] measure : this.measures.get(i)) {
+				length += measure.length;
+			}
+		}
+		return length;
+	}
+	
+	public static TGSongSnapshot create(TGSong song) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		TGSongWriterImpl writer = new TGSongWriterImpl();
+		writer.setDataOutputStream(new DataOutputStream(buffer));
+		
+		TGSongSnapshot snapshot = new TGSongSnapshot();
+		writer.writeSongInfo(song);
+		snapshot.song = toByteArray(buffer);
+		
+		for(int i = 0; i < song.countMeasureHeaders(); i ++) {
+			writer.writeMeasureHeader(song.getMeasureHeader(i), null);
+			snapshot.headers.add(toByteArray(buffer));
+		}
+		for(int i = 0; i < song.countTracks(); i ++) {
+			TGTrack track = song.getTrack(i);
+			writer.writeTrackInfo(track);
+			snapshot.tracks.add(toByteArray(buffer));
+			
+			List<byte[]> measures = new ArrayList<byte[]>(track.countMeasures());
+			for(int m = 0; m < track.countMeasures(); m ++) {
+				writer.writeMeasure(track.getMeasure(m), null);
+				measures.add(toByteArray(buffer));
+			}
+			snapshot.measures.add(measures);
+		}
+		return snapshot;
+	}
+	
+	public TGSong toSong(TGFactory factory) throws IOException {
+		TGSongReaderImpl reader = new TGSongReaderImpl();
+		
+		reader.setDataInputStream(factory, toDataInputStream(this.song));
+		TGSong song = reader.readSongInfo();
+		
+		long start = TGDuration.QUARTER_TIME;
+		for(int i = 0; i < this.headers.size(); i ++) {
+			reader.setDataInputStream(factory, toDataInputStream(this.headers.get(i)));
+			TGMeasureHeader header = reader.readMeasureHeader(i + 1, start, null);
+			song.addMeasureHeader(header);
+			start += header.getLength();
+		}
+		for(int i = 0; i < this.tracks.size(); i ++) {
+			reader.setDataInputStream(factory, toDataInputStream(this.tracks.get(i)));
+			TGTrack track = reader.readTrackInfo(i);
+			
+			List<byte[]> measures = this.measures.get(i);
+			for(int m = 0; m < measures.size(); m ++) {
+				reader.setDataInputStream(factory, toDataInputStream(measures.get(m)));
+				track.addMeasure(reader.readMeasure(song.getMeasureHeader(m), null));
+			}
+			song.addTrack(track);
+		}
+		return song;
+	}
+	
+	public void write(DataOutputStream stream) throws IOException {
+		writeBytes(stream, this.song);
+		writeBytesList(stream, this.headers);
+		stream.writeInt(this.tracks.size());
+		for(int i = 0; i < this.tracks.size(); i ++) {
+			writeBytes(stream, this.tracks.get(i));
+			writeBytesList(stream, this.measures.get(i));
+		}
+	}
+	
+	public static TGSongSnapshot read(DataInputStream stream) throws IOException {
+		TGSongSnapshot snapshot = new TGSongSnapshot();
+		snapshot.song = readBytes(stream);
+		snapshot.headers.addAll(readBytesList(stream));
+		int trackCount = stream.readInt();
+		for(int i = 0; i < trackCount; i ++) {
+			snapshot.tracks.add(readBytes(stream));
+			snapshot.measures.add(readBytesList(stream));
+		}
+		return snapshot;
+	}
+	
+	static void writeBytes(DataOutputStream stream, byte[] bytes) throws IOException {
+		stream.writeInt(bytes.length);
+		stream.write(bytes);
+	}
+	
+	static void writeBytesList(DataOutputStream stream, List<byte[]> list) throws IOException {
+		stream.writeInt(list.size());
+		for(byte[] bytes : list) {
+			writeBytes(stream, bytes);
+		}
+	}
+	
+	static byte[] readBytes(DataInputStream stream) throws IOException {
+		byte[] bytes = new byte[stream.readInt()];
+		stream.readFully(bytes);
+		return bytes;
+	}
+	
+	static List<byte[]> readBytesList(DataInputStream stream) throws IOException {
+		int count = stream.readInt();
+		List<byte[]> list = new ArrayList<byte[]>(count);
+		for(int i = 0; i < count; i ++) {
+			list.add(readBytes(stream));
+		}
+		return list;
+	}
+	
+	private static byte[] toByteArray(ByteArrayOutputStream buffer) {
+		byte[] bytes = buffer.toByteArray();
+		buffer.reset();
+		return bytes;
+	}
+	
+	private static DataInputStream toDataInputStream(byte[] bytes) {
+		return new DataInputStream(new ByteArrayInputStream(bytes));
+	}
+}
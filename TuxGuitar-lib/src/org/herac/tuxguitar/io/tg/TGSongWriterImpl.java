@@ -1,8 +1,12 @@
 package org.herac.tuxguitar.io.tg;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.zip.Deflater;
 
 import org.herac.tuxguitar.io.base.TGFileFormat;
 import org.herac.tuxguitar.io.base.TGFileFormatException;
@@ -38,9 +42,25 @@ import org.herac.tuxguitar.song.models.effects.TGEffectTremoloBar.TremoloBarPoin
 import org.herac.tuxguitar.song.models.effects.TGEffectTremoloPicking;
 import org.herac.tuxguitar.song.models.effects.TGEffectTrill;
 
+/**
+ * The measures of every track are written in chunks of CHUNK_MEASURES, after a table
+ * with their offsets, so readers may decode the song header alone or only some chunks.
+ * When compression is enabled a chunk is deflated if that makes it smaller, which
+ * roughly halves the file but costs time on both sides.
+ */
 public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 	
 	private DataOutputStream dataOutputStream;
+	private Deflater deflater;
+	private boolean compressed;
+	
+	public TGSongWriterImpl(boolean compressed){
+		this.compressed = compressed;
+	}
+	
+	public TGSongWriterImpl(){
+		this(false);
+	}
 	
 	public TGFileFormat getFileFormat(){
 		return TG_FORMAT;
@@ -59,11 +79,59 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 		}
 	}
 	
+	void setDataOutputStream(DataOutputStream dataOutputStream){
+		this.dataOutputStream = dataOutputStream;
+	}
+	
 	private void writeVersion() throws IOException{
 		writeUnsignedByteString(TG_FORMAT_VERSION);
 	}
 	
 	private void write(TGSong song) throws IOException{
+		writeSongInfo(song);
+		
+		//escribo la cantidad de measure headers 
+		writeShort((short)song.countMeasureHeaders());
+		
+		//escribo las pistas
+		TGMeasureHeader lastHeader = null;
+		Iterator<TGMeasureHeader> headers = song.getMeasureHeaders();
+		while(headers.hasNext()){
+			TGMeasureHeader header = (TGMeasureHeader)headers.next();
+			writeMeasureHeader(header,lastHeader);
+			lastHeader = header;
+		}
+		
+		//codifico los compases de las pistas en bloques
+		List<TGChunk> chunks = new ArrayList<TGChunk>();
+		List<byte[]> chunkData = new ArrayList<byte[]>();
+		this.deflater = (this.compressed ? new Deflater(Deflater.BEST_SPEED) : null);
+		try {
+			for(int i = 0;i < song.countTracks();i++){
+				writeChunks(i, song.getTrack(i), chunks, chunkData);
+			}
+		} finally {
+			if( this.deflater != null ){
+				this.deflater.end();
+				this.deflater = null;
+			}
+		}
+		
+		//escribo la cantidad de pistas
+		writeByte(song.countTracks());
+		
+		//escribo las pistas
+		for(int i = 0;i < song.countTracks();i++){
+			writeTrack(i, song.getTrack(i), chunks);
+		}
+		
+		//escribo los bloques
+		for(byte[] data : chunkData){
+			this.dataOutputStream.write(data);
+		}
+	}
+	
+	void writeSongInfo(TGSong song) throws IOException{
 		//escribo el nombre
 		writeUnsignedByteString(song.getName());
 		
@@ -98,29 +166,83 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 		for(int i = 0;i < song.countChannels();i++){
 			writeChannel(song.getChannel(i));
 		}
-		
-		//escribo la cantidad de measure headers 
-		writeShort((short)song.countMeasureHeaders());
-		
-		//escribo las pistas
-		TGMeasureHeader lastHeader = null;
-		Iterator<TGMeasureHeader> headers = song.getMeasureHeaders();
-		while(headers.hasNext()){
-			TGMeasureHeader header = (TGMeasureHeader)headers.next();
-			writeMeasureHeader(header,lastHeader);
-			lastHeader = header;
+	}
+	
+	private void writeChunks(int index, TGTrack track, List<TGChunk> chunks, List<byte[]> chunkData) throws IOException{
+		int offset = 0;
+		if(!chunks.isEmpty()){
+			TGChunk last = chunks.get(chunks.size() - 1);
+			offset = (last.getOffset() + last.getLength());
 		}
 		
-		//escribo la cantidad de pistas
-		writeByte(song.countTracks());
+		int measureCount = track.countMeasures();
+		for(int from = 0;from < measureCount;from += CHUNK_MEASURES){
+			int to = Math.min(from + CHUNK_MEASURES, measureCount);
+			byte[] raw = encodeMeasures(track, from, to);
+			byte[] data = (this.deflater != null ? compress(raw) : raw);
+			int flags = (data != raw ? CHUNK_COMPRESSED : 0);
+			
+			chunks.add(new TGChunk(index, from, (to - from), flags, offset, data.length, raw.length));
+			chunkData.add(data);
+			offset += data.length;
+		}
+	}
+	
+	private byte[] encodeMeasures(TGTrack track, int from, int to) throws IOException{
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream dataOutputStream = this.dataOutputStream;
+		try {
+			this.dataOutputStream = new DataOutputStream(buffer);
+			
+			//el primer compas de cada bloque se escribe completo
+			TGMeasure lastMeasure = null;
+			for(int i = from;i < to;i++){
+				TGMeasure measure = track.getMeasure(i);
+				writeMeasure(measure,lastMeasure);
+				lastMeasure = measure;
+			}
+			this.dataOutputStream.flush();
+		} finally {
+			this.dataOutputStream = dataOutputStream;
+		}
+		return buffer.toByteArray();
+	}
+	
+	private byte[] compress(byte[] raw){
+		//solo se comprime si el bloque resultante es menor
+		byte[] data = new byte[raw.length];
+		int length = 0;
+		this.deflater.reset();
+		this.deflater.setInput(raw);
+		this.deflater.finish();
+		while(!this.deflater.finished() && length < data.length){
+			length += this.deflater.deflate(data, length, data.length - length);
+		}
+		if(!this.deflater.finished() || length >= raw.length){
+			return raw;
+		}
+		byte[] compressed = new byte[length];
+		System.arraycopy(data, 0, compressed, 0, length);
+		return compressed;
+	}
+	
+	private void writeTrack(int index, TGTrack track, List<TGChunk> chunks) throws IOException{
+		writeTrackInfo(track);
 		
-		//escribo las pistas
-		for(int i = 0;i < song.countTracks();i++){
-			writeTrack(song.getTrack(i));
+		//escribo la tabla de bloques
+		List<TGChunk> trackChunks = new ArrayList<TGChunk>();
+		for(TGChunk chunk : chunks){
+			if( chunk.getTrack() == index ){
+				trackChunks.add(chunk);
+			}
+		}
+		writeShort((short)trackChunks.size());
+		for(TGChunk chunk : trackChunks){
+			writeChunk(chunk);
 		}
 	}
 	
-	private void writeTrack(TGTrack track) throws IOException{
+	void writeTrackInfo(TGTrack track) throws IOException{
 		//header
 		int header = 0;
 		if (track.isSolo()) {
@@ -140,15 +262,6 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 		//escribo el id del canal
 		writeShort((short)track.getChannelId());
 		
-		//escribo los compases
-		TGMeasure lastMeasure = null;
-		Iterator<TGMeasure> measures  = track.getMeasures();
-		while(measures.hasNext()){
-			TGMeasure measure = (TGMeasure)measures.next();
-			writeMeasure(measure,lastMeasure);
-			lastMeasure = measure;
-		}
-		
 		//escribo la cantidad de cuerdas 
 		writeByte(track.getStrings().size());
 		
@@ -171,7 +284,23 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 		}
 	}
 	
-	private void writeMeasureHeader(TGMeasureHeader measureheader,TGMeasureHeader lastMeasureHeader) throws IOException{
+	private void writeChunk(TGChunk chunk) throws IOException{
+		//escribo el primer compas
+		writeShort((short)chunk.getMeasure());
+		
+		//escribo la cantidad de compases
+		writeShort((short)chunk.getCount());
+		
+		//escribo la cabecera
+		writeHeader(chunk.getFlags());
+		
+		//escribo la posicion y los largos
+		this.dataOutputStream.writeInt(chunk.getOffset());
+		this.dataOutputStream.writeInt(chunk.getLength());
+		this.dataOutputStream.writeInt(chunk.getRawLength());
+	}
+	
+	void writeMeasureHeader(TGMeasureHeader measureheader,TGMeasureHeader lastMeasureHeader) throws IOException{
 		int header = 0;
 		if(lastMeasureHeader == null){
 			header |= MEASURE_HEADER_TIMESIGNATURE;
@@ -235,7 +364,7 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 		}
 	}
 	
-	private void writeMeasure(TGMeasure measure,TGMeasure lastMeasure) throws IOException{
+	void writeMeasure(TGMeasure measure,TGMeasure lastMeasure) throws IOException{
 		int header = 0;
 		if(lastMeasure == null){
 			header |= MEASURE_CLEF;
@@ -250,6 +379,9 @@ public class TGSongWriterImpl extends TGStream implements TGSongWriter {
 				header |= MEASURE_KEYSIGNATURE;
 			}
 		}
+		if( measure.countBeats() == 0 ){
+			header |= MEASURE_EMPTY;
+		}
 		//escribo la cabecera
 		writeHeader(header);
 		
@@ -12,7 +12,7 @@ public class TGStream {
 	
 	public static final String TG_FORMAT_NAME = ("TuxGuitar File Format");
 	
-	public static final String TG_FORMAT_VERSION = (TG_FORMAT_NAME + " - " + new TGVersion(1,5,0).getVersion() );
+	public static final String TG_FORMAT_VERSION = (TG_FORMAT_NAME + " - " + new TGVersion(1,6,0).getVersion() );
 	
 	public static final String TG_FORMAT_CODE = ("tg");
 	
@@ -42,6 +42,8 @@ public class TGStream {
 	
 	protected static final int MEASURE_KEYSIGNATURE = 0x02;
 	
+	protected static final int MEASURE_EMPTY = 0x04;
+	
 	protected static final int BEAT_HAS_NEXT = 0x01;
 	
 	protected static final int BEAT_HAS_STROKE = 0x02;
@@ -120,6 +122,10 @@ public class TGStream {
 	
 	protected static final int GRACE_FLAG_ON_BEAT = 0x02;
 	
+	protected static final int CHUNK_COMPRESSED = 0x01;
+	
+	protected static final int CHUNK_MEASURES = 32;
+	
 	protected class TGBeatData {
 		private long currentStart;
 		private TGVoiceData[] voices;
@@ -205,4 +211,56 @@ public class TGStream {
 			this.flags = flags;
 		}
 	}
+	
+	/**
+	 * Measures [measure, measure + count) of a track, stored at offset bytes from the end of
+	 * the chunk table. Every chunk can be decoded on its own.
+	 */
+	protected static class TGChunk {
+		private int track;
+		private int measure;
+		private int count;
+		private int flags;
+		private int offset;
+		private int length;
+		private int rawLength;
+		
+		protected TGChunk(int track, int measure, int count, int flags, int offset, int length, int rawLength){
+			this.track = track;
+			this.measure = measure;
+			this.count = count;
+			this.flags = flags;
+			this.offset = offset;
+			this.length = length;
+			this.rawLength = rawLength;
+		}
+		
+		public int getTrack() {
+			return this.track;
+		}
+		
+		public int getMeasure() {
+			return this.measure;
+		}
+		
+		public int getCount() {
+			return this.count;
+		}
+		
+		public int getFlags() {
+			return this.flags;
+		}
+		
+		public int getOffset() {
+			return this.offset;
+		}
+		
+		public int getLength() {
+			return this.length;
+		}
+		
+		public int getRawLength() {
+			return this.rawLength;
+		}
+	}
 }
@@ -99,7 +99,6 @@ public class TGSongSegmentHelper {
 			for(int i = 0;i < measures.size();i++){
 				TGMeasure measure = (TGMeasure)measures.get(i);
 				measure.setHeader((TGMeasureHeader)headers.get(i));
-				this.sm.getMeasureManager().moveAllBeats(measure,move);
 			}
 			
 			insertMeasures(currTrack,measures);
@@ -131,7 +130,6 @@ public class TGSongSegmentHelper {
 			long nextStart =  (replace.getStart() + replace.getLength());
 			while(nextHeaders.hasNext()){
 				TGMeasureHeader next = (TGMeasureHeader)nextHeaders.next();
-				this.sm.moveMeasureComponents(song, next, (nextStart - next.getStart() ));
 				this.sm.moveMeasureHeader(next, (nextStart - next.getStart() ) , 0);
 				nextStart = (next.getStart() + next.getLength());
 			}
@@ -146,7 +144,6 @@ public class TGSongSegmentHelper {
 				for(int i = 0;i < tSegment.getMeasures().size();i++){
 					TGMeasure measure = (TGMeasure)tSegment.getMeasures().get(i);
 					measure.setHeader((TGMeasureHeader)measureHeaders.get(i));
-					this.sm.getMeasureManager().moveAllBeats(measure,move);
 					this.sm.getMeasureManager().removeVoicesOutOfTime(measure);
 					this.sm.getMeasureManager().removeNotesAfterString(measure, currTrack.stringCount());
 					this.sm.getTrackManager().replaceMeasure(currTrack,measure);
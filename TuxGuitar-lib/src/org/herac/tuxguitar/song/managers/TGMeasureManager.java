@@ -25,6 +25,15 @@ import org.herac.tuxguitar.song.models.effects.TGEffectTremoloPicking;
 import org.herac.tuxguitar.song.models.effects.TGEffectTrill;
 
 public class TGMeasureManager {
+	
+	private static final Comparator<TGBeat> BEAT_START_COMPARATOR = new Comparator<TGBeat>() {
+		public int compare(TGBeat b1, TGBeat b2) {
+			long s1 = b1.getStart();
+			long s2 = b2.getStart();
+			return (s1 < s2 ? -1 : (s1 > s2 ? 1 : 0));
+		}
+	};
+	
 	private TGSongManager songManager;
 	
 	public TGMeasureManager(TGSongManager songManager){
@@ -36,15 +45,13 @@ public class TGMeasureManager {
 	}
 	
 	public void orderBeats(TGMeasure measure){
-		for(int i = 0;i < measure.countBeats();i++){
-			TGBeat minBeat = null;
-			for(int j = i;j < measure.countBeats();j++){
-				TGBeat beat = measure.getBeat(j);
-				if(minBeat == null || beat.getStart() < minBeat.getStart()){
-					minBeat = beat;
-				}
+		List<TGBeat> beats = measure.getBeats();
+		for(int i = 1;i < beats.size();i++){
+			if( beats.get(i - 1).getStart() > beats.get(i).getStart() ){
+				// stable, beats sharing a start keep their order
+				Collections.sort(beats, BEAT_START_COMPARATOR);
+				return;
 			}
-			measure.moveBeat(i, minBeat);
 		}
 	}
 	
@@ -966,15 +973,21 @@ public class TGMeasureManager {
 	}
 	
 	public void autoCompleteSilences(TGMeasure measure){
-		TGBeat beat = getFirstBeat( measure.getBeats() );
-		if( beat == null ){
-			createSilences(measure, measure.getStart(), measure.getLength(), 0);
+		if( measure.countBeats() == 0 ){
+			createSilences(measure, measure.getStart(), measure.getLength(), 0, null);
 			return;
 		}
+		
+		// beats are walked on a sorted copy, ties keep the measure order so every lookup
+		// resolves to the beat the linear searches would have found.
+		List<TGBeat> beats = new ArrayList<TGBeat>(measure.getBeats());
+		Collections.sort(beats, BEAT_START_COMPARATOR);
+		
+		TGBeat beat = beats.get(0);
 		for( int v = 0 ; v < TGBeat.MAX_VOICES ; v ++ ){
-			TGVoice voice = getFirstVoice( measure.getBeats() , v );
+			TGVoice voice = getFirstVoice( beats , v );
 			if( voice != null && voice.getBeat().getStart() > measure.getStart() ){
-				createSilences(measure, measure.getStart(), (voice.getBeat().getStart() - measure.getStart()), v);
+				createSilences(measure, measure.getStart(), (voice.getBeat().getStart() - measure.getStart()), v, beats);
 			}
 		}
 		
@@ -985,16 +998,22 @@ public class TGMeasureManager {
 			uncompletedLength[v] = 0;
 		}
 		
-		while (beat != null) {
+		int index = beats.indexOf(beat);
+		while (index < beats.size()) {
+			beat = beats.get(index);
+			int next = upperBound(beats, beat.getStart());
+			
 			for( int v = 0; v < beat.countVoices(); v ++ ){
 				TGVoice voice = beat.getVoice( v );
 				if( !voice.isEmpty() ){
 					long voiceEnd = (beat.getStart() + voice.getDuration().getTime());
 					long nextPosition = (measure.getStart() + measure.getLength());
 					
-					TGVoice nextVoice = getNextVoice(measure.getBeats(), beat, voice.getIndex());
-					if(nextVoice != null){
-						nextPosition = nextVoice.getBeat().getStart();
+					for( int i = next; i < beats.size(); i ++ ){
+						if(!beats.get(i).getVoice(v).isEmpty() ){
+							nextPosition = beats.get(i).getStart();
+							break;
+						}
 					}
 					if( voiceEnd < nextPosition ){
 						start[v] = voiceEnd;
@@ -1005,19 +1024,21 @@ public class TGMeasureManager {
 			
 			for( int v = 0; v < uncompletedLength.length; v ++ ){
 				if( uncompletedLength[v] > 0 ){
-					createSilences(measure,start[v],uncompletedLength[v], v);
+					createSilences(measure,start[v],uncompletedLength[v], v, beats);
 				}
 				start[v] = 0;
 				uncompletedLength[v] = 0;
 			}
-			beat = getNextBeat(measure.getBeats(), beat );
+			index = upperBound(beats, beat.getStart());
 		}
 	}
 	
 	/**
 	 * Crea Silencios temporarios en base a length
+	 * 
+	 * sortedBeats, when not null, is the measure beats sorted by start and is kept sorted.
 	 */
-	private void createSilences(TGMeasure measure,long start,long length, int voiceIndex){
+	private void createSilences(TGMeasure measure,long start,long length, int voiceIndex, List<TGBeat> sortedBeats){
 		long nextStart = start;
 		List<TGDuration> durations = createDurations(getSongManager().getFactory(),length);
 		Iterator<TGDuration> it = durations.iterator();
@@ -1026,7 +1047,16 @@ public class TGMeasureManager {
 			
 			boolean isNew = false;
 			long beatStart = getRealStart(measure, nextStart);
-			TGBeat beat = getBeat(measure, beatStart);
+			TGBeat beat = null;
+			int index = -1;
+			if( sortedBeats != null ){
+				index = upperBound(sortedBeats, beatStart - 1);
+				if( index < sortedBeats.size() && sortedBeats.get(index).getStart() == beatStart ){
+					beat = sortedBeats.get(index);
+				}
+			} else {
+				beat = getBeat(measure, beatStart);
+			}
 			if( beat == null ){
 				beat = getSongManager().getFactory().newBeat();
 				beat.setStart( getRealStart(measure, nextStart) );
@@ -1039,30 +1069,44 @@ public class TGMeasureManager {
 			
 			if( isNew ){
 				addBeat(measure,beat);
+				if( sortedBeats != null ){
+					sortedBeats.add(index, beat);
+				}
 			}
 			
 			nextStart += duration.getTime();
 		}
 	}
 	
+	/**
+	 * Index of the first beat starting after start, beats must be sorted.
+	 */
+	private int upperBound(List<TGBeat> sortedBeats, long start){
+		int low = 0;
+		int high = sortedBeats.size();
+		while( low < high ){
+			int middle = ((low + high) >>> 1);
+			if( sortedBeats.get(middle).getStart() <= start ){
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
 	public long getRealStart(TGMeasure measure,long currStart){
 		long beatLength = TGSongManager.getDivisionLength(measure.getHeader());
 		long start = currStart;
-		boolean startBeat = (start % beatLength == 0);
-		if(!startBeat){
+		if( start % beatLength != 0 ){
 			TGDuration minDuration = getSongManager().getFactory().newDuration();
 			minDuration.setValue(TGDuration.SIXTY_FOURTH);
 			minDuration.getDivision().setEnters(3);
 			minDuration.getDivision().setTimes(2);
-			for(int i = 0;i < minDuration.getTime();i++){
-				start ++;
-				startBeat = (start % beatLength == 0);
-				if(startBeat){
-				   break;
-				}
-			}
-			if(!startBeat){
-				start = currStart;
+			// snaps to the next division when it is closer than the minimum duration
+			long divisionStart = (start - (start % beatLength) + beatLength);
+			if( divisionStart - currStart <= minDuration.getTime() ){
+				start = divisionStart;
 			}
 		}
 		return start;
@@ -0,0 +1,94 @@
+package org.herac.tuxguitar.song.managers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.herac.tuxguitar.song.models.TGMeasure;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGTrack;
+
+/**
+ * Applies a task to every measure of a song.
+ *
+ * The task must only touch the measure it is given, so measures are shared out between
+ * worker threads when the song is large enough to pay for them.
+ */
+public abstract class TGMeasureProcessor {
+	
+	private static final int MIN_MEASURES_PER_WORKER = 256;
+	private static final int CHUNK_SIZE = 32;
+	
+	public abstract void process(TGMeasure measure);
+	
+	public void processAll(TGSong song) {
+		final List<TGMeasure> measures = new ArrayList<TGMeasure>();
+		Iterator<TGTrack> tracks = song.getTracks();
+		while( tracks.hasNext() ) {
+			Iterator<TGMeasure> it = tracks.next().getMeasures();
+			while( it.hasNext() ) {
+				measures.add(it.next());
+			}
+		}
+		
+		int workers = Math.min(Runtime.getRuntime().availableProcessors(), measures.size() / MIN_MEASURES_PER_WORKER);
+		if( workers <= 1 ) {
+			for(TGMeasure measure : measures) {
+				this.process(measure);
+			}
+			return;
+		}
+		
+		final AtomicInteger nextChunk = new AtomicInteger();
+		final Throwable[] error = new Throwable[1];
+		Thread[] threads = new Thread[workers];
+		for(int i = 0; i < threads.length; i ++) {
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					try {
+						int from;
+						while((from = nextChunk.getAndAdd(CHUNK_SIZE)) < measures.size()) {
+							int to = Math.min(from + CHUNK_SIZE, measures.size());
+							for(int m = from; m < to; m ++) {
+								TGMeasureProcessor.this.process(measures.get(m));
+							}
+						}
+					} catch (Throwable throwable) {
+						synchronized (error) {
+							if( error[0] == null ) {
+								error[0] = throwable;
+							}
+						}
+						nextChunk.set(measures.size());
+					}
+				}
+			}, "TuxGuitar-measure-processor");
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+		
+		boolean interrupted = false;
+		for(Thread thread : threads) {
+			while( thread.isAlive() ) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if( interrupted ) {
+			Thread.currentThread().interrupt();
+		}
+		
+		synchronized (error) {
+			if( error[0] instanceof RuntimeException ) {
+				throw (RuntimeException) error[0];
+			}
+			if( error[0] instanceof Error ) {
+				throw (Error) error[0];
+			}
+		}
+	}
+}
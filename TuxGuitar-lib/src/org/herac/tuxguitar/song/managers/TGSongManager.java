@@ -441,7 +441,8 @@ public class TGSongManager {
 			
 			long theMove = nextStart - nextHeader.getStart();
 			
-			//moveMeasureComponents(nextHeader,theMove);
+			// beats keep their absolute start, out of bounds beats are moved to new measures below.
+			moveMeasureComponents(song, nextHeader,-theMove);
 			moveMeasureHeader(nextHeader,theMove,0);
 			
 			if(toEnd){
@@ -656,6 +657,12 @@ public class TGSongManager {
 	}
 	
 	public TGMeasureHeader getMeasureHeader(TGSong song, int number){
+		if( number > 0 && number <= song.countMeasureHeaders() ){
+			TGMeasureHeader indexed = song.getMeasureHeader(number - 1);
+			if( indexed.getNumber() == number ){
+				return indexed;
+			}
+		}
 		for (int i = 0; i < song.countMeasureHeaders(); i++) {
 			TGMeasureHeader header = song.getMeasureHeader(i);
 			if(header.getNumber() == number){
@@ -772,7 +779,10 @@ public class TGSongManager {
 		Iterator<TGTrack> it = song.getTracks();
 		while(it.hasNext()){
 			TGTrack track = it.next();
-			getTrackManager().removeMeasure(track,start);
+			TGMeasure measure = getTrackManager().getMeasure(track,header.getNumber());
+			if( measure != null ){
+				getTrackManager().removeMeasure(measure);
+			}
 		}
 		moveMeasureHeaders(song, getMeasureHeadersBeforeEnd(song, start + 1),-length,-1,true);
 		song.removeMeasureHeader(header.getNumber() - 1);
@@ -793,14 +803,11 @@ public class TGSongManager {
 		header.copyFrom(getFactory(), from);
 	}
 	
+	/**
+	 * Beat starts are relative to their measure, so the beats always follow the headers and
+	 * moveComponents is kept for compatibility only.
+	 */
 	public void moveMeasureHeaders(TGSong song, List<TGMeasureHeader> headers,long theMove,int numberMove,boolean moveComponents) {
-		if(moveComponents){
-			Iterator<TGMeasureHeader> it = headers.iterator();
-			while(it.hasNext()){
-				TGMeasureHeader header = it.next();
-				moveMeasureComponents(song, header,theMove);
-			}
-		}
 		Iterator<TGMeasureHeader> it = headers.iterator();
 		while (it.hasNext()) {
 			TGMeasureHeader header = it.next();
@@ -954,19 +961,21 @@ public class TGSongManager {
 	}
 	
 	public void autoCompleteSilences(TGSong song){
-		Iterator<TGTrack> it = song.getTracks();
-		while(it.hasNext()){
-			TGTrack track = it.next();
-			getTrackManager().autoCompleteSilences(track);
-		}
+		final TGMeasureManager measureManager = getMeasureManager();
+		new TGMeasureProcessor() {
+			public void process(TGMeasure measure) {
+				measureManager.autoCompleteSilences(measure);
+			}
+		}.processAll(song);
 	}
 	
 	public void orderBeats(TGSong song){
-		Iterator<TGTrack> it = song.getTracks();
-		while(it.hasNext()){
-			TGTrack track = it.next();
-			getTrackManager().orderBeats(track);
-		}
+		final TGMeasureManager measureManager = getMeasureManager();
+		new TGMeasureProcessor() {
+			public void process(TGMeasure measure) {
+				measureManager.orderBeats(measure);
+			}
+		}.processAll(song);
 	}
 	
 	public List<TGString> createDefaultInstrumentStrings() {
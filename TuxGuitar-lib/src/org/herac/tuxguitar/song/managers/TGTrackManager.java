@@ -61,6 +61,10 @@ public class TGTrackManager {
 	}
 	
 	public TGMeasure getMeasure(TGTrack track,int number){
+		TGMeasure indexed = track.getMeasure(number - 1);
+		if( indexed != null && indexed.getNumber() == number ){
+			return indexed;
+		}
 		Iterator<TGMeasure> it = track.getMeasures();
 		while(it.hasNext()){
 			TGMeasure measure = (TGMeasure)it.next();
@@ -38,15 +38,27 @@ public abstract class TGBeat {
 	}
 	
 	public void setMeasure(TGMeasure measure) {
+		long start = this.getStart();
 		this.measure = measure;
+		this.setStart(start);
 	}
 	
+	/**
+	 * The start is stored relative to the measure, so moving a measure header moves its beats.
+	 */
 	public long getStart() {
+		if( this.isRelative() ){
+			return (this.measure.getStart() + this.start);
+		}
 		return this.start;
 	}
 	
 	public void setStart(long start) {
-		this.start = start;
+		this.start = (this.isRelative() ? (start - this.measure.getStart()) : start);
+	}
+	
+	private boolean isRelative() {
+		return (this.measure != null && this.measure.getHeader() != null);
 	}
 	
 	public void setVoice(int index, TGVoice voice){
@@ -99,7 +99,15 @@ public abstract class TGMeasure {
 	}
 	
 	public void setHeader(TGMeasureHeader header) {
+		// beats keep their absolute start
+		long[] starts = new long[this.beats.size()];
+		for(int i = 0; i < starts.length; i ++){
+			starts[i] = this.beats.get(i).getStart();
+		}
 		this.header = header;
+		for(int i = 0; i < starts.length; i ++){
+			this.beats.get(i).setStart(starts[i]);
+		}
 	}
 	
 	public int getNumber() {
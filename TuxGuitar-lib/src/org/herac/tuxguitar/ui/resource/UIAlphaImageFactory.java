@@ -0,0 +1,13 @@
+package org.herac.tuxguitar.ui.resource;
+
+/**
+ * Optional capability of a UIResourceFactory able to create translucent images.
+ */
+public interface UIAlphaImageFactory {
+	
+	/**
+	 * Creates an image of the mask size, filled with the given color and whose opacity
+	 * is the coverage of the mask: black pixels are opaque, white pixels transparent.
+	 */
+	UIImage createAlphaImage(UIImage mask, UIColor color);
+}
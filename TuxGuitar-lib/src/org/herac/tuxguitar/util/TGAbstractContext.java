@@ -21,10 +21,7 @@ public abstract class TGAbstractContext {
 	
 	@SuppressWarnings("unchecked")
 	public <T extends Object> T getAttribute(String key){
-		if( this.hasAttribute(key) ) {
-			return (T) this.attributes.get(key);
-		}
-		return null;
+		return (T) this.attributes.get(key);
 	}
 	
 	public void removeAttribute(String key){
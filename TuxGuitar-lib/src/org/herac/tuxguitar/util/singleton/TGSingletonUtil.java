@@ -5,13 +5,18 @@ import org.herac.tuxguitar.util.TGContext;
 public class TGSingletonUtil {
 	
 	public static <T> T getInstance(TGContext context, String key, TGSingletonFactory<T> factory) {
+		// fast path: context attributes are backed by a concurrent map, so a plain read is safe without locking.
+		T instance = context.getAttribute(key);
+		if( instance != null ) {
+			return instance;
+		}
 		synchronized (TGSingletonUtil.getSingletonLock(context, key)) {
-			if( context.hasAttribute(key) ) {
-				return context.getAttribute(key);
+			instance = context.getAttribute(key);
+			if( instance == null ) {
+				instance = factory.createInstance(context);
+				context.setAttribute(key, instance);
 			}
-			context.setAttribute(key, factory.createInstance(context));
-			
-			return TGSingletonUtil.getInstance(context, key, factory);
+			return instance;
 		}
 	}
 	
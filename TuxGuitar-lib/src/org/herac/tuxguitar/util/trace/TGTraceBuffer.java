@@ -0,0 +1,87 @@
+package org.herac.tuxguitar.util.trace;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed size ring buffer of (stack path, self time) samples.
+ * Older samples are overwritten once the buffer is full.
+ */
+public class TGTraceBuffer {
+	
+	private Object lock;
+	private String[] paths;
+	private long[] times;
+	private int next;
+	private int count;
+	
+	public TGTraceBuffer(int capacity) {
+		this.lock = new Object();
+		this.paths = new String[Math.max(capacity, 1)];
+		this.times = new long[this.paths.length];
+		this.clear();
+	}
+	
+	public void add(String path, long time) {
+		synchronized (this.lock) {
+			this.paths[this.next] = path;
+			this.times[this.next] = time;
+			this.next = ((this.next + 1) % this.paths.length);
+			this.count = Math.min(this.count + 1, this.paths.length);
+		}
+	}
+	
+	public void clear() {
+		synchronized (this.lock) {
+			for(int i = 0 ; i < this.paths.length ; i ++) {
+				this.paths[i] = null;
+			}
+			this.next = 0;
+			this.count = 0;
+		}
+	}
+	
+	public int getCount() {
+		synchronized (this.lock) {
+			return this.count;
+		}
+	}
+	
+	/**
+	 * Sums the self time (in nanoseconds) of every buffered sample by stack path, oldest first.
+	 */
+	public Map<String, Long> getTotals() {
+		Map<String, Long> totals = new LinkedHashMap<String, Long>();
+		synchronized (this.lock) {
+			int first = ((this.next - this.count + this.paths.length) % this.paths.length);
+			for(int i = 0 ; i < this.count ; i ++) {
+				int index = ((first + i) % this.paths.length);
+				Long total = totals.get(this.paths[index]);
+				totals.put(this.paths[index], Long.valueOf((total != null ? total.longValue() : 0) + this.times[index]));
+			}
+		}
+		return totals;
+	}
+	
+	/**
+	 * Writes the buffer in "folded stacks" format ("frame;frame;frame microseconds" per line),
+	 * which can be passed directly to flamegraph.pl or speedscope.
+	 */
+	public void writeFoldedStacks(OutputStream outputStream) throws IOException {
+		Writer writer = new OutputStreamWriter(outputStream, "UTF-8");
+		for(Map.Entry<String, Long> entry : this.getTotals().entrySet()) {
+			long micros = (entry.getValue().longValue() / 1000);
+			if( micros > 0 ) {
+				writer.write(entry.getKey().replace(' ', '_'));
+				writer.write(' ');
+				writer.write(Long.toString(micros));
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+}
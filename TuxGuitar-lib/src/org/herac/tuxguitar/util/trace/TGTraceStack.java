@@ -0,0 +1,74 @@
+package org.herac.tuxguitar.util.trace;
+
+public class TGTraceStack {
+	
+	private static final char SEPARATOR = ';';
+	
+	private int size;
+	private String[] frames;
+	private long[] startTimes;
+	private long[] childTimes;
+	
+	public TGTraceStack() {
+		this.size = 0;
+		this.frames = new String[16];
+		this.startTimes = new long[16];
+		this.childTimes = new long[16];
+	}
+	
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+	
+	public void push(String frame, long startTime) {
+		if( this.size == this.frames.length ) {
+			this.grow();
+		}
+		this.frames[this.size] = frame;
+		this.startTimes[this.size] = startTime;
+		this.childTimes[this.size] = 0;
+		this.size ++;
+	}
+	
+	/**
+	 * Closes the innermost frame and returns its self time (total time minus nested frames).
+	 */
+	public long pop(long endTime) {
+		this.size --;
+		
+		long totalTime = (endTime - this.startTimes[this.size]);
+		long selfTime = (totalTime - this.childTimes[this.size]);
+		this.frames[this.size] = null;
+		
+		if( this.size > 0 ) {
+			this.childTimes[this.size - 1] += totalTime;
+		}
+		return Math.max(selfTime, 0);
+	}
+	
+	public String getPath() {
+		StringBuilder path = new StringBuilder();
+		for(int i = 0 ; i < this.size ; i ++) {
+			if( i > 0 ) {
+				path.append(SEPARATOR);
+			}
+			path.append(this.frames[i]);
+		}
+		return path.toString();
+	}
+	
+	private void grow() {
+		int length = (this.frames.length * 2);
+		
+		String[] frames = new String[length];
+		long[] startTimes = new long[length];
+		long[] childTimes = new long[length];
+		System.arraycopy(this.frames, 0, frames, 0, this.size);
+		System.arraycopy(this.startTimes, 0, startTimes, 0, this.size);
+		System.arraycopy(this.childTimes, 0, childTimes, 0, this.size);
+		
+		this.frames = frames;
+		this.startTimes = startTimes;
+		this.childTimes = childTimes;
+	}
+}
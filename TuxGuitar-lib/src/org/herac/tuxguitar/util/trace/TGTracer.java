@@ -0,0 +1,99 @@
+package org.herac.tuxguitar.util.trace;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
+import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+
+/**
+ * Records nested wall-time frames (actions, interceptors, events, listeners) into a ring buffer.
+ * When disabled, begin() is a single volatile read and nothing is allocated.
+ */
+public class TGTracer {
+	
+	public static final String PROPERTY_ENABLED = "tuxguitar.trace.enabled";
+	public static final String PROPERTY_CAPACITY = "tuxguitar.trace.capacity";
+	
+	public static final int DEFAULT_CAPACITY = 8192;
+	
+	private volatile boolean enabled;
+	private TGTraceBuffer buffer;
+	private ThreadLocal<TGTraceStack> stacks;
+	
+	private TGTracer() {
+		this.buffer = new TGTraceBuffer(Integer.getInteger(PROPERTY_CAPACITY, DEFAULT_CAPACITY));
+		this.stacks = new ThreadLocal<TGTraceStack>() {
+			protected TGTraceStack initialValue() {
+				return new TGTraceStack();
+			}
+		};
+		this.enabled = Boolean.getBoolean(PROPERTY_ENABLED);
+	}
+	
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+	
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+	
+	/**
+	 * Opens a frame on the current thread.
+	 * Returns true when the frame was opened, in which case the caller must call end().
+	 */
+	public boolean begin(String frame) {
+		if(!this.enabled ) {
+			return false;
+		}
+		this.stacks.get().push(frame, System.nanoTime());
+		
+		return true;
+	}
+	
+	public boolean begin(String prefix, String name) {
+		if(!this.enabled ) {
+			return false;
+		}
+		return this.begin(prefix + name);
+	}
+	
+	public boolean begin(String prefix, Class<?> type) {
+		if(!this.enabled ) {
+			return false;
+		}
+		return this.begin(prefix + type.getName());
+	}
+	
+	public void end() {
+		TGTraceStack stack = this.stacks.get();
+		if(!stack.isEmpty()) {
+			String path = stack.getPath();
+			long selfTime = stack.pop(System.nanoTime());
+			
+			this.buffer.add(path, selfTime);
+		}
+	}
+	
+	public TGTraceBuffer getBuffer() {
+		return this.buffer;
+	}
+	
+	public void clear() {
+		this.buffer.clear();
+	}
+	
+	public void writeFoldedStacks(OutputStream outputStream) throws IOException {
+		this.buffer.writeFoldedStacks(outputStream);
+	}
+	
+	public static TGTracer getInstance(TGContext context) {
+		return TGSingletonUtil.getInstance(context, TGTracer.class.getName(), new TGSingletonFactory<TGTracer>() {
+			public TGTracer createInstance(TGContext context) {
+				return new TGTracer();
+			}
+		});
+	}
+}
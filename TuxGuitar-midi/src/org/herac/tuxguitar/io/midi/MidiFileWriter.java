@@ -1,116 +1,212 @@
 package org.herac.tuxguitar.io.midi;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.herac.tuxguitar.io.midi.base.MidiEvent;
 import org.herac.tuxguitar.io.midi.base.MidiMessage;
 import org.herac.tuxguitar.io.midi.base.MidiSequence;
 import org.herac.tuxguitar.io.midi.base.MidiTrack;
 
+/**
+ * Every track chunk is encoded once into a memory buffer, its length is patched in
+ * the chunk header and the whole chunk is written with a single call. Tracks may be
+ * encoded by several threads, chunks are written in track order anyway.
+ */
 public class MidiFileWriter implements MidiFileHeader{
 	
-	public void write(MidiSequence sequence,int type,OutputStream stream)throws IOException{
-		DataOutputStream out = new DataOutputStream(stream);
-		out.writeInt(HEADER_MAGIC);
-		out.writeInt(HEADER_LENGTH);
-		out.writeShort(type);
-		out.writeShort(sequence.countTracks());
-		out.writeShort(  (sequence.getDivisionType() == MidiSequence.PPQ)?(sequence.getResolution() & 0x7fff):0   );
-		for (int i = 0; i < sequence.countTracks(); i++){
-			writeTrack(sequence.getTrack(i),out);
-		}
-		out.flush();
-		out.close();
+	private int workers;
+	
+	public MidiFileWriter(int workers){
+		this.workers = Math.max(1, workers);
+	}
+	
+	public MidiFileWriter(){
+		this(1);
 	}
 	
-	private static int writeTrack(MidiTrack track,DataOutputStream out)throws IOException{
-		int length = 0;
-		if (out != null){
-			out.writeInt(TRACK_MAGIC);
+	public void write(MidiSequence sequence,int type,OutputStream stream)throws IOException{
+		MidiFileBuffer buffer = new MidiFileBuffer();
+		buffer.writeInt(HEADER_MAGIC);
+		buffer.writeInt(HEADER_LENGTH);
+		buffer.writeShort(type);
+		buffer.writeShort(sequence.countTracks());
+		buffer.writeShort(  (sequence.getDivisionType() == MidiSequence.PPQ)?(sequence.getResolution() & 0x7fff):0   );
+		buffer.writeTo(stream);
+		
+		int trackWorkers = Math.min(this.workers, sequence.countTracks());
+		if( trackWorkers > 1 ){
+			writeTracks(sequence, trackWorkers, stream);
+		}else{
+			for (int i = 0; i < sequence.countTracks(); i++){
+				buffer.reset();
+				writeTrack(sequence.getTrack(i),buffer);
+				buffer.writeTo(stream);
+			}
 		}
-		if (out != null){
-			out.writeInt( writeTrack(track, null) );
+		stream.flush();
+		stream.close();
+	}
+	
+	private static void writeTracks(MidiSequence sequence,int workers,OutputStream stream)throws IOException{
+		ExecutorService executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TuxGuitar-midi-writer");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<MidiFileBuffer>> chunks = new ArrayList<Future<MidiFileBuffer>>();
+			for (int i = 0; i < sequence.countTracks(); i++){
+				final MidiTrack track = sequence.getTrack(i);
+				chunks.add(executor.submit(new Callable<MidiFileBuffer>() {
+					public MidiFileBuffer call() {
+						MidiFileBuffer buffer = new MidiFileBuffer();
+						writeTrack(track, buffer);
+						return buffer;
+					}
+				}));
+			}
+			for(Future<MidiFileBuffer> chunk : chunks){
+				chunk.get().writeTo(stream);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if( e.getCause() instanceof IOException ){
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
+	}
+	
+	private static void writeTrack(MidiTrack track,MidiFileBuffer out){
+		int start = out.size();
+		out.writeInt(TRACK_MAGIC);
+		out.writeInt(0);
 		MidiEvent previous = null;
 		for (int i = 0; i < track.size(); i++){
 			MidiEvent event = track.get(i);
-			length += writeEvent(event,previous,out);
+			writeEvent(event,previous,out);
 			previous = event;
 		}
-		return length;
+		out.setInt(start + 4, out.size() - start - 8);
 	}
 	
-	private static int writeEvent(MidiEvent event,MidiEvent previous,OutputStream out)throws IOException{
-		int length = writeVariableLengthQuantity(((previous != null)?(event.getTick() - previous.getTick()):0), out);
+	private static void writeEvent(MidiEvent event,MidiEvent previous,MidiFileBuffer out){
+		writeVariableLengthQuantity(((previous != null)?(event.getTick() - previous.getTick()):0), out);
 		MidiMessage	message = event.getMessage();
 		if(message.getType() == MidiMessage.TYPE_SHORT){
-			length += writeShortMessage(message,out);
+			writeShortMessage(message,out);
 		}
 		else if(message.getType() == MidiMessage.TYPE_META){
-			length += writeMetaMessage(message,out);
+			writeMetaMessage(message,out);
 		}
-		
-		return length;
 	}
 	
-	private static int writeShortMessage(MidiMessage message,OutputStream out)throws IOException{
+	private static void writeShortMessage(MidiMessage message,MidiFileBuffer out){
 		byte[] data = message.getData();
-		int	length = data.length;
-		if (out != null){
-			out.write(message.getData(),0,length);
-		}
-		return length;
+		out.write(data,0,data.length);
 	}
 	
-	private static int writeMetaMessage(MidiMessage message,OutputStream out)throws IOException{
-		int	length = 0;
+	private static void writeMetaMessage(MidiMessage message,MidiFileBuffer out){
 		byte[] data = message.getData();
-		if (out != null){
-			out.write(0xFF);
-			out.write(message.getCommand());
-		}
-		length += 2;
-		length += writeVariableLengthQuantity(data.length,out);
-		if (out != null){
-			out.write(data);
-		}
-		length += data.length;
-		return length;
+		out.write(0xFF);
+		out.write(message.getCommand());
+		writeVariableLengthQuantity(data.length,out);
+		out.write(data,0,data.length);
 	}
 	
-	private static int writeVariableLengthQuantity(long value, OutputStream out)throws IOException{
+	private static void writeVariableLengthQuantity(long value, MidiFileBuffer out){
 		boolean started = false;
-		int length = 0;
 		int data = (int) ((value >> 21) & 0x7f);
 		if (data != 0){
-			if (out != null){
-				out.write(data | 0x80);
-			}
-			length++;
+			out.write(data | 0x80);
 			started = true;
 		}
 		data = (int) ((value >> 14) & 0x7f);
 		if (data != 0 || started){
-			if (out != null){
-				out.write(data | 0x80);
-			}
-			length++;
+			out.write(data | 0x80);
 			started = true;
 		}
 		data = (int) ((value >> 7) & 0x7f);
 		if (data != 0 || started){
-			if (out != null){
-				out.write(data | 0x80);
-			}
-			length++;
+			out.write(data | 0x80);
 		}
 		data = (int) (value & 0x7f);
-		if (out != null){
-			out.write(data);
+		out.write(data);
+	}
+	
+	private static class MidiFileBuffer {
+		
+		private static final int INITIAL_CAPACITY = 8192;
+		
+		private byte[] data;
+		private int size;
+		
+		public MidiFileBuffer(){
+			this.data = new byte[INITIAL_CAPACITY];
+		}
+		
+		private void ensureCapacity(int capacity){
+			if( capacity > this.data.length ){
+				byte[] data = new byte[Math.max(capacity, this.data.length * 2)];
+				System.arraycopy(this.data, 0, data, 0, this.size);
+				this.data = data;
+			}
+		}
+		
+		public void write(int b){
+			this.ensureCapacity(this.size + 1);
+			this.data[this.size ++] = (byte) b;
+		}
+		
+		public void write(byte[] b, int offset, int length){
+			this.ensureCapacity(this.size + length);
+			System.arraycopy(b, offset, this.data, this.size, length);
+			this.size += length;
+		}
+		
+		public void writeShort(int value){
+			this.write(value >>> 8);
+			this.write(value);
+		}
+		
+		public void writeInt(int value){
+			this.ensureCapacity(this.size + 4);
+			this.size += 4;
+			this.setInt(this.size - 4, value);
+		}
+		
+		public void setInt(int position, int value){
+			this.data[position] = (byte) (value >>> 24);
+			this.data[position + 1] = (byte) (value >>> 16);
+			this.data[position + 2] = (byte) (value >>> 8);
+			this.data[position + 3] = (byte) value;
+		}
+		
+		public int size(){
+			return this.size;
+		}
+		
+		public void reset(){
+			this.size = 0;
+		}
+		
+		public void writeTo(OutputStream stream) throws IOException{
+			stream.write(this.data, 0, this.size);
 		}
-		length++;
-		return length;
 	}
 }
@@ -1,8 +1,13 @@
 package org.herac.tuxguitar.io.midi;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.herac.tuxguitar.gm.GMChannelRoute;
 import org.herac.tuxguitar.gm.GMChannelRouter;
@@ -15,6 +20,7 @@ import org.herac.tuxguitar.io.midi.base.MidiSequence;
 import org.herac.tuxguitar.io.midi.base.MidiTrack;
 import org.herac.tuxguitar.player.base.MidiControllers;
 import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.managers.TGMeasureManager;
 import org.herac.tuxguitar.song.managers.TGSongManager;
 import org.herac.tuxguitar.song.models.TGBeat;
 import org.herac.tuxguitar.song.models.TGChannel;
@@ -37,8 +43,11 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 	private int resolution;
 	private List<TGChannel> channels;
 	private List<TGMeasureHeader> headers;
+	private boolean headersContiguous;
 	private List<TGTrack> tracks;
-	private List<TempNote> tempNotes;
+	private Map<TGMeasure, Map<Long, TGBeat>> beats;
+	private Map<Integer, ArrayDeque<TempNote>> tempNotes;
+	private Map<Integer, Set<TempNote>> trackTempNotes;
 	private List<TempChannel> tempChannels;
 	private List<TrackTuningHelper> trackTuningHelpers;
 	private GMChannelRouter channelRouter;
@@ -97,8 +106,11 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 		this.resolution = sequence.getResolution();
 		this.channels = new ArrayList<TGChannel>();
 		this.headers = new ArrayList<TGMeasureHeader>();
+		this.headersContiguous = true;
 		this.tracks = new ArrayList<TGTrack>();
-		this.tempNotes = new ArrayList<TempNote>();
+		this.beats = new HashMap<TGMeasure, Map<Long, TGBeat>>();
+		this.tempNotes = new HashMap<Integer, ArrayDeque<TempNote>>();
+		this.trackTempNotes = new HashMap<Integer, Set<TempNote>>();
 		this.tempChannels = new ArrayList<TempChannel>();
 		this.trackTuningHelpers = new ArrayList<TrackTuningHelper>();
 		this.channelRouter = new GMChannelRouter();
@@ -152,7 +164,7 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 			makeTempNotesBefore(tick,track);
 			getTempChannel(channel).setTrack(track);
 			getTrackTuningHelper(track).checkValue(value);
-			this.tempNotes.add(new TempNote(track,channel,value,tick));
+			addTempNote(new TempNote(track,channel,value,tick));
 		}
 	}
 	
@@ -207,7 +219,12 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 			} else if (data[1] == 5) {
 				timeSignature.getDenominator().setValue(TGDuration.THIRTY_SECOND);
 			}
-			getHeader(tick).setTimeSignature(timeSignature);
+			TGMeasureHeader header = getHeader(tick);
+			header.setTimeSignature(timeSignature);
+			if( header != getLastHeader() ){
+				// next headers were placed with the previous length
+				this.headersContiguous = false;
+			}
 		}
 	}
 	
@@ -237,32 +254,50 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 	}
 	
 	private TGMeasureHeader getHeader(long tick){
+		return this.headers.get(getHeaderIndex(tick));
+	}
+	
+	private int getHeaderIndex(long tick){
 		long realTick = (tick >= TGDuration.QUARTER_TIME)?tick:TGDuration.QUARTER_TIME;
 		
-		Iterator<TGMeasureHeader> it = this.headers.iterator();
-		while(it.hasNext()){
-			TGMeasureHeader header = (TGMeasureHeader)it.next();
-			if(realTick >= header.getStart() && realTick < header.getStart() + header.getLength()){
-				return header;
+		if(!this.headersContiguous ){
+			for(int i = 0; i < this.headers.size(); i ++){
+				TGMeasureHeader header = this.headers.get(i);
+				if(realTick >= header.getStart() && realTick < header.getStart() + header.getLength()){
+					return i;
+				}
 			}
 		}
+		
 		TGMeasureHeader last = getLastHeader();
-		TGMeasureHeader header = this.factory.newHeader();
-		header.setNumber((last != null)?last.getNumber() + 1:1);
-		header.setStart((last != null)?(last.getStart() + last.getLength()):TGDuration.QUARTER_TIME);
-		header.getTempo().setValue(  (last != null)?last.getTempo().getValue():120 );
-		if(last != null){
-			header.getTimeSignature().copyFrom(last.getTimeSignature());
-		}else{
-			header.getTimeSignature().setNumerator(4);
-			header.getTimeSignature().getDenominator().setValue(TGDuration.QUARTER);
+		while( last == null || realTick >= last.getStart() + last.getLength() ){
+			TGMeasureHeader header = this.factory.newHeader();
+			header.setNumber((last != null)?last.getNumber() + 1:1);
+			header.setStart((last != null)?(last.getStart() + last.getLength()):TGDuration.QUARTER_TIME);
+			header.getTempo().setValue(  (last != null)?last.getTempo().getValue():120 );
+			if(last != null){
+				header.getTimeSignature().copyFrom(last.getTimeSignature());
+			}else{
+				header.getTimeSignature().setNumerator(4);
+				header.getTimeSignature().getDenominator().setValue(TGDuration.QUARTER);
+			}
+			this.headers.add(header);
+			
+			last = header;
 		}
-		this.headers.add(header);
 		
-		if(realTick >= header.getStart() && realTick < header.getStart() + header.getLength()){
-			return header;
+		// headers are sorted by start, the last one starting before the tick holds it
+		int low = 0;
+		int high = (this.headers.size() - 1);
+		while( low < high ){
+			int middle = ((low + high + 1) >>> 1);
+			if( this.headers.get(middle).getStart() <= realTick ){
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
 		}
-		return getHeader(realTick);
+		return low;
 	}
 	
 	private TGMeasureHeader getLastHeader(){
@@ -273,57 +308,59 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 	}
 	
 	private TGMeasure getMeasure(TGTrack track,long tick){
-		long realTick = (tick >= TGDuration.QUARTER_TIME)?tick:TGDuration.QUARTER_TIME;
-		Iterator<TGMeasure> it = track.getMeasures();
-		while(it.hasNext()){
-			TGMeasure measure = (TGMeasure)it.next();
-			if(realTick >= measure.getStart() && realTick < measure.getStart() + measure.getLength()){
-				return measure;
-			}
-		}
-		getHeader(realTick);
-		for(int i = 0;i < this.headers.size();i++){
-			boolean exist = false;
-			TGMeasureHeader header = (TGMeasureHeader)this.headers.get(i);
-			int measureCount = track.countMeasures();
-			for(int j = 0;j < measureCount;j++){
-				TGMeasure measure = track.getMeasure(j);
-				if(measure.getHeader().equals(header)){
-					exist = true;
-				}
-			}
-			if(!exist){
-				TGMeasure measure = this.factory.newMeasure(header);
-				track.addMeasure(measure);
+		// a track holds one measure per header, in the same order
+		int index = getHeaderIndex(tick);
+		if( index >= track.countMeasures() ){
+			for(int i = track.countMeasures();i < this.headers.size();i++){
+				track.addMeasure(this.factory.newMeasure(this.headers.get(i)));
 			}
 		}
-		return getMeasure(track,realTick);
+		return track.getMeasure(index);
 	}
 	
 	private TGBeat getBeat(TGMeasure measure, long start){
-		int beatCount = measure.countBeats();
-		for( int i = 0 ; i < beatCount ; i ++){
-			TGBeat beat = measure.getBeat( i );
-			if( beat.getStart() == start){
-				return beat;
-			}
+		Map<Long, TGBeat> measureBeats = this.beats.get(measure);
+		if( measureBeats == null ){
+			measureBeats = new HashMap<Long, TGBeat>();
+			this.beats.put(measure, measureBeats);
+		}
+		TGBeat beat = measureBeats.get(start);
+		if( beat == null ){
+			beat = this.factory.newBeat();
+			beat.setStart(start);
+			measure.addBeat(beat);
+			measureBeats.put(start, beat);
 		}
-		
-		TGBeat beat = this.factory.newBeat();
-		beat.setStart(start);
-		measure.addBeat(beat);
 		return beat;
 	}
 	
-	private TempNote getTempNote(int track,int channel,int value,boolean purge){
-		for(int i = 0;i < this.tempNotes.size();i ++){
-			TempNote note = (TempNote)this.tempNotes.get(i);
-			if(note.getTrack() == track && note.getChannel() == channel && note.getValue() == value){
-				if(purge){
-					this.tempNotes.remove(i);
-				}
-				return note;
-			}
+	private int getTempNoteKey(int track,int channel,int value){
+		return (((track << 4) | channel) << 7) | value;
+	}
+	
+	private void addTempNote(TempNote note){
+		int key = getTempNoteKey(note.getTrack(), note.getChannel(), note.getValue());
+		ArrayDeque<TempNote> notes = this.tempNotes.get(key);
+		if( notes == null ){
+			notes = new ArrayDeque<TempNote>();
+			this.tempNotes.put(key, notes);
+		}
+		notes.addLast(note);
+		
+		Set<TempNote> trackNotes = this.trackTempNotes.get(note.getTrack());
+		if( trackNotes == null ){
+			trackNotes = new LinkedHashSet<TempNote>();
+			this.trackTempNotes.put(note.getTrack(), trackNotes);
+		}
+		trackNotes.add(note);
+	}
+	
+	private TempNote removeTempNote(int track,int channel,int value){
+		ArrayDeque<TempNote> notes = this.tempNotes.get(getTempNoteKey(track, channel, value));
+		if( notes != null && !notes.isEmpty() ){
+			TempNote note = notes.pollFirst();
+			this.trackTempNotes.get(track).remove(note);
+			return note;
 		}
 		return null;
 	}
@@ -343,13 +380,16 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 	}
 	
 	private void makeTempNotesBefore(long tick,int track){
+		Set<TempNote> trackNotes = this.trackTempNotes.get(track);
+		if( trackNotes == null ){
+			return;
+		}
 		long nextTick = tick;
 		boolean check = true;
 		while(check){
 			check = false;
-			for(int i = 0;i < this.tempNotes.size();i ++){
-				TempNote note = (TempNote)this.tempNotes.get(i);
-				if(note.getTick() < nextTick && note.getTrack() == track){
+			for(TempNote note : trackNotes){
+				if(note.getTick() < nextTick){
 					nextTick = note.getTick() + (TGDuration.QUARTER_TIME * 5); //First beat + 4/4 measure;
 					makeNote(nextTick,track,note.getChannel(),note.getValue());
 					check = true;
@@ -360,7 +400,7 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 	}
 	
 	private void makeNote(long tick,int track,int channel,int value){
-		TempNote tempNote = getTempNote(track,channel,value,true);
+		TempNote tempNote = removeTempNote(track,channel,value);
 		if(tempNote != null){
 			int nString = 0;
 			int nValue = (tempNote.getValue() + this.settings.getTranspose());
@@ -688,11 +728,13 @@ public class MidiSongReader extends MidiFileFormat implements TGSongReader {
 
 class SongAdjuster{
 	private TGFactory factory;
+	private TGMeasureManager measureManager;
 	private TGSong song;
 	private long minDurationTime;
 	
 	public SongAdjuster(TGFactory factory,TGSong song){
 		this.factory = factory;
+		this.measureManager = new TGSongManager(factory).getMeasureManager();
 		this.song = song;
 		this.minDurationTime = 40;
 	}
@@ -723,11 +765,12 @@ class SongAdjuster{
 	
 	public void joinBeats(TGMeasure measure){
 		TGBeat previous = null;
-		boolean finish = true;
 		
+		// a removed beat leaves the beats before it as they were, so the loop goes on from the same index.
 		long measureStart = measure.getStart();
 		long measureEnd = (measureStart + measure.getLength());
-		for(int i = 0;i < measure.countBeats();i++){
+		int i = 0;
+		while(i < measure.countBeats()){
 			TGBeat beat = measure.getBeat( i );
 			long beatStart = beat.getStart();
 			long beatLength = beat.getVoice(0).getDuration().getTime();
@@ -759,15 +802,13 @@ class SongAdjuster{
 					}
 					
 					measure.removeBeat(beat);
-					finish = false;
-					break;
+					continue;
 				}
 				
 				else if(previousStart < beatStart && (previousStart + previousLength) > beatStart){
 					if(beat.getVoice(0).isRestVoice()){
 						measure.removeBeat(beat);
-						finish = false;
-						break;
+						continue;
 					}
 					TGDuration duration = TGDuration.fromTime(this.factory, (beatStart - previousStart) );
 					previous.getVoice(0).getDuration().copyFrom( duration );
@@ -776,31 +817,19 @@ class SongAdjuster{
 			if( (beatStart + beatLength) > measureEnd ){
 				if(beat.getVoice(0).isRestVoice()){
 					measure.removeBeat(beat);
-					finish = false;
-					break;
+					continue;
 				}
 				TGDuration duration = TGDuration.fromTime(this.factory, (measureEnd - beatStart) );
 				beat.getVoice(0).getDuration().copyFrom( duration );
 			}
 			
 			previous = beat;
-		}
-		if(!finish){
-			joinBeats(measure);
+			i ++;
 		}
 	}
 	
 	public void orderBeats(TGMeasure measure){
-		for(int i = 0;i < measure.countBeats();i++){
-			TGBeat minBeat = null;
-			for(int j = i;j < measure.countBeats();j++){
-				TGBeat beat = measure.getBeat(j);
-				if(minBeat == null || beat.getStart() < minBeat.getStart()){
-					minBeat = beat;
-				}
-			}
-			measure.moveBeat(i, minBeat);
-		}
+		this.measureManager.orderBeats(measure);
 	}
 	
 	private void adjustStrings(TGMeasure measure){
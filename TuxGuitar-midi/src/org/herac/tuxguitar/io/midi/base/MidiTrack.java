@@ -7,6 +7,18 @@ import java.util.List;
 
 public class MidiTrack {
 	
+	private static final Comparator<MidiEvent> EVENT_COMPARATOR = new Comparator<MidiEvent>() {
+		public int compare(MidiEvent e1, MidiEvent e2) {
+			if( e1 != null && e2 != null ){
+				if(e1.getTick() == e2.getTick()){
+					return 0;
+				}
+				return (e1.getTick() > e2.getTick() ? 1 : -1);
+			}
+			return 0;
+		}
+	};
+	
 	private long ticks;
 	private List<MidiEvent> events = new ArrayList<MidiEvent>();
 	
@@ -28,17 +40,11 @@ public class MidiTrack {
 	}
 	
 	public void sort(){
-		final Comparator<MidiEvent> comparator = new Comparator<MidiEvent>() {
-			public int compare(MidiEvent e1, MidiEvent e2) {
-				if( e1 != null && e2 != null ){
-					if(e1.getTick() == e2.getTick()){
-						return 0;
-					}
-					return (e1.getTick() > e2.getTick() ? 1 : -1);
-				}
-				return 0;
+		for(int i = 1; i < this.events.size(); i ++){
+			if( this.events.get(i - 1).getTick() > this.events.get(i).getTick() ){
+				Collections.sort(this.events,EVENT_COMPARATOR);
+				return;
 			}
-		};
-		Collections.sort(this.events,comparator);
+		}
 	}
 }
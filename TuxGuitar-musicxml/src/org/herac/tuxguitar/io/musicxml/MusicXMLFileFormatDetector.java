@@ -0,0 +1,34 @@
+package org.herac.tuxguitar.io.musicxml;
+
+import java.io.InputStream;
+
+import org.herac.tuxguitar.io.base.TGFileFormat;
+import org.herac.tuxguitar.io.base.TGFileFormatDetector;
+
+public class MusicXMLFileFormatDetector implements TGFileFormatDetector {
+	
+	private static final int HEADER_LENGTH = 4096;
+	
+	private static final String ROOT_ELEMENT = "<score-partwise";
+	
+	public MusicXMLFileFormatDetector() {
+		super();
+	}
+	
+	public TGFileFormat getFileFormat(InputStream is) {
+		try {
+			byte[] buffer = new byte[HEADER_LENGTH];
+			int length = 0;
+			int read = 0;
+			while( length < buffer.length && (read = is.read(buffer, length, buffer.length - length)) != -1 ) {
+				length += read;
+			}
+			if( new String(buffer, 0, length, "UTF-8").indexOf(ROOT_ELEMENT) >= 0 ) {
+				return MusicXMLSongWriter.FILE_FORMAT;
+			}
+			return null;
+		} catch (Throwable throwable) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,839 @@
+package org.herac.tuxguitar.io.musicxml;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.herac.tuxguitar.gm.GMChannelRoute;
+import org.herac.tuxguitar.io.base.TGFileFormatException;
+import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.managers.TGSongManager;
+import org.herac.tuxguitar.song.models.TGBeat;
+import org.herac.tuxguitar.song.models.TGChannel;
+import org.herac.tuxguitar.song.models.TGChannelParameter;
+import org.herac.tuxguitar.song.models.TGDuration;
+import org.herac.tuxguitar.song.models.TGMeasure;
+import org.herac.tuxguitar.song.models.TGMeasureHeader;
+import org.herac.tuxguitar.song.models.TGNote;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGString;
+import org.herac.tuxguitar.song.models.TGTrack;
+import org.herac.tuxguitar.song.models.TGVoice;
+
+/**
+ * Streaming (StAX) MusicXML "score-partwise" reader.
+ * Measures are built while the document is parsed, no DOM tree is kept in memory.
+ */
+public class MusicXMLReader {
+	
+	private static final int[] STEP_VALUES = new int[]{ 9, 11, 0, 2, 4, 5, 7 };// A B C D E F G
+	
+	private static final String[] DURATION_NAMES = new String[]{ "whole", "half", "quarter", "eighth", "16th", "32nd", "64th", };
+	
+	private static final int[] DURATION_VALUES = new int[]{
+		TGDuration.WHOLE,
+		TGDuration.HALF,
+		TGDuration.QUARTER,
+		TGDuration.EIGHTH,
+		TGDuration.SIXTEENTH,
+		TGDuration.THIRTY_SECOND,
+		TGDuration.SIXTY_FOURTH,
+	};
+	
+	private static final int MAX_FRET = 24;
+	
+	private static final int PERCUSSION_CHANNEL = 10;
+	
+	private static final String SOFTWARE_LEGACY = "TuxGuitar";
+	
+	private InputStream stream;
+	
+	private XMLStreamReader reader;
+	
+	private TGFactory factory;
+	
+	private TGSongManager manager;
+	
+	private TGSong song;
+	
+	private Map<String, MusicXMLPart> parts;
+	
+	private int octaveOffset;
+	
+	public MusicXMLReader(InputStream stream, TGFactory factory){
+		this.stream = stream;
+		this.factory = factory;
+	}
+	
+	public TGSong readSong() throws TGFileFormatException{
+		try {
+			this.manager = new TGSongManager(this.factory);
+			this.song = this.factory.newSong();
+			this.parts = new HashMap<String, MusicXMLPart>();
+			this.octaveOffset = 12;
+			
+			XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+			xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			
+			this.reader = xmlInputFactory.createXMLStreamReader(this.stream);
+			while( this.reader.hasNext() ){
+				if( this.reader.next() == XMLStreamConstants.START_ELEMENT ){
+					if(!"score-partwise".equals(this.reader.getLocalName())){
+						throw new TGFileFormatException("Unsupported MusicXML document: " + this.reader.getLocalName());
+					}
+					this.readScore();
+				}
+			}
+			this.reader.close();
+			this.stream.close();
+			
+			this.completeSong();
+			
+			return this.song;
+		} catch(TGFileFormatException tgFileFormatException){
+			throw tgFileFormatException;
+		} catch(Throwable throwable){
+			throw new TGFileFormatException("Could not read song!.",throwable);
+		}
+	}
+	
+	private void readScore() throws XMLStreamException{
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("work") ){
+				this.readWork();
+			} else if( name.equals("movement-title") ){
+				this.setSongName(this.readText());
+			} else if( name.equals("identification") ){
+				this.readIdentification();
+			} else if( name.equals("part-list") ){
+				this.readPartList();
+			} else if( name.equals("part") ){
+				this.readPart(this.reader.getAttributeValue(null, "id"));
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readWork() throws XMLStreamException{
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("work-title") ){
+				this.setSongName(this.readText());
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void setSongName(String name){
+		if( this.song.getName() == null || this.song.getName().length() == 0 ){
+			this.song.setName(name);
+		}
+	}
+	
+	private void readIdentification() throws XMLStreamException{
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("creator") ){
+				String type = this.reader.getAttributeValue(null, "type");
+				String value = this.readText();
+				if( type == null || type.equals("composer") ){
+					this.song.setAuthor(value);
+				} else if( type.equals("lyricist") ){
+					this.song.setWriter(value);
+				}
+			} else if( name.equals("rights") ){
+				this.song.setCopyright(this.readText());
+			} else if( name.equals("encoding") ){
+				this.readEncoding();
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readEncoding() throws XMLStreamException{
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("software") ){
+				// older TuxGuitar versions wrote "TuxGuitar" alone and stored octaves as (midi value / 12),
+				// current ones add their version and write standard octaves.
+				if( this.readText().trim().equals(SOFTWARE_LEGACY) ){
+					this.octaveOffset = 0;
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readPartList() throws XMLStreamException{
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("score-part") ){
+				this.readScorePart(this.reader.getAttributeValue(null, "id"));
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readScorePart(String id) throws XMLStreamException{
+		TGTrack track = this.factory.newTrack();
+		track.setNumber(this.song.countTracks() + 1);
+		track.setName("");
+		
+		int midiChannel = -1;
+		int midiProgram = 1;
+		String instrumentName = null;
+		
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("part-name") ){
+				track.setName(this.readText());
+			} else if( name.equals("score-instrument") ){
+				while( this.nextChild() ){
+					if( this.reader.getLocalName().equals("instrument-name") ){
+						instrumentName = this.readText();
+					} else {
+						this.skipElement();
+					}
+				}
+			} else if( name.equals("midi-instrument") ){
+				while( this.nextChild() ){
+					String childName = this.reader.getLocalName();
+					if( childName.equals("midi-channel") ){
+						midiChannel = this.readInteger(midiChannel);
+					} else if( childName.equals("midi-program") ){
+						midiProgram = this.readInteger(midiProgram);
+					} else {
+						this.skipElement();
+					}
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+		
+		TGChannel channel = this.factory.newChannel();
+		channel.setChannelId(this.manager.getNextChannelId(this.song));
+		channel.setProgram((short)Math.max(0, Math.min(127, midiProgram - 1)));
+		channel.setBank(midiChannel == PERCUSSION_CHANNEL ? TGChannel.DEFAULT_PERCUSSION_BANK : TGChannel.DEFAULT_BANK);
+		if( midiChannel > 0 && midiChannel <= 16 ){
+			channel.addParameter(this.createChannelParameter(GMChannelRoute.PARAMETER_GM_CHANNEL_1, midiChannel - 1));
+			channel.addParameter(this.createChannelParameter(GMChannelRoute.PARAMETER_GM_CHANNEL_2, midiChannel - 1));
+		}
+		this.song.addChannel(channel);
+		channel.setName(instrumentName != null ? instrumentName : this.manager.createChannelNameFromProgram(this.song, channel));
+		
+		track.setChannelId(channel.getChannelId());
+		track.setStrings(channel.isPercussionChannel() ? this.manager.createDefaultPercussionStrings() : this.manager.createDefaultInstrumentStrings());
+		this.song.addTrack(track);
+		
+		this.parts.put(id, new MusicXMLPart(track));
+	}
+	
+	private TGChannelParameter createChannelParameter(String key, int value){
+		TGChannelParameter parameter = this.factory.newChannelParameter();
+		parameter.setKey(key);
+		parameter.setValue(Integer.toString(value));
+		return parameter;
+	}
+	
+	private void readPart(String id) throws XMLStreamException{
+		MusicXMLPart part = this.parts.get(id);
+		if( part == null ){
+			this.skipElement();
+			return;
+		}
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("measure") ){
+				this.readMeasure(part);
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readMeasure(MusicXMLPart part) throws XMLStreamException{
+		TGMeasureHeader header = this.getOrCreateHeader(part.getTrack().countMeasures());
+		TGMeasure measure = this.factory.newMeasure(header);
+		measure.setClef(part.getClef());
+		measure.setKeySignature(part.getKeySignature());
+		part.getTrack().addMeasure(measure);
+		part.startMeasure(measure);
+		
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("attributes") ){
+				this.readAttributes(part, header, measure);
+			} else if( name.equals("direction") ){
+				this.readDirection(header);
+			} else if( name.equals("sound") ){
+				this.readSound(header);
+			} else if( name.equals("note") ){
+				this.readNote(part, measure);
+			} else if( name.equals("backup") ){
+				part.movePosition(-this.readDurationElement());
+			} else if( name.equals("forward") ){
+				part.movePosition(this.readDurationElement());
+			} else {
+				this.skipElement();
+			}
+		}
+		part.finishMeasure();
+	}
+	
+	private TGMeasureHeader getOrCreateHeader(int index){
+		if( index < this.song.countMeasureHeaders() ){
+			return this.song.getMeasureHeader(index);
+		}
+		TGMeasureHeader header = this.factory.newHeader();
+		header.setNumber(index + 1);
+		if( index > 0 ){
+			TGMeasureHeader previous = this.song.getMeasureHeader(index - 1);
+			header.setStart(previous.getStart() + previous.getLength());
+			header.getTimeSignature().copyFrom(previous.getTimeSignature());
+			header.getTempo().copyFrom(previous.getTempo());
+		} else {
+			header.setStart(TGDuration.QUARTER_TIME);
+			header.getTempo().setValue(120);
+		}
+		this.song.addMeasureHeader(header);
+		return header;
+	}
+	
+	private void readAttributes(MusicXMLPart part, TGMeasureHeader header, TGMeasure measure) throws XMLStreamException{
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("divisions") ){
+				part.setDivisions(this.readInteger(part.getDivisions()));
+			} else if( name.equals("key") ){
+				this.readKey(part, measure);
+			} else if( name.equals("time") ){
+				this.readTime(header);
+			} else if( name.equals("clef") ){
+				this.readClef(part, measure);
+			} else if( name.equals("staff-details") ){
+				this.readStaffDetails(part);
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readKey(MusicXMLPart part, TGMeasure measure) throws XMLStreamException{
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("fifths") ){
+				int fifths = this.readInteger(0);
+				if( fifths >= -7 && fifths <= 7 ){
+					part.setKeySignature(fifths >= 0 ? fifths : (7 - fifths));
+					measure.setKeySignature(part.getKeySignature());
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readTime(TGMeasureHeader header) throws XMLStreamException{
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("beats") ){
+				int numerator = this.readInteger(0);
+				if( numerator > 0 ){
+					header.getTimeSignature().setNumerator(numerator);
+				}
+			} else if( name.equals("beat-type") ){
+				int denominator = this.readInteger(0);
+				if( denominator > 0 ){
+					header.getTimeSignature().getDenominator().setValue(denominator);
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readClef(MusicXMLPart part, TGMeasure measure) throws XMLStreamException{
+		String sign = null;
+		int line = 0;
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("sign") ){
+				sign = this.readText();
+			} else if( name.equals("line") ){
+				line = this.readInteger(0);
+			} else {
+				this.skipElement();
+			}
+		}
+		if( "G".equals(sign) ){
+			part.setClef(TGMeasure.CLEF_TREBLE);
+		} else if( "F".equals(sign) ){
+			part.setClef(TGMeasure.CLEF_BASS);
+		} else if( "C".equals(sign) ){
+			part.setClef(line == 4 ? TGMeasure.CLEF_TENOR : TGMeasure.CLEF_ALTO);
+		}
+		measure.setClef(part.getClef());
+	}
+	
+	private void readStaffDetails(MusicXMLPart part) throws XMLStreamException{
+		List<TGString> strings = new ArrayList<TGString>();
+		int staffLines = 0;
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("staff-lines") ){
+				staffLines = this.readInteger(0);
+			} else if( name.equals("staff-tuning") ){
+				int line = this.readIntegerAttribute("line", 0);
+				if( line <= 0 ){
+					this.skipElement();
+					continue;
+				}
+				String step = null;
+				int alter = 0;
+				int octave = 0;
+				while( this.nextChild() ){
+					String childName = this.reader.getLocalName();
+					if( childName.equals("tuning-step") ){
+						step = this.readText();
+					} else if( childName.equals("tuning-alter") ){
+						alter = this.readInteger(0);
+					} else if( childName.equals("tuning-octave") ){
+						octave = this.readInteger(0);
+					} else {
+						this.skipElement();
+					}
+				}
+				if( step != null ){
+					// lines are numbered from the bottom, strings from the top.
+					strings.add(TGSongManager.newString(this.factory, line, this.getValue(step, alter, octave)));
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+		if(!strings.isEmpty() && strings.size() <= TGTrack.MAX_STRINGS ){
+			int stringCount = Math.max(staffLines, strings.size());
+			List<TGString> trackStrings = new ArrayList<TGString>();
+			for(TGString string : strings){
+				string.setNumber((stringCount - string.getNumber()) + 1);
+				if( string.getNumber() > 0 ){
+					trackStrings.add(string);
+				}
+			}
+			if( trackStrings.size() == stringCount ){
+				part.getTrack().setStrings(this.sortStrings(trackStrings));
+			}
+		}
+	}
+	
+	private List<TGString> sortStrings(List<TGString> strings){
+		List<TGString> sorted = new ArrayList<TGString>();
+		for(int number = 1 ; number <= strings.size() ; number ++){
+			for(TGString string : strings){
+				if( string.getNumber() == number ){
+					sorted.add(string);
+				}
+			}
+		}
+		return (sorted.size() == strings.size() ? sorted : strings);
+	}
+	
+	private void readDirection(TGMeasureHeader header) throws XMLStreamException{
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("sound") ){
+				this.readSound(header);
+			} else {
+				this.skipElement();
+			}
+		}
+	}
+	
+	private void readSound(TGMeasureHeader header) throws XMLStreamException{
+		String tempo = this.reader.getAttributeValue(null, "tempo");
+		if( tempo != null ){
+			try {
+				int value = Math.round(Float.parseFloat(tempo.trim()));
+				if( value > 0 ){
+					header.getTempo().setValue(value);
+				}
+			} catch(NumberFormatException e){
+				// ignore invalid tempo values
+			}
+		}
+		this.skipElement();
+	}
+	
+	private int readDurationElement() throws XMLStreamException{
+		int duration = 0;
+		while( this.nextChild() ){
+			if( this.reader.getLocalName().equals("duration") ){
+				duration = this.readInteger(0);
+			} else {
+				this.skipElement();
+			}
+		}
+		return duration;
+	}
+	
+	private void readNote(MusicXMLPart part, TGMeasure measure) throws XMLStreamException{
+		boolean grace = false;
+		boolean chord = false;
+		boolean rest = false;
+		boolean tied = false;
+		String step = null;
+		int alter = 0;
+		int octave = 4;
+		int duration = 0;
+		int durationIndex = -1;
+		int dots = 0;
+		int enters = 1;
+		int times = 1;
+		int voice = 1;
+		int fret = -1;
+		int string = -1;
+		
+		while( this.nextChild() ){
+			String name = this.reader.getLocalName();
+			if( name.equals("grace") ){
+				grace = true;
+				this.skipElement();
+			} else if( name.equals("chord") ){
+				chord = true;
+				this.skipElement();
+			} else if( name.equals("rest") ){
+				rest = true;
+				this.skipElement();
+			} else if( name.equals("pitch") || name.equals("unpitched") ){
+				while( this.nextChild() ){
+					String childName = this.reader.getLocalName();
+					if( childName.equals("step") || childName.equals("display-step") ){
+						step = this.readText();
+					} else if( childName.equals("alter") ){
+						alter = Math.round(this.readFloat(0));
+					} else if( childName.equals("octave") || childName.equals("display-octave") ){
+						octave = this.readInteger(octave);
+					} else {
+						this.skipElement();
+					}
+				}
+			} else if( name.equals("duration") ){
+				duration = this.readInteger(0);
+			} else if( name.equals("type") ){
+				durationIndex = this.getDurationIndex(this.readText());
+			} else if( name.equals("dot") ){
+				dots ++;
+				this.skipElement();
+			} else if( name.equals("time-modification") ){
+				while( this.nextChild() ){
+					String childName = this.reader.getLocalName();
+					if( childName.equals("actual-notes") ){
+						enters = this.readInteger(enters);
+					} else if( childName.equals("normal-notes") ){
+						times = this.readInteger(times);
+					} else {
+						this.skipElement();
+					}
+				}
+			} else if( name.equals("tie") ){
+				tied = (tied || "stop".equals(this.reader.getAttributeValue(null, "type")));
+				this.skipElement();
+			} else if( name.equals("voice") ){
+				voice = this.readInteger(voice);
+			} else if( name.equals("notations") ){
+				while( this.nextChild() ){
+					String childName = this.reader.getLocalName();
+					if( childName.equals("tied") ){
+						tied = (tied || "stop".equals(this.reader.getAttributeValue(null, "type")));
+						this.skipElement();
+					} else if( childName.equals("technical") ){
+						while( this.nextChild() ){
+							String technicalName = this.reader.getLocalName();
+							if( technicalName.equals("fret") ){
+								fret = this.readInteger(fret);
+							} else if( technicalName.equals("string") ){
+								string = this.readInteger(string);
+							} else {
+								this.skipElement();
+							}
+						}
+					} else {
+						this.skipElement();
+					}
+				}
+			} else {
+				this.skipElement();
+			}
+		}
+		
+		// grace notes have no duration, they are not supported yet.
+		if( grace ){
+			return;
+		}
+		
+		TGBeat beat = (chord ? part.getLastBeat() : null);
+		if( beat == null ){
+			beat = part.getBeat(measure, part.getPosition());
+			part.movePosition(duration);
+		}
+		
+		TGVoice tgVoice = beat.getVoice(Math.min(Math.max(voice - 1, 0), beat.countVoices() - 1));
+		if( tgVoice.isEmpty() ){
+			tgVoice.setEmpty(false);
+			tgVoice.getDuration().copyFrom(this.createDuration(part, duration, durationIndex, dots, enters, times));
+		}
+		
+		if(!rest && step != null ){
+			TGNote note = this.factory.newNote();
+			note.setTiedNote(tied);
+			
+			TGTrack track = part.getTrack();
+			if( string > 0 && string <= track.stringCount() && fret >= 0 ){
+				note.setString(string);
+				note.setValue(fret);
+			} else if(!this.assignString(track, tgVoice, note, this.getValue(step, alter, octave))){
+				return;
+			}
+			tgVoice.addNote(note);
+		}
+		part.setLastBeat(beat);
+	}
+	
+	private boolean assignString(TGTrack track, TGVoice voice, TGNote note, int value){
+		TGString best = null;
+		for(TGString string : track.getStrings()){
+			if( value >= string.getValue() && (value - string.getValue()) <= MAX_FRET && !this.isStringUsed(voice, string.getNumber()) ){
+				if( best == null || string.getValue() > best.getValue() ){
+					best = string;
+				}
+			}
+		}
+		if( best != null ){
+			note.setString(best.getNumber());
+			note.setValue(value - best.getValue());
+			return true;
+		}
+		return false;
+	}
+	
+	private boolean isStringUsed(TGVoice voice, int string){
+		for(TGNote note : voice.getNotes()){
+			if( note.getString() == string ){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private TGDuration createDuration(MusicXMLPart part, int duration, int durationIndex, int dots, int enters, int times){
+		if( durationIndex >= 0 ){
+			TGDuration tgDuration = this.factory.newDuration();
+			tgDuration.setValue(DURATION_VALUES[durationIndex]);
+			tgDuration.setDotted(dots == 1);
+			tgDuration.setDoubleDotted(dots >= 2);
+			tgDuration.getDivision().setEnters(enters);
+			tgDuration.getDivision().setTimes(times);
+			return tgDuration;
+		}
+		return TGDuration.fromTime(this.factory, part.toTime(duration));
+	}
+	
+	private int getDurationIndex(String type){
+		for(int i = 0 ; i < DURATION_NAMES.length ; i ++){
+			if( DURATION_NAMES[i].equals(type) ){
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	private int getValue(String step, int alter, int octave){
+		int index = (Character.toUpperCase(step.trim().charAt(0)) - 'A');
+		int semitone = (index >= 0 && index < STEP_VALUES.length ? STEP_VALUES[index] : 0);
+		return Math.max(0, Math.min(127, (octave * 12) + semitone + alter + this.octaveOffset));
+	}
+	
+	private void completeSong(){
+		if( this.song.countMeasureHeaders() == 0 ){
+			this.getOrCreateHeader(0);
+		}
+		
+		Iterator<TGTrack> tracks = this.song.getTracks();
+		while( tracks.hasNext() ){
+			TGTrack track = tracks.next();
+			while( track.countMeasures() < this.song.countMeasureHeaders() ){
+				TGMeasure previous = (track.countMeasures() > 0 ? track.getMeasure(track.countMeasures() - 1) : null);
+				TGMeasure measure = this.factory.newMeasure(this.song.getMeasureHeader(track.countMeasures()));
+				if( previous != null ){
+					measure.setClef(previous.getClef());
+					measure.setKeySignature(previous.getKeySignature());
+				}
+				track.addMeasure(measure);
+			}
+		}
+		this.manager.orderBeats(this.song);
+		this.manager.autoCompleteSilences(this.song);
+	}
+	
+	private boolean nextChild() throws XMLStreamException{
+		while( this.reader.hasNext() ){
+			int event = this.reader.next();
+			if( event == XMLStreamConstants.START_ELEMENT ){
+				return true;
+			}
+			if( event == XMLStreamConstants.END_ELEMENT ){
+				return false;
+			}
+		}
+		return false;
+	}
+	
+	private void skipElement() throws XMLStreamException{
+		int depth = 1;
+		while( depth > 0 && this.reader.hasNext() ){
+			int event = this.reader.next();
+			if( event == XMLStreamConstants.START_ELEMENT ){
+				depth ++;
+			} else if( event == XMLStreamConstants.END_ELEMENT ){
+				depth --;
+			}
+		}
+	}
+	
+	private String readText() throws XMLStreamException{
+		return this.reader.getElementText().trim();
+	}
+	
+	private int readInteger(int defaultValue) throws XMLStreamException{
+		try {
+			return Integer.parseInt(this.readText());
+		} catch(NumberFormatException e){
+			return defaultValue;
+		}
+	}
+	
+	private int readIntegerAttribute(String name, int defaultValue){
+		String value = this.reader.getAttributeValue(null, name);
+		if( value != null ){
+			try {
+				return Integer.parseInt(value.trim());
+			} catch(NumberFormatException e){
+				return defaultValue;
+			}
+		}
+		return defaultValue;
+	}
+	
+	private float readFloat(float defaultValue) throws XMLStreamException{
+		try {
+			return Float.parseFloat(this.readText());
+		} catch(NumberFormatException e){
+			return defaultValue;
+		}
+	}
+	
+	private class MusicXMLPart {
+		
+		private TGTrack track;
+		private TGMeasure measure;
+		private TGBeat lastBeat;
+		private Map<Long, TGBeat> beats;
+		private int divisions;
+		private int position;
+		private int clef;
+		private int keySignature;
+		
+		public MusicXMLPart(TGTrack track){
+			this.track = track;
+			this.beats = new HashMap<Long, TGBeat>();
+			this.divisions = 1;
+			this.clef = TGMeasure.DEFAULT_CLEF;
+			this.keySignature = TGMeasure.DEFAULT_KEY_SIGNATURE;
+		}
+		
+		public TGTrack getTrack(){
+			return this.track;
+		}
+		
+		public void startMeasure(TGMeasure measure){
+			this.measure = measure;
+			this.position = 0;
+			this.lastBeat = null;
+			this.beats.clear();
+		}
+		
+		public void finishMeasure(){
+			this.measure = null;
+			this.lastBeat = null;
+			this.beats.clear();
+		}
+		
+		public TGBeat getBeat(TGMeasure measure, int position){
+			Long start = Long.valueOf(measure.getStart() + this.toTime(position));
+			TGBeat beat = this.beats.get(start);
+			if( beat == null ){
+				beat = MusicXMLReader.this.factory.newBeat();
+				beat.setStart(start.longValue());
+				this.measure.addBeat(beat);
+				this.beats.put(start, beat);
+			}
+			return beat;
+		}
+		
+		public long toTime(int duration){
+			return ((duration * TGDuration.QUARTER_TIME) / this.divisions);
+		}
+		
+		public TGBeat getLastBeat(){
+			return this.lastBeat;
+		}
+		
+		public void setLastBeat(TGBeat lastBeat){
+			this.lastBeat = lastBeat;
+		}
+		
+		public int getPosition(){
+			return this.position;
+		}
+		
+		public void movePosition(int duration){
+			this.position = Math.max(0, this.position + duration);
+		}
+		
+		public int getDivisions(){
+			return this.divisions;
+		}
+		
+		public void setDivisions(int divisions){
+			if( divisions > 0 ){
+				this.divisions = divisions;
+			}
+		}
+		
+		public int getClef(){
+			return this.clef;
+		}
+		
+		public void setClef(int clef){
+			this.clef = clef;
+		}
+		
+		public int getKeySignature(){
+			return this.keySignature;
+		}
+		
+		public void setKeySignature(int keySignature){
+			this.keySignature = keySignature;
+		}
+	}
+}
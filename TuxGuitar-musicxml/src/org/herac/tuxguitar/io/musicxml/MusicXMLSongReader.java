@@ -0,0 +1,21 @@
+package org.herac.tuxguitar.io.musicxml;
+
+import org.herac.tuxguitar.io.base.TGFileFormat;
+import org.herac.tuxguitar.io.base.TGFileFormatException;
+import org.herac.tuxguitar.io.base.TGSongReader;
+import org.herac.tuxguitar.io.base.TGSongReaderHandle;
+
+public class MusicXMLSongReader implements TGSongReader {
+	
+	public MusicXMLSongReader() {
+		super();
+	}
+	
+	public TGFileFormat getFileFormat() {
+		return MusicXMLSongWriter.FILE_FORMAT;
+	}
+	
+	public void read(TGSongReaderHandle handle) throws TGFileFormatException {
+		handle.setSong(new MusicXMLReader(handle.getInputStream(), handle.getFactory()).readSong());
+	}
+}
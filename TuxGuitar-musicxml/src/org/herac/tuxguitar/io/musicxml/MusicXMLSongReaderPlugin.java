@@ -0,0 +1,26 @@
+package org.herac.tuxguitar.io.musicxml;
+
+import org.herac.tuxguitar.io.base.TGFileFormatDetector;
+import org.herac.tuxguitar.io.base.TGSongReader;
+import org.herac.tuxguitar.io.plugin.TGSongReaderPlugin;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.plugin.TGPluginException;
+
+public class MusicXMLSongReaderPlugin extends TGSongReaderPlugin{
+	
+	public MusicXMLSongReaderPlugin() {
+		super(false);
+	}
+	
+	public String getModuleId(){
+		return MusicXMLSongWriterPlugin.MODULE_ID;
+	}
+	
+	protected TGSongReader createInputStream(TGContext context) throws TGPluginException {
+		return new MusicXMLSongReader();
+	}
+	
+	protected TGFileFormatDetector createFileFormatDetector(TGContext context) throws TGPluginException {
+		return new MusicXMLFileFormatDetector();
+	}
+}
@@ -1,17 +1,12 @@
 package org.herac.tuxguitar.io.musicxml;
 
+import java.io.BufferedOutputStream;
 import java.io.OutputStream;
 import java.util.Iterator;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.herac.tuxguitar.gm.GMChannelRoute;
 import org.herac.tuxguitar.gm.GMChannelRouter;
@@ -31,9 +26,7 @@ import org.herac.tuxguitar.song.models.TGTempo;
 import org.herac.tuxguitar.song.models.TGTimeSignature;
 import org.herac.tuxguitar.song.models.TGTrack;
 import org.herac.tuxguitar.song.models.TGVoice;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+import org.herac.tuxguitar.util.TGVersion;
 
 public class MusicXMLWriter {
 	
@@ -59,11 +52,17 @@ public class MusicXMLWriter {
 		DURATION_DIVISIONS / 16, // SIXTY_FOURTH
 	};
 	
+	private static final String INDENT = "  ";
+	
 	private TGSongManager manager;
 	
 	private OutputStream stream;
 	
-	private Document document;
+	private XMLStreamWriter writer;
+	
+	private int depth;
+	
+	private boolean inlineNode;
 	
 	public MusicXMLWriter(OutputStream stream){
 		this.stream = stream;
@@ -71,43 +70,59 @@ public class MusicXMLWriter {
 	
 	public void writeSong(TGSong song) throws TGFileFormatException{
 		try {
+			OutputStream outputStream = new BufferedOutputStream(this.stream);
+			
 			this.manager = new TGSongManager();
-			this.document = newDocument();
+			this.writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+			this.depth = 0;
+			this.inlineNode = false;
 			
-			Node node = this.addNode(this.document,"score-partwise");
-			this.writeHeaders(song, node);
-			this.writeSong(song, node);
-			this.saveDocument();
+			this.writer.writeStartDocument("UTF-8", "1.0");
+			this.startNode("score-partwise");
+			this.writeHeaders(song);
+			this.writeScore(song);
+			this.endNode();
+			this.writer.writeEndDocument();
+			this.writer.flush();
+			this.writer.close();
 			
-			this.stream.flush();
-			this.stream.close();
+			outputStream.flush();
+			outputStream.close();
 		}catch(Throwable throwable){
 			throw new TGFileFormatException("Could not write song!.",throwable);
 		}
 	}
 	
-	private void writeHeaders(TGSong song, Node parent){
-		this.writeWork(song, parent);
-		this.writeIdentification(song, parent);
+	private void writeHeaders(TGSong song) throws XMLStreamException{
+		this.writeWork(song);
+		this.writeIdentification(song);
 	}
 	
-	private void writeWork(TGSong song, Node parent){
-		this.addNode(this.addNode(parent,"work"),"work-title", song.getName());
+	private void writeWork(TGSong song) throws XMLStreamException{
+		this.startNode("work");
+		this.addNode("work-title", song.getName());
+		this.endNode();
 	}
 	
-	private void writeIdentification(TGSong song, Node parent){
-		Node identification = this.addNode(parent,"identification");
-		this.addNode(this.addNode(identification,"encoding"), "software", "TuxGuitar");
-		this.addAttribute(this.addNode(identification,"creator",song.getAuthor()),"type","composer");
+	private void writeIdentification(TGSong song) throws XMLStreamException{
+		this.startNode("identification");
+		this.startNode("encoding");
+		this.addNode("software", "TuxGuitar " + TGVersion.CURRENT.getVersion());
+		this.endNode();
+		this.startNode("creator");
+		this.addAttribute("type","composer");
+		this.addText(song.getAuthor());
+		this.endNode();
+		this.endNode();
 	}
 	
-	private void writeSong(TGSong song, Node parent){
-		this.writePartList(song, parent);
-		this.writeParts(song, parent);
+	private void writeScore(TGSong song) throws XMLStreamException{
+		this.writePartList(song);
+		this.writeParts(song);
 	}
 	
-	private void writePartList(TGSong song, Node parent){
-		Node partList = this.addNode(parent,"part-list");
+	private void writePartList(TGSong song) throws XMLStreamException{
+		this.startNode("part-list");
 		
 		GMChannelRouter gmChannelRouter = new GMChannelRouter();
 		GMChannelRouterConfigurator gmChannelRouterConfigurator = new GMChannelRouterConfigurator(gmChannelRouter);
@@ -118,29 +133,36 @@ public class MusicXMLWriter {
 			TGTrack track = (TGTrack)tracks.next();
 			TGChannel channel = this.manager.getChannel(song, track.getChannelId());
 			
-			Node scoreParts = this.addNode(partList,"score-part");
-			this.addAttribute(scoreParts, "id", "P" + track.getNumber());
+			this.startNode("score-part");
+			this.addAttribute("id", "P" + track.getNumber());
 			
-			this.addNode(scoreParts, "part-name", track.getName());
+			this.addNode("part-name", track.getName());
 			
 			if( channel != null ){
 				GMChannelRoute gmChannelRoute = gmChannelRouter.getRoute(channel.getChannelId());
 				
-				Node scoreInstrument = this.addAttribute(this.addNode(scoreParts, "score-instrument"), "id", "P" + track.getNumber() + "-I1");
-				this.addNode(scoreInstrument, "instrument-name",channel.getName());
-			
-				Node midiInstrument = this.addAttribute(this.addNode(scoreParts, "midi-instrument"), "id", "P" + track.getNumber() + "-I1");
-				this.addNode(midiInstrument, "midi-channel",Integer.toString(gmChannelRoute != null ? gmChannelRoute.getChannel1() + 1 : 16));
-				this.addNode(midiInstrument, "midi-program",Integer.toString(channel.getProgram() + 1));
+				this.startNode("score-instrument");
+				this.addAttribute("id", "P" + track.getNumber() + "-I1");
+				this.addNode("instrument-name",channel.getName());
+				this.endNode();
+				
+				this.startNode("midi-instrument");
+				this.addAttribute("id", "P" + track.getNumber() + "-I1");
+				this.addNode("midi-channel",Integer.toString(gmChannelRoute != null ? gmChannelRoute.getChannel1() + 1 : 16));
+				this.addNode("midi-program",Integer.toString(channel.getProgram() + 1));
+				this.endNode();
 			}
+			this.endNode();
 		}
+		this.endNode();
 	}
 	
-	private void writeParts(TGSong song, Node parent){
+	private void writeParts(TGSong song) throws XMLStreamException{
 		Iterator<TGTrack> tracks = song.getTracks();
 		while(tracks.hasNext()){
 			TGTrack track = (TGTrack)tracks.next();
-			Node part = this.addAttribute(this.addNode(parent,"part"), "id", "P" + track.getNumber());
+			this.startNode("part");
+			this.addAttribute("id", "P" + track.getNumber());
 			
 			TGMeasure previous = null;
 			
@@ -149,150 +171,173 @@ public class MusicXMLWriter {
 				// TODO: Add multivoice support.
 				TGMeasure srcMeasure = (TGMeasure)measures.next();
 				TGMeasure measure = new TGVoiceJoiner(this.manager.getFactory(),srcMeasure).process();
-				Node measureNode = this.addAttribute(this.addNode(part,"measure"), "number",Integer.toString(measure.getNumber()));
+				this.startNode("measure");
+				this.addAttribute("number",Integer.toString(measure.getNumber()));
+				
+				this.writeMeasureAttributes(measure, previous);
+				this.writeDirection(measure, previous);
+				this.writeBeats(measure);
 				
-				this.writeMeasureAttributes(measureNode, measure, previous);
-				this.writeDirection(measureNode, measure, previous);
-				this.writeBeats(measureNode, measure);
+				this.endNode();
+				
+				// measures are flushed as they are written, only the previous one is kept in memory.
+				this.writer.flush();
 				
 				previous = measure;
 			}
+			this.endNode();
 		}
 	}
 	
-	private void writeMeasureAttributes(Node parent,TGMeasure measure, TGMeasure previous){
+	private void writeMeasureAttributes(TGMeasure measure, TGMeasure previous) throws XMLStreamException{
 		boolean divisionChanges = (previous == null);
 		boolean keyChanges = (previous == null || measure.getKeySignature() != previous.getKeySignature());
 		boolean clefChanges = (previous == null || measure.getClef() != previous.getClef());
 		boolean timeSignatureChanges = (previous == null || !measure.getTimeSignature().isEqual(previous.getTimeSignature()));
 		boolean tuningChanges = (measure.getNumber() == 1);
 		if(divisionChanges || keyChanges || clefChanges || timeSignatureChanges){
-			Node measureAttributes = this.addNode(parent,"attributes");
+			this.startNode("attributes");
 			if(divisionChanges){
-				this.addNode(measureAttributes,"divisions",Integer.toString(DURATION_DIVISIONS));
+				this.addNode("divisions",Integer.toString(DURATION_DIVISIONS));
 			}
 			if(keyChanges){
-				this.writeKeySignature(measureAttributes, measure.getKeySignature());
+				this.writeKeySignature(measure.getKeySignature());
 			}
 			if(clefChanges){
-				this.writeClef(measureAttributes,measure.getClef());
+				this.writeClef(measure.getClef());
 			}
 			if(timeSignatureChanges){
-				this.writeTimeSignature(measureAttributes,measure.getTimeSignature());
+				this.writeTimeSignature(measure.getTimeSignature());
 			}
 			if(tuningChanges){
-				this.writeTuning(measureAttributes, measure.getTrack());
+				this.writeTuning(measure.getTrack());
 			}
+			this.endNode();
 		}
 	}
 	
-	private void writeTuning(Node parent, TGTrack track){
-		Node staffDetailsNode = this.addNode(parent,"staff-details");
-		this.addNode(staffDetailsNode, "staff-lines", Integer.toString( track.stringCount() ));
+	private void writeTuning(TGTrack track) throws XMLStreamException{
+		this.startNode("staff-details");
+		this.addNode("staff-lines", Integer.toString( track.stringCount() ));
 		for( int i = track.stringCount() ; i > 0 ; i --){
 			TGString string = track.getString( i );
-			Node stringNode = this.addNode(staffDetailsNode, "staff-tuning");
-			this.addAttribute(stringNode, "line", Integer.toString( (track.stringCount() - string.getNumber()) + 1 ) );
-			this.addNode(stringNode, "tuning-step", NOTE_NAMES[ NOTE_SHARPS[ (string.getValue() % 12) ] ] );
-			this.addNode(stringNode, "tuning-octave", Integer.toString(string.getValue() / 12) );
+			this.startNode("staff-tuning");
+			this.addAttribute("line", Integer.toString( (track.stringCount() - string.getNumber()) + 1 ) );
+			this.addNode("tuning-step", NOTE_NAMES[ NOTE_SHARPS[ (string.getValue() % 12) ] ] );
+			this.addNode("tuning-octave", Integer.toString(getOctave(string.getValue())) );
+			this.endNode();
 		}
+		this.endNode();
 	}
 	
-	private void writeTimeSignature(Node parent, TGTimeSignature ts){
-		Node node = this.addNode(parent,"time");
-		this.addNode(node,"beats",Integer.toString(ts.getNumerator()));
-		this.addNode(node,"beat-type",Integer.toString(ts.getDenominator().getValue()));
+	private void writeTimeSignature(TGTimeSignature ts) throws XMLStreamException{
+		this.startNode("time");
+		this.addNode("beats",Integer.toString(ts.getNumerator()));
+		this.addNode("beat-type",Integer.toString(ts.getDenominator().getValue()));
+		this.endNode();
 	}
 	
-	private void writeKeySignature(Node parent, int ks){
+	private void writeKeySignature(int ks) throws XMLStreamException{
 		int value = ks;
 		if(value != 0){
 			value = ( (((ks - 1) % 7) + 1) * ( ks > 7?-1:1));
 		}
-		Node key = this.addNode(parent,"key");
-		this.addNode(key,"fifths",Integer.toString( value ));
-		this.addNode(key,"mode","major");
+		this.startNode("key");
+		this.addNode("fifths",Integer.toString( value ));
+		this.addNode("mode","major");
+		this.endNode();
 	}
 	
-	private void writeClef(Node parent, int clef){
-		Node node = this.addNode(parent,"clef");
+	private void writeClef(int clef) throws XMLStreamException{
+		this.startNode("clef");
 		if(clef == TGMeasure.CLEF_TREBLE){
-			this.addNode(node,"sign","G");
-			this.addNode(node,"line","2");
+			this.addNode("sign","G");
+			this.addNode("line","2");
 		}
 		else if(clef == TGMeasure.CLEF_BASS){
-			this.addNode(node,"sign","F");
-			this.addNode(node,"line","4");
+			this.addNode("sign","F");
+			this.addNode("line","4");
 		}
 		else if(clef == TGMeasure.CLEF_TENOR){
-			this.addNode(node,"sign","G");
-			this.addNode(node,"line","2");
+			this.addNode("sign","G");
+			this.addNode("line","2");
 		}
 		else if(clef == TGMeasure.CLEF_ALTO){
-			this.addNode(node,"sign","G");
-			this.addNode(node,"line","2");
+			this.addNode("sign","G");
+			this.addNode("line","2");
 		}
+		this.endNode();
 	}
 	
-	private void writeDirection(Node parent, TGMeasure measure, TGMeasure previous){
+	private void writeDirection(TGMeasure measure, TGMeasure previous) throws XMLStreamException{
 		boolean tempoChanges = (previous == null || measure.getTempo().getValue() != previous.getTempo().getValue());
 		
 		if(tempoChanges){
-			Node direction = this.addAttribute(this.addNode(parent,"direction"),"placement","above");
-			this.writeMeasureTempo(direction, measure.getTempo());
+			this.startNode("direction");
+			this.addAttribute("placement","above");
+			this.writeMeasureTempo(measure.getTempo());
+			this.endNode();
 		}
 	}
 	
-	private void writeMeasureTempo(Node parent,TGTempo tempo){
-		this.addAttribute(this.addNode(parent,"sound"),"tempo",Integer.toString(tempo.getValue()));
+	private void writeMeasureTempo(TGTempo tempo) throws XMLStreamException{
+		this.addEmptyNode("sound");
+		this.addAttribute("tempo",Integer.toString(tempo.getValue()));
 	}
 	
-	private void writeBeats(Node parent, TGMeasure measure){
+	private void writeBeats(TGMeasure measure) throws XMLStreamException{
 		int ks = measure.getKeySignature();
 		int beatCount = measure.countBeats();
 		for(int b = 0; b < beatCount; b ++){
 			TGBeat beat = measure.getBeat( b );
 			TGVoice voice = beat.getVoice(0);
 			if(voice.isRestVoice()){
-				Node noteNode = this.addNode(parent,"note");
-				this.addNode(noteNode,"rest");
-				this.addNode(noteNode,"voice","1");
-				this.writeDuration(noteNode, voice.getDuration());
+				this.startNode("note");
+				this.addEmptyNode("rest");
+				this.addNode("voice","1");
+				this.writeDuration(voice.getDuration());
+				this.endNode();
 			}
 			else{
 				int noteCount = voice.countNotes();
 				for(int n = 0; n < noteCount; n ++){
 					TGNote note = voice.getNote( n );
 					
-					Node noteNode = this.addNode(parent,"note");
+					this.startNode("note");
 					int value = (beat.getMeasure().getTrack().getString(note.getString()).getValue() + note.getValue());
 					
-					Node pitchNode = this.addNode(noteNode,"pitch");
-					this.addNode(pitchNode,"step",NOTE_NAMES[ (ks <= 7 ? NOTE_SHARPS[value % 12] : NOTE_FLATS[value % 12] )]);
-					this.addNode(pitchNode,"octave",Integer.toString(value / 12));
+					this.startNode("pitch");
+					this.addNode("step",NOTE_NAMES[ (ks <= 7 ? NOTE_SHARPS[value % 12] : NOTE_FLATS[value % 12] )]);
+					this.addNode("octave",Integer.toString(getOctave(value)));
 					if(NOTE_ALTERATIONS[ value % 12 ]){
-						this.addNode(pitchNode,"alter", ( ks <= 7 ? "1" : "-1" ) );
+						this.addNode("alter", ( ks <= 7 ? "1" : "-1" ) );
 					}
+					this.endNode();
 					
-					Node technicalNode = this.addNode(this.addNode(noteNode, "notations"), "technical");
-					this.addNode(technicalNode,"fret", Integer.toString( note.getValue() ));
-					this.addNode(technicalNode,"string", Integer.toString( note.getString() ));
+					this.startNode("notations");
+					this.startNode("technical");
+					this.addNode("fret", Integer.toString( note.getValue() ));
+					this.addNode("string", Integer.toString( note.getString() ));
+					this.endNode();
+					this.endNode();
 					
-					this.addNode(noteNode,"voice","1");
-					this.writeDuration(noteNode, voice.getDuration());
+					this.addNode("voice","1");
+					this.writeDuration(voice.getDuration());
 					
 					if(note.isTiedNote()){
-						this.addAttribute(this.addNode(noteNode,"tie"),"type","stop");
+						this.addEmptyNode("tie");
+						this.addAttribute("type","stop");
 					}
 					if(n > 0){
-						this.addNode(noteNode,"chord");
+						this.addEmptyNode("chord");
 					}
+					this.endNode();
 				}
 			}
 		}
 	}
 	
-	private void writeDuration(Node parent, TGDuration duration){
+	private void writeDuration(TGDuration duration) throws XMLStreamException{
 		int index = duration.getIndex();
 		if( index >=0 && index <= 6 ){
 			int value = (DURATION_VALUES[ index ] * duration.getDivision().getTimes() / duration.getDivision().getEnters());
@@ -303,67 +348,73 @@ public class MusicXMLWriter {
 				value += ((value / 4) * 3);
 			}
 			
-			this.addNode(parent,"duration",Integer.toString(value));
-			this.addNode(parent,"type",DURATION_NAMES[ index ]);
+			this.addNode("duration",Integer.toString(value));
+			this.addNode("type",DURATION_NAMES[ index ]);
 			
 			if(duration.isDotted()){
-				this.addNode(parent,"dot");
+				this.addEmptyNode("dot");
 			}
 			else if(duration.isDoubleDotted()){
-				this.addNode(parent,"dot");
-				this.addNode(parent,"dot");
+				this.addEmptyNode("dot");
+				this.addEmptyNode("dot");
 			}
 			
 			if(!duration.getDivision().isEqual(TGDivisionType.NORMAL)){
-				Node divisionType = this.addNode(parent,"time-modification");
-				this.addNode(divisionType,"actual-notes",Integer.toString(duration.getDivision().getEnters()));
-				this.addNode(divisionType,"normal-notes",Integer.toString(duration.getDivision().getTimes()));
+				this.startNode("time-modification");
+				this.addNode("actual-notes",Integer.toString(duration.getDivision().getEnters()));
+				this.addNode("normal-notes",Integer.toString(duration.getDivision().getTimes()));
+				this.endNode();
 			}
 		}
 	}
 	
-	private Node addAttribute(Node node, String name, String value){
-		Attr attribute = this.document.createAttribute(name);
-		attribute.setNodeValue(value);
-		node.getAttributes().setNamedItem(attribute);
-		return node;
+	private static int getOctave(int value){
+		// MusicXML octave 4 starts at middle C (midi value 60)
+		return ((value / 12) - 1);
 	}
 	
-	private Node addNode(Node parent, String name){
-		Node node = this.document.createElement(name);
-		parent.appendChild(node);
-		return node;
+	private void addAttribute(String name, String value) throws XMLStreamException{
+		this.writer.writeAttribute(name, value);
 	}
 	
-	private Node addNode(Node parent, String name, String content){
-		Node node = this.addNode(parent, name);
-		node.setTextContent(content);
-		return node;
+	private void addText(String content) throws XMLStreamException{
+		this.writer.writeCharacters(content != null ? content : "");
 	}
 	
-	private Document newDocument() {
-		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			Document document = builder.newDocument();
-			return document;
-		}catch(Throwable throwable){
-			throwable.printStackTrace();
+	private void addNode(String name, String content) throws XMLStreamException{
+		this.startNode(name);
+		this.addText(content);
+		this.endNode();
+	}
+	
+	private void addEmptyNode(String name) throws XMLStreamException{
+		this.writeIndent(this.depth);
+		this.writer.writeEmptyElement(name);
+		this.inlineNode = false;
+	}
+	
+	private void startNode(String name) throws XMLStreamException{
+		this.writeIndent(this.depth);
+		this.writer.writeStartElement(name);
+		this.depth ++;
+		this.inlineNode = true;
+	}
+	
+	private void endNode() throws XMLStreamException{
+		this.depth --;
+		if(!this.inlineNode ){
+			this.writeIndent(this.depth);
 		}
-		return null;
+		this.writer.writeEndElement();
+		this.inlineNode = false;
 	}
 	
-	private void saveDocument() {
-		try {
-			TransformerFactory xformFactory = TransformerFactory.newInstance();
-			Transformer idTransform = xformFactory.newTransformer();
-			Source input = new DOMSource(this.document);
-			Result output = new StreamResult(this.stream);
-			idTransform.setOutputProperty(OutputKeys.INDENT, "yes");
-			idTransform.transform(input, output);
-		}catch(Throwable throwable){
-			throwable.printStackTrace();
+	private void writeIndent(int depth) throws XMLStreamException{
+		StringBuilder indent = new StringBuilder("\n");
+		for(int i = 0 ; i < depth ; i ++){
+			indent.append(INDENT);
 		}
+		this.writer.writeCharacters(indent.toString());
 	}
 	
 	private static class TGVoiceJoiner {
@@ -39,7 +39,7 @@ public class PTInputStream implements TGSongReader{
 	public void read(TGSongReaderHandle handle) throws TGFileFormatException {
 		try {
 			this.stream = handle.getInputStream();
-			this.parser = new PTSongParser(handle.getFactory());
+			this.parser = new PTSongParser(handle.getFactory(), handle.countMeasuresToRead(Integer.MAX_VALUE));
 			
 			TGFileFormat fileFormat = new PTFileFormatDetector().getFileFormat(this.stream);
 			if( fileFormat == null || !fileFormat.equals(this.getFileFormat())) {
@@ -33,10 +33,12 @@ public class PTSongParser {
 	
 	private TGSongManager manager;
 	private TrackHelper helper;
+	private int measuresToRead;
 	
-	public PTSongParser(TGFactory factory){
+	public PTSongParser(TGFactory factory, int measuresToRead){
 		this.manager = new TGSongManager(factory);
 		this.helper = new TrackHelper();
+		this.measuresToRead = measuresToRead;
 	}
 	
 	public TGSong parseSong(PTSong src){
@@ -99,7 +101,7 @@ public class PTSongParser {
 		this.helper.reset( track.getDefaultInfo() );
 		
 		long start = TGDuration.QUARTER_TIME;
-		for( int sIndex = 0; sIndex < track.getSections().size(); sIndex ++){
+		for( int sIndex = 0; sIndex < track.getSections().size() && (sIndex == 0 || !isMeasureLimitReached(tgSong, start)); sIndex ++){
 			PTSection section = (PTSection) track.getSections().get(sIndex);
 			section.sort();
 			
@@ -118,6 +120,15 @@ public class PTSongParser {
 		}
 	}
 	
+	private boolean isMeasureLimitReached(TGSong tgSong, long start){
+		// measures are created while the notes are parsed, so sections are parsed until the first measure out of the limit.
+		// the first section is always parsed, that is where the tracks are declared
+		if( tgSong.countMeasureHeaders() > this.measuresToRead ){
+			return (start >= tgSong.getMeasureHeader(this.measuresToRead).getStart());
+		}
+		return false;
+	}
+	
 	private void parsePosition(TGSong tgSong, PTTrack track,PTPosition position){
 		for(int i = 0; i < position.getComponents().size(); i ++){
 			PTComponent component = (PTComponent)position.getComponents().get(i);
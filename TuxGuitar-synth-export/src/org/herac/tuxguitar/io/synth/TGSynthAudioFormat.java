@@ -8,6 +8,17 @@ public class TGSynthAudioFormat extends TGFileFormat {
 		super("Audio File", ("audio/" + settings.getType().getExtension()), new String[]{settings.getType().getExtension()});
 	}
 	
+	public TGSynthAudioFormat(String name, String mimeType, String[] supportedFormats) {
+		super(name, mimeType, supportedFormats);
+	}
+	
+	public static TGSynthAudioFormat createFormat(TGSynthAudioSettings settings) {
+		if( settings.isStems() ) {
+			return new TGSynthAudioFormat("Audio Stems", "application/zip", new String[]{"zip"});
+		}
+		return new TGSynthAudioFormat(settings);
+	}
+	
 	public TGSynthAudioFormat() {
 		this(new TGSynthAudioSettings());
 	}
@@ -10,10 +10,12 @@ public class TGSynthAudioSettings {
 	
 	private AudioFileFormat.Type type;
 	private AudioFormat format;
+	private boolean stems;
 	
 	public TGSynthAudioSettings() {
 		this.setType(DEFAULT_TYPE);
 		this.setFormat(DEFAULT_FORMAT);
+		this.setStems(false);
 	}
 	
 	public AudioFileFormat.Type getType() {
@@ -31,4 +33,12 @@ public class TGSynthAudioSettings {
 	public void setFormat(AudioFormat format) {
 		this.format = format;
 	}
+	
+	public boolean isStems() {
+		return this.stems;
+	}
+	
+	public void setStems(boolean stems) {
+		this.stems = stems;
+	}
 }
@@ -5,20 +5,34 @@ import org.herac.tuxguitar.player.base.MidiPlayerException;
 
 public abstract class TGSynthEvent {
 	
+	public static final int ALL_TRACKS = -1;
+	
 	private long tick;
+	private int track;
+	private int channelId;
 	
-	public TGSynthEvent(long tick) {
+	public TGSynthEvent(long tick, int track, int channelId) {
 		this.tick = tick;
+		this.track = track;
+		this.channelId = channelId;
 	}
 	
 	public long getTick() {
 		return tick;
 	}
 	
+	public int getTrack() {
+		return track;
+	}
+	
+	public int getChannelId() {
+		return channelId;
+	}
+	
 	public abstract void process(TGSynthSequencer context) throws MidiPlayerException;
 	
-	public static TGSynthEvent noteOn(final long tick, final int channelId, final int key, final int velocity, final int voice, final boolean bendMode) {
-		return new TGSynthEvent(tick) {
+	public static TGSynthEvent noteOn(final long tick, final int track, final int channelId, final int key, final int velocity, final int voice, final boolean bendMode) {
+		return new TGSynthEvent(tick, track, channelId) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				TGSynthChannel channel = context.getSynth().getChannelById(channelId);
 				if( channel != null ) {
@@ -28,8 +42,8 @@ public abstract class TGSynthEvent {
 		};
 	}
 	
-	public static TGSynthEvent noteOff(final long tick, final int channelId, final int key, final int velocity, final int voice, final boolean bendMode) {
-		return new TGSynthEvent(tick) {
+	public static TGSynthEvent noteOff(final long tick, final int track, final int channelId, final int key, final int velocity, final int voice, final boolean bendMode) {
+		return new TGSynthEvent(tick, track, channelId) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				TGSynthChannel channel = context.getSynth().getChannelById(channelId);
 				if( channel != null ) {
@@ -39,8 +53,8 @@ public abstract class TGSynthEvent {
 		};
 	}
 	
-	public static TGSynthEvent pitchBend(long tick, final int channelId, final int value, final int voice, final boolean bendMode){
-		return new TGSynthEvent(tick) {
+	public static TGSynthEvent pitchBend(long tick, final int track, final int channelId, final int value, final int voice, final boolean bendMode){
+		return new TGSynthEvent(tick, track, channelId) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				TGSynthChannel channel = context.getSynth().getChannelById(channelId);
 				if( channel != null ) {
@@ -50,8 +64,8 @@ public abstract class TGSynthEvent {
 		};
 	}
 	
-	public static TGSynthEvent controlChange(long tick, final int channelId, final int controller, final int value){
-		return new TGSynthEvent(tick) {
+	public static TGSynthEvent controlChange(long tick, final int track, final int channelId, final int controller, final int value){
+		return new TGSynthEvent(tick, track, channelId) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				TGSynthChannel channel = context.getSynth().getChannelById(channelId);
 				if( channel != null ) {
@@ -61,8 +75,8 @@ public abstract class TGSynthEvent {
 		};
 	}
 	
-	public static TGSynthEvent programChange(long tick, final int channelId, final int value){
-		return new TGSynthEvent(tick) {
+	public static TGSynthEvent programChange(long tick, final int track, final int channelId, final int value){
+		return new TGSynthEvent(tick, track, channelId) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				TGSynthChannel channel = context.getSynth().getChannelById(channelId);
 				if( channel != null ) {
@@ -73,7 +87,7 @@ public abstract class TGSynthEvent {
 	}
 	
 	public static TGSynthEvent tempoInUSQ(long tick, final int usq) {
-		return new TGSynthEvent(tick) {
+		return new TGSynthEvent(tick, ALL_TRACKS, -1) {
 			public void process(TGSynthSequencer context) throws MidiPlayerException {
 				context.setTempoInUsq(usq);
 			}
@@ -8,6 +8,8 @@ import org.herac.tuxguitar.song.models.TGTimeSignature;
 
 public class TGSynthSequenceHandler extends MidiSequenceHandler{
 	
+	private static final int INFO_TRACK = 0;
+	
 	private List<TGSynthEvent> events;
 	
 	public TGSynthSequenceHandler(int tracks) {
@@ -17,23 +19,23 @@ public class TGSynthSequenceHandler extends MidiSequenceHandler{
 	}
 	
 	public void addNoteOn(long tick,int track,int channelId, int key, int velocity, int voice, boolean bendMode) {
-		this.events.add(TGSynthEvent.noteOn(tick, channelId, key, velocity, voice, bendMode));
+		this.events.add(TGSynthEvent.noteOn(tick, track, channelId, key, velocity, voice, bendMode));
 	}
 	
 	public void addNoteOff(long tick,int track,int channelId, int key, int velocity, int voice, boolean bendMode) {
-		this.events.add(TGSynthEvent.noteOff(tick, channelId, key, velocity, voice, bendMode));
+		this.events.add(TGSynthEvent.noteOff(tick, track, channelId, key, velocity, voice, bendMode));
 	}
 	
 	public void addPitchBend(long tick,int track,int channelId, int value, int voice, boolean bendMode) {
-		this.events.add(TGSynthEvent.pitchBend(tick, channelId, value, voice, bendMode));
+		this.events.add(TGSynthEvent.pitchBend(tick, track, channelId, value, voice, bendMode));
 	}
 	
 	public void addControlChange(long tick,int track,int channelId, int controller, int value) {
-		this.events.add(TGSynthEvent.controlChange(tick, channelId, controller, value));
+		this.events.add(TGSynthEvent.controlChange(tick, track, channelId, controller, value));
 	}
 	
 	public void addProgramChange(long tick,int track,int channelId, int value) {
-		this.events.add(TGSynthEvent.programChange(tick, channelId, value));
+		this.events.add(TGSynthEvent.programChange(tick, track, channelId, value));
 	}
 	
 	public void addTempoInUSQ(long tick,int track,int usq) {
@@ -51,4 +53,15 @@ public class TGSynthSequenceHandler extends MidiSequenceHandler{
 	public List<TGSynthEvent> getEvents(){
 		return this.events;
 	}
+	
+	public List<TGSynthEvent> getEvents(int track, int channelId){
+		// tempo changes and the channel defaults sent on the info track are shared by every track.
+		List<TGSynthEvent> events = new ArrayList<TGSynthEvent>();
+		for(TGSynthEvent event : this.events) {
+			if( event.getTrack() == track || event.getTrack() == TGSynthEvent.ALL_TRACKS || (event.getTrack() == INFO_TRACK && event.getChannelId() == channelId)) {
+				events.add(event);
+			}
+		}
+		return events;
+	}
 }
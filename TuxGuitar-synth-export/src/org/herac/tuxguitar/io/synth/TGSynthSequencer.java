@@ -43,6 +43,10 @@ public class TGSynthSequencer {
 	public long getLength() {
 		return length;
 	}
+	
+	public void setLength(long length) {
+		this.length = length;
+	}
 
 	public boolean isEnded() {
 		return (this.tick.longValue() >= this.length);
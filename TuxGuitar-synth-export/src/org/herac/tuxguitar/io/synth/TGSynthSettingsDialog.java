@@ -17,6 +17,7 @@ import org.herac.tuxguitar.ui.event.UISelectionEvent;
 import org.herac.tuxguitar.ui.event.UISelectionListener;
 import org.herac.tuxguitar.ui.layout.UITableLayout;
 import org.herac.tuxguitar.ui.widget.UIButton;
+import org.herac.tuxguitar.ui.widget.UICheckBox;
 import org.herac.tuxguitar.ui.widget.UIDropDownSelect;
 import org.herac.tuxguitar.ui.widget.UILabel;
 import org.herac.tuxguitar.ui.widget.UILegendPanel;
@@ -84,6 +85,11 @@ public class TGSynthSettingsDialog {
 			}
 		});
 		
+		final UICheckBox stemsCheck = uiFactory.createCheckBox(audioFormatGroup);
+		stemsCheck.setText(TuxGuitar.getProperty("tuxguitar-synth-export.options.stems"));
+		stemsCheck.setSelected(settings.isStems());
+		audioFormatLayout.set(stemsCheck, 3, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_CENTER, true, false, 1, 2);
+		
 		//------------------BUTTONS--------------------------
 		UITableLayout buttonsLayout = new UITableLayout(0f);
 		UIPanel buttons = uiFactory.createPanel(dialog, false);
@@ -103,6 +109,7 @@ public class TGSynthSettingsDialog {
 				if( format != null && type != null ) {
 					settings.setType(type);
 					settings.setFormat(format.getFormat());
+					settings.setStems(stemsCheck.isSelected());
 					onSuccess.run();
 				}
 			}
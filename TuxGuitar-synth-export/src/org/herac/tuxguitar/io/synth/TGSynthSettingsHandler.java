@@ -31,7 +31,7 @@ public class TGSynthSettingsHandler implements TGPersistenceSettingsHandler {
 				new TGSynthSettingsDialog(TGSynthSettingsHandler.this.context).open(midiToAudioSettings, new Runnable() {
 					public void run() {
 						context.setAttribute(TGSynthAudioSettings.class.getName(), midiToAudioSettings);
-						context.setAttribute(TGFileFormat.class.getName(), new TGSynthAudioFormat(midiToAudioSettings));
+						context.setAttribute(TGFileFormat.class.getName(), TGSynthAudioFormat.createFormat(midiToAudioSettings));
 						callback.run();
 					}
 				});
@@ -55,22 +55,30 @@ public class TGSynthSongWriter implements TGSongWriter {
 			TGSynthSequenceHandler midiSequenceHandler = new TGSynthSequenceHandler(tgSong.countTracks());
 			midiSequenceParser.parse(midiSequenceHandler);
 			if(!midiSequenceHandler.getEvents().isEmpty()) {
+				if( settings.isStems() ) {
+					new TGSynthStemWriter(this.context, settings).write(out, tgSong, midiSequenceHandler);
+					return;
+				}
 				
 				TGSynthModel synthModel = new TGSynthModel(this.context);
 				TGAudioBufferProcessor audioProcessor = new TGAudioBufferProcessor(synthModel);
 				ByteArrayOutputStream audioBuffer = new ByteArrayOutputStream();
 				TGSynthSequencer sequence = new TGSynthSequencer(synthModel, midiSequenceHandler.getEvents());
 				
-				this.loadSynthPrograms(synthModel, tgSong);
-				
-				sequence.start();
-				while(!sequence.isEnded()) {
-					sequence.dispatchEvents();
-					
-					audioProcessor.process();
-					audioBuffer.write(audioProcessor.getBuffer().getBuffer(), 0, audioProcessor.getBuffer().getLength());
+				try {
+					this.loadSynthPrograms(synthModel, tgSong);
 					
-					sequence.forward();
+					sequence.start();
+					while(!sequence.isEnded()) {
+						sequence.dispatchEvents();
+						
+						audioProcessor.process();
+						audioBuffer.write(audioProcessor.getBuffer().getBuffer(), 0, audioProcessor.getBuffer().getLength());
+						
+						sequence.forward();
+					}
+				} finally {
+					synthModel.closeChannels();
 				}
 				
 				long duration = (long) (TGAudioLine.AUDIO_FORMAT.getFrameRate() * ((sequence.getLength() / 1000.00)));
@@ -92,20 +100,23 @@ public class TGSynthSongWriter implements TGSongWriter {
 		// Add channels
 		Iterator<TGChannel> tgChannels = tgSong.getChannels();
 		while( tgChannels.hasNext() ){
-			TGChannel tgChannel = tgChannels.next();
-			if( tgChannel.getChannelId() > 0 ) {
-				MidiChannel midiChannel = tgSynthModel.openChannel(tgChannel.getChannelId());
-				// send parameters
-				midiChannel.sendParameter(MidiParameters.SENDING_PARAMS, Boolean.TRUE.toString());
-				
-				Iterator<TGChannelParameter> parameters = tgChannel.getParameters();
-				while( parameters.hasNext() ){
-					TGChannelParameter parameter = (TGChannelParameter) parameters.next();
-					midiChannel.sendParameter(parameter.getKey(), parameter.getValue());
-				}
-				
-				midiChannel.sendParameter(MidiParameters.SENDING_PARAMS, Boolean.FALSE.toString());
+			loadSynthChannel(tgSynthModel, tgChannels.next());
+		}
+	}
+	
+	public static void loadSynthChannel(TGSynthModel tgSynthModel, TGChannel tgChannel) throws MidiPlayerException {
+		if( tgChannel.getChannelId() > 0 ) {
+			MidiChannel midiChannel = tgSynthModel.openChannel(tgChannel.getChannelId());
+			// send parameters
+			midiChannel.sendParameter(MidiParameters.SENDING_PARAMS, Boolean.TRUE.toString());
+			
+			Iterator<TGChannelParameter> parameters = tgChannel.getParameters();
+			while( parameters.hasNext() ){
+				TGChannelParameter parameter = (TGChannelParameter) parameters.next();
+				midiChannel.sendParameter(parameter.getKey(), parameter.getValue());
 			}
+			
+			midiChannel.sendParameter(MidiParameters.SENDING_PARAMS, Boolean.FALSE.toString());
 		}
 	}
 }
@@ -0,0 +1,217 @@
+package org.herac.tuxguitar.io.synth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.herac.tuxguitar.midi.synth.TGAudioBuffer;
+import org.herac.tuxguitar.midi.synth.TGAudioBufferProcessor;
+import org.herac.tuxguitar.midi.synth.TGAudioLine;
+import org.herac.tuxguitar.midi.synth.TGSynthModel;
+import org.herac.tuxguitar.midi.synth.TGSynthSettings;
+import org.herac.tuxguitar.song.managers.TGSongManager;
+import org.herac.tuxguitar.song.models.TGChannel;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGTrack;
+import org.herac.tuxguitar.util.TGContext;
+
+/**
+ * Renders every track of a song to its own audio file and stores them in a zip archive.
+ *
+ * Each track is played by a private synth model fed with the track events only, so the
+ * stems are rendered in parallel and add up to the mix written by TGSynthSongWriter.
+ * Rendered audio is streamed to temporary files and encoded into the archive in track order.
+ */
+public class TGSynthStemWriter {
+	
+	private static final String TEMP_PREFIX = "tuxguitar-stem";
+	private static final String TEMP_SUFFIX = ".pcm";
+	private static final long STOP_TIMEOUT = 10;
+	
+	private TGContext context;
+	private TGSynthAudioSettings settings;
+	
+	public TGSynthStemWriter(TGContext context, TGSynthAudioSettings settings) {
+		this.context = context;
+		this.settings = settings;
+	}
+	
+	public void write(OutputStream out, TGSong song, TGSynthSequenceHandler sequenceHandler) throws Throwable {
+		TGSongManager songManager = new TGSongManager();
+		TGSynthSettings synthSettings = new TGSynthSettings(this.context);
+		
+		long length = 0;
+		for(TGSynthEvent event : sequenceHandler.getEvents()) {
+			length = Math.max(length, event.getTick());
+		}
+		
+		List<TGSynthStem> stems = new ArrayList<TGSynthStem>();
+		for(int i = 0; i < song.countTracks(); i ++) {
+			TGTrack track = song.getTrack(i);
+			TGChannel channel = songManager.getChannel(song, track.getChannelId());
+			if( channel != null ) {
+				TGSynthModel synthModel = new TGSynthModel(this.context);
+				synthSettings.loadPrograms(synthModel);
+				
+				stems.add(new TGSynthStem(track, channel, synthModel, sequenceHandler.getEvents(track.getNumber(), channel.getChannelId()), length));
+			}
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(getWorkers(stems.size()), new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TuxGuitar-stem-writer");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<File>> renders = new ArrayList<Future<File>>();
+			for(TGSynthStem stem : stems) {
+				renders.add(executor.submit(stem));
+			}
+			
+			ZipOutputStream zipStream = new ZipOutputStream(out);
+			for(int i = 0; i < stems.size(); i ++) {
+				File file = this.getRender(renders.get(i));
+				try {
+					zipStream.putNextEntry(new ZipEntry(stems.get(i).getEntryName(this.settings)));
+					this.encode(file, zipStream);
+					zipStream.closeEntry();
+				} finally {
+					file.delete();
+				}
+			}
+			zipStream.finish();
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(STOP_TIMEOUT, TimeUnit.SECONDS);
+			for(TGSynthStem stem : stems) {
+				stem.dispose();
+			}
+		}
+	}
+	
+	private File getRender(Future<File> render) throws Throwable {
+		try {
+			return render.get();
+		} catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+	
+	private void encode(File file, OutputStream out) throws IOException {
+		InputStream fileStream = new BufferedInputStream(new FileInputStream(file));
+		try {
+			long frames = (file.length() / TGAudioLine.AUDIO_FORMAT.getFrameSize());
+			AudioInputStream sourceStream = new AudioInputStream(fileStream, TGAudioLine.AUDIO_FORMAT, frames);
+			AudioInputStream targetStream = AudioSystem.getAudioInputStream(this.settings.getFormat(), sourceStream);
+			AudioSystem.write(targetStream, this.settings.getType(), new TGSynthEntryStream(out));
+		} finally {
+			fileStream.close();
+		}
+	}
+	
+	private static class TGSynthEntryStream extends FilterOutputStream {
+		
+		public TGSynthEntryStream(OutputStream out) {
+			super(out);
+		}
+		
+		public void write(byte[] b, int off, int len) throws IOException {
+			this.out.write(b, off, len);
+		}
+		
+		public void close() throws IOException {
+			// the archive stays open for the next entry
+			this.flush();
+		}
+	}
+	
+	private static int getWorkers(int stems) {
+		return Math.max(1, Math.min(stems, Runtime.getRuntime().availableProcessors()));
+	}
+	
+	private static class TGSynthStem implements Callable<File> {
+		
+		private TGTrack track;
+		private TGChannel channel;
+		private TGSynthModel synthModel;
+		private List<TGSynthEvent> events;
+		private long length;
+		private File file;
+		
+		public TGSynthStem(TGTrack track, TGChannel channel, TGSynthModel synthModel, List<TGSynthEvent> events, long length) {
+			this.track = track;
+			this.channel = channel;
+			this.synthModel = synthModel;
+			this.events = events;
+			this.length = length;
+		}
+		
+		public File call() throws Exception {
+			this.file = File.createTempFile(TEMP_PREFIX, TEMP_SUFFIX);
+			
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(this.file));
+			try {
+				TGAudioBufferProcessor audioProcessor = new TGAudioBufferProcessor(this.synthModel);
+				TGSynthSequencer sequence = new TGSynthSequencer(this.synthModel, this.events);
+				
+				TGSynthSongWriter.loadSynthChannel(this.synthModel, this.channel);
+				
+				sequence.start();
+				sequence.setLength(this.length);
+				while(!sequence.isEnded()) {
+					if( Thread.currentThread().isInterrupted() ) {
+						throw new InterruptedException();
+					}
+					sequence.dispatchEvents();
+					
+					audioProcessor.process();
+					TGAudioBuffer buffer = audioProcessor.getBuffer();
+					out.write(buffer.getBuffer(), 0, buffer.getLength());
+					
+					sequence.forward();
+				}
+			} finally {
+				out.close();
+			}
+			return this.file;
+		}
+		
+		public String getEntryName(TGSynthAudioSettings settings) {
+			String name = this.track.getName().replaceAll("[^\\w\\- ]", "_").trim();
+			return (String.format("%02d", this.track.getNumber()) + (name.length() > 0 ? (" - " + name) : "") + "." + settings.getType().getExtension());
+		}
+		
+		public void dispose() {
+			try {
+				this.synthModel.closeChannels();
+			} catch (Throwable throwable) {
+				throwable.printStackTrace();
+			}
+			if( this.file != null ) {
+				this.file.delete();
+			}
+		}
+	}
+}
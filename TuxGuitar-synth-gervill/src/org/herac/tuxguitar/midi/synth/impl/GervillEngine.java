@@ -0,0 +1,208 @@
+package org.herac.tuxguitar.midi.synth.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sound.midi.Instrument;
+import javax.sound.midi.InvalidMidiDataException;
+import javax.sound.midi.MidiChannel;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Receiver;
+import javax.sound.midi.ShortMessage;
+import javax.sound.sampled.AudioInputStream;
+
+import org.herac.tuxguitar.midi.synth.TGAudioBuffer;
+import org.herac.tuxguitar.midi.synth.TGAudioLine;
+
+import com.sun.media.sound.AudioSynthesizer;
+import com.sun.media.sound.SoftSynthesizer;
+
+/**
+ * A SoftSynthesizer whose midi channels are leased to one or more processors.
+ *
+ * Shared engines serve every processor using the same soundbank, so mixer, reverb, chorus
+ * and limiter run once per block instead of once per channel. The first owner filled in a
+ * block renders the engine, the other owners contribute silence.
+ */
+public class GervillEngine {
+	
+	private static final String SYNTH_LOAD_DEFAULT_SOUNDBANK_PARAM = "load default soundbank";
+	private static final String SYNTH_MIDI_CHANNELS_PARAM = "midi channels";
+	private static final String SYNTH_MAX_POLYPHONY_PARAM = "max polyphony";
+	
+	private static final int SHARED_CHANNELS = 16;
+	private static final int SHARED_POLYPHONY = 256;
+	private static final int PERCUSSION_CHANNEL = 9;
+	private static final double MICROSECONDS_PER_FRAME = (1000000.0 / TGAudioLine.AUDIO_FORMAT.getFrameRate());
+	
+	private static final List<GervillEngine> sharedEngines = new ArrayList<GervillEngine>();
+	
+	private String key;
+	private AudioSynthesizer synth;
+	private AudioInputStream stream;
+	private Receiver receiver;
+	private ShortMessage message;
+	private MidiChannel[] midiChannels;
+	private GervillProcessor[] owners;
+	private Instrument[] instruments;
+	private boolean rendered;
+	
+	private GervillEngine(String key, Map<String, Object> info) throws MidiUnavailableException {
+		this.key = key;
+		this.synth = new SoftSynthesizer();
+		this.stream = this.synth.openStream(TGAudioLine.AUDIO_FORMAT, info);
+		this.receiver = this.synth.getReceiver();
+		this.message = new ShortMessage();
+		this.midiChannels = this.synth.getChannels();
+		this.owners = new GervillProcessor[this.midiChannels.length];
+		this.instruments = new Instrument[this.midiChannels.length];
+	}
+	
+	public static GervillEngine createPrivate(GervillProcessor owner, Map<String, Object> info) throws MidiUnavailableException {
+		info.put(SYNTH_LOAD_DEFAULT_SOUNDBANK_PARAM, Boolean.FALSE);
+		
+		GervillEngine engine = new GervillEngine(null, info);
+		for(int i = 0 ; i < engine.owners.length ; i ++) {
+			engine.owners[i] = owner;
+		}
+		return engine;
+	}
+	
+	public static GervillEngine acquireShared(String key, GervillProcessor owner, int channels) throws MidiUnavailableException {
+		synchronized (sharedEngines) {
+			for(GervillEngine engine : sharedEngines) {
+				if( engine.key.equals(key) && engine.lease(owner, channels) ) {
+					return engine;
+				}
+			}
+			
+			Map<String, Object> info = new HashMap<String, Object>();
+			info.put(SYNTH_LOAD_DEFAULT_SOUNDBANK_PARAM, Boolean.FALSE);
+			info.put(SYNTH_MIDI_CHANNELS_PARAM, Integer.valueOf(SHARED_CHANNELS));
+			info.put(SYNTH_MAX_POLYPHONY_PARAM, Integer.valueOf(SHARED_POLYPHONY));
+			
+			GervillEngine engine = new GervillEngine(key, info);
+			engine.lease(owner, channels);
+			sharedEngines.add(engine);
+			return engine;
+		}
+	}
+	
+	private boolean lease(GervillProcessor owner, int channels) {
+		List<Integer> free = new ArrayList<Integer>();
+		for(int i = 0 ; i < this.owners.length && free.size() < channels ; i ++) {
+			if( this.owners[i] == null && i != PERCUSSION_CHANNEL ) {
+				free.add(Integer.valueOf(i));
+			}
+		}
+		if( free.size() < channels ) {
+			return false;
+		}
+		for(Integer channel : free) {
+			this.owners[channel.intValue()] = owner;
+		}
+		return true;
+	}
+	
+	public void release(GervillProcessor owner) {
+		if( this.key == null ) {
+			this.close();
+			return;
+		}
+		synchronized (sharedEngines) {
+			boolean empty = true;
+			for(int i = 0 ; i < this.owners.length ; i ++) {
+				if( this.owners[i] == owner ) {
+					this.owners[i] = null;
+					this.midiChannels[i].allSoundOff();
+					this.midiChannels[i].resetAllControllers();
+					this.unloadInstrument(i);
+				} else if( this.owners[i] != null ) {
+					empty = false;
+				}
+			}
+			
+			if( empty ) {
+				sharedEngines.remove(this);
+				this.close();
+			}
+		}
+	}
+	
+	private void close() {
+		if( this.synth.isOpen() ) {
+			this.synth.close();
+		}
+	}
+	
+	public int[] getChannels(GervillProcessor owner) {
+		synchronized (sharedEngines) {
+			int count = 0;
+			for(int i = 0 ; i < this.owners.length ; i ++) {
+				if( this.owners[i] == owner ) {
+					count ++;
+				}
+			}
+			int[] channels = new int[count];
+			for(int i = 0, index = 0 ; i < this.owners.length ; i ++) {
+				if( this.owners[i] == owner ) {
+					channels[index ++] = i;
+				}
+			}
+			return channels;
+		}
+	}
+	
+	public MidiChannel getChannel(int channel) {
+		return this.midiChannels[channel];
+	}
+	
+	public void sendMessage(int command, int channel, int data1, int data2, int offset) {
+		// the receiver copies the message, so a single instance is reused.
+		synchronized (this.message) {
+			try {
+				this.message.setMessage(command, channel, data1, data2);
+				this.receiver.send(this.message, this.synth.getMicrosecondPosition() + Math.round(offset * MICROSECONDS_PER_FRAME));
+			} catch (InvalidMidiDataException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+	
+	public void loadInstrument(GervillProcessor owner, int channel, Instrument instrument) {
+		// the instrument is kept on the owner channel, so it can be unloaded when the lease ends.
+		synchronized (sharedEngines) {
+			if( this.owners[channel] == owner ) {
+				this.unloadInstrument(channel);
+				this.instruments[channel] = instrument;
+				this.synth.loadInstrument(instrument);
+			}
+		}
+	}
+	
+	private void unloadInstrument(int channel) {
+		if( this.instruments[channel] != null ) {
+			this.synth.unloadInstrument(this.instruments[channel]);
+			this.instruments[channel] = null;
+		}
+	}
+	
+	public void startBlock() {
+		this.rendered = false;
+	}
+	
+	public void fillBuffer(TGAudioBuffer buffer) throws IOException {
+		// private engines have a single owner, they render on every call.
+		if(!this.isShared() || !this.rendered ) {
+			this.rendered = true;
+			this.stream.read(buffer.getBuffer());
+		}
+	}
+	
+	public boolean isShared() {
+		return (this.key != null);
+	}
+}
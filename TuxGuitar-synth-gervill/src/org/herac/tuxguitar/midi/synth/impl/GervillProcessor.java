@@ -5,32 +5,29 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.sound.midi.Instrument;
-import javax.sound.midi.MidiChannel;
 import javax.sound.midi.Patch;
-import javax.sound.midi.Receiver;
-import javax.sound.sampled.AudioInputStream;
+import javax.sound.midi.ShortMessage;
 
 import org.herac.tuxguitar.midi.synth.TGAudioBuffer;
-import org.herac.tuxguitar.midi.synth.TGAudioLine;
-import org.herac.tuxguitar.midi.synth.TGMidiProcessor;
+import org.herac.tuxguitar.midi.synth.TGSharedMidiProcessor;
+import org.herac.tuxguitar.midi.synth.TGTimedMidiProcessor;
 import org.herac.tuxguitar.util.TGContext;
 
-import com.sun.media.sound.AudioSynthesizer;
-import com.sun.media.sound.SoftSynthesizer;
+import com.sun.media.sound.SF2Instrument;
 
-public class GervillProcessor implements TGMidiProcessor {
+public class GervillProcessor implements TGSharedMidiProcessor, TGTimedMidiProcessor {
 
 	private static final String SYNTH_PROGRAM_PARAM = "gervil.program";
 	private static final String SYNTH_CHANNEL_MODE_PARAM = "gervil.channel.mode";
 	private static final String SYNTH_SOUNDBANK_PATH_PARAM = "gervil.soundbank.path";
 	
-	private static final String SYNTH_LOAD_DEFAULT_SOUNDBANK_PARAM = "load default soundbank";
 	private static final String SYNTH_MIDI_CHANNELS_PARAM = "midi channels";
 	
 	private TGContext context;
-	private AudioSynthesizer synth;
-	private AudioInputStream stream;
-	private Receiver receiver;
+	private GervillEngine engine;
+	private int[] channels;
+	private boolean shareable;
+	private int eventOffset;
 	private GervillProgram program;
 	private GervillSoundbankFactory soundbankFactory;
 	private byte[] buffer;
@@ -38,7 +35,6 @@ public class GervillProcessor implements TGMidiProcessor {
 	
 	public GervillProcessor(TGContext context) {
 		this.context = context;
-		this.synth = new SoftSynthesizer();
 		this.program = new GervillProgram();
 		this.soundbankFactory = new GervillSoundbankFactory();
 		this.buffer = new byte[TGAudioBuffer.CHANNELS * TGAudioBuffer.BUFFER_SIZE];
@@ -50,15 +46,10 @@ public class GervillProcessor implements TGMidiProcessor {
 	}
 	
 	public void close() {
-		if( this.receiver != null ){
-			this.receiver.close();
+		this.closeEngine();
+		if( this.soundbankFactory != null ){
+			this.soundbankFactory.dispose();
 		}
-		if( this.synth != null && this.synth.isOpen() ){
-			this.synth.close();
-		}
-		this.stream = null;
-		this.receiver = null;
-		this.synth = null;
 		this.buffer = null;
 	}
 
@@ -76,14 +67,31 @@ public class GervillProcessor implements TGMidiProcessor {
 	
 	public void fillBuffer(TGAudioBuffer buffer) {
 		try {
-			if( this.stream != null ) {
-				this.stream.read(buffer.getBuffer());
+			GervillEngine engine = this.engine;
+			if( engine != null ) {
+				engine.fillBuffer(buffer);
 			}
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
 	
+	public void startBlock() {
+		GervillEngine engine = this.engine;
+		if( engine != null ) {
+			engine.startBlock();
+		}
+	}
+	
+	public void setShareable(boolean shareable) {
+		if( this.shareable != shareable ) {
+			this.shareable = shareable;
+			if( this.engine != null ) {
+				this.loadInstrument();
+			}
+		}
+	}
+	
 	public void loadProgram(GervillProgram program) {
 		if(!this.program.equals(program)) {
 			this.program.copyFrom(program);
@@ -93,11 +101,8 @@ public class GervillProcessor implements TGMidiProcessor {
 	
 	public void loadInstrument() {
 		try {
-			if( this.synth.isOpen()) {
-				this.synth.close();
-			}
-			this.stream = this.synth.openStream(TGAudioLine.AUDIO_FORMAT, this.createSynthInfo());
-			this.receiver = this.synth.getReceiver();
+			this.closeEngine();
+			this.openEngine();
 			
 			this.soundbankFactory.create(this.context, this.program, new GervillSoundbankCallback() {
 				public void onCreate(Instrument instrument) {
@@ -110,17 +115,48 @@ public class GervillProcessor implements TGMidiProcessor {
 	}
 	
 	public void loadInstrument(Instrument instrument) {
-		this.synth.loadInstrument(instrument);
-		
-		Patch patch = instrument.getPatch();
-		for(MidiChannel midiChannel : this.synth.getChannels()) {
-			midiChannel.programChange(patch.getBank(), patch.getProgram());
+		GervillEngine engine = this.engine;
+		int[] channels = this.channels;
+		if( engine != null && channels.length > 0 ) {
+			// every owner of a shared engine needs its own patch.
+			Patch patch = new Patch(0, channels[0]);
+			((SF2Instrument) instrument).setPatch(patch);
+			
+			engine.loadInstrument(this, channels[0], instrument);
+			for(int channel : channels) {
+				engine.getChannel(channel).programChange(patch.getBank(), patch.getProgram());
+			}
+		}
+	}
+	
+	private void openEngine() throws Exception {
+		if( this.isSharedEngineAllowed() ) {
+			String soundbankPath = this.program.getSoundbankPath();
+			this.engine = GervillEngine.acquireShared((soundbankPath != null ? soundbankPath : ""), this, this.countChannels());
+		} else {
+			this.engine = GervillEngine.createPrivate(this, this.createSynthInfo());
 		}
+		this.channels = this.engine.getChannels(this);
+	}
+	
+	private void closeEngine() {
+		if( this.engine != null ) {
+			this.engine.release(this);
+			this.engine = null;
+			this.channels = null;
+		}
+	}
+	
+	private boolean isSharedEngineAllowed() {
+		return (this.shareable && this.program.getChannelMode() != GervillProgram.CHANNEL_MODE_VOICE && new GervillSettings(this.context).isSharedEngineEnabled());
+	}
+	
+	private int countChannels() {
+		return (this.program.getChannelMode() == GervillProgram.CHANNEL_MODE_BEND ? 2 : 1);
 	}
 	
 	public Map<String, Object> createSynthInfo(){
 		Map<String, Object> map = new HashMap<String, Object>();
-		map.put(SYNTH_LOAD_DEFAULT_SOUNDBANK_PARAM, new Boolean(false));
 		if( this.program.getChannelMode() == GervillProgram.CHANNEL_MODE_SINGLE ) {
 			map.put(SYNTH_MIDI_CHANNELS_PARAM, new Integer(1));
 		}
@@ -165,21 +201,38 @@ public class GervillProcessor implements TGMidiProcessor {
 		}
 	}
 	
+	public void setEventOffset(int offset) {
+		this.eventOffset = offset;
+	}
+	
 	public void sendNoteOn(int key, int velocity, int voice, boolean bendMode) {
-		this.synth.getChannels()[resolveChannel(voice, bendMode)].noteOn(key, velocity);
+		this.sendMessage(ShortMessage.NOTE_ON, resolveChannel(voice, bendMode), key, velocity);
 	}
 	
 	public void sendNoteOff(int key, int velocity, int voice, boolean bendMode) {
-		this.synth.getChannels()[resolveChannel(voice, bendMode)].noteOff(key, velocity);
+		this.sendMessage(ShortMessage.NOTE_OFF, resolveChannel(voice, bendMode), key, velocity);
 	}
 	
 	public void sendPitchBend(int value, int voice, boolean bendMode) {
-		this.synth.getChannels()[resolveChannel(voice, bendMode)].setPitchBend(value * 128);
+		int bend = (value * 128);
+		this.sendMessage(ShortMessage.PITCH_BEND, resolveChannel(voice, bendMode), (bend & 0x7f), ((bend >> 7) & 0x7f));
 	}
 	
 	public void sendControlChange(int controller, int value) {
-		for(MidiChannel midiChannel : this.synth.getChannels()) {
-			midiChannel.controlChange(controller, value);
+		GervillEngine engine = this.engine;
+		int[] channels = this.channels;
+		if( engine != null ) {
+			for(int channel : channels) {
+				engine.sendMessage(ShortMessage.CONTROL_CHANGE, channel, controller, value, this.eventOffset);
+			}
+		}
+	}
+	
+	private void sendMessage(int command, int index, int data1, int data2) {
+		GervillEngine engine = this.engine;
+		int[] channels = this.channels;
+		if( engine != null && index < channels.length ) {
+			engine.sendMessage(command, channels[index], data1, data2, this.eventOffset);
 		}
 	}
 	
@@ -7,6 +7,7 @@ public class GervillSettings {
 	
 	private static final String GERVILL_SOUNDBANK_PATH = "tuxguitar-synth-gervill.soundbank.path";
 	private static final String GERVILL_SOUNDBANK_FOLDER = "tuxguitar-synth-gervill.soundbank.folder";
+	private static final String GERVILL_SHARED_ENGINE = "tuxguitar-synth-gervill.shared-engine";
 	
 	private TGContext context;
 	private TGConfigManager config;
@@ -41,4 +42,12 @@ public class GervillSettings {
 	public void setSoundbankFolder(String soundbankFolder) {
 		this.getConfig().setValue(GERVILL_SOUNDBANK_FOLDER, soundbankFolder);
 	}
+	
+	public boolean isSharedEngineEnabled() {
+		return this.getConfig().getBooleanValue(GERVILL_SHARED_ENGINE, true);
+	}
+	
+	public void setSharedEngineEnabled(boolean enabled) {
+		this.getConfig().setValue(GERVILL_SHARED_ENGINE, enabled);
+	}
 }
@@ -0,0 +1,126 @@
+package org.herac.tuxguitar.midi.synth.impl;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javax.sound.midi.MidiSystem;
+import javax.sound.midi.Soundbank;
+
+import com.sun.media.sound.ModelByteBuffer;
+import com.sun.media.sound.SF2Sample;
+import com.sun.media.sound.SF2Soundbank;
+
+public class GervillSoundbank {
+	
+	private static final String SF2_EXTENSION = ".sf2";
+	
+	private String key;
+	private File file;
+	private FutureTask<Soundbank> loader;
+	private int references;
+	private long loadTime;
+	
+	public GervillSoundbank(String key, final File file) {
+		this.key = key;
+		this.file = file;
+		this.loader = new FutureTask<Soundbank>(new Callable<Soundbank>() {
+			public Soundbank call() throws Exception {
+				return GervillSoundbank.this.load();
+			}
+		});
+	}
+	
+	private Soundbank load() throws Exception {
+		long start = System.currentTimeMillis();
+		try {
+			// SF2 files are opened in large format: only the headers are parsed, sample data stays
+			// on disk and is paged in per instrument, shared by every synthesizer using this bank.
+			if( this.file.getName().toLowerCase().endsWith(SF2_EXTENSION) ) {
+				return new SF2Soundbank(this.file);
+			}
+			return MidiSystem.getSoundbank(this.file);
+		} finally {
+			this.loadTime = (System.currentTimeMillis() - start);
+		}
+	}
+	
+	public void load(boolean owner) throws Exception {
+		if( owner ) {
+			this.loader.run();
+		}
+		try {
+			this.loader.get();
+		} catch (ExecutionException e) {
+			throw (e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+		}
+	}
+	
+	public Soundbank getSoundbank() {
+		try {
+			return (this.loader.isDone() ? this.loader.get() : null);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+	
+	public void unload() {
+		Soundbank soundbank = this.getSoundbank();
+		if( soundbank instanceof SF2Soundbank ) {
+			for(SF2Sample sample : ((SF2Soundbank) soundbank).getSamples()) {
+				if( sample.getDataBuffer() != null ) {
+					sample.getDataBuffer().unload();
+				}
+			}
+		}
+	}
+	
+	public long getResidentSize() {
+		long size = 0;
+		Soundbank soundbank = this.getSoundbank();
+		if( soundbank instanceof SF2Soundbank ) {
+			for(SF2Sample sample : ((SF2Soundbank) soundbank).getSamples()) {
+				ModelByteBuffer buffer = sample.getDataBuffer();
+				if( buffer != null && buffer.array() != null ) {
+					size += buffer.capacity();
+				}
+			}
+		} else if( soundbank != null ) {
+			size = this.file.length();
+		}
+		return size;
+	}
+	
+	public long getMappedSize() {
+		Soundbank soundbank = this.getSoundbank();
+		if( soundbank instanceof SF2Soundbank ) {
+			return this.file.length();
+		}
+		return 0;
+	}
+	
+	public String getKey() {
+		return this.key;
+	}
+	
+	public File getFile() {
+		return this.file;
+	}
+	
+	public long getLoadTime() {
+		return this.loadTime;
+	}
+	
+	public int getReferences() {
+		return this.references;
+	}
+	
+	public int retain() {
+		return (++ this.references);
+	}
+	
+	public int release() {
+		return (-- this.references);
+	}
+}
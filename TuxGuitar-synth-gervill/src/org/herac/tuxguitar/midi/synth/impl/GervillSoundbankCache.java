@@ -0,0 +1,130 @@
+package org.herac.tuxguitar.midi.synth.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Process wide soundbank cache, entries are keyed by canonical path and modification time
+ * and are reference counted by the processors using them.
+ */
+public class GervillSoundbankCache {
+	
+	private static final int LOADER_THREADS = 2;
+	
+	private static GervillSoundbankCache instance;
+	
+	private Map<String, GervillSoundbank> soundbanks;
+	private ExecutorService executor;
+	private long loadCount;
+	private long loadTime;
+	private long hitCount;
+	
+	private GervillSoundbankCache() {
+		this.soundbanks = new HashMap<String, GervillSoundbank>();
+		this.executor = Executors.newFixedThreadPool(LOADER_THREADS, new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TuxGuitar-gervill-soundbank-loader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+	
+	public static synchronized GervillSoundbankCache getInstance() {
+		if( instance == null ) {
+			instance = new GervillSoundbankCache();
+		}
+		return instance;
+	}
+	
+	public void execute(Runnable runnable) {
+		this.executor.execute(runnable);
+	}
+	
+	public GervillSoundbank acquire(File file) throws Exception {
+		File canonicalFile = file.getCanonicalFile();
+		if(!canonicalFile.isFile()) {
+			throw new IOException("Soundbank not found: " + canonicalFile.getAbsolutePath());
+		}
+		String key = (canonicalFile.getPath() + ":" + canonicalFile.lastModified());
+		
+		boolean owner = false;
+		GervillSoundbank soundbank = null;
+		synchronized (this) {
+			soundbank = this.soundbanks.get(key);
+			if( soundbank == null ) {
+				owner = true;
+				soundbank = new GervillSoundbank(key, canonicalFile);
+				this.soundbanks.put(key, soundbank);
+			} else {
+				this.hitCount ++;
+			}
+			soundbank.retain();
+		}
+		
+		try {
+			soundbank.load(owner);
+		} catch (Exception e) {
+			this.release(soundbank);
+			throw e;
+		}
+		if( owner ) {
+			synchronized (this) {
+				this.loadCount ++;
+				this.loadTime += soundbank.getLoadTime();
+			}
+		}
+		return soundbank;
+	}
+	
+	public void release(GervillSoundbank soundbank) {
+		synchronized (this) {
+			if( soundbank.release() > 0 ) {
+				return;
+			}
+			if( this.soundbanks.get(soundbank.getKey()) == soundbank ) {
+				this.soundbanks.remove(soundbank.getKey());
+			}
+		}
+		soundbank.unload();
+	}
+	
+	public synchronized List<GervillSoundbank> getSoundbanks() {
+		return new ArrayList<GervillSoundbank>(this.soundbanks.values());
+	}
+	
+	public long getResidentSize() {
+		long size = 0;
+		for(GervillSoundbank soundbank : this.getSoundbanks()) {
+			size += soundbank.getResidentSize();
+		}
+		return size;
+	}
+	
+	public long getMappedSize() {
+		long size = 0;
+		for(GervillSoundbank soundbank : this.getSoundbanks()) {
+			size += soundbank.getMappedSize();
+		}
+		return size;
+	}
+	
+	public synchronized long getLoadCount() {
+		return this.loadCount;
+	}
+	
+	public synchronized long getLoadTime() {
+		return this.loadTime;
+	}
+	
+	public synchronized long getHitCount() {
+		return this.hitCount;
+	}
+}
@@ -3,7 +3,6 @@ package org.herac.tuxguitar.midi.synth.impl;
 import java.io.File;
 
 import javax.sound.midi.Instrument;
-import javax.sound.midi.MidiSystem;
 import javax.sound.midi.Patch;
 import javax.sound.midi.Soundbank;
 
@@ -13,30 +12,53 @@ import org.herac.tuxguitar.util.TGExpressionResolver;
 import com.sun.media.sound.EmergencySoundbank;
 import com.sun.media.sound.ModelPatch;
 import com.sun.media.sound.SF2Instrument;
+import com.sun.media.sound.SF2Soundbank;
 
 public class GervillSoundbankFactory {
 	
 	private static Instrument[][] defaultInstruments;
 	
+	private static GervillSoundbank defaultSoundbank;
+	
 	private int locks;
+	private GervillSoundbank soundbank;
 	
-	public boolean isBusy() {
+	public synchronized boolean isBusy() {
 		return (this.locks != 0);
 	}
 	
 	public void create(final TGContext context, final GervillProgram program, final GervillSoundbankCallback callback) {
-		this.locks ++;
-		new Thread(new Runnable() {
+		synchronized (this) {
+			this.locks ++;
+		}
+		GervillSoundbankCache.getInstance().execute(new Runnable() {
 			public void run() {
 				try {
 					createInstrument(context, program, callback);
 				} catch (Exception e) {
 					e.printStackTrace();
 				} finally {
-					GervillSoundbankFactory.this.locks --;
+					synchronized (GervillSoundbankFactory.this) {
+						GervillSoundbankFactory.this.locks --;
+					}
 				}
 			}
-		}).start();
+		});
+	}
+	
+	public void dispose() {
+		this.setSoundbank(null);
+	}
+	
+	private void setSoundbank(GervillSoundbank soundbank) {
+		GervillSoundbank previous = null;
+		synchronized (this) {
+			previous = this.soundbank;
+			this.soundbank = soundbank;
+		}
+		if( previous != null ) {
+			GervillSoundbankCache.getInstance().release(previous);
+		}
 	}
 	
 	private void createInstrument(TGContext context, GervillProgram program, GervillSoundbankCallback callback) throws Exception {
@@ -49,21 +71,38 @@ public class GervillSoundbankFactory {
 	private Instrument createInstrument(TGContext context, GervillProgram program) throws Exception {
 		Instrument instrument = null;
 		if( program.getSoundbankPath() != null && program.getSoundbankPath().length() > 0 ) {
-			Soundbank soundbank = this.createSoundbank(context, program.getSoundbankPath());
-			
-			boolean percussion = (program.getBank() == 128);
-			Patch patch = new ModelPatch((percussion ? 0 : program.getBank()), program.getProgram(), percussion);
-			instrument = soundbank.getInstrument(patch);
+			GervillSoundbank soundbank = this.acquireSoundbank(context, program.getSoundbankPath());
+			this.setSoundbank(soundbank);
+			if( soundbank != null ) {
+				boolean percussion = (program.getBank() == 128);
+				Patch patch = new ModelPatch((percussion ? 0 : program.getBank()), program.getProgram(), percussion);
+				instrument = soundbank.getSoundbank().getInstrument(patch);
+			}
+		} else {
+			this.setSoundbank(null);
 		}
 		if( instrument == null ) {
 			instrument = getDefaultInstrument(context, program);
 		}
 		if( instrument != null ) {
-			((SF2Instrument) instrument).setPatch(new Patch(0, 0));
+			instrument = this.createInstrumentCopy((SF2Instrument) instrument);
 		}
 		return instrument;
 	}
 	
+	private Instrument createInstrumentCopy(SF2Instrument instrument) {
+		// cached soundbanks are shared, so the patch is changed on a copy.
+		SF2Instrument copy = new SF2Instrument((SF2Soundbank) instrument.getSoundbank());
+		copy.setName(instrument.getName());
+		copy.setGenre(instrument.getGenre());
+		copy.setLibrary(instrument.getLibrary());
+		copy.setMorphology(instrument.getMorphology());
+		copy.setGlobalZone(instrument.getGlobalRegion());
+		copy.getRegions().addAll(instrument.getRegions());
+		copy.setPatch(new Patch(0, 0));
+		return copy;
+	}
+	
 	private Instrument getDefaultInstrument(TGContext context, GervillProgram program) throws Exception {
 		synchronized (GervillProcessorFactory.class) {
 			if( defaultInstruments == null ) {
@@ -72,7 +111,10 @@ public class GervillSoundbankFactory {
 				Soundbank soundbank = null;
 				String soundbankPath = new GervillSettings(context).getSoundbankPath();
 				if( soundbankPath != null && soundbankPath.length() > 0 ) {
-					soundbank = this.createSoundbank(context, soundbankPath);
+					defaultSoundbank = this.acquireSoundbank(context, soundbankPath);
+					if( defaultSoundbank != null ) {
+						soundbank = defaultSoundbank.getSoundbank();
+					}
 				}
 				if( soundbank == null ) {
 					soundbank = EmergencySoundbank.createSoundbank();
@@ -91,9 +133,9 @@ public class GervillSoundbankFactory {
 		return defaultInstruments[program.getBank()][program.getProgram()];
 	}
 	
-	private Soundbank createSoundbank(TGContext context, String soundbankPath) {
+	private GervillSoundbank acquireSoundbank(TGContext context, String soundbankPath) {
 		try {
-			return MidiSystem.getSoundbank(new File(TGExpressionResolver.getInstance(context).resolve(soundbankPath)));
+			return GervillSoundbankCache.getInstance().acquire(new File(TGExpressionResolver.getInstance(context).resolve(soundbankPath)));
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
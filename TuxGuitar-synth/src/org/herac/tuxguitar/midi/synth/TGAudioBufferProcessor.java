@@ -4,6 +4,8 @@ public class TGAudioBufferProcessor {
 	
 	private TGSynthModel synthesizer;
 	private TGAudioBuffer buffer;
+	private long processedBlocks;
+	private long processTime;
 	
 	public TGAudioBufferProcessor(TGSynthModel synthesizer) {
 		this.synthesizer = synthesizer;
@@ -11,6 +13,15 @@ public class TGAudioBufferProcessor {
 	}
 	
 	public void process() {
+		long start = System.nanoTime();
+		this.synthesizer.startBlock();
+		for( int i = 0; i < this.synthesizer.countChannels(); i ++ ){
+			TGSynthChannel channel = this.synthesizer.getChannel( i );
+			if( channel != null ){
+				channel.startBlock();
+				channel.dispatchEvents();
+			}
+		}
 		this.buffer.clear();
 		for( int i = 0; i < this.synthesizer.countChannels(); i ++ ){
 			TGSynthChannel channel = this.synthesizer.getChannel( i );
@@ -19,9 +30,19 @@ public class TGAudioBufferProcessor {
 			}
 		}
 		this.buffer.clip();
+		this.processTime += (System.nanoTime() - start);
+		this.processedBlocks ++;
 	}
 
 	public TGAudioBuffer getBuffer() {
 		return this.buffer;
 	}
+	
+	public long getProcessedBlocks() {
+		return this.processedBlocks;
+	}
+	
+	public long getAverageProcessTime() {
+		return (this.processedBlocks > 0 ? (this.processTime / this.processedBlocks) : 0);
+	}
 }
@@ -12,19 +12,88 @@ public class TGAudioLine {
 	
 	public static final AudioFormat AUDIO_FORMAT = new AudioFormat(TGAudioBuffer.SAMPLE_RATE, 16, TGAudioBuffer.CHANNELS, true, TGAudioBuffer.BIGENDIAN);
 	
+	public static final int BLOCK_FRAMES = (TGAudioBuffer.BUFFER_SIZE / 2);
+	public static final long BLOCK_DURATION = Math.round(BLOCK_FRAMES * 1000000000.00 / TGAudioBuffer.SAMPLE_RATE);
+	
+	private static final int STABLE_BLOCKS = Math.round((TGAudioBuffer.SAMPLE_RATE * 10f) / BLOCK_FRAMES);
+	
 	private SourceDataLine line;
+	private TGAudioMetrics metrics;
+	private boolean adaptive;
+	private boolean started;
+	private int minBlocks;
+	private int maxBlocks;
+	private int targetBlocks;
+	private int stableBlocks;
 	
 	public TGAudioLine(TGSynthesizer synthesizer) {
 		try {
+			TGSynthSettings settings = synthesizer.getSettings();
+			
+			this.metrics = synthesizer.getAudioMetrics();
+			this.adaptive = settings.isAudioBufferAdaptive();
+			this.minBlocks = Math.max(settings.getAudioBufferMinSize(), 1);
+			this.maxBlocks = Math.max(settings.getAudioBufferMaxSize(), this.minBlocks);
+			this.targetBlocks = Math.max(settings.getAudioBufferSize(), 1);
+			if( this.adaptive ) {
+				this.targetBlocks = Math.min(Math.max(this.targetBlocks, this.minBlocks), this.maxBlocks);
+			}
+			
+			// in adaptive mode the device buffer is opened at its maximum size and only the target fill level changes.
+			int deviceBlocks = (this.adaptive ? this.maxBlocks : this.targetBlocks);
+			
 			this.line = (SourceDataLine) AudioSystem.getLine(new DataLine.Info(SourceDataLine.class, AUDIO_FORMAT));
-			this.line.open(AUDIO_FORMAT, (TGAudioBuffer.CHANNELS * TGAudioBuffer.BUFFER_SIZE) * Math.max(synthesizer.getSettings().getAudioBufferSize(), 1));
+			this.line.open(AUDIO_FORMAT, (TGAudioBuffer.CHANNELS * TGAudioBuffer.BUFFER_SIZE) * deviceBlocks);
 			this.line.start();
+			this.metrics.setBufferBlocks(this.targetBlocks);
 		} catch (Throwable e) {
 			throw new TGException(e);
 		}
 	}
 	
-	public void write(TGAudioBuffer buffer) {
+	public void write(TGAudioBuffer buffer, long renderTime) {
+		if( this.started && this.line.available() >= this.line.getBufferSize() ) {
+			this.onUnderrun();
+		} else if( this.adaptive && ++ this.stableBlocks >= STABLE_BLOCKS ) {
+			this.stableBlocks = 0;
+			this.setTargetBlocks(this.targetBlocks - 1);
+		}
+		
 		this.line.write(buffer.getBuffer(), 0, buffer.getLength());
+		this.started = true;
+		
+		long headroom = this.getQueuedTime();
+		this.metrics.addBlock(renderTime, headroom, headroom + BLOCK_DURATION);
+	}
+	
+	private void onUnderrun() {
+		this.metrics.addUnderrun();
+		this.stableBlocks = 0;
+		if( this.adaptive ) {
+			this.setTargetBlocks(this.targetBlocks * 2);
+		}
+	}
+	
+	private void setTargetBlocks(int targetBlocks) {
+		this.targetBlocks = Math.min(Math.max(targetBlocks, this.minBlocks), this.maxBlocks);
+		this.metrics.setBufferBlocks(this.targetBlocks);
+	}
+	
+	public long getQueuedFrames() {
+		return ((this.line.getBufferSize() - this.line.available()) / AUDIO_FORMAT.getFrameSize());
+	}
+	
+	public long getQueuedTime() {
+		return Math.round(this.getQueuedFrames() * 1000000000.00 / TGAudioBuffer.SAMPLE_RATE);
+	}
+	
+	public long getTargetTime() {
+		return (this.targetBlocks * BLOCK_DURATION);
+	}
+	
+	public void close() {
+		this.line.flush();
+		this.line.stop();
+		this.line.close();
 	}
 }
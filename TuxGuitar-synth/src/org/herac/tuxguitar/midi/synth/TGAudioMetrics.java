@@ -0,0 +1,92 @@
+package org.herac.tuxguitar.midi.synth;
+
+/**
+ * Realtime output statistics, written by the synth thread and readable from any thread.
+ */
+public class TGAudioMetrics {
+	
+	private static final long NANOS_PER_MILLI = 1000000L;
+	
+	private long blocks;
+	private long underruns;
+	private long renderTime;
+	private long maxRenderTime;
+	private long headroom;
+	private long minHeadroom;
+	private long latency;
+	private int bufferBlocks;
+	
+	public TGAudioMetrics() {
+		this.reset();
+	}
+	
+	public synchronized void reset() {
+		this.blocks = 0;
+		this.underruns = 0;
+		this.renderTime = 0;
+		this.maxRenderTime = 0;
+		this.headroom = 0;
+		this.minHeadroom = Long.MAX_VALUE;
+		this.latency = 0;
+	}
+	
+	public synchronized void addBlock(long renderTime, long headroom, long latency) {
+		this.blocks ++;
+		this.renderTime += renderTime;
+		this.maxRenderTime = Math.max(this.maxRenderTime, renderTime);
+		this.headroom = headroom;
+		this.minHeadroom = Math.min(this.minHeadroom, headroom);
+		this.latency = latency;
+	}
+	
+	public synchronized void addUnderrun() {
+		this.underruns ++;
+	}
+	
+	public synchronized void setBufferBlocks(int bufferBlocks) {
+		this.bufferBlocks = bufferBlocks;
+	}
+	
+	public synchronized long getBlocks() {
+		return this.blocks;
+	}
+	
+	public synchronized long getUnderruns() {
+		return this.underruns;
+	}
+	
+	public synchronized long getAverageRenderTime() {
+		return (this.blocks > 0 ? (this.renderTime / this.blocks) : 0);
+	}
+	
+	public synchronized long getMaxRenderTime() {
+		return this.maxRenderTime;
+	}
+	
+	public synchronized long getHeadroom() {
+		return this.headroom;
+	}
+	
+	public synchronized long getMinHeadroom() {
+		return (this.blocks > 0 ? this.minHeadroom : 0);
+	}
+	
+	public synchronized long getLatency() {
+		return this.latency;
+	}
+	
+	public synchronized int getBufferBlocks() {
+		return this.bufferBlocks;
+	}
+	
+	public synchronized String toString() {
+		return ("blocks=" + this.blocks
+			+ " underruns=" + this.underruns
+			+ " bufferBlocks=" + this.bufferBlocks
+			+ " renderAvgUs=" + (this.getAverageRenderTime() / 1000)
+			+ " renderMaxUs=" + (this.maxRenderTime / 1000)
+			+ " headroomMs=" + (this.headroom / NANOS_PER_MILLI)
+			+ " minHeadroomMs=" + (this.getMinHeadroom() / NANOS_PER_MILLI)
+			+ " latencyMs=" + (this.latency / NANOS_PER_MILLI));
+	}
+}
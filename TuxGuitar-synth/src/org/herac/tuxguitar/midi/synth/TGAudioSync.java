@@ -4,22 +4,16 @@ import org.herac.tuxguitar.util.TGException;
 
 public class TGAudioSync {
 	
-	private long duration;
-	private long lastSync;
-	private long lastDelay;
 	private Object lock;
 	
 	public TGAudioSync() {
 		this.lock = new Object();
-		this.duration = Math.round((TGAudioBuffer.BUFFER_SIZE / 2) * 1000000000.00 / TGAudioBuffer.SAMPLE_RATE);
 	}
 	
-	public void sync() {
-		long currentTime = System.nanoTime();
-		long elapsedTime = (this.lastSync > 0 ? currentTime - this.lastSync - this.lastDelay : 0);
-		long delayTime = (this.duration - elapsedTime);
-		
-		if( delayTime > 0 ) {		
+	public void sync(TGAudioLine audioLine) {
+		// renders ahead until the line holds the target amount of audio, then sleeps the excess.
+		long delayTime = (audioLine.getQueuedTime() - audioLine.getTargetTime());
+		if( delayTime > 0 ) {
 			synchronized (this.lock) {
 				try {
 					this.lock.wait((long) (delayTime / 1000000), (int) (delayTime % 1000000));
@@ -28,8 +22,5 @@ public class TGAudioSync {
 				}
 			}
 		}
-		
-		this.lastSync = currentTime;
-		this.lastDelay = delayTime;
 	}
 }
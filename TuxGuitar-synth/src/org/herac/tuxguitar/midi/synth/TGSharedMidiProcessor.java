@@ -0,0 +1,16 @@
+package org.herac.tuxguitar.midi.synth;
+
+/**
+ * A midi processor that may render through an engine shared with other channels.
+ * Sharing is only allowed when the channel has no output processors of its own,
+ * otherwise its effects would be applied to the audio of every channel in the engine.
+ */
+public interface TGSharedMidiProcessor extends TGMidiProcessor {
+	
+	void setShareable(boolean shareable);
+	
+	/**
+	 * Called once per rendered block, before any channel buffer is filled.
+	 */
+	void startBlock();
+}
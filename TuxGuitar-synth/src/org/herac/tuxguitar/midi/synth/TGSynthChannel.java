@@ -16,6 +16,7 @@ public class TGSynthChannel implements MidiChannel {
 	private TGSynthChannelProcessor processor;
 	private TGSynthChannelProperties parameters;
 	private TGSynthChannelPendingQueue pendingEvents;
+	private TGSynthEventQueue events;
 	private TGProgram program;
 	private boolean customProgram;
 	
@@ -26,7 +27,8 @@ public class TGSynthChannel implements MidiChannel {
 		this.midiProgram = -1;
 		this.program = new TGProgram();
 		this.parameters = new TGSynthChannelProperties();
-		this.pendingEvents = new TGSynthChannelPendingQueue(this);
+		this.pendingEvents = new TGSynthChannelPendingQueue();
+		this.events = new TGSynthEventQueue();
 	}
 	
 	public int getId(){
@@ -40,7 +42,6 @@ public class TGSynthChannel implements MidiChannel {
 	public void loadProgram(TGProgram program) throws MidiPlayerException {
 		this.program.copyFrom(program);
 		this.openProcessor();
-		this.pendingEvents.dispatch();
 	}
 	
 	public void updateProgram() {
@@ -56,7 +57,7 @@ public class TGSynthChannel implements MidiChannel {
 			if( this.processor == null ) {
 				this.processor = new TGSynthChannelProcessor();
 			}
-			this.processor.open(this.synthesizer.getContext(), this.program);
+			this.processor.open(this.synthesizer.getContext(), this.program, this.synthesizer.isShareable());
 		}
 	}
 	
@@ -64,7 +65,6 @@ public class TGSynthChannel implements MidiChannel {
 		if( this.processor != null ){
 			this.processor.close();
 			this.processor = null;
-			this.pendingEvents.clear();
 		}
 	}
 	
@@ -74,24 +74,62 @@ public class TGSynthChannel implements MidiChannel {
 		}
 	}
 	
-	public void sendNoteOn(int key, int velocity, int voice, boolean bendMode) throws MidiPlayerException {
-		if( this.processor != null && this.processor.getProcessor() != null ) {
-			this.processor.getProcessor().sendNoteOn(key, velocity, voice, bendMode);
+	public void startBlock() {
+		TGMidiProcessor processor = (this.processor != null ? this.processor.getProcessor() : null);
+		if( processor instanceof TGSharedMidiProcessor ) {
+			((TGSharedMidiProcessor) processor).startBlock();
 		}
 	}
 	
-	public void sendNoteOff(int key, int velocity, int voice, boolean bendMode) throws MidiPlayerException {
-		if( this.processor != null && this.processor.getProcessor() != null ) {
-			this.processor.getProcessor().sendNoteOff(key, velocity, voice, bendMode);
+	public void dispatchEvents() {
+		TGMidiProcessor processor = (this.processor != null ? this.processor.getProcessor() : null);
+		TGTimedMidiProcessor timedProcessor = (processor instanceof TGTimedMidiProcessor ? (TGTimedMidiProcessor) processor : null);
+		
+		// values received while there was no processor are older than anything left in the ring.
+		if( processor != null && !this.pendingEvents.isEmpty() ) {
+			this.pendingEvents.dispatch(processor);
 		}
+		while(!this.events.isEmpty()) {
+			int type = this.events.getType();
+			if( processor != null ) {
+				if( timedProcessor != null ) {
+					timedProcessor.setEventOffset(this.synthesizer.getEventOffset(this.events.getTime()));
+				}
+				if( type == TGSynthEventQueue.NOTE_ON ) {
+					processor.sendNoteOn(this.events.getData1(), this.events.getData2(), this.events.getVoice(), this.events.isBendMode());
+				} else if( type == TGSynthEventQueue.NOTE_OFF ) {
+					processor.sendNoteOff(this.events.getData1(), this.events.getData2(), this.events.getVoice(), this.events.isBendMode());
+				} else if( type == TGSynthEventQueue.PITCH_BEND ) {
+					processor.sendPitchBend(this.events.getData1(), this.events.getVoice(), this.events.isBendMode());
+				} else if( type == TGSynthEventQueue.CONTROL_CHANGE ) {
+					processor.sendControlChange(this.events.getData1(), this.events.getData2());
+				}
+			} else if( type == TGSynthEventQueue.PITCH_BEND ) {
+				this.pendingEvents.addPitchBend(this.events.getData1(), this.events.getVoice(), this.events.isBendMode());
+			} else if( type == TGSynthEventQueue.CONTROL_CHANGE ) {
+				this.pendingEvents.addControlChange(this.events.getData1(), this.events.getData2());
+			}
+			this.events.poll();
+		}
+		if( timedProcessor != null ) {
+			timedProcessor.setEventOffset(0);
+		}
+	}
+	
+	private void queueEvent(int type, int data1, int data2, int voice, boolean bendMode) {
+		this.events.push(type, data1, data2, voice, bendMode, this.synthesizer.getEventTime());
+	}
+	
+	public void sendNoteOn(int key, int velocity, int voice, boolean bendMode) throws MidiPlayerException {
+		this.queueEvent(TGSynthEventQueue.NOTE_ON, key, velocity, voice, bendMode);
+	}
+	
+	public void sendNoteOff(int key, int velocity, int voice, boolean bendMode) throws MidiPlayerException {
+		this.queueEvent(TGSynthEventQueue.NOTE_OFF, key, velocity, voice, bendMode);
 	}
 
 	public void sendPitchBend(int value, int voice, boolean bendMode) throws MidiPlayerException {
-		if( this.processor != null && this.processor.getProcessor() != null ) {
-			this.processor.getProcessor().sendPitchBend(value, voice, bendMode);
-		} else {
-			this.pendingEvents.addPitchBend(value, voice, bendMode);
-		}
+		this.queueEvent(TGSynthEventQueue.PITCH_BEND, value, 0, voice, bendMode);
 	}
 	
 	public void sendControlChange(int controller, int value) throws MidiPlayerException {
@@ -103,10 +141,8 @@ public class TGSynthChannel implements MidiChannel {
 						this.closeProcessor();
 					}
 				}
-			} else if( this.processor != null && this.processor.getProcessor() != null ) {
-				this.processor.getProcessor().sendControlChange(controller, value);
 			} else {
-				this.pendingEvents.addControlChange(controller, value);
+				this.queueEvent(TGSynthEventQueue.CONTROL_CHANGE, controller, value, 0, false);
 			}
 		}catch(Throwable throwable){
 			throw new MidiPlayerException(throwable.getMessage(), throwable);
@@ -126,10 +162,8 @@ public class TGSynthChannel implements MidiChannel {
 		}
 	}
 	
-	public void sendAllNotesOff() throws MidiPlayerException {		
-		if( this.processor != null && this.processor.getProcessor() != null ) {
-			this.processor.getProcessor().sendControlChange(MidiControllers.ALL_NOTES_OFF, 0);
-		}
+	public void sendAllNotesOff() throws MidiPlayerException {
+		this.queueEvent(TGSynthEventQueue.CONTROL_CHANGE, MidiControllers.ALL_NOTES_OFF, 0, 0, false);
 	}
 	
 	public void sendParameter(String key, String value) throws MidiPlayerException {
@@ -1,50 +1,214 @@
 package org.herac.tuxguitar.midi.synth;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
-import org.herac.tuxguitar.player.base.MidiPlayerException;
+import org.herac.tuxguitar.player.base.MidiControllers;
 
+/**
+ * Keeps the controller and pitch bend state received while the channel has no processor,
+ * only the last value of each one is replayed once a processor is available.
+ *
+ * The queue belongs to the audio thread, so its state lives in preallocated arrays and is
+ * never locked. Values are replayed in the order they were last received. Data entry controllers
+ * belong to the RPN or NRPN selected when they arrived, so each parameter is replayed as a group:
+ * its select controllers first, then its data entry values. The last selection is sent at the end.
+ * When more parameters than slots arrive, the oldest one is dropped.
+ */
 public class TGSynthChannelPendingQueue {
 	
-	private TGSynthChannel channel;
-	private List<MidiEvent> queue;
+	private static final int CONTROLLERS = 128;
+	private static final int VOICES = 16;
+	private static final int PARAMETERS = 16;
+	private static final int UNSET = -1;
 	
-	public TGSynthChannelPendingQueue(TGSynthChannel channel) {
-		this.channel = channel;
-		this.queue = new ArrayList<MidiEvent>();
+	private static final int DATA_INCREMENT = 96;
+	private static final int DATA_DECREMENT = 97;
+	private static final int NRPN_LSB = 98;
+	private static final int NRPN_MSB = 99;
+	
+	private static final int[] DATA_CONTROLLERS = new int[] { MidiControllers.DATA_ENTRY_MSB, MidiControllers.DATA_ENTRY_LSB, DATA_INCREMENT, DATA_DECREMENT };
+	
+	private static final int KEY_PITCH_BEND = CONTROLLERS;
+	private static final int KEY_PARAMETER = (KEY_PITCH_BEND + (VOICES * 2));
+	private static final int KEYS = (KEY_PARAMETER + PARAMETERS);
+	
+	private int[] values;
+	private boolean[] parameterRpn;
+	private int[] parameterMsb;
+	private int[] parameterLsb;
+	private int[] parameterData;
+	private boolean[] queued;
+	private int[] next;
+	private int[] previous;
+	private int first;
+	private int last;
+	private int selectMsb;
+	private int selectLsb;
+	private boolean selectRpn;
+	private boolean selected;
+	
+	public TGSynthChannelPendingQueue() {
+		this.values = new int[KEYS];
+		this.parameterRpn = new boolean[PARAMETERS];
+		this.parameterMsb = new int[PARAMETERS];
+		this.parameterLsb = new int[PARAMETERS];
+		this.parameterData = new int[PARAMETERS * DATA_CONTROLLERS.length];
+		this.queued = new boolean[KEYS];
+		this.next = new int[KEYS];
+		this.previous = new int[KEYS];
+		this.clear();
 	}
 	
 	public void clear() {
-		this.queue.clear();
+		Arrays.fill(this.queued, false);
+		this.first = UNSET;
+		this.last = UNSET;
+		this.selectMsb = UNSET;
+		this.selectLsb = UNSET;
+		this.selectRpn = true;
+		this.selected = false;
 	}
 	
-	public void dispatch() throws MidiPlayerException {
-		List<MidiEvent> events = new ArrayList<MidiEvent>(this.queue);
-		this.clear();
-		while(!events.isEmpty()) {
-			MidiEvent midiEvent = events.remove(0);
-			midiEvent.process(this.channel);
+	public boolean isEmpty() {
+		return (this.first == UNSET && !this.selected);
+	}
+	
+	public void dispatch(TGMidiProcessor processor) {
+		for(int key = this.first ; key != UNSET ; key = this.next[key]) {
+			if( key < KEY_PITCH_BEND ) {
+				processor.sendControlChange(key, this.values[key]);
+			}
+			else if( key < KEY_PARAMETER ) {
+				int index = (key - KEY_PITCH_BEND);
+				processor.sendPitchBend(this.values[key], (index / 2), ((index % 2) == 1));
+			}
+			else {
+				int slot = (key - KEY_PARAMETER);
+				sendSelection(processor, this.parameterRpn[slot], this.parameterMsb[slot], this.parameterLsb[slot]);
+				for(int i = 0 ; i < DATA_CONTROLLERS.length ; i ++) {
+					int value = this.parameterData[(slot * DATA_CONTROLLERS.length) + i];
+					if( value != UNSET ) {
+						processor.sendControlChange(DATA_CONTROLLERS[i], value);
+					}
+				}
+			}
+		}
+		if( this.selected ) {
+			sendSelection(processor, this.selectRpn, this.getSelectMsb(), this.getSelectLsb());
 		}
+		this.clear();
 	}
 	
-	public void addControlChange(final int controller, final int value) {
-		this.queue.add(new MidiEvent() {
-			public void process(TGSynthChannel channel) throws MidiPlayerException {
-				channel.sendControlChange(controller, value);
+	public void addControlChange(int controller, int value) {
+		if( controller == MidiControllers.RPN_MSB || controller == MidiControllers.RPN_LSB || controller == NRPN_MSB || controller == NRPN_LSB ) {
+			boolean rpn = (controller == MidiControllers.RPN_MSB || controller == MidiControllers.RPN_LSB);
+			if( this.selectRpn != rpn ) {
+				this.selectRpn = rpn;
+				this.selectMsb = UNSET;
+				this.selectLsb = UNSET;
 			}
-		});
+			if( controller == MidiControllers.RPN_MSB || controller == NRPN_MSB ) {
+				this.selectMsb = value;
+			} else {
+				this.selectLsb = value;
+			}
+			this.selected = true;
+		}
+		else if( this.selected && indexOfData(controller) >= 0 ) {
+			int slot = this.findParameter();
+			this.parameterData[(slot * DATA_CONTROLLERS.length) + indexOfData(controller)] = value;
+			this.queue(KEY_PARAMETER + slot);
+		}
+		else if( controller >= 0 && controller < CONTROLLERS ) {
+			this.values[controller] = value;
+			this.queue(controller);
+		}
+	}
+	
+	public void addPitchBend(int value, int voice, boolean bendMode) {
+		if( voice >= 0 && voice < VOICES ) {
+			int key = (KEY_PITCH_BEND + (voice * 2) + (bendMode ? 1 : 0));
+			this.values[key] = value;
+			this.queue(key);
+		}
 	}
 	
-	public void addPitchBend(final int value, final int voice, final boolean bendMode) throws MidiPlayerException {
-		this.queue.add(new MidiEvent() {
-			public void process(TGSynthChannel channel) throws MidiPlayerException {
-				channel.sendPitchBend(value, voice, bendMode);
+	private int findParameter() {
+		int msb = this.getSelectMsb();
+		int lsb = this.getSelectLsb();
+		int slot = UNSET;
+		for(int i = 0 ; i < PARAMETERS ; i ++) {
+			if( this.queued[KEY_PARAMETER + i] ) {
+				if( this.parameterRpn[i] == this.selectRpn && this.parameterMsb[i] == msb && this.parameterLsb[i] == lsb ) {
+					return i;
+				}
+			} else if( slot == UNSET ) {
+				slot = i;
 			}
-		});
+		}
+		if( slot == UNSET ) {
+			for(int key = this.first ; key != UNSET && slot == UNSET ; key = this.next[key]) {
+				if( key >= KEY_PARAMETER ) {
+					slot = (key - KEY_PARAMETER);
+					this.unlink(key);
+				}
+			}
+		}
+		this.parameterRpn[slot] = this.selectRpn;
+		this.parameterMsb[slot] = msb;
+		this.parameterLsb[slot] = lsb;
+		Arrays.fill(this.parameterData, (slot * DATA_CONTROLLERS.length), ((slot + 1) * DATA_CONTROLLERS.length), UNSET);
+		return slot;
+	}
+	
+	private void queue(int key) {
+		if( this.queued[key] ) {
+			this.unlink(key);
+		}
+		this.queued[key] = true;
+		this.previous[key] = this.last;
+		this.next[key] = UNSET;
+		if( this.last != UNSET ) {
+			this.next[this.last] = key;
+		} else {
+			this.first = key;
+		}
+		this.last = key;
 	}
 	
-	private interface MidiEvent {
-		void process(TGSynthChannel channel) throws MidiPlayerException;
+	private void unlink(int key) {
+		if( this.previous[key] != UNSET ) {
+			this.next[this.previous[key]] = this.next[key];
+		} else {
+			this.first = this.next[key];
+		}
+		if( this.next[key] != UNSET ) {
+			this.previous[this.next[key]] = this.previous[key];
+		} else {
+			this.last = this.previous[key];
+		}
+		this.queued[key] = false;
+	}
+	
+	private int getSelectMsb() {
+		return (this.selectMsb != UNSET ? this.selectMsb : 127);
+	}
+	
+	private int getSelectLsb() {
+		return (this.selectLsb != UNSET ? this.selectLsb : 127);
+	}
+	
+	private static void sendSelection(TGMidiProcessor processor, boolean rpn, int msb, int lsb) {
+		processor.sendControlChange((rpn ? MidiControllers.RPN_MSB : NRPN_MSB), msb);
+		processor.sendControlChange((rpn ? MidiControllers.RPN_LSB : NRPN_LSB), lsb);
+	}
+	
+	private static int indexOfData(int controller) {
+		for(int i = 0 ; i < DATA_CONTROLLERS.length ; i ++) {
+			if( DATA_CONTROLLERS[i] == controller ) {
+				return i;
+			}
+		}
+		return -1;
 	}
 }
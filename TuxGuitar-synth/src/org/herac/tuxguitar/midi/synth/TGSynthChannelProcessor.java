@@ -23,16 +23,24 @@ public class TGSynthChannelProcessor {
 	}
 	
 	public void open(TGContext context, TGProgram program) {
+		this.open(context, program, true);
+	}
+	
+	public void open(TGContext context, TGProgram program, boolean shareable) {
 		synchronized (this.lock) {
 			this.processor = null;
 			this.outputs.clear();
 			this.closeOrphanProcessors(program);
-			this.openReceiver(context, program.getReceiver());
+			this.openReceiver(context, program.getReceiver(), (shareable && program.countOutputs() == 0));
 			this.openOutputs(context, program);
 		}
 	}
 	
 	public void openReceiver(TGContext context, TGProgramElement receiver) {
+		this.openReceiver(context, receiver, false);
+	}
+	
+	public void openReceiver(TGContext context, TGProgramElement receiver, boolean shareable) {
 		synchronized (this.lock) {
 			TGMidiProcessor processor = (TGMidiProcessor) this.getAudioProcessor(receiver);
 			if( processor == null || !processor.isOpen()) {
@@ -42,6 +50,9 @@ public class TGSynthChannelProcessor {
 					processor = factory.createProcessor();
 				}
 			}
+			if( processor instanceof TGSharedMidiProcessor ) {
+				((TGSharedMidiProcessor) processor).setShareable(shareable);
+			}
 			if( processor != null ) {
 				this.setMidiProcessor(receiver, processor);
 			}
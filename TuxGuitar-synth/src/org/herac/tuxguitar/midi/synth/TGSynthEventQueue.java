@@ -0,0 +1,103 @@
+package org.herac.tuxguitar.midi.synth;
+
+/**
+ * Preallocated ring buffer that carries midi events from the sequencer to the audio thread.
+ *
+ * The audio thread is the only consumer and never blocks. Producers are serialized by a lock,
+ * in practice there is a single one (the sequencer) and the lock is never contended.
+ */
+public class TGSynthEventQueue {
+	
+	public static final int NOTE_ON = 1;
+	public static final int NOTE_OFF = 2;
+	public static final int PITCH_BEND = 3;
+	public static final int CONTROL_CHANGE = 4;
+	
+	private static final int DEFAULT_CAPACITY = 4096;
+	
+	private int mask;
+	private int[] types;
+	private int[] data1;
+	private int[] data2;
+	private int[] voices;
+	private boolean[] bendModes;
+	private long[] times;
+	
+	private volatile long head;
+	private volatile long tail;
+	private long droppedEvents;
+	private Object lock;
+	
+	public TGSynthEventQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public TGSynthEventQueue(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.mask = (size - 1);
+		this.types = new int[size];
+		this.data1 = new int[size];
+		this.data2 = new int[size];
+		this.voices = new int[size];
+		this.bendModes = new boolean[size];
+		this.times = new long[size];
+		this.lock = new Object();
+	}
+	
+	public boolean push(int type, int data1, int data2, int voice, boolean bendMode, long time) {
+		synchronized (this.lock) {
+			long tail = this.tail;
+			if( tail - this.head > this.mask ) {
+				this.droppedEvents ++;
+				return false;
+			}
+			int index = (int) (tail & this.mask);
+			this.types[index] = type;
+			this.data1[index] = data1;
+			this.data2[index] = data2;
+			this.voices[index] = voice;
+			this.bendModes[index] = bendMode;
+			this.times[index] = time;
+			this.tail = (tail + 1);
+			return true;
+		}
+	}
+	
+	public boolean isEmpty() {
+		return (this.head == this.tail);
+	}
+	
+	public void poll() {
+		this.head = (this.head + 1);
+	}
+	
+	public int getType() {
+		return this.types[(int) (this.head & this.mask)];
+	}
+	
+	public int getData1() {
+		return this.data1[(int) (this.head & this.mask)];
+	}
+	
+	public int getData2() {
+		return this.data2[(int) (this.head & this.mask)];
+	}
+	
+	public int getVoice() {
+		return this.voices[(int) (this.head & this.mask)];
+	}
+	
+	public boolean isBendMode() {
+		return this.bendModes[(int) (this.head & this.mask)];
+	}
+	
+	public long getTime() {
+		return this.times[(int) (this.head & this.mask)];
+	}
+	
+	public long getDroppedEvents() {
+		synchronized (this.lock) {
+			return this.droppedEvents;
+		}
+	}
+}
@@ -91,6 +91,23 @@ public class TGSynthModel implements MidiSynthesizer{
 		return null;
 	}
 	
+	public long getEventTime() {
+		return 0;
+	}
+	
+	public int getEventOffset(long eventTime) {
+		return 0;
+	}
+	
+	public void startBlock() {
+		// offline rendering applies every event at the start of the block
+	}
+	
+	public boolean isShareable() {
+		// offline renders must not lease channels of engines used by the live synthesizer
+		return false;
+	}
+	
 	public TGContext getContext() {
 		return context;
 	}
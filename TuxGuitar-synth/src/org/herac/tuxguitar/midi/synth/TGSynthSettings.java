@@ -6,8 +6,14 @@ import org.herac.tuxguitar.util.configuration.TGConfigManager;
 public class TGSynthSettings {
 	
 	private static final Integer DEFAULT_AUDIO_BUFFER_SIZE = 10;
+	private static final Integer DEFAULT_AUDIO_BUFFER_MIN_SIZE = 2;
+	private static final Integer DEFAULT_AUDIO_BUFFER_MAX_SIZE = 40;
+	private static final Boolean DEFAULT_AUDIO_BUFFER_ADAPTIVE = true;
 	
 	private static final String AUDIO_BUFFER_SIZE = "synth.audio.buffer.size";
+	private static final String AUDIO_BUFFER_MIN_SIZE = "synth.audio.buffer.min-size";
+	private static final String AUDIO_BUFFER_MAX_SIZE = "synth.audio.buffer.max-size";
+	private static final String AUDIO_BUFFER_ADAPTIVE = "synth.audio.buffer.adaptive";
 	private static final String MIDI_PROGRAM_PREFIX = "synth.program";
 	
 	private TGContext context;
@@ -48,4 +54,16 @@ public class TGSynthSettings {
 	public Integer getAudioBufferSize() {
 		return this.getConfig().getIntegerValue(AUDIO_BUFFER_SIZE, DEFAULT_AUDIO_BUFFER_SIZE);
 	}
+	
+	public Integer getAudioBufferMinSize() {
+		return this.getConfig().getIntegerValue(AUDIO_BUFFER_MIN_SIZE, DEFAULT_AUDIO_BUFFER_MIN_SIZE);
+	}
+	
+	public Integer getAudioBufferMaxSize() {
+		return this.getConfig().getIntegerValue(AUDIO_BUFFER_MAX_SIZE, DEFAULT_AUDIO_BUFFER_MAX_SIZE);
+	}
+	
+	public Boolean isAudioBufferAdaptive() {
+		return this.getConfig().getBooleanValue(AUDIO_BUFFER_ADAPTIVE, DEFAULT_AUDIO_BUFFER_ADAPTIVE);
+	}
 }
@@ -4,28 +4,37 @@ public class TGSynthThread implements Runnable {
 	
 	private boolean running;
 	private boolean finished;
+	private Object lock;
 	private TGSynthesizer synthesizer;
 	
 	public TGSynthThread(TGSynthesizer synthesizer) {
 		this.synthesizer = synthesizer;
 		this.finished = true;
+		this.lock = new Object();
 	}
 	
 	public void run() {
+		TGAudioLine audioLine = null;
 		try {
-			this.finished = false;
-			
 			TGAudioSync audioSync = new TGAudioSync();
-			TGAudioLine audioLine = new TGAudioLine(this.synthesizer);
 			TGAudioBufferProcessor audioProcessor = new TGAudioBufferProcessor(this.synthesizer);
 			
+			audioLine = new TGAudioLine(this.synthesizer);
 			while(this.isRunning()) {
+				long start = System.nanoTime();
 				audioProcessor.process();
-				audioLine.write(audioProcessor.getBuffer());
-				audioSync.sync();
+				audioLine.write(audioProcessor.getBuffer(), System.nanoTime() - start);
+				audioSync.sync(audioLine);
 			}
 		} finally {
-			this.finished = true;
+			if( audioLine != null ) {
+				audioLine.close();
+			}
+			synchronized (this.lock) {
+				this.running = false;
+				this.finished = true;
+				this.lock.notifyAll();
+			}
 		}
 	}
 	
@@ -37,26 +46,40 @@ public class TGSynthThread implements Runnable {
 	}
 	
 	private void waitThread(){
-		while(!this.finished ){
-			Thread.yield();
+		synchronized (this.lock) {
+			while(!this.finished ){
+				try {
+					this.lock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
 		}
 	}
 	
 	public void start(){
-		if( this.finished ) {
-			this.running = true;
-			this.startThread();
+		synchronized (this.lock) {
+			if( this.finished ) {
+				this.finished = false;
+				this.running = true;
+				this.startThread();
+			}
 		}
 	}
 	
 	public void stop(){
-		if(!this.finished ) {
-			this.running = false;
-			this.waitThread();
+		synchronized (this.lock) {
+			if(!this.finished ) {
+				this.running = false;
+			}
 		}
+		this.waitThread();
 	}
 	
 	public boolean isRunning(){
-		return this.running;
+		synchronized (this.lock) {
+			return this.running;
+		}
 	}
 }
@@ -5,13 +5,19 @@ import org.herac.tuxguitar.util.TGContext;
 
 public class TGSynthesizer extends TGSynthModel {
 	
+	private static final int BLOCK_FRAMES = (TGAudioBuffer.BUFFER_SIZE / 2);
+	
 	private TGSynthThread synthesizerThread;
 	private TGSynthSettings settings;
+	private TGAudioMetrics audioMetrics;
+	private volatile long blockTime;
+	private long previousBlockTime;
 	
 	public TGSynthesizer(TGContext context) {
 		super(context);
 		
 		this.settings = new TGSynthSettings(context);
+		this.audioMetrics = new TGAudioMetrics();
 		this.synthesizerThread = new TGSynthThread(this);
 	}
 	
@@ -21,6 +27,7 @@ public class TGSynthesizer extends TGSynthModel {
 	
 	public void open() throws MidiPlayerException{
 		this.settings.loadPrograms(this);
+		this.audioMetrics.reset();
 		this.synthesizerThread.start();
 	}
 	
@@ -31,7 +38,33 @@ public class TGSynthesizer extends TGSynthModel {
 		}
 	}
 	
+	public long getEventTime() {
+		return System.nanoTime();
+	}
+	
+	public int getEventOffset(long eventTime) {
+		// events received while the previous block was playing keep their spacing inside the next one.
+		if( this.previousBlockTime == 0 || eventTime <= this.previousBlockTime ) {
+			return 0;
+		}
+		long offset = Math.round((eventTime - this.previousBlockTime) * (TGAudioBuffer.SAMPLE_RATE / 1000000000.0));
+		return (int) Math.min(offset, BLOCK_FRAMES - 1);
+	}
+	
+	public void startBlock() {
+		this.previousBlockTime = this.blockTime;
+		this.blockTime = System.nanoTime();
+	}
+	
+	public boolean isShareable() {
+		return true;
+	}
+	
 	public TGSynthSettings getSettings() {
 		return settings;
 	}
+	
+	public TGAudioMetrics getAudioMetrics() {
+		return audioMetrics;
+	}
 }
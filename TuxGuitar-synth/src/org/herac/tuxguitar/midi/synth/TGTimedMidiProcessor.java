@@ -0,0 +1,10 @@
+package org.herac.tuxguitar.midi.synth;
+
+/**
+ * A midi processor able to apply events inside a rendered block.
+ * The offset, in frames from the start of the next block, applies to the events sent after it.
+ */
+public interface TGTimedMidiProcessor extends TGMidiProcessor {
+	
+	void setEventOffset(int offset);
+}
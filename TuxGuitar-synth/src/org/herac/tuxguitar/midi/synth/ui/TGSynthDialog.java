@@ -23,6 +23,7 @@ import org.herac.tuxguitar.editor.action.channel.TGUpdateChannelAction;
 import org.herac.tuxguitar.editor.event.TGUpdateEvent;
 import org.herac.tuxguitar.event.TGEvent;
 import org.herac.tuxguitar.event.TGEventListener;
+import org.herac.tuxguitar.midi.synth.TGAudioMetrics;
 import org.herac.tuxguitar.midi.synth.TGAudioProcessor;
 import org.herac.tuxguitar.midi.synth.TGProgram;
 import org.herac.tuxguitar.midi.synth.TGProgramElement;
@@ -35,6 +36,8 @@ import org.herac.tuxguitar.song.factory.TGFactory;
 import org.herac.tuxguitar.song.models.TGChannel;
 import org.herac.tuxguitar.song.models.TGChannelParameter;
 import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.thread.TGThreadLoop;
+import org.herac.tuxguitar.thread.TGThreadManager;
 import org.herac.tuxguitar.ui.UIFactory;
 import org.herac.tuxguitar.ui.event.UIDisposeEvent;
 import org.herac.tuxguitar.ui.event.UIDisposeListener;
@@ -58,6 +61,8 @@ import org.herac.tuxguitar.util.TGSynchronizer;
 
 public class TGSynthDialog implements TGChannelSettingsDialog, TGEventListener {
 	
+	private static final Long METRICS_INTERVAL = 1000l;
+	
 	private TGContext context;
 	private TGSynthesizer synthesizer;
 	private TGChannel channel;
@@ -71,10 +76,12 @@ public class TGSynthDialog implements TGChannelSettingsDialog, TGEventListener {
 	private UIButton buttonOutputDelete;
 	private UIReadOnlyTextField receiver;
 	private UITable<TGProgramElement> outputs;
+	private UILabel metrics;
 	
 	private TGProcess loadPropertiesProcess;
 	private TGProcess loadIconsProcess;
 	private TGProcess updateProcess;
+	private TGProcess loadMetricsProcess;
 	
 	private Map<TGAudioProcessor, TGAudioProcessorUI> processorsUI;
 	
@@ -169,9 +176,14 @@ public class TGSynthDialog implements TGChannelSettingsDialog, TGEventListener {
 		outputsButtonsLayout.set(this.buttonOutputDelete, 2, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_TOP, false, false);
 		outputsButtonsLayout.set(this.buttonOutputEdit, 3, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_BOTTOM, false, true);
 		
+		// ----------------------------------------------------------------------
+		this.metrics = uiFactory.createLabel(this.dialog);
+		dialogLayout.set(this.metrics, 3, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_CENTER, true, false);
+		
 		this.loadIcons();
 		this.loadProperties();
 		this.updateItems();
+		this.startMetricsLoop();
 		
 		this.addListeners();
 		this.dialog.addDisposeListener(new UIDisposeListener() {
@@ -548,6 +560,31 @@ public class TGSynthDialog implements TGChannelSettingsDialog, TGEventListener {
 		}
 	}
 	
+	public void loadMetrics(){
+		if( this.isOpen()){
+			TGAudioMetrics audioMetrics = this.synthesizer.getAudioMetrics();
+			this.metrics.setText(TuxGuitar.getProperty("synth-host.ui.audio.metrics", new String[] {
+				Long.toString(audioMetrics.getLatency() / 1000000),
+				Integer.toString(audioMetrics.getBufferBlocks()),
+				Long.toString(audioMetrics.getUnderruns()),
+				Long.toString(audioMetrics.getAverageRenderTime() / 1000)
+			}));
+		}
+	}
+	
+	public void startMetricsLoop(){
+		TGThreadManager.getInstance(this.context).loop(new TGThreadLoop() {
+			public Long process() {
+				if(!isOpen()) {
+					return BREAK;
+				}
+				loadMetricsProcess.process();
+				
+				return METRICS_INTERVAL;
+			}
+		});
+	}
+	
 	public void loadIcons(){
 		if( this.isOpen()){
 			this.buttonReceiverAdd.setImage(TGIconManager.getInstance(this.synthesizer.getContext()).getListAdd());
@@ -580,6 +617,11 @@ public class TGSynthDialog implements TGChannelSettingsDialog, TGEventListener {
 				loadProperties();
 			}
 		});
+		this.loadMetricsProcess = new TGSyncProcess(this.context, new Runnable() {
+			public void run() {
+				loadMetrics();
+			}
+		});
 	}
 	
 	public void processUpdateEvent(TGEvent event) {
@@ -3,8 +3,6 @@ package org.herac.tuxguitar.app.tools.custom.tuner;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.TargetDataLine;
 
-import craigl.spectrumanalyzer.FFT;
-
 
 /**
  * @author Nikola Kolarovic <nikola.kolarovic at gmail.com>
@@ -26,13 +24,9 @@ public class TGTuner extends Thread {
 	protected TargetDataLine dataLine;
 	protected TGTunerQueue queue;
 	
-	//static final int LOG2_FFTSIZE = 14;
-	//protected int FFT_SIZE; 
-	protected FFT fft;
-	protected double[] ar;
-	protected double[] ai;
+	protected TGTunerAnalyzer analyzer;
 	protected byte[] data;
-	protected double rate;
+	protected int hopSize;
 	
 	protected double maximumFrequency;
 	protected double minimumFrequency;
@@ -55,12 +49,6 @@ public class TGTuner extends Thread {
 
 
 	public void run() {
-		
-		// TODO: remove this benchmark
-		int cycles=0;
-		long timePassed=0;
-		
-		
 		if (this.dataLine!=null) {
 			this.openDataLine();
 		}
@@ -70,65 +58,21 @@ public class TGTuner extends Thread {
 			if (!this.paused && this.dataLine.isOpen()) {
 				 synchronized(this) {
 				
-					// read from the input
-					this.dataLine.read(this.data,0,this.settings.getBufferSize());
-					
-					// preapare the arrays for FFT
-					for (int i=0; i<this.settings.getBufferSize(); i++) {
-						this.ar[i] = this.data[i]; // implicit cast to double
-						this.ai[i] = 0.0f;
-					}
-					
-					// when buffer size is smaller than FFT_SIZE 
-					for (int i=this.settings.getBufferSize(); i<this.settings.getFFTSize(); i++) {
-						this.ar[i] = 0.0f;
-						this.ai[i] = 0.0f;
-					}
-					
-					/////////////////////////////////////////////////////////////
-					// TODO: look at the benchmark, uncoment the other one and comment the first one
-					cycles++;
-					long startTime = System.currentTimeMillis();
-					
-					if (this.fft!=null)
-						this.fft.doFFT(this.ar, this.ai, false);
-					//TGTuner.computeFFT(1, this.settings.getFFTSize(), this.ar, this.ai);
-					
-					timePassed+=System.currentTimeMillis()-startTime;
-					/////////////////////////////////////////////////////////////
-					
+					// read what arrived since the last cycle, at least one hop, and slide the analysis window.
+					// the line is not flushed anymore, the window keeps the previous samples.
+					int length = Math.max(this.hopSize, Math.min(this.data.length, this.dataLine.available()));
+					length -= (length % this.analyzer.getFrameSize());
+					length = this.dataLine.read(this.data, 0, length);
+					this.analyzer.addSamples(this.data, length);
 					
 					// ------ determine the dominant frequency -------
-					double frequency = -1;
-					double maxAmplitude = this.settings.getThreshold(); // noise gate
-					
-					
-					// TODO: maybe to analyze only the data around the area of interest
-					// start has to be at least 1, because we want to skip the DC component!
-					
-					//for (int i=0; i<this.settings.getFFTSize(); i++) {
-					for (int i=(int)Math.round(this.minimumFrequency / this.rate); i < Math.round(this.maximumFrequency / this.rate); i++) {
-						double curFreq = i * this.rate;
-						// z = x*i + y*j  // power = |z| = sqrt(x^2 + y^2)
-						double power = Math.sqrt(Math.pow(this.ar[i], 2) + Math.pow(this.ai[i], 2));
-						
-						if (power > maxAmplitude) {
-							maxAmplitude = power;
-							frequency = curFreq;
-						}
-						
-					}
-					
-					//System.out.println("Max Amplitude: "+maxAmplitude);
+					double frequency = this.analyzer.findFrequency(this.minimumFrequency, this.maximumFrequency, this.settings.getThreshold());
 					
 					//** buffer the frequency
 					this.queue.add(frequency);
 					
 					// fire the frequency event on GUI
 					this.mainWindow.fireFrequency(this.queue.getFreqApproximation());
-					
-					// flush the dataline, so the new data is received
-					this.dataLine.flush();
 			
 				 }  // end of synchronized block
 			}
@@ -143,29 +87,18 @@ public class TGTuner extends Thread {
 		
 		
 		this.closeDataLine();
-		System.out.println(" Average FFT time: "+(double)timePassed/(double)cycles);
-		
 	}
 	
 	
 	protected void computeFFTParams() {
 		if (this.settings!=null) {
 			
-			    int number = this.settings.getFFTSize(), log=0;
-				for (int i=0; i<20; i++) { // count log2
-					number/=2;
-					if (number < 1) {
-						this.fft = new FFT(log); // instantiate proper FFT alrgorithm
-						break;
-					}
-					log++;
-				}
-				this.data = new byte[this.settings.getBufferSize()]; // data buffer
-				this.ar = new double[this.settings.getFFTSize()]; // create real array for FFT
-				this.ai = new double[this.settings.getFFTSize()]; // create imaginary array for FFT
+				int frameSize = Math.max(1, this.settings.getSampleSize() / 8);
+				int windowSize = this.settings.getBufferSize() / frameSize;
 				
-				// TODO: rate is maybe not the best /2 ?
-				this.rate = ((double) this.settings.getSampleRate()) / this.settings.getFFTSize();
+				this.analyzer = new TGTunerAnalyzer(this.settings.getFFTSize(), windowSize, this.settings.getSampleSize(), this.settings.getSampleRate());
+				this.data = new byte[this.settings.getBufferSize()]; // data buffer
+				this.hopSize = Math.max(frameSize, this.settings.getBufferSize() / 4); // a quarter of the window is read per cycle at least
 		}
 	}
 
@@ -181,6 +114,15 @@ public class TGTuner extends Thread {
 	public void resumeFromPause() {
 			this.paused = false;
 			this.queue.clear();
+			synchronized(this) {
+				// drop what was captured before the pause
+				if (this.analyzer!=null) {
+					this.analyzer.clear();
+				}
+				if (this.dataLine!=null) {
+					this.dataLine.flush();
+				}
+			}
 	}
 
 
@@ -247,57 +189,6 @@ public class TGTuner extends Thread {
 	}
 	
 	
-	 public static void computeFFT(int sign, int n, double[] ar, double[] ai)
-	   {
-	      double scale = 2.0 / n;
-	      int i, j;
-	      for(i = j = 0; i < n; ++i)
-	      {
-	         if (j >= i)
-	         {
-	            double tempr = ar[j] * scale;
-	            double tempi = ai[j] * scale;
-	            ar[j] = ar[i] * scale;
-	            ai[j] = ai[i] * scale;
-	            ar[i] = tempr;
-	            ai[i] = tempi;
-	         }
-	         int m = n/2;
-	         while ((m >= 1) && (j >= m))
-	         {
-	            j -= m;
-	            m /= 2;
-	         }
-	         j += m;
-	      }
-	      int mmax, istep;
-	      for(mmax = 1, istep = 2 * mmax; mmax < n; mmax = istep, istep = 2 * mmax)
-	      {
-	         double delta = sign * Math.PI / mmax;
-	         for(int m = 0; m < mmax; ++m)
-	         {
-	            double w = m * delta;
-	            double wr = Math.cos(w);
-	            double wi = Math.sin(w);
-	            for(i = m; i < n; i += istep)
-	            {
-	               j = i + mmax;
-	               double tr = wr * ar[j] - wi * ai[j];
-	               double ti = wr * ai[j] + wi * ar[j];
-	               ar[j] = ar[i] - tr;
-	               ai[j] = ai[i] - ti;
-	               ar[i] += tr;
-	               ai[i] += ti;
-	            }
-	         }
-	         mmax = istep;
-	      }
-	   }
-	
-
-	 
-	 
-	 
 	 static class TGTunerException extends Exception {
 
 		private static final long serialVersionUID = -1860514279319403845L;
@@ -0,0 +1,151 @@
+package org.herac.tuxguitar.app.tools.custom.tuner;
+
+/**
+ * Finds the dominant frequency of the incoming signal.
+ *
+ * Samples are appended to a sliding window, so every analysis covers the last
+ * window of input while only the new samples are converted. The window is
+ * weighted, zero padded to the FFT size and its power spectrum searched with a
+ * harmonic product spectrum, which favours the fundamental over louder overtones.
+ */
+public class TGTunerAnalyzer {
+	
+	private static final int HARMONICS = 3;
+	private static final double MINIMUM_PEAK_RATIO = 0.01;
+	
+	private TGTunerFFT fft;
+	private int bytesPerSample;
+	private double binWidth;
+	private double[] history;
+	private int historyPosition;
+	private double[] weights;
+	private double[] input;
+	private double[] power;
+	
+	public TGTunerAnalyzer(int fftSize, int windowSize, int sampleSize, double sampleRate) {
+		this.fft = new TGTunerFFT(fftSize);
+		this.bytesPerSample = Math.max(1, sampleSize / 8);
+		this.binWidth = (sampleRate / fftSize);
+		this.history = new double[Math.min(windowSize, fftSize)];
+		this.input = new double[fftSize];
+		this.power = new double[fftSize / 2 + 1];
+		
+		// hann window, scaled to unity gain so the noise gate keeps its meaning
+		this.weights = new double[this.history.length];
+		for(int i = 0; i < this.weights.length; i ++) {
+			this.weights[i] = (1.0 - Math.cos(2.0 * Math.PI * i / this.weights.length));
+		}
+	}
+	
+	public int getFrameSize() {
+		return this.bytesPerSample;
+	}
+	
+	/**
+	 * Appends signed little endian samples to the window. 16 bit samples are
+	 * scaled to the 8 bit range.
+	 */
+	public void addSamples(byte[] data, int length) {
+		for(int i = 0; i + this.bytesPerSample <= length; i += this.bytesPerSample) {
+			double sample;
+			if( this.bytesPerSample == 1 ) {
+				sample = data[i];
+			} else {
+				sample = (((data[i + this.bytesPerSample - 1] << 8) | (data[i + this.bytesPerSample - 2] & 0xff)) / 256.0);
+			}
+			this.history[this.historyPosition] = sample;
+			this.historyPosition = ((this.historyPosition + 1) % this.history.length);
+		}
+	}
+	
+	public void clear() {
+		for(int i = 0; i < this.history.length; i ++) {
+			this.history[i] = 0;
+		}
+		this.historyPosition = 0;
+	}
+	
+	/**
+	 * @return the dominant frequency between minimum and maximum, or -1 when no bin
+	 * reaches the threshold magnitude.
+	 */
+	public double findFrequency(double minimum, double maximum, double threshold) {
+		int length = this.history.length;
+		for(int i = 0, j = this.historyPosition; i < length; i ++) {
+			this.input[i] = (this.history[j] * this.weights[i]);
+			if( ++ j == length ) {
+				j = 0;
+			}
+		}
+		this.fft.power(this.input, this.power);
+		
+		int last = (this.power.length - 1);
+		int from = Math.max(1, (int) Math.round(minimum / this.binWidth));
+		int to = Math.min(last, (int) Math.round(maximum / this.binWidth));
+		
+		// a fundamental is a spectral peak too, not just a bin whose multiples are loud,
+		// so bins 20dB below the loudest one are skipped to avoid subharmonic readings.
+		double loudest = 0;
+		for(int k = from; k <= Math.min(last, to * HARMONICS); k ++) {
+			loudest = Math.max(loudest, this.power[k]);
+		}
+		double floor = (loudest * MINIMUM_PEAK_RATIO);
+		
+		int peak = -1;
+		double peakProduct = 0;
+		for(int k = from; k < to; k ++) {
+			if( this.power[k] < floor ) {
+				continue;
+			}
+			double product = this.power[k];
+			for(int h = 2; h <= HARMONICS && (h * k) <= last; h ++) {
+				product *= this.power[h * k];
+			}
+			if( product > peakProduct ) {
+				peakProduct = product;
+				peak = k;
+			}
+		}
+		if( peak < 0 || !this.isAudible(peak, threshold * threshold) ) {
+			return -1;
+		}
+		return (this.interpolate(peak) * this.binWidth);
+	}
+	
+	private boolean isAudible(int bin, double threshold) {
+		int last = (this.power.length - 1);
+		for(int h = 1; h <= HARMONICS && (h * bin) <= last; h ++) {
+			if( this.power[h * bin] > threshold ) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private double interpolate(int bin) {
+		// the product peak may sit beside the power peak of the fundamental
+		int last = (this.power.length - 1);
+		while( bin > 1 && this.power[bin - 1] > this.power[bin] ) {
+			bin --;
+		}
+		while( bin < last && this.power[bin + 1] > this.power[bin] ) {
+			bin ++;
+		}
+		// parabola through the log power of the peak and its neighbours
+		if( bin > 0 && bin < last ) {
+			double left = this.power[bin - 1];
+			double center = this.power[bin];
+			double right = this.power[bin + 1];
+			if( left > 0 && center > 0 && right > 0 ) {
+				double a = Math.log(left);
+				double b = Math.log(center);
+				double c = Math.log(right);
+				double denominator = (a - 2 * b + c);
+				if( denominator < 0 ) {
+					return (bin + 0.5 * (a - c) / denominator);
+				}
+			}
+		}
+		return bin;
+	}
+}
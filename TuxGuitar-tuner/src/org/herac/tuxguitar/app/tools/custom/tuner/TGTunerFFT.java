@@ -0,0 +1,106 @@
+package org.herac.tuxguitar.app.tools.custom.tuner;
+
+/**
+ * Forward FFT of real input.
+ *
+ * The n real samples are packed as n/2 complex values, transformed with a half size
+ * complex FFT and split back into the n/2+1 bins of the real spectrum. Bit reversal
+ * and twiddle factors are computed once per size.
+ */
+public class TGTunerFFT {
+	
+	private int size;
+	private int half;
+	private int[] bitreverse;
+	private double[] cos;
+	private double[] sin;
+	private double[] splitCos;
+	private double[] splitSin;
+	private double[] re;
+	private double[] im;
+	
+	public TGTunerFFT(int size) {
+		if( size < 4 || (size & (size - 1)) != 0 ) {
+			throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+		}
+		this.size = size;
+		this.half = (size / 2);
+		this.re = new double[this.half];
+		this.im = new double[this.half];
+		
+		int bits = Integer.numberOfTrailingZeros(this.half);
+		this.bitreverse = new int[this.half];
+		for(int i = 0; i < this.half; i ++) {
+			this.bitreverse[i] = (Integer.reverse(i) >>> (32 - bits));
+		}
+		
+		this.cos = new double[this.half / 2];
+		this.sin = new double[this.half / 2];
+		for(int i = 0; i < this.cos.length; i ++) {
+			double angle = (2.0 * Math.PI * i / this.half);
+			this.cos[i] = Math.cos(angle);
+			this.sin[i] = -Math.sin(angle);
+		}
+		
+		this.splitCos = new double[this.half];
+		this.splitSin = new double[this.half];
+		for(int i = 0; i < this.half; i ++) {
+			double angle = (2.0 * Math.PI * i / this.size);
+			this.splitCos[i] = Math.cos(angle);
+			this.splitSin[i] = -Math.sin(angle);
+		}
+	}
+	
+	public int getSize() {
+		return this.size;
+	}
+	
+	/**
+	 * Computes the power spectrum of the input, scaled as (|X[k]| / n)^2.
+	 *
+	 * @param input n real samples, left untouched.
+	 * @param power n/2+1 bins, overwritten.
+	 */
+	public void power(double[] input, double[] power) {
+		double[] re = this.re;
+		double[] im = this.im;
+		for(int i = 0; i < this.half; i ++) {
+			int j = this.bitreverse[i];
+			re[j] = input[2 * i];
+			im[j] = input[2 * i + 1];
+		}
+		
+		for(int length = 2; length <= this.half; length <<= 1) {
+			int span = (length >> 1);
+			int step = (this.half / length);
+			for(int block = 0; block < this.half; block += length) {
+				for(int i = 0, t = 0; i < span; i ++, t += step) {
+					int a = (block + i);
+					int b = (a + span);
+					double tr = (re[b] * this.cos[t] - im[b] * this.sin[t]);
+					double ti = (re[b] * this.sin[t] + im[b] * this.cos[t]);
+					re[b] = (re[a] - tr);
+					im[b] = (im[a] - ti);
+					re[a] += tr;
+					im[a] += ti;
+				}
+			}
+		}
+		
+		double scale = (1.0 / ((double) this.size * this.size));
+		double dc = (re[0] + im[0]);
+		double nyquist = (re[0] - im[0]);
+		power[0] = (dc * dc * scale);
+		power[this.half] = (nyquist * nyquist * scale);
+		for(int k = 1; k < this.half; k ++) {
+			int m = (this.half - k);
+			double evenRe = (re[k] + re[m]) * 0.5;
+			double evenIm = (im[k] - im[m]) * 0.5;
+			double oddRe = (im[k] + im[m]) * 0.5;
+			double oddIm = (re[m] - re[k]) * 0.5;
+			double xr = (evenRe + oddRe * this.splitCos[k] - oddIm * this.splitSin[k]);
+			double xi = (evenIm + oddRe * this.splitSin[k] + oddIm * this.splitCos[k]);
+			power[k] = ((xr * xr + xi * xi) * scale);
+		}
+	}
+}
@@ -13,12 +13,12 @@ import org.herac.tuxguitar.ui.chooser.UIFontChooser;
 import org.herac.tuxguitar.ui.chooser.UIPrinterChooser;
 import org.herac.tuxguitar.ui.menu.UIMenuBar;
 import org.herac.tuxguitar.ui.menu.UIPopupMenu;
+import org.herac.tuxguitar.ui.resource.UIAlphaImageFactory;
 import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIColorModel;
 import org.herac.tuxguitar.ui.resource.UIFont;
 import org.herac.tuxguitar.ui.resource.UIFontModel;
 import org.herac.tuxguitar.ui.resource.UIImage;
-import org.herac.tuxguitar.ui.resource.UIResourceFactory;
 import org.herac.tuxguitar.ui.swt.chooser.SWTColorChooser;
 import org.herac.tuxguitar.ui.swt.chooser.SWTDirectoryChooser;
 import org.herac.tuxguitar.ui.swt.chooser.SWTFileChooser;
@@ -100,10 +100,10 @@ import org.herac.tuxguitar.ui.widget.UIToggleButton;
 import org.herac.tuxguitar.ui.widget.UIWindow;
 import org.herac.tuxguitar.ui.widget.UIWrapLabel;
 
-public class SWTFactory implements UIFactory {
+public class SWTFactory implements UIFactory, UIAlphaImageFactory {
 	
 	private Display display;
-	private UIResourceFactory resourceFactory;
+	private SWTResourceFactory resourceFactory;
 	
 	public SWTFactory(Display display) {
 		this.display = display;
@@ -376,4 +376,8 @@ public class SWTFactory implements UIFactory {
 	public UIImage createImage(InputStream inputStream) {
 		return this.resourceFactory.createImage(inputStream);
 	}
-}
\ No newline at end of file
+	
+	public UIImage createAlphaImage(UIImage mask, UIColor color) {
+		return this.resourceFactory.createAlphaImage(mask, color);
+	}
+}
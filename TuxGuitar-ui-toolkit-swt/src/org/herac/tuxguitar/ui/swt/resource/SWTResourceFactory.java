@@ -3,6 +3,11 @@ package org.herac.tuxguitar.ui.swt.resource;
 import java.io.InputStream;
 
 import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.herac.tuxguitar.ui.resource.UIAlphaImageFactory;
 import org.herac.tuxguitar.ui.resource.UIColor;
 import org.herac.tuxguitar.ui.resource.UIColorModel;
 import org.herac.tuxguitar.ui.resource.UIFont;
@@ -10,7 +15,7 @@ import org.herac.tuxguitar.ui.resource.UIFontModel;
 import org.herac.tuxguitar.ui.resource.UIImage;
 import org.herac.tuxguitar.ui.resource.UIResourceFactory;
 
-public class SWTResourceFactory implements UIResourceFactory {
+public class SWTResourceFactory implements UIResourceFactory, UIAlphaImageFactory {
 	
 	private Device device;
 	
@@ -41,4 +46,33 @@ public class SWTResourceFactory implements UIResourceFactory {
 	public UIImage createImage(InputStream inputStream) {
 		return new SWTImage(this.device, inputStream);
 	}
+	
+	public UIImage createAlphaImage(UIImage mask, UIColor color) {
+		ImageData maskData = ((SWTImage) mask).getHandle().getImageData();
+		ImageData imageData = new ImageData(maskData.width, maskData.height, 24, new PaletteData(0xff0000, 0xff00, 0xff));
+		imageData.alphaData = new byte[maskData.width * maskData.height];
+		
+		int[] maskRow = new int[maskData.width];
+		int[] colorRow = new int[maskData.width];
+		int colorPixel = imageData.palette.getPixel(new RGB(color.getRed(), color.getGreen(), color.getBlue()));
+		for(int x = 0; x < colorRow.length; x ++) {
+			colorRow[x] = colorPixel;
+		}
+		for(int y = 0; y < maskData.height; y ++) {
+			maskData.getPixels(0, y, maskData.width, maskRow, 0);
+			imageData.setPixels(0, y, maskData.width, colorRow, 0);
+			for(int x = 0; x < maskData.width; x ++) {
+				imageData.alphaData[y * maskData.width + x] = (byte) (0xff - this.getRed(maskData.palette, maskRow[x]));
+			}
+		}
+		return new SWTImage(new Image(this.device, imageData));
+	}
+	
+	private int getRed(PaletteData palette, int pixel) {
+		if( palette.isDirect ) {
+			int red = (pixel & palette.redMask);
+			return (palette.redShift < 0 ? (red >>> -palette.redShift) : (red << palette.redShift));
+		}
+		return palette.getRGB(pixel).red;
+	}
 }
@@ -10,8 +10,10 @@ import org.herac.tuxguitar.app.action.impl.view.TGToggleChannelsDialogAction;
 import org.herac.tuxguitar.app.action.impl.view.TGToggleMatrixEditorAction;
 import org.herac.tuxguitar.app.action.impl.view.TGTogglePianoEditorAction;
 import org.herac.tuxguitar.app.action.impl.view.TGToggleTransportDialogAction;
+import org.herac.tuxguitar.app.document.TGDocumentAutoSave;
 import org.herac.tuxguitar.app.document.TGDocumentListAttributes;
 import org.herac.tuxguitar.app.document.TGDocumentListManager;
+import org.herac.tuxguitar.app.document.TGDocumentMemoryManager;
 import org.herac.tuxguitar.app.editor.EditorCache;
 import org.herac.tuxguitar.app.synchronizer.TGSynchronizerControllerImpl;
 import org.herac.tuxguitar.app.system.config.TGConfigKeys;
@@ -148,6 +150,9 @@ public class TuxGuitar {
 		
 		this.startSong(url);
 		this.setInitialized(true);
+		
+		TGDocumentAutoSave.getInstance(this.context).start();
+		TGDocumentMemoryManager.getInstance(this.context).start();
 	}
 	
 	private void startSong(URL url){
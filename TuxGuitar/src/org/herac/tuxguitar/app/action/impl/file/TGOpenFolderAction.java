@@ -0,0 +1,66 @@
+package org.herac.tuxguitar.app.action.impl.file;
+
+import java.io.File;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.herac.tuxguitar.action.TGActionContext;
+import org.herac.tuxguitar.action.TGActionException;
+import org.herac.tuxguitar.app.document.TGDocumentListManager;
+import org.herac.tuxguitar.app.helper.TGFileHistory;
+import org.herac.tuxguitar.app.ui.TGApplication;
+import org.herac.tuxguitar.app.view.main.TGWindow;
+import org.herac.tuxguitar.editor.action.TGActionBase;
+import org.herac.tuxguitar.io.base.TGFileFormat;
+import org.herac.tuxguitar.io.base.TGFileFormatManager;
+import org.herac.tuxguitar.io.base.TGFileFormatUtils;
+import org.herac.tuxguitar.ui.chooser.UIDirectoryChooser;
+import org.herac.tuxguitar.ui.chooser.UIDirectoryChooserHandler;
+import org.herac.tuxguitar.util.TGContext;
+
+public class TGOpenFolderAction extends TGActionBase {
+	
+	public static final String NAME = "action.file.open-folder";
+	
+	public TGOpenFolderAction(TGContext context) {
+		super(context, NAME);
+	}
+	
+	protected void processAction(TGActionContext context) {
+		String chooserPath = TGFileHistory.getInstance(getContext()).getChooserPath();
+		
+		UIDirectoryChooser chooser = TGApplication.getInstance(getContext()).getFactory().createDirectoryChooser(TGWindow.getInstance(getContext()).getWindow());
+		chooser.setDefaultPath(chooserPath != null ? new File(chooserPath) : null);
+		chooser.choose(new UIDirectoryChooserHandler() {
+			public void onSelectDirectory(File folder) {
+				if( folder != null ) {
+					List<URL> urls = createUrls(folder);
+					if(!urls.isEmpty() ) {
+						TGDocumentListManager.getInstance(getContext()).loadDocuments(urls);
+					}
+				}
+			}
+		});
+	}
+	
+	public List<URL> createUrls(File folder) {
+		try {
+			List<URL> urls = new ArrayList<URL>();
+			List<TGFileFormat> formats = TGFileFormatManager.getInstance(getContext()).findReadFileFormats(null);
+			File[] files = folder.listFiles();
+			if( files != null ) {
+				Arrays.sort(files);
+				for(File file : files) {
+					if( file.isFile() && TGFileFormatUtils.isSupportedFormat(formats, file.getName()) ) {
+						urls.add(file.toURI().toURL());
+					}
+				}
+			}
+			return urls;
+		} catch (Throwable e) {
+			throw new TGActionException(e.getMessage(), e);
+		}
+	}
+}
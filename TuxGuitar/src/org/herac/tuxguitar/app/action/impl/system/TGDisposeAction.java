@@ -2,6 +2,7 @@ package org.herac.tuxguitar.app.action.impl.system;
 
 import org.herac.tuxguitar.action.TGActionContext;
 import org.herac.tuxguitar.app.TuxGuitar;
+import org.herac.tuxguitar.app.document.TGDocumentAutoSave;
 import org.herac.tuxguitar.app.system.config.TGConfigKeys;
 import org.herac.tuxguitar.app.system.icons.TGSkinManager;
 import org.herac.tuxguitar.app.ui.TGApplication;
@@ -58,6 +59,7 @@ public class TGDisposeAction extends TGActionBase {
 	}
 	
 	protected void closeModules(){
+		TGDocumentAutoSave.getInstance(getContext()).stop();
 		MidiPlayer.getInstance(getContext()).close();
 		TGPluginManager.getInstance(getContext()).disconnectAll();
 	}
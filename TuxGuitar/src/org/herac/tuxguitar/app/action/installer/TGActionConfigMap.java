@@ -36,6 +36,7 @@ import org.herac.tuxguitar.app.action.impl.file.TGExitAction;
 import org.herac.tuxguitar.app.action.impl.file.TGExportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGImportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenFileAction;
+import org.herac.tuxguitar.app.action.impl.file.TGOpenFolderAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenURLAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintPreviewAction;
@@ -325,6 +326,7 @@ public class TGActionConfigMap extends TGActionMap<TGActionConfig> {
 		this.map(TGSaveFileAction.NAME, LOCKABLE | SYNC_THREAD | SHORTCUT);
 		this.map(TGReadURLAction.NAME, LOCKABLE | STOP_TRANSPORT, UPDATE_ITEMS_CTL);
 		this.map(TGOpenFileAction.NAME, LOCKABLE | SYNC_THREAD | SHORTCUT);
+		this.map(TGOpenFolderAction.NAME, LOCKABLE | SYNC_THREAD | SHORTCUT);
 		this.map(TGImportSongAction.NAME, LOCKABLE);
 		this.map(TGExportSongAction.NAME, LOCKABLE);
 		this.map(TGCloseDocumentsAction.NAME, LOCKABLE | SAVE_BEFORE, UPDATE_ITEMS_CTL);
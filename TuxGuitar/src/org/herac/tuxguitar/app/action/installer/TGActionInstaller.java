@@ -37,6 +37,7 @@ import org.herac.tuxguitar.app.action.impl.file.TGExitAction;
 import org.herac.tuxguitar.app.action.impl.file.TGExportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGImportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenFileAction;
+import org.herac.tuxguitar.app.action.impl.file.TGOpenFolderAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenURLAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintPreviewAction;
@@ -266,6 +267,7 @@ public class TGActionInstaller {
 		installAction(new TGSaveFileAction(context));
 		installAction(new TGReadURLAction(context));
 		installAction(new TGOpenFileAction(context));
+		installAction(new TGOpenFolderAction(context));
 		installAction(new TGImportSongAction(context));
 		installAction(new TGExportSongAction(context));
 		installAction(new TGCloseDocumentsAction(context));
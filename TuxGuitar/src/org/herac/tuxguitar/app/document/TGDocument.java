@@ -12,6 +12,8 @@ public class TGDocument {
 	private TGUndoableBuffer undoableBuffer;
 	private boolean unsaved;
 	private boolean unwanted;
+	private long memorySize;
+	private long undoMemorySize;
 	
 	public TGDocument() {
 		super();
@@ -56,4 +58,20 @@ public class TGDocument {
 	public void setUnwanted(boolean unwanted) {
 		this.unwanted = unwanted;
 	}
+
+	public long getMemorySize() {
+		return memorySize;
+	}
+
+	public void setMemorySize(long memorySize) {
+		this.memorySize = memorySize;
+	}
+
+	public long getUndoMemorySize() {
+		return undoMemorySize;
+	}
+
+	public void setUndoMemorySize(long undoMemorySize) {
+		this.undoMemorySize = undoMemorySize;
+	}
 }
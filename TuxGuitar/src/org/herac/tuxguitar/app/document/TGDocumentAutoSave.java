@@ -0,0 +1,198 @@
+package org.herac.tuxguitar.app.document;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.herac.tuxguitar.app.TuxGuitar;
+import org.herac.tuxguitar.app.system.config.TGConfigKeys;
+import org.herac.tuxguitar.app.util.TGFileUtils;
+import org.herac.tuxguitar.document.TGDocumentContextAttributes;
+import org.herac.tuxguitar.document.TGDocumentManager;
+import org.herac.tuxguitar.editor.TGEditorManager;
+import org.herac.tuxguitar.editor.action.TGActionProcessor;
+import org.herac.tuxguitar.editor.action.file.TGLoadSongAction;
+import org.herac.tuxguitar.io.tg.TGSongJournal;
+import org.herac.tuxguitar.io.tg.TGSongSnapshot;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.thread.TGThreadLoop;
+import org.herac.tuxguitar.thread.TGThreadManager;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.error.TGErrorManager;
+import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
+import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+
+/**
+ * Journals the unsaved documents in the user folder, so they can be recovered after a crash.
+ *
+ * Journals of saved or closed documents are deleted, the ones left on start are loaded back
+ * as unsaved documents.
+ */
+public class TGDocumentAutoSave {
+	
+	private static final String JOURNAL_FOLDER = "autosave";
+	private static final String JOURNAL_EXTENSION = ".tgj";
+	private static final Long RETRY_INTERVAL = 1000l;
+	
+	private TGContext context;
+	private Map<TGDocument, TGSongJournal> journals;
+	private boolean running;
+	
+	public TGDocumentAutoSave(TGContext context) {
+		this.context = context;
+		this.journals = new HashMap<TGDocument, TGSongJournal>();
+	}
+	
+	public void start() {
+		List<TGSongJournal> journals = new ArrayList<TGSongJournal>();
+		File[] files = this.getJournalFolder().listFiles();
+		if( files != null ) {
+			for(File file : files) {
+				if( file.getName().endsWith(JOURNAL_EXTENSION) ) {
+					try {
+						TGSongJournal journal = TGSongJournal.open(file);
+						if( journal != null ) {
+							journals.add(journal);
+						} else {
+							file.delete();
+						}
+					} catch (Throwable throwable) {
+						TGErrorManager.getInstance(this.context).handleError(throwable);
+					}
+				}
+			}
+		}
+		this.restore(journals.iterator());
+	}
+	
+	public void stop() {
+		this.running = false;
+		
+		synchronized (this.journals) {
+			for(TGSongJournal journal : this.journals.values()) {
+				journal.delete();
+			}
+			this.journals.clear();
+		}
+	}
+	
+	private void restore(final Iterator<TGSongJournal> it) {
+		if(!it.hasNext() ) {
+			this.startLoop();
+			return;
+		}
+		
+		final TGSongJournal journal = it.next();
+		try {
+			TGSong song = journal.getSong(TGDocumentManager.getInstance(this.context).getSongManager().getFactory());
+			
+			TGActionProcessor tgActionProcessor = new TGActionProcessor(this.context, TGLoadSongAction.NAME);
+			tgActionProcessor.setAttribute(TGDocumentContextAttributes.ATTRIBUTE_SONG, song);
+			if( journal.getSource().length() > 0 ) {
+				tgActionProcessor.setAttribute(TGDocumentListAttributes.ATTRIBUTE_DOCUMENT_URI, new URI(journal.getSource()));
+			}
+			tgActionProcessor.setOnFinish(new Runnable() {
+				public void run() {
+					TGDocument document = TGDocumentListManager.getInstance(TGDocumentAutoSave.this.context).findCurrentDocument();
+					document.setUnsaved(true);
+					synchronized (TGDocumentAutoSave.this.journals) {
+						TGDocumentAutoSave.this.journals.put(document, journal);
+					}
+					TGDocumentAutoSave.this.restore(it);
+				}
+			});
+			tgActionProcessor.process();
+		} catch (Throwable throwable) {
+			journal.delete();
+			TGErrorManager.getInstance(this.context).handleError(throwable);
+			this.restore(it);
+		}
+	}
+	
+	private void startLoop() {
+		this.running = true;
+		TGThreadManager.getInstance(this.context).loop(new TGThreadLoop() {
+			public Long process() {
+				return (TGDocumentAutoSave.this.running ? TGDocumentAutoSave.this.processLoop() : BREAK);
+			}
+		});
+	}
+	
+	private Long processLoop() {
+		long interval = (TuxGuitar.getInstance().getConfig().getIntegerValue(TGConfigKeys.AUTOSAVE_INTERVAL) * 1000L);
+		if( interval <= 0 ) {
+			this.stop();
+			return TGThreadLoop.BREAK;
+		}
+		
+		Map<TGSongJournal, TGSongSnapshot> snapshots = new HashMap<TGSongJournal, TGSongSnapshot>();
+		TGEditorManager tgEditorManager = TGEditorManager.getInstance(this.context);
+		if(!tgEditorManager.tryLock() ) {
+			return RETRY_INTERVAL;
+		}
+		try {
+			synchronized (this.journals) {
+				List<TGDocument> documents = TGDocumentListManager.getInstance(this.context).getDocuments();
+				Iterator<Map.Entry<TGDocument, TGSongJournal>> it = this.journals.entrySet().iterator();
+				while( it.hasNext() ) {
+					Map.Entry<TGDocument, TGSongJournal> entry = it.next();
+					if(!entry.getKey().isUnsaved() || !documents.contains(entry.getKey())) {
+						entry.getValue().delete();
+						it.remove();
+					}
+				}
+				for(TGDocument document : documents) {
+					if( document.isUnsaved() ) {
+						TGSongJournal journal = this.journals.get(document);
+						if( journal == null ) {
+							journal = this.createJournal(document);
+							this.journals.put(document, journal);
+						}
+						snapshots.put(journal, TGSongSnapshot.create(document.getSong()));
+					}
+				}
+			}
+		} catch (Throwable throwable) {
+			TGErrorManager.getInstance(this.context).handleError(throwable);
+		} finally {
+			tgEditorManager.unlock();
+		}
+		
+		for(Map.Entry<TGSongJournal, TGSongSnapshot> entry : snapshots.entrySet()) {
+			if(!this.running ) {
+				return TGThreadLoop.BREAK;
+			}
+			try {
+				entry.getKey().write(entry.getValue());
+			} catch (Throwable throwable) {
+				TGErrorManager.getInstance(this.context).handleError(throwable);
+			}
+		}
+		return interval;
+	}
+	
+	private TGSongJournal createJournal(TGDocument document) {
+		File folder = this.getJournalFolder();
+		if(!folder.exists() ) {
+			folder.mkdirs();
+		}
+		String source = (document.getUri() != null ? document.getUri().toString() : "");
+		return new TGSongJournal(new File(folder, Long.toHexString(System.nanoTime()) + JOURNAL_EXTENSION), source);
+	}
+	
+	private File getJournalFolder() {
+		return new File(TGFileUtils.PATH_USER_CONFIG + File.separator + JOURNAL_FOLDER);
+	}
+	
+	public static TGDocumentAutoSave getInstance(TGContext context) {
+		return TGSingletonUtil.getInstance(context, TGDocumentAutoSave.class.getName(), new TGSingletonFactory<TGDocumentAutoSave>() {
+			public TGDocumentAutoSave createInstance(TGContext context) {
+				return new TGDocumentAutoSave(context);
+			}
+		});
+	}
+}
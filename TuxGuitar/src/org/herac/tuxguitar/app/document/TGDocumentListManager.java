@@ -1,5 +1,6 @@
 package org.herac.tuxguitar.app.document;
 
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -17,6 +18,8 @@ public class TGDocumentListManager {
 	
 	private TGContext context;
 	private List<TGDocument> documents;
+	private int loadCount;
+	private int loadedCount;
 	
 	public TGDocumentListManager(TGContext context) {
 		this.context = context;
@@ -115,6 +118,27 @@ public class TGDocumentListManager {
 		return this.documents.contains(document);
 	}
 	
+	public void loadDocuments(List<URL> urls) {
+		new TGDocumentLoader(this.context, urls).start();
+	}
+	
+	public synchronized void updateLoadProgress(int count, int loaded) {
+		this.loadCount += count;
+		this.loadedCount += loaded;
+		if( this.loadedCount >= this.loadCount ) {
+			this.loadCount = 0;
+			this.loadedCount = 0;
+		}
+	}
+	
+	public synchronized int getLoadCount() {
+		return this.loadCount;
+	}
+	
+	public synchronized int getLoadedCount() {
+		return this.loadedCount;
+	}
+	
 	public static TGDocumentListManager getInstance(TGContext context) {
 		return TGSingletonUtil.getInstance(context, TGDocumentListManager.class.getName(), new TGSingletonFactory<TGDocumentListManager>() {
 			public TGDocumentListManager createInstance(TGContext context) {
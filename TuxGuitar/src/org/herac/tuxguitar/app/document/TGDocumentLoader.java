@@ -0,0 +1,163 @@
+package org.herac.tuxguitar.app.document;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.herac.tuxguitar.app.action.listener.cache.controller.TGUpdateLoadedSongController;
+import org.herac.tuxguitar.app.util.TGFileUtils;
+import org.herac.tuxguitar.app.view.main.TGWindow;
+import org.herac.tuxguitar.document.TGDocumentContextAttributes;
+import org.herac.tuxguitar.document.TGDocumentManager;
+import org.herac.tuxguitar.editor.TGEditorManager;
+import org.herac.tuxguitar.editor.action.TGActionProcessor;
+import org.herac.tuxguitar.editor.action.file.TGLoadSongAction;
+import org.herac.tuxguitar.io.base.TGFileFormatManager;
+import org.herac.tuxguitar.io.base.TGFileFormatUtils;
+import org.herac.tuxguitar.io.base.TGSongPersistenceHelper;
+import org.herac.tuxguitar.io.base.TGSongReaderHandle;
+import org.herac.tuxguitar.io.base.TGSongStreamContext;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.thread.TGThreadManager;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.error.TGErrorManager;
+
+/**
+ * Reads songs on a pool of background threads and opens them as documents.
+ *
+ * Every song is added to the document list once all of them were read, the last one becomes
+ * the current document. Songs that can't be read are reported and left out.
+ */
+public class TGDocumentLoader {
+	
+	private TGContext context;
+	private List<URL> urls;
+	
+	public TGDocumentLoader(TGContext context, List<URL> urls) {
+		this.context = context;
+		this.urls = urls;
+	}
+	
+	public void start() {
+		TGThreadManager.getInstance(this.context).start(new Runnable() {
+			public void run() {
+				try {
+					TGDocumentLoader.this.load();
+				} catch (Throwable throwable) {
+					TGErrorManager.getInstance(TGDocumentLoader.this.context).handleError(throwable);
+				}
+			}
+		});
+	}
+	
+	private void load() throws Throwable {
+		if( this.urls.isEmpty() ) {
+			return;
+		}
+		this.updateProgress(this.urls.size(), 0);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(getWorkers(this.urls.size()), new ThreadFactory() {
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "TuxGuitar-document-loader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<TGSong>> reads = new ArrayList<Future<TGSong>>();
+			for(final URL url : this.urls) {
+				reads.add(executor.submit(new Callable<TGSong>() {
+					public TGSong call() throws Exception {
+						try {
+							return TGDocumentLoader.this.read(url);
+						} finally {
+							TGDocumentLoader.this.updateProgress(0, 1);
+						}
+					}
+				}));
+			}
+			
+			List<TGSong> songs = new ArrayList<TGSong>();
+			List<URL> urls = new ArrayList<URL>();
+			for(int i = 0; i < reads.size(); i ++) {
+				try {
+					songs.add(reads.get(i).get());
+					urls.add(this.urls.get(i));
+				} catch (ExecutionException e) {
+					TGErrorManager.getInstance(this.context).handleError(e.getCause());
+				}
+			}
+			this.open(songs, urls);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private TGSong read(URL url) throws Exception {
+		try {
+			InputStream stream = (TGFileUtils.isLocalFile(url) ? url.openStream() : TGFileFormatUtils.getInputStream(url.openStream()));
+			
+			TGSongReaderHandle handle = new TGSongReaderHandle();
+			handle.setFactory(TGDocumentManager.getInstance(this.context).getSongManager().getFactory());
+			handle.setInputStream(stream);
+			handle.setContext(new TGSongStreamContext());
+			handle.getContext().setAttribute(TGSongPersistenceHelper.ATTRIBUTE_FORMAT_CODE, TGFileFormatUtils.getFileFormatCode(url.getFile()));
+			
+			TGFileFormatManager.getInstance(this.context).read(handle);
+			
+			return handle.getSong();
+		} catch (Exception e) {
+			throw e;
+		} catch (Throwable throwable) {
+			throw new Exception(throwable);
+		}
+	}
+	
+	private void open(List<TGSong> songs, List<URL> urls) {
+		if( songs.isEmpty() ) {
+			return;
+		}
+		int last = (songs.size() - 1);
+		
+		TGEditorManager tgEditorManager = TGEditorManager.getInstance(this.context);
+		tgEditorManager.lock();
+		try {
+			TGDocumentListManager tgDocumentListManager = TGDocumentListManager.getInstance(this.context);
+			for(int i = 0; i < last; i ++) {
+				tgDocumentListManager.findDocument(songs.get(i)).setUri(toURI(urls.get(i)));
+			}
+		} finally {
+			tgEditorManager.unlock();
+		}
+		
+		TGActionProcessor tgActionProcessor = new TGActionProcessor(this.context, TGLoadSongAction.NAME);
+		tgActionProcessor.setAttribute(TGDocumentContextAttributes.ATTRIBUTE_SONG, songs.get(last));
+		tgActionProcessor.setAttribute(TGUpdateLoadedSongController.ATTRIBUTE_URL, urls.get(last));
+		tgActionProcessor.process();
+	}
+	
+	private void updateProgress(int count, int loaded) {
+		TGDocumentListManager.getInstance(this.context).updateLoadProgress(count, loaded);
+		TGWindow.getInstance(this.context).loadTitle();
+	}
+	
+	private static URI toURI(URL url) {
+		try {
+			return url.toURI();
+		} catch (Throwable throwable) {
+			return null;
+		}
+	}
+	
+	private static int getWorkers(int count) {
+		return Math.max(1, Math.min(count, Runtime.getRuntime().availableProcessors()));
+	}
+}
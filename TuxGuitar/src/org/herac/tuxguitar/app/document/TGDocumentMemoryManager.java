@@ -0,0 +1,301 @@
+package org.herac.tuxguitar.app.document;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.herac.tuxguitar.action.TGActionContext;
+import org.herac.tuxguitar.action.TGActionEvent;
+import org.herac.tuxguitar.action.TGActionManager;
+import org.herac.tuxguitar.action.TGActionPreExecutionEvent;
+import org.herac.tuxguitar.app.TuxGuitar;
+import org.herac.tuxguitar.app.system.config.TGConfigKeys;
+import org.herac.tuxguitar.app.view.component.tabfolder.TGTabFolder;
+import org.herac.tuxguitar.document.TGDocumentContextAttributes;
+import org.herac.tuxguitar.document.TGDocumentManager;
+import org.herac.tuxguitar.editor.TGEditorManager;
+import org.herac.tuxguitar.editor.action.file.TGLoadSongAction;
+import org.herac.tuxguitar.editor.undo.TGUndoableBuffer;
+import org.herac.tuxguitar.event.TGEvent;
+import org.herac.tuxguitar.event.TGEventException;
+import org.herac.tuxguitar.event.TGEventListener;
+import org.herac.tuxguitar.io.base.TGFileFormatUtils;
+import org.herac.tuxguitar.io.base.TGSongReaderHandle;
+import org.herac.tuxguitar.io.base.TGSongStreamContext;
+import org.herac.tuxguitar.io.base.TGSongWriterHandle;
+import org.herac.tuxguitar.io.tg.TGSongReaderImpl;
+import org.herac.tuxguitar.io.tg.TGSongWriterImpl;
+import org.herac.tuxguitar.song.factory.TGFactory;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.thread.TGThreadLoop;
+import org.herac.tuxguitar.thread.TGThreadManager;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.error.TGErrorManager;
+import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
+import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+
+/**
+ * Keeps the memory used by each document and, when enabled, unloads the saved documents
+ * that were not selected for a while.
+ *
+ * An unloaded document keeps an empty song and its content goes to a temporary tg file,
+ * it is read back when the document is loaded again. Its undo history is dropped.
+ */
+public class TGDocumentMemoryManager implements TGEventListener {
+	
+	private static final Long UPDATE_INTERVAL = 5000l;
+	private static final Long RETRY_INTERVAL = 1000l;
+	private static final long MEASURE_INTERVAL = 60000l;
+	
+	private TGContext context;
+	private TGDocumentMemoryMeter meter;
+	private Map<TGDocument, TGDocumentState> states;
+	private boolean showMemory;
+	private boolean measurePending;
+	
+	public TGDocumentMemoryManager(TGContext context) {
+		this.context = context;
+		this.meter = new TGDocumentMemoryMeter();
+		this.states = new HashMap<TGDocument, TGDocumentState>();
+	}
+	
+	public void start() {
+		TGActionManager.getInstance(this.context).addPreExecutionListener(this);
+		TGThreadManager.getInstance(this.context).loop(new TGThreadLoop() {
+			public Long process() {
+				return TGDocumentMemoryManager.this.processLoop();
+			}
+		});
+	}
+	
+	private Long processLoop() {
+		TGEditorManager tgEditorManager = TGEditorManager.getInstance(this.context);
+		if(!tgEditorManager.tryLock() ) {
+			return RETRY_INTERVAL;
+		}
+		boolean changed = false;
+		try {
+			changed = this.update();
+		} catch (Throwable throwable) {
+			TGErrorManager.getInstance(this.context).handleError(throwable);
+		} finally {
+			tgEditorManager.unlock();
+		}
+		if( changed ) {
+			TGTabFolder.getInstance(this.context).updateTabItemsLater();
+		}
+		return (this.measurePending ? RETRY_INTERVAL : UPDATE_INTERVAL);
+	}
+	
+	/**
+	 * Measuring a song takes a while under the editor lock, so a single document is measured per run
+	 * and a document is measured again at most once per MEASURE_INTERVAL while it is being edited.
+	 */
+	private boolean update() throws Throwable {
+		boolean showMemory = TuxGuitar.getInstance().getConfig().getBooleanValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY);
+		boolean unloadInactive = TuxGuitar.getInstance().getConfig().getBooleanValue(TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE);
+		long unloadDelay = (TuxGuitar.getInstance().getConfig().getIntegerValue(TGConfigKeys.DOCUMENT_UNLOAD_DELAY) * 1000L);
+		long time = System.currentTimeMillis();
+		boolean changed = (this.showMemory != showMemory);
+		
+		this.showMemory = showMemory;
+		this.measurePending = false;
+		
+		TGDocumentListManager tgDocumentListManager = TGDocumentListManager.getInstance(this.context);
+		TGSong loadedSong = tgDocumentListManager.getLoadedSong();
+		List<TGDocument> documents = tgDocumentListManager.getDocuments();
+		boolean measured = false;
+		synchronized (this.states) {
+			Iterator<Map.Entry<TGDocument, TGDocumentState>> it = this.states.entrySet().iterator();
+			while( it.hasNext() ) {
+				Map.Entry<TGDocument, TGDocumentState> entry = it.next();
+				if(!documents.contains(entry.getKey()) ) {
+					entry.getValue().deleteFile();
+					it.remove();
+				}
+			}
+			
+			for(TGDocument document : documents) {
+				TGDocumentState state = this.states.get(document);
+				if( state == null ) {
+					state = new TGDocumentState(time);
+					this.states.put(document, state);
+				}
+				if( document.getSong() == loadedSong ) {
+					state.setLastActiveTime(time);
+				}
+				else if( unloadInactive && state.getFile() == null && !document.isUnsaved() && time - state.getLastActiveTime() > unloadDelay ) {
+					this.unload(document, state);
+				}
+				if( showMemory && state.isChanged(document) && time - state.getMeasureTime() >= MEASURE_INTERVAL ) {
+					if( measured ) {
+						this.measurePending = true;
+					} else {
+						this.meter.reset();
+						document.setMemorySize(this.meter.measure(document.getSong()));
+						document.setUndoMemorySize(this.meter.measure(document.getUndoableBuffer()));
+						state.update(document);
+						state.setMeasureTime(time);
+						measured = true;
+						changed = true;
+					}
+				}
+			}
+		}
+		return changed;
+	}
+	
+	private void unload(TGDocument document, TGDocumentState state) throws Throwable {
+		File file = File.createTempFile("tuxguitar-document-", TGFileFormatUtils.DEFAULT_EXTENSION);
+		file.deleteOnExit();
+		
+		OutputStream stream = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			TGSongWriterHandle handle = new TGSongWriterHandle();
+			handle.setSong(document.getSong());
+			handle.setOutputStream(stream);
+			new TGSongWriterImpl().write(handle);
+		} finally {
+			stream.close();
+		}
+		
+		TGSong song = this.getFactory().newSong();
+		song.setName(document.getSong().getName());
+		
+		document.setSong(song);
+		document.setUndoableBuffer(new TGUndoableBuffer());
+		state.setFile(file);
+		state.reset();
+	}
+	
+	private TGSong reload(TGDocument document, TGDocumentState state) throws Throwable {
+		InputStream stream = new BufferedInputStream(new FileInputStream(state.getFile()));
+		try {
+			TGSongReaderHandle handle = new TGSongReaderHandle();
+			handle.setFactory(this.getFactory());
+			handle.setInputStream(stream);
+			handle.setContext(new TGSongStreamContext());
+			new TGSongReaderImpl().read(handle);
+			
+			document.setSong(handle.getSong());
+		} finally {
+			stream.close();
+		}
+		state.deleteFile();
+		state.reset();
+		
+		return document.getSong();
+	}
+	
+	private TGFactory getFactory() {
+		return TGDocumentManager.getInstance(this.context).getSongManager().getFactory();
+	}
+	
+	public void processLoadSong(TGActionContext actionContext) throws Throwable {
+		TGSong song = actionContext.getAttribute(TGDocumentContextAttributes.ATTRIBUTE_SONG);
+		if( song != null ) {
+			synchronized (this.states) {
+				for(Map.Entry<TGDocument, TGDocumentState> entry : this.states.entrySet()) {
+					if( entry.getKey().getSong() == song && entry.getValue().getFile() != null ) {
+						actionContext.setAttribute(TGDocumentContextAttributes.ATTRIBUTE_SONG, this.reload(entry.getKey(), entry.getValue()));
+						break;
+					}
+				}
+			}
+		}
+	}
+	
+	public void processEvent(TGEvent event) {
+		if( TGActionPreExecutionEvent.EVENT_TYPE.equals(event.getEventType()) ) {
+			if( TGLoadSongAction.NAME.equals(event.getAttribute(TGActionEvent.ATTRIBUTE_ACTION_ID)) ) {
+				try {
+					this.processLoadSong((TGActionContext) event.getAttribute(TGEvent.ATTRIBUTE_SOURCE_CONTEXT));
+				} catch (Throwable throwable) {
+					// the load is cancelled, the document keeps its file and is read again on the next attempt
+					throw new TGEventException(throwable);
+				}
+			}
+		}
+	}
+	
+	public static TGDocumentMemoryManager getInstance(TGContext context) {
+		return TGSingletonUtil.getInstance(context, TGDocumentMemoryManager.class.getName(), new TGSingletonFactory<TGDocumentMemoryManager>() {
+			public TGDocumentMemoryManager createInstance(TGContext context) {
+				return new TGDocumentMemoryManager(context);
+			}
+		});
+	}
+	
+	private static class TGDocumentState {
+		
+		private long lastActiveTime;
+		private long measureTime;
+		private File file;
+		private TGSong song;
+		private int edits;
+		private int editIndex;
+		private boolean unsaved;
+		
+		public TGDocumentState(long lastActiveTime) {
+			this.lastActiveTime = lastActiveTime;
+			this.reset();
+		}
+		
+		public long getLastActiveTime() {
+			return this.lastActiveTime;
+		}
+		
+		public void setLastActiveTime(long lastActiveTime) {
+			this.lastActiveTime = lastActiveTime;
+		}
+		
+		public long getMeasureTime() {
+			return this.measureTime;
+		}
+		
+		public void setMeasureTime(long measureTime) {
+			this.measureTime = measureTime;
+		}
+		
+		public File getFile() {
+			return this.file;
+		}
+		
+		public void setFile(File file) {
+			this.file = file;
+		}
+		
+		public void deleteFile() {
+			if( this.file != null ) {
+				this.file.delete();
+				this.file = null;
+			}
+		}
+		
+		public void reset() {
+			this.song = null;
+			this.editIndex = -1;
+			this.measureTime = 0;
+		}
+		
+		public boolean isChanged(TGDocument document) {
+			TGUndoableBuffer buffer = document.getUndoableBuffer();
+			return (this.song != document.getSong() || this.unsaved != document.isUnsaved() || this.edits != buffer.getEdits().size() || this.editIndex != buffer.getIndexOfNextAdd());
+		}
+		
+		public void update(TGDocument document) {
+			this.song = document.getSong();
+			this.unsaved = document.isUnsaved();
+			this.edits = document.getUndoableBuffer().getEdits().size();
+			this.editIndex = document.getUndoableBuffer().getIndexOfNextAdd();
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package org.herac.tuxguitar.app.document;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the heap used by song models and undo edits.
+ *
+ * Objects are walked through their fields, assuming a 64 bit jvm with compressed references.
+ * The walk only enters song models and undo edits, plus the strings, arrays and collections
+ * they hold, so shared application state reachable from them is not counted. Objects already
+ * counted since the last reset are not counted again.
+ */
+public class TGDocumentMemoryMeter {
+	
+	private static final String[] PACKAGES = new String[] {
+		"org.herac.tuxguitar.song.models.",
+		"org.herac.tuxguitar.editor.undo.",
+	};
+	
+	private static final int OBJECT_HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REFERENCE = 4;
+	private static final int ALIGNMENT = 8;
+	
+	private Map<Class<?>, TGClassLayout> layouts;
+	private Map<Object, Object> visited;
+	
+	public TGDocumentMemoryMeter() {
+		this.layouts = new HashMap<Class<?>, TGClassLayout>();
+		this.visited = new IdentityHashMap<Object, Object>();
+	}
+	
+	public void reset() {
+		this.visited.clear();
+	}
+	
+	public long measure(Object root) {
+		long size = 0;
+		Deque<Object> pending = new ArrayDeque<Object>();
+		this.push(pending, root);
+		while(!pending.isEmpty() ) {
+			Object object = pending.pop();
+			Class<?> type = object.getClass();
+			if( type.isArray() ) {
+				int length = Array.getLength(object);
+				Class<?> componentType = type.getComponentType();
+				if( componentType.isPrimitive() ) {
+					size += align(ARRAY_HEADER + (long) length * getPrimitiveSize(componentType));
+				} else {
+					size += align(ARRAY_HEADER + (long) length * REFERENCE);
+					for(int i = 0; i < length; i ++) {
+						this.push(pending, Array.get(object, i));
+					}
+				}
+			} else if( object instanceof String ) {
+				size += align(OBJECT_HEADER + 3 * REFERENCE) + align(ARRAY_HEADER + 2L * ((String) object).length());
+			} else if( object instanceof Collection ) {
+				Collection<?> collection = (Collection<?>) object;
+				size += align(OBJECT_HEADER + 3 * REFERENCE) + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+				for(Object element : collection) {
+					this.push(pending, element);
+				}
+			} else if( object instanceof Map ) {
+				Map<?, ?> map = (Map<?, ?>) object;
+				size += align(OBJECT_HEADER + 6 * REFERENCE) + align(ARRAY_HEADER + (long) map.size() * REFERENCE);
+				for(Map.Entry<?, ?> entry : map.entrySet()) {
+					size += align(OBJECT_HEADER + 4 * REFERENCE);
+					this.push(pending, entry.getKey());
+					this.push(pending, entry.getValue());
+				}
+			} else if( object instanceof Number || object instanceof Boolean || object instanceof Character ) {
+				size += align(OBJECT_HEADER + 8);
+			} else {
+				TGClassLayout layout = this.getLayout(type);
+				size += layout.getSize();
+				for(Field field : layout.getReferences()) {
+					try {
+						this.push(pending, field.get(object));
+					} catch (IllegalAccessException e) {
+						// not counted
+					}
+				}
+			}
+		}
+		return size;
+	}
+	
+	private void push(Deque<Object> pending, Object object) {
+		if( object != null && !this.visited.containsKey(object) && this.isMeasurable(object.getClass()) ) {
+			this.visited.put(object, object);
+			pending.push(object);
+		}
+	}
+	
+	private boolean isMeasurable(Class<?> type) {
+		if( type.isArray() || String.class.equals(type) || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) ) {
+			return true;
+		}
+		if( type.isEnum() ) {
+			return false;
+		}
+		return (this.getLayout(type) != null);
+	}
+	
+	private TGClassLayout getLayout(Class<?> type) {
+		if(!this.layouts.containsKey(type) ) {
+			this.layouts.put(type, this.createLayout(type));
+		}
+		return this.layouts.get(type);
+	}
+	
+	private TGClassLayout createLayout(Class<?> type) {
+		if( Number.class.isAssignableFrom(type) || Boolean.class.equals(type) || Character.class.equals(type) ) {
+			return new TGClassLayout(align(OBJECT_HEADER + 8), new ArrayList<Field>());
+		}
+		if(!this.isModelClass(type) ) {
+			return null;
+		}
+		long size = OBJECT_HEADER;
+		List<Field> references = new ArrayList<Field>();
+		for(Class<?> current = type; current != null; current = current.getSuperclass()) {
+			for(Field field : current.getDeclaredFields()) {
+				if(!Modifier.isStatic(field.getModifiers()) ) {
+					if( field.getType().isPrimitive() ) {
+						size += getPrimitiveSize(field.getType());
+					} else {
+						size += REFERENCE;
+						try {
+							field.setAccessible(true);
+							references.add(field);
+						} catch (RuntimeException e) {
+							// not followed
+						}
+					}
+				}
+			}
+		}
+		return new TGClassLayout(align(size), references);
+	}
+	
+	private boolean isModelClass(Class<?> type) {
+		for(Class<?> current = type; current != null; current = current.getSuperclass()) {
+			for(String prefix : PACKAGES) {
+				if( current.getName().startsWith(prefix) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	private static int getPrimitiveSize(Class<?> type) {
+		if( type == long.class || type == double.class ) {
+			return 8;
+		}
+		if( type == int.class || type == float.class ) {
+			return 4;
+		}
+		if( type == short.class || type == char.class ) {
+			return 2;
+		}
+		return 1;
+	}
+	
+	private static long align(long size) {
+		return ((size + ALIGNMENT - 1) / ALIGNMENT) * ALIGNMENT;
+	}
+	
+	public static String formatSize(long size) {
+		if( size >= 1024 * 1024 ) {
+			return (Math.round(size / 1024d / 102.4d) / 10d) + " MB";
+		}
+		return (Math.round(size / 1024d) + " KB");
+	}
+	
+	private static class TGClassLayout {
+		
+		private long size;
+		private List<Field> references;
+		
+		public TGClassLayout(long size, List<Field> references) {
+			this.size = size;
+			this.references = references;
+		}
+		
+		public long getSize() {
+			return this.size;
+		}
+		
+		public List<Field> getReferences() {
+			return this.references;
+		}
+	}
+}
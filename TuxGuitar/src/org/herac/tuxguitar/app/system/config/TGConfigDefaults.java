@@ -70,6 +70,10 @@ public class TGConfigDefaults{
 		loadProperty(properties, TGConfigKeys.COLOR_LOOP_E_MARKER,"165,42,42");
 		loadProperty(properties, TGConfigKeys.COLOR_MEASURE_NUMBER,"128,0,0");
 		loadProperty(properties, TGConfigKeys.MAX_HISTORY_FILES,10);
+		loadProperty(properties, TGConfigKeys.AUTOSAVE_INTERVAL,60);
+		loadProperty(properties, TGConfigKeys.DOCUMENT_SHOW_MEMORY,false);
+		loadProperty(properties, TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE,false);
+		loadProperty(properties, TGConfigKeys.DOCUMENT_UNLOAD_DELAY,300);
 		loadProperty(properties, TGConfigKeys.LANGUAGE,"");
 		loadProperty(properties, TGConfigKeys.FRETBOARD_STRING_SPACING,20);
 		loadProperty(properties, TGConfigKeys.FRETBOARD_STYLE ,TGFretBoardConfig.DISPLAY_TEXT_SCALE);
@@ -96,6 +100,7 @@ public class TGConfigDefaults{
 		loadProperty(properties, TGConfigKeys.TABLE_AUTO_SIZE,true);
 		loadProperty(properties, TGConfigKeys.BROWSER_LINES_VISIBLE,true);
 		
+		loadProperty(properties, TGConfigKeys.STYLE_GLYPH_ATLAS, false);
 		loadProperty(properties, TGConfigKeys.STYLE_MIN_BUFFER_SEPARATOR, 20);
 		loadProperty(properties, TGConfigKeys.STYLE_MIN_TOP_SPACING, 30);
 		loadProperty(properties, TGConfigKeys.STYLE_MIN_SCORE_TAB_SPACING, 20);
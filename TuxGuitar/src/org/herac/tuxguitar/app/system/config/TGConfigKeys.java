@@ -50,6 +50,10 @@ public class TGConfigKeys {
 	public static final String MIDI_PORT = "midi.port";
 	public static final String MIDI_SEQUENCER = "midi.sequencer";
 	public static final String MAX_HISTORY_FILES = "history.max-files";
+	public static final String AUTOSAVE_INTERVAL = "autosave.interval";
+	public static final String DOCUMENT_SHOW_MEMORY = "document.show-memory";
+	public static final String DOCUMENT_UNLOAD_INACTIVE = "document.unload-inactive";
+	public static final String DOCUMENT_UNLOAD_DELAY = "document.unload-delay";
 	public static final String FRETBOARD_STRING_SPACING = "fretboard.string-spacing";
 	public static final String FRETBOARD_STYLE = "fretboard.style";
 	public static final String FRETBOARD_FONT = "fretboard.font";
@@ -77,6 +81,7 @@ public class TGConfigKeys {
 	public static final String BROWSER_LINES_VISIBLE = "browser.lines-visible";
 	public static final String FORCE_OS_DEFAULTS = "painter.force-os-defaults";
 	
+	public static final String STYLE_GLYPH_ATLAS = "style.glyphAtlas";
 	public static final String STYLE_MIN_BUFFER_SEPARATOR = "style.minBufferSeparator";
 	public static final String STYLE_MIN_TOP_SPACING = "style.minTopSpacing";
 	public static final String STYLE_MIN_SCORE_TAB_SPACING = "style.minScoreTabSpacing";
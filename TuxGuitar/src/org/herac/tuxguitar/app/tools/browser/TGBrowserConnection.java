@@ -6,6 +6,7 @@ import java.util.List;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowser;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserCallBack;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserElement;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSearch;
 import org.herac.tuxguitar.util.TGContext;
 import org.herac.tuxguitar.util.TGLock;
 
@@ -89,6 +90,20 @@ public class TGBrowserConnection {
 		}
 	}
 	
+	public void search(final TGBrowserCallBack<List<TGBrowserElement>> callback, final String query){
+		if( tryLock()) {
+			new Thread(new Runnable() {
+				public void run() {
+					internalSearch(new TGBrowserCallBackUnlockWrapper<List<TGBrowserElement>>(callback), query);
+				}
+			}).start();
+		}
+	}
+	
+	public boolean isSearchable(){
+		return (this.isOpen() && getBrowser() instanceof TGBrowserSearch);
+	}
+	
 	public void openStream(final TGBrowserCallBack<InputStream> callback, final TGBrowserElement element) {
 		if( tryLock()) {
 			new Thread(new Runnable() {
@@ -157,6 +172,14 @@ public class TGBrowserConnection {
 		}
 	}
 	
+	private void internalSearch(final TGBrowserCallBack<List<TGBrowserElement>> callback, String query){
+		if( this.isSearchable() ){
+			((TGBrowserSearch) this.getBrowser()).search(callback, query);
+		} else {
+			callback.onSuccess(null);
+		}
+	}
+	
 	private void internalOpenStream(TGBrowserCallBack<InputStream> callback, TGBrowserElement element){
 		if( this.isOpen() && element != null && !element.isFolder() ){
 			this.getBrowser().getInputStream(callback, element);
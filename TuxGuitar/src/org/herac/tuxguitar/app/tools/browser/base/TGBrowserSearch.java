@@ -0,0 +1,14 @@
+package org.herac.tuxguitar.app.tools.browser.base;
+
+import java.util.List;
+
+/**
+ * Implemented by browsers that keep an index of their songs.
+ */
+public interface TGBrowserSearch {
+	
+	/**
+	 * Lists the songs of the whole collection matching every word of the query.
+	 */
+	void search(TGBrowserCallBack<List<TGBrowserElement>> cb, String query);
+}
@@ -8,19 +8,19 @@ public class TGBrowserSettings {
 	public TGBrowserSettings() {
 		super();
 	}
-
+	
 	public String getTitle() {
 		return title;
 	}
-
+	
 	public void setTitle(String title) {
 		this.title = title;
 	}
-
+	
 	public String getData() {
 		return data;
 	}
-
+	
 	public void setData(String data) {
 		this.data = data;
 	}
@@ -0,0 +1,63 @@
+package org.herac.tuxguitar.app.tools.browser.base;
+
+import java.util.Comparator;
+
+/**
+ * Sorts folders first, then songs by the selected metadata. Songs without that
+ * metadata come last, ties are sorted by name.
+ */
+public class TGBrowserSongComparator implements Comparator<TGBrowserElement> {
+	
+	public static final int SORT_NAME = 0;
+	public static final int SORT_TITLE = 1;
+	public static final int SORT_ARTIST = 2;
+	public static final int SORT_ALBUM = 3;
+	
+	private int sort;
+	
+	public TGBrowserSongComparator(int sort) {
+		this.sort = sort;
+	}
+	
+	public int compare(TGBrowserElement element1, TGBrowserElement element2) {
+		if( element1.isFolder() != element2.isFolder() ){
+			return (element1.isFolder() ? -1 : 1);
+		}
+		
+		String value1 = this.getValue(element1);
+		String value2 = this.getValue(element2);
+		if( value1 != value2 ){
+			if( value1 == null ){
+				return 1;
+			}
+			if( value2 == null ){
+				return -1;
+			}
+			int result = value1.compareToIgnoreCase(value2);
+			if( result != 0 ){
+				return result;
+			}
+		}
+		return element1.getName().compareToIgnoreCase(element2.getName());
+	}
+	
+	private String getValue(TGBrowserElement element) {
+		if( this.sort != SORT_NAME && element instanceof TGBrowserSongElement ){
+			TGBrowserSongInfo info = ((TGBrowserSongElement) element).getSongInfo();
+			if( info != null ){
+				String value = null;
+				if( this.sort == SORT_TITLE ){
+					value = info.getTitle();
+				} else if( this.sort == SORT_ARTIST ){
+					value = info.getArtist();
+				} else if( this.sort == SORT_ALBUM ){
+					value = info.getAlbum();
+				}
+				if( value != null && value.trim().length() > 0 ){
+					return value.trim();
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,9 @@
+package org.herac.tuxguitar.app.tools.browser.base;
+
+public interface TGBrowserSongElement extends TGBrowserElement {
+	
+	/**
+	 * @return the indexed metadata of the song, or null while it is not known yet.
+	 */
+	TGBrowserSongInfo getSongInfo();
+}
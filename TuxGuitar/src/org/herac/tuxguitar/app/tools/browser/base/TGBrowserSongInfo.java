@@ -0,0 +1,82 @@
+package org.herac.tuxguitar.app.tools.browser.base;
+
+public class TGBrowserSongInfo {
+	
+	private String title;
+	private String artist;
+	private String album;
+	private String author;
+	private String[] trackNames;
+	private int[] tuning;
+	private int measureCount;
+	private int tempo;
+	
+	public TGBrowserSongInfo() {
+		this.trackNames = new String[0];
+		this.tuning = new int[0];
+	}
+	
+	public String getTitle() {
+		return this.title;
+	}
+	
+	public void setTitle(String title) {
+		this.title = title;
+	}
+	
+	public String getArtist() {
+		return this.artist;
+	}
+	
+	public void setArtist(String artist) {
+		this.artist = artist;
+	}
+	
+	public String getAlbum() {
+		return this.album;
+	}
+	
+	public void setAlbum(String album) {
+		this.album = album;
+	}
+	
+	public String getAuthor() {
+		return this.author;
+	}
+	
+	public void setAuthor(String author) {
+		this.author = author;
+	}
+	
+	public String[] getTrackNames() {
+		return this.trackNames;
+	}
+	
+	public void setTrackNames(String[] trackNames) {
+		this.trackNames = trackNames;
+	}
+	
+	public int[] getTuning() {
+		return this.tuning;
+	}
+	
+	public void setTuning(int[] tuning) {
+		this.tuning = tuning;
+	}
+	
+	public int getMeasureCount() {
+		return this.measureCount;
+	}
+	
+	public void setMeasureCount(int measureCount) {
+		this.measureCount = measureCount;
+	}
+	
+	public int getTempo() {
+		return this.tempo;
+	}
+	
+	public void setTempo(int tempo) {
+		this.tempo = tempo;
+	}
+}
@@ -6,16 +6,23 @@ import java.io.FileNotFoundException;
 import java.io.InputStream;
 
 import org.herac.tuxguitar.app.tools.browser.TGBrowserException;
-import org.herac.tuxguitar.app.tools.browser.base.TGBrowserElement;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongElement;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
 
-public class TGBrowserElementImpl implements TGBrowserElement{
+public class TGBrowserElementImpl implements TGBrowserSongElement{
 	
 	private TGBrowserElementImpl parent;
 	private File file;
+	private TGBrowserSongInfo songInfo;
 	
-	public TGBrowserElementImpl(TGBrowserElementImpl parent,File file) {
+	public TGBrowserElementImpl(TGBrowserElementImpl parent,File file,TGBrowserSongInfo songInfo) {
 		this.parent = parent;
 		this.file = file;
+		this.songInfo = songInfo;
+	}
+	
+	public TGBrowserElementImpl(TGBrowserElementImpl parent,File file) {
+		this(parent, file, null);
 	}
 	
 	public File getFile() {
@@ -34,6 +41,10 @@ public class TGBrowserElementImpl implements TGBrowserElement{
 		return getFile().isDirectory();
 	}
 	
+	public TGBrowserSongInfo getSongInfo(){
+		return this.songInfo;
+	}
+	
 	public InputStream getInputStream() throws TGBrowserException {
 		if(!isFolder()){
 			try {
@@ -44,5 +55,5 @@ public class TGBrowserElementImpl implements TGBrowserElement{
 		}
 		return null;
 	}
-	
+
 }
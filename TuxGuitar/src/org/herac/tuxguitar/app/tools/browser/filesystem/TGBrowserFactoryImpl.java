@@ -22,12 +22,12 @@ public class TGBrowserFactoryImpl implements TGBrowserFactory{
 	public String getName(){
 		return TuxGuitar.getProperty("browser.factory.fs.name");
 	}
-
+	
 	public void createSettings(TGBrowserFactorySettingsHandler handler) {
 		new TGBrowserDataDialog(this.context, handler).open();
 	}
-
+	
 	public void createBrowser(TGBrowserFactoryHandler handler, TGBrowserSettings settings) {
-		handler.onCreateBrowser(new TGBrowserImpl(TGBrowserSettingsModel.createInstance(settings)));
+		handler.onCreateBrowser(new TGBrowserImpl(this.context, TGBrowserSettingsModel.createInstance(settings)));
 	}
 }
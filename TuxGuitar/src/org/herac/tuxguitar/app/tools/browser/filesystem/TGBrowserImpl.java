@@ -9,20 +9,27 @@ import java.util.List;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowser;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserCallBack;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserElement;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSearch;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
+import org.herac.tuxguitar.util.TGContext;
 
-public class TGBrowserImpl implements TGBrowser {
+public class TGBrowserImpl implements TGBrowser, TGBrowserSearch {
 	
+	private TGContext context;
 	private File root;
 	private TGBrowserElementImpl element;
 	private TGBrowserSettingsModel data;
+	private TGBrowserSongIndexer indexer;
 	
-	public TGBrowserImpl(TGBrowserSettingsModel data){
+	public TGBrowserImpl(TGContext context, TGBrowserSettingsModel data){
+		this.context = context;
 		this.data = data;
 	}
 	
 	public void open(TGBrowserCallBack<Object> cb) {
 		try {
 			this.root = new File(this.data.getPath());
+			this.indexer = TGBrowserSongIndex.getInstance(this.context).startIndexer(this.root);
 			
 			cb.onSuccess(null);
 		} catch(Throwable throwable) {
@@ -32,6 +39,10 @@ public class TGBrowserImpl implements TGBrowser {
 	
 	public void close(TGBrowserCallBack<Object> cb) {
 		try {
+			if( this.indexer != null ){
+				this.indexer.cancel();
+				this.indexer = null;
+			}
 			this.root = null;
 			
 			cb.onSuccess(null);
@@ -78,8 +89,9 @@ public class TGBrowserImpl implements TGBrowser {
 			File file = ((this.element != null)?this.element.getFile():this.root);
 			if( file.exists() && file.isDirectory() ){
 				File[] files = file.listFiles();
+				TGBrowserSongIndex index = TGBrowserSongIndex.getInstance(this.context);
 				for(int i = 0; i < files.length;i ++){
-					elements.add(new TGBrowserElementImpl(this.element,files[i]));
+					elements.add(new TGBrowserElementImpl(this.element,files[i],this.findSongInfo(index, files[i])));
 				}
 			}
 			if( !elements.isEmpty() ){
@@ -91,6 +103,29 @@ public class TGBrowserImpl implements TGBrowser {
 		}
 	}
 	
+	public void search(TGBrowserCallBack<List<TGBrowserElement>> cb, String query) {
+		try {
+			List<TGBrowserElement> elements = new ArrayList<TGBrowserElement>();
+			List<TGBrowserSongIndexEntry> entries = TGBrowserSongIndex.getInstance(this.context).search(this.root, query);
+			for(TGBrowserSongIndexEntry entry : entries){
+				elements.add(new TGBrowserElementImpl(null, new File(entry.getPath()), entry.getInfo()));
+			}
+			cb.onSuccess(elements);
+		} catch (Throwable throwable ) {
+			cb.handleError(throwable);
+		}
+	}
+	
+	private TGBrowserSongInfo findSongInfo(TGBrowserSongIndex index, File file) {
+		if(!file.isDirectory() ){
+			TGBrowserSongIndexEntry entry = index.getEntry(file.getAbsolutePath());
+			if( entry != null && entry.isUpToDate(file) ){
+				return entry.getInfo();
+			}
+		}
+		return null;
+	}
+	
 	public void getInputStream(TGBrowserCallBack<InputStream> cb, TGBrowserElement element) {
 		try {
 			cb.onSuccess(((TGBrowserElementImpl) element).getInputStream());
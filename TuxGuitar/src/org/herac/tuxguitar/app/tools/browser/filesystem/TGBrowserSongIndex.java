@@ -0,0 +1,253 @@
+package org.herac.tuxguitar.app.tools.browser.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
+import org.herac.tuxguitar.app.util.TGFileUtils;
+import org.herac.tuxguitar.util.TGContext;
+import org.herac.tuxguitar.util.error.TGErrorManager;
+import org.herac.tuxguitar.util.singleton.TGSingletonFactory;
+import org.herac.tuxguitar.util.singleton.TGSingletonUtil;
+
+/**
+ * Song metadata of the file system collections, keyed by absolute path.
+ *
+ * The index is kept in memory and stored in the user config folder, so it survives
+ * restarts and only changed files need to be read again.
+ */
+public class TGBrowserSongIndex {
+	
+	private static final String INDEX_FILE = (TGFileUtils.PATH_USER_CONFIG + File.separator + "browser-index.bin");
+	
+	private static final int INDEX_MAGIC = 0x54474249;
+	private static final int INDEX_VERSION = 1;
+	private static final int MAX_STRING_LENGTH = 1024;
+	private static final int MAX_ARRAY_LENGTH = 1024;
+	
+	private TGContext context;
+	private Map<String, TGBrowserSongIndexEntry> entries;
+	private Map<String, TGBrowserSongIndexer> indexers;
+	private boolean changes;
+	
+	private TGBrowserSongIndex(TGContext context) {
+		this.context = context;
+		this.entries = new HashMap<String, TGBrowserSongIndexEntry>();
+		this.indexers = new HashMap<String, TGBrowserSongIndexer>();
+		this.read();
+	}
+	
+	/**
+	 * Starts indexing the root folder, an indexer still walking the same folder is reused.
+	 */
+	public synchronized TGBrowserSongIndexer startIndexer(File root) {
+		String key = root.getAbsolutePath();
+		TGBrowserSongIndexer indexer = this.indexers.get(key);
+		if( indexer == null || !indexer.resume() ){
+			indexer = new TGBrowserSongIndexer(this.context, root);
+			indexer.start();
+			this.indexers.put(key, indexer);
+		}
+		return indexer;
+	}
+	
+	public synchronized TGBrowserSongIndexEntry getEntry(String path) {
+		return this.entries.get(path);
+	}
+	
+	public synchronized void putEntry(TGBrowserSongIndexEntry entry) {
+		this.entries.put(entry.getPath(), entry);
+		this.changes = true;
+	}
+	
+	/**
+	 * Removes the entries found under the root folder which are not in the given set.
+	 */
+	public synchronized void retainEntries(File root, Set<String> paths) {
+		String prefix = createPrefix(root);
+		Iterator<String> it = this.entries.keySet().iterator();
+		while( it.hasNext() ){
+			String path = it.next();
+			if( path.startsWith(prefix) && !paths.contains(path) ){
+				it.remove();
+				this.changes = true;
+			}
+		}
+	}
+	
+	/**
+	 * Finds the readable songs under the root folder matching every word of the query.
+	 */
+	public synchronized List<TGBrowserSongIndexEntry> search(File root, String query) {
+		String prefix = createPrefix(root);
+		String[] terms = query.trim().toLowerCase(Locale.ENGLISH).split("\\s+");
+		
+		List<TGBrowserSongIndexEntry> results = new ArrayList<TGBrowserSongIndexEntry>();
+		for(TGBrowserSongIndexEntry entry : this.entries.values()) {
+			if( entry.getInfo() != null && entry.getPath().startsWith(prefix) && entry.matches(terms) ){
+				results.add(entry);
+			}
+		}
+		return results;
+	}
+	
+	private static String createPrefix(File root) {
+		String prefix = root.getAbsolutePath();
+		return (prefix.endsWith(File.separator) ? prefix : (prefix + File.separator));
+	}
+	
+	private void read() {
+		File file = new File(INDEX_FILE);
+		if( file.exists() ){
+			try {
+				DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+				try {
+					if( stream.readInt() == INDEX_MAGIC && stream.readInt() == INDEX_VERSION ){
+						int count = stream.readInt();
+						for(int i = 0; i < count; i ++){
+							TGBrowserSongIndexEntry entry = readEntry(stream);
+							this.entries.put(entry.getPath(), entry);
+						}
+					}
+				} finally {
+					stream.close();
+				}
+			} catch (IOException e) {
+				// a broken index is rebuilt from scratch
+				this.entries.clear();
+			} catch (RuntimeException e) {
+				this.entries.clear();
+			}
+		}
+	}
+	
+	public synchronized void write() {
+		if( this.changes ){
+			try {
+				File file = new File(INDEX_FILE);
+				File tempFile = new File(INDEX_FILE + ".tmp");
+				if(!file.getParentFile().exists()){
+					file.getParentFile().mkdirs();
+				}
+				
+				DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+				try {
+					stream.writeInt(INDEX_MAGIC);
+					stream.writeInt(INDEX_VERSION);
+					stream.writeInt(this.entries.size());
+					for(TGBrowserSongIndexEntry entry : this.entries.values()) {
+						writeEntry(stream, entry);
+					}
+				} finally {
+					stream.close();
+				}
+				if(!tempFile.renameTo(file) ){
+					file.delete();
+					tempFile.renameTo(file);
+				}
+				this.changes = false;
+			} catch (IOException e) {
+				TGErrorManager.getInstance(this.context).handleError(e);
+			}
+		}
+	}
+	
+	private static TGBrowserSongIndexEntry readEntry(DataInputStream stream) throws IOException {
+		String path = stream.readUTF();
+		long lastModified = stream.readLong();
+		long length = stream.readLong();
+		
+		TGBrowserSongInfo info = null;
+		if( stream.readBoolean() ){
+			info = new TGBrowserSongInfo();
+			info.setTitle(readString(stream));
+			info.setArtist(readString(stream));
+			info.setAlbum(readString(stream));
+			info.setAuthor(readString(stream));
+			info.setMeasureCount(stream.readInt());
+			info.setTempo(stream.readInt());
+			
+			String[] trackNames = new String[readLength(stream)];
+			for(int i = 0; i < trackNames.length; i ++){
+				trackNames[i] = readString(stream);
+			}
+			info.setTrackNames(trackNames);
+			
+			int[] tuning = new int[readLength(stream)];
+			for(int i = 0; i < tuning.length; i ++){
+				tuning[i] = stream.readInt();
+			}
+			info.setTuning(tuning);
+		}
+		return new TGBrowserSongIndexEntry(path, lastModified, length, info);
+	}
+	
+	private static void writeEntry(DataOutputStream stream, TGBrowserSongIndexEntry entry) throws IOException {
+		stream.writeUTF(entry.getPath());
+		stream.writeLong(entry.getLastModified());
+		stream.writeLong(entry.getLength());
+		
+		TGBrowserSongInfo info = entry.getInfo();
+		stream.writeBoolean(info != null);
+		if( info != null ){
+			writeString(stream, info.getTitle());
+			writeString(stream, info.getArtist());
+			writeString(stream, info.getAlbum());
+			writeString(stream, info.getAuthor());
+			stream.writeInt(info.getMeasureCount());
+			stream.writeInt(info.getTempo());
+			
+			int trackCount = Math.min(info.getTrackNames().length, MAX_ARRAY_LENGTH);
+			stream.writeInt(trackCount);
+			for(int i = 0; i < trackCount; i ++){
+				writeString(stream, info.getTrackNames()[i]);
+			}
+			
+			int stringCount = Math.min(info.getTuning().length, MAX_ARRAY_LENGTH);
+			stream.writeInt(stringCount);
+			for(int i = 0; i < stringCount; i ++){
+				stream.writeInt(info.getTuning()[i]);
+			}
+		}
+	}
+	
+	private static int readLength(DataInputStream stream) throws IOException {
+		int length = stream.readInt();
+		if( length < 0 || length > MAX_ARRAY_LENGTH ){
+			throw new IOException("Invalid array length: " + length);
+		}
+		return length;
+	}
+	
+	private static String readString(DataInputStream stream) throws IOException {
+		return (stream.readBoolean() ? stream.readUTF() : null);
+	}
+	
+	private static void writeString(DataOutputStream stream, String value) throws IOException {
+		stream.writeBoolean(value != null);
+		if( value != null ){
+			stream.writeUTF(value.length() > MAX_STRING_LENGTH ? value.substring(0, MAX_STRING_LENGTH) : value);
+		}
+	}
+	
+	public static TGBrowserSongIndex getInstance(TGContext context) {
+		return TGSingletonUtil.getInstance(context, TGBrowserSongIndex.class.getName(), new TGSingletonFactory<TGBrowserSongIndex>() {
+			public TGBrowserSongIndex createInstance(TGContext context) {
+				return new TGBrowserSongIndex(context);
+			}
+		});
+	}
+}
@@ -0,0 +1,78 @@
+package org.herac.tuxguitar.app.tools.browser.filesystem;
+
+import java.io.File;
+import java.util.Locale;
+
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
+
+public class TGBrowserSongIndexEntry {
+	
+	private String path;
+	private long lastModified;
+	private long length;
+	private TGBrowserSongInfo info;
+	private String searchText;
+	
+	public TGBrowserSongIndexEntry(String path, long lastModified, long length, TGBrowserSongInfo info) {
+		this.path = path;
+		this.lastModified = lastModified;
+		this.length = length;
+		this.info = info;
+	}
+	
+	public String getPath() {
+		return this.path;
+	}
+	
+	public long getLastModified() {
+		return this.lastModified;
+	}
+	
+	public long getLength() {
+		return this.length;
+	}
+	
+	/**
+	 * @return the song metadata, or null when the file could not be read.
+	 */
+	public TGBrowserSongInfo getInfo() {
+		return this.info;
+	}
+	
+	public boolean isUpToDate(File file) {
+		return (this.lastModified == file.lastModified() && this.length == file.length());
+	}
+	
+	public boolean matches(String[] terms) {
+		if( this.searchText == null ){
+			this.searchText = this.createSearchText();
+		}
+		for(String term : terms) {
+			if( this.searchText.indexOf(term) < 0 ){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private String createSearchText() {
+		StringBuilder sb = new StringBuilder(new File(this.path).getName());
+		if( this.info != null ){
+			this.appendSearchText(sb, this.info.getTitle());
+			this.appendSearchText(sb, this.info.getArtist());
+			this.appendSearchText(sb, this.info.getAlbum());
+			this.appendSearchText(sb, this.info.getAuthor());
+			for(String trackName : this.info.getTrackNames()) {
+				this.appendSearchText(sb, trackName);
+			}
+		}
+		return sb.toString().toLowerCase(Locale.ENGLISH);
+	}
+	
+	private void appendSearchText(StringBuilder sb, String value) {
+		if( value != null ){
+			sb.append('\n');
+			sb.append(value);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package org.herac.tuxguitar.app.tools.browser.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
+import org.herac.tuxguitar.io.base.TGFileFormat;
+import org.herac.tuxguitar.io.base.TGFileFormatException;
+import org.herac.tuxguitar.io.base.TGFileFormatManager;
+import org.herac.tuxguitar.io.base.TGFileFormatUtils;
+import org.herac.tuxguitar.io.base.TGSongPersistenceHelper;
+import org.herac.tuxguitar.io.base.TGSongReaderHandle;
+import org.herac.tuxguitar.io.base.TGSongStreamContext;
+import org.herac.tuxguitar.song.managers.TGSongManager;
+import org.herac.tuxguitar.song.models.TGMeasureHeader;
+import org.herac.tuxguitar.song.models.TGSong;
+import org.herac.tuxguitar.song.models.TGString;
+import org.herac.tuxguitar.song.models.TGTrack;
+import org.herac.tuxguitar.util.TGContext;
+
+/**
+ * Walks a collection folder in background, reading the songs which are not in the
+ * index yet or were modified since they were indexed.
+ */
+public class TGBrowserSongIndexer implements Runnable {
+	
+	private static final int WRITE_INTERVAL = 100;
+	
+	private TGContext context;
+	private File root;
+	private volatile boolean cancelled;
+	private boolean running;
+	
+	public TGBrowserSongIndexer(TGContext context, File root) {
+		this.context = context;
+		this.root = root;
+	}
+	
+	public void start() {
+		synchronized (this) {
+			this.running = true;
+		}
+		Thread thread = new Thread(this, "TuxGuitar-browser-indexer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+	
+	public void cancel() {
+		this.cancelled = true;
+	}
+	
+	/**
+	 * Takes back a cancelled indexer whose thread did not exit yet, returns false once it is gone.
+	 */
+	public synchronized boolean resume() {
+		if( this.running ){
+			this.cancelled = false;
+			return true;
+		}
+		return false;
+	}
+	
+	public void run() {
+		boolean again = true;
+		while( again ){
+			boolean completed = this.walk();
+			synchronized (this) {
+				again = (!completed && !this.cancelled);
+				this.running = again;
+			}
+		}
+	}
+	
+	/**
+	 * Returns false when the walk was cancelled, the index is then left as the periodic writes stored it.
+	 */
+	private boolean walk() {
+		TGBrowserSongIndex index = TGBrowserSongIndex.getInstance(this.context);
+		List<TGFileFormat> formats = TGFileFormatManager.getInstance(this.context).findReadFileFormats(null);
+		Set<String> paths = new HashSet<String>();
+		Set<String> folders = new HashSet<String>();
+		ArrayDeque<File> pending = new ArrayDeque<File>();
+		pending.add(this.root);
+		
+		int updates = 0;
+		while(!pending.isEmpty() ){
+			File folder = pending.poll();
+			File[] files = folder.listFiles();
+			if( files == null || !folders.add(this.getCanonicalPath(folder)) ){
+				continue;
+			}
+			for(int i = 0; i < files.length; i ++){
+				if( this.cancelled ){
+					return false;
+				}
+				File file = files[i];
+				if( file.isDirectory() ){
+					pending.add(file);
+				}
+				else if( TGFileFormatUtils.isSupportedFormat(formats, file.getName()) ){
+					String path = file.getAbsolutePath();
+					paths.add(path);
+					
+					TGBrowserSongIndexEntry entry = index.getEntry(path);
+					if( entry == null || !entry.isUpToDate(file) ){
+						long lastModified = file.lastModified();
+						long length = file.length();
+						index.putEntry(new TGBrowserSongIndexEntry(path, lastModified, length, this.readSongInfo(file)));
+						if( ++ updates % WRITE_INTERVAL == 0 ){
+							index.write();
+						}
+					}
+				}
+			}
+		}
+		if( this.cancelled ){
+			return false;
+		}
+		index.retainEntries(this.root, paths);
+		index.write();
+		
+		return true;
+	}
+	
+	private String getCanonicalPath(File folder) {
+		try {
+			return folder.getCanonicalPath();
+		} catch (IOException e) {
+			return folder.getAbsolutePath();
+		}
+	}
+	
+	private TGBrowserSongInfo readSongInfo(File file) {
+		try {
+			TGSongManager songManager = new TGSongManager();
+			TGSongReaderHandle handle = new TGSongReaderHandle();
+			handle.setFactory(songManager.getFactory());
+			handle.setInputStream(new BufferedInputStream(new FileInputStream(file)));
+			handle.setContext(new TGSongStreamContext());
+			handle.setMetadataOnly(true);
+			handle.getContext().setAttribute(TGSongPersistenceHelper.ATTRIBUTE_FORMAT_CODE, TGFileFormatUtils.getFileFormatCode(file.getName()));
+			
+			TGFileFormatManager.getInstance(this.context).read(handle);
+			
+			return createSongInfo(songManager, handle.getSong());
+		} catch (IOException e) {
+			return null;
+		} catch (TGFileFormatException e) {
+			return null;
+		}
+	}
+	
+	private static TGBrowserSongInfo createSongInfo(TGSongManager songManager, TGSong song) {
+		TGBrowserSongInfo info = new TGBrowserSongInfo();
+		info.setTitle(song.getName());
+		info.setArtist(song.getArtist());
+		info.setAlbum(song.getAlbum());
+		info.setAuthor(song.getAuthor());
+		info.setMeasureCount(song.countMeasureHeaders());
+		
+		Iterator<TGMeasureHeader> headers = song.getMeasureHeaders();
+		if( headers.hasNext() ){
+			info.setTempo(headers.next().getTempo().getValue());
+		}
+		
+		String[] trackNames = new String[song.countTracks()];
+		int[] tuning = null;
+		Iterator<TGTrack> tracks = song.getTracks();
+		for(int i = 0; tracks.hasNext(); i ++){
+			TGTrack track = tracks.next();
+			trackNames[i] = track.getName();
+			if( tuning == null && !songManager.isPercussionChannel(song, track.getChannelId()) && !track.getStrings().isEmpty() ){
+				List<TGString> strings = track.getStrings();
+				tuning = new int[strings.size()];
+				for(int s = 0; s < tuning.length; s ++){
+					tuning[s] = strings.get(s).getValue();
+				}
+			}
+		}
+		info.setTrackNames(trackNames);
+		info.setTuning(tuning != null ? tuning : new int[0]);
+		
+		return info;
+	}
+}
@@ -8,6 +8,7 @@ public class TablatureStyles extends TGLayoutStyles {
 	
 	public TablatureStyles(TGConfigManager config) {
 		this.setBufferEnabled(true);
+		this.setGlyphAtlasEnabled(config.getBooleanValue(TGConfigKeys.STYLE_GLYPH_ATLAS));
 		this.setStringSpacing(config.getIntegerValue(TGConfigKeys.STYLE_STRING_SPACING));
 		this.setScoreLineSpacing(config.getIntegerValue(TGConfigKeys.STYLE_SCORE_LINE_SPACING));
 		this.setFirstMeasureSpacing(config.getIntegerValue(TGConfigKeys.STYLE_FIRST_MEASURE_SPACING));
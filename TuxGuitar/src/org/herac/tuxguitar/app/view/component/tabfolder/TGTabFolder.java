@@ -3,10 +3,13 @@ package org.herac.tuxguitar.app.view.component.tabfolder;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.herac.tuxguitar.app.TuxGuitar;
 import org.herac.tuxguitar.app.action.impl.file.TGCloseDocumentAction;
 import org.herac.tuxguitar.app.document.TGDocument;
 import org.herac.tuxguitar.app.document.TGDocumentListAttributes;
 import org.herac.tuxguitar.app.document.TGDocumentListManager;
+import org.herac.tuxguitar.app.document.TGDocumentMemoryMeter;
+import org.herac.tuxguitar.app.system.config.TGConfigKeys;
 import org.herac.tuxguitar.app.ui.TGApplication;
 import org.herac.tuxguitar.app.view.component.tab.TGControl;
 import org.herac.tuxguitar.app.view.util.TGSyncProcessLocked;
@@ -37,6 +40,7 @@ public class TGTabFolder implements TGEventListener {
 	private TGContext context;
 	private TGSyncProcessLocked updateDocumentProcess;
 	private TGSyncProcessLocked updateSelectionProcess;
+	private TGSyncProcessLocked updateTabItemsProcess;
 	
 	private UITabFolder tabFolder;
 	private List<UITabItem> tabItems;
@@ -159,6 +163,10 @@ public class TGTabFolder implements TGEventListener {
 		}
 	}
 	
+	public void updateTabItemsLater() {
+		this.updateTabItemsProcess.process();
+	}
+	
 	public void disposeOrphanItems() {
 		if(!this.isDisposed()) {
 			List<TGDocument> documents = TGDocumentListManager.getInstance(this.context).getDocuments();
@@ -212,6 +220,13 @@ public class TGTabFolder implements TGEventListener {
 			sb.append("*");
 		}
 		sb.append(TGDocumentListManager.getInstance(this.context).getDocumentName(document));
+		if( TuxGuitar.getInstance().getConfig().getBooleanValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY) && document.getMemorySize() > 0 ) {
+			sb.append(" [");
+			sb.append(TGDocumentMemoryMeter.formatSize(document.getMemorySize()));
+			sb.append(" / ");
+			sb.append(TGDocumentMemoryMeter.formatSize(document.getUndoMemorySize()));
+			sb.append("]");
+		}
 		
 		return sb.toString();
 	}
@@ -227,6 +242,11 @@ public class TGTabFolder implements TGEventListener {
 				updateSelection();
 			}
 		});
+		this.updateTabItemsProcess = new TGSyncProcessLocked(this.context, new Runnable() {
+			public void run() {
+				updateTabItems();
+			}
+		});
 	}
 	
 	public void onTabItemSelected() {
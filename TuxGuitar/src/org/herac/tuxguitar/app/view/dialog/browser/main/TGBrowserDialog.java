@@ -5,6 +5,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -24,6 +26,9 @@ import org.herac.tuxguitar.app.tools.browser.base.TGBrowserCallBack;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserElement;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserFactory;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserFactoryHandler;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongComparator;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongElement;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongInfo;
 import org.herac.tuxguitar.app.ui.TGApplication;
 import org.herac.tuxguitar.app.util.TGMessageDialogUtil;
 import org.herac.tuxguitar.app.view.main.TGWindow;
@@ -68,18 +73,23 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	private TGBrowserMenuBar menu;
 	private TGBrowserToolBar toolBar;
 	private TGCursorController cursorController;
+	private String query;
+	private int sort;
+	private boolean searchPending;
 	
 	public TGBrowserDialog(TGContext context){
 		this.context = context;
 		this.connection = new TGBrowserConnection(context, this);
 		this.menu = new TGBrowserMenuBar(this);
 		this.toolBar = new TGBrowserToolBar(this);
+		this.query = "";
+		this.sort = TGBrowserSongComparator.SORT_NAME;
 	}
 	
 	public TGContext getContext() {
 		return context;
 	}
-
+	
 	public TGBrowserConnection getConnection(){
 		return this.connection;
 	}
@@ -96,6 +106,14 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 		return this.dialog;
 	}
 	
+	public String getQuery() {
+		return this.query;
+	}
+	
+	public int getSort() {
+		return this.sort;
+	}
+	
 	public void exit(){
 		this.closeCollection(true);
 		
@@ -147,7 +165,7 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	
 	public void initTable(UIContainer parent){
 		this.table = getUIFactory().createTable(parent, false);
-		this.table.setColumns(1);
+		this.table.setColumns(4);
 		this.table.addMouseDoubleClickListener(new UIMouseDoubleClickListener() {
 			public void onMouseDoubleClick(UIMouseEvent event) {
 				openElement();
@@ -180,6 +198,14 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 								UITableItem<TGBrowserElement> item = new UITableItem<TGBrowserElement>(element);
 								item.setImage(element.isFolder() ? iconManager.getBrowserFolder(): iconManager.getBrowserFile());
 								item.setText(0, element.getName());
+								if( element instanceof TGBrowserSongElement ){
+									TGBrowserSongInfo info = ((TGBrowserSongElement) element).getSongInfo();
+									if( info != null ){
+										item.setText(1, info.getTitle());
+										item.setText(2, info.getArtist());
+										item.setText(3, info.getAlbum());
+									}
+								}
 								TGBrowserDialog.this.table.addItem(item);
 							}
 						}
@@ -224,6 +250,10 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	}
 	
 	public void addElements(List<TGBrowserElement> elements){
+		if( elements != null ){
+			elements = new ArrayList<TGBrowserElement>(elements);
+			Collections.sort(elements, new TGBrowserSongComparator(this.sort));
+		}
 		this.elements = elements;
 	}
 	
@@ -315,6 +345,38 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 		}
 	}
 	
+	public void search(String query) {
+		this.query = (query != null ? query.trim() : "");
+		if(!this.isDisposed() && this.getConnection().isSearchable()) {
+			if( this.getConnection().isLocked() ) {
+				this.searchPending = true;
+			} else if( this.query.length() == 0 ) {
+				this.listElements();
+			} else {
+				final String searchQuery = this.query;
+				this.getConnection().search(new TGAbstractBrowserCallBack<List<TGBrowserElement>>() {
+					public void onSuccess(List<TGBrowserElement> elements) {
+						if( searchQuery.equals(getQuery()) ) {
+							notifyElements(elements);
+						}
+					}
+				}, searchQuery);
+			}
+		}
+	}
+	
+	public void sort(int sort) {
+		if( this.sort != sort ) {
+			this.sort = sort;
+			this.addElements(this.elements);
+			this.updateTable();
+		}
+	}
+	
+	public void refresh() {
+		this.search(this.query);
+	}
+	
 	public void openStream(final TGBrowserElement element) {
 		if(!this.isDisposed()) {
 			this.getConnection().openStream(new TGAbstractBrowserCallBack<InputStream>() {
@@ -340,6 +402,7 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	
 	public void onOpenCollection() {
 		if(!this.isDisposed()) {
+			this.clearSearchLater();
 			this.removeElements();
 			this.updateTable();
 			this.updateCollections(getCollection());
@@ -358,6 +421,7 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	
 	public void onCd() {
 		if(!this.isDisposed()) {
+			this.clearSearchLater();
 			this.listElements();
 		}
 	}
@@ -401,6 +465,18 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 		}
 	}
 	
+	public void clearSearchLater() {
+		this.query = "";
+		this.searchPending = false;
+		TGSynchronizer.getInstance(this.context).executeLater(new Runnable() {
+			public void run() {
+				if(!isDisposed()){
+					TGBrowserDialog.this.toolBar.clearSearch();
+				}
+			}
+		});
+	}
+	
 	public void loadIcons() {
 		if(!isDisposed()){
 			this.getWindow().setImage(TuxGuitar.getInstance().getIconManager().getAppIcon());
@@ -411,6 +487,10 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	public void loadProperties() {
 		if(!isDisposed()){
 			this.dialog.setText(TuxGuitar.getProperty("browser.dialog"));
+			this.table.setColumnName(0, TuxGuitar.getProperty("browser.column.name"));
+			this.table.setColumnName(1, TuxGuitar.getProperty("browser.column.title"));
+			this.table.setColumnName(2, TuxGuitar.getProperty("browser.column.artist"));
+			this.table.setColumnName(3, TuxGuitar.getProperty("browser.column.album"));
 			this.menu.loadProperties();
 			this.toolBar.loadProperties();
 		}
@@ -442,6 +522,14 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 	
 	public void notifyLockStatusChanged() {
 		if(!this.isDisposed()){
+			if( this.searchPending && !getConnection().isLocked() ){
+				this.searchPending = false;
+				TGSynchronizer.getInstance(this.context).executeLater(new Runnable() {
+					public void run() {
+						TGBrowserDialog.this.refresh();
+					}
+				});
+			}
 			this.updateBarsLater();
 			this.loadCursor(getConnection().isLocked() ? UICursor.WAIT : UICursor.NORMAL);
 		}
@@ -465,7 +553,7 @@ public class TGBrowserDialog implements TGBrowserFactoryListener, TGBrowserConne
 			this.getWindow().layout();
 		}
 	}
-
+	
 	public UIFactory getUIFactory() {
 		return TGApplication.getInstance(this.context).getFactory();
 	}
@@ -6,6 +6,9 @@ import org.herac.tuxguitar.app.TuxGuitar;
 import org.herac.tuxguitar.app.tools.browser.TGBrowserCollection;
 import org.herac.tuxguitar.app.tools.browser.TGBrowserManager;
 import org.herac.tuxguitar.app.tools.browser.base.TGBrowserFactory;
+import org.herac.tuxguitar.app.tools.browser.base.TGBrowserSongComparator;
+import org.herac.tuxguitar.ui.event.UIModifyEvent;
+import org.herac.tuxguitar.ui.event.UIModifyListener;
 import org.herac.tuxguitar.ui.event.UISelectionEvent;
 import org.herac.tuxguitar.ui.event.UISelectionListener;
 import org.herac.tuxguitar.ui.menu.UIMenuActionItem;
@@ -16,6 +19,7 @@ import org.herac.tuxguitar.ui.toolbar.UIToolMenuItem;
 import org.herac.tuxguitar.ui.widget.UIContainer;
 import org.herac.tuxguitar.ui.widget.UIDropDownSelect;
 import org.herac.tuxguitar.ui.widget.UISelectItem;
+import org.herac.tuxguitar.ui.widget.UITextField;
 
 public class TGBrowserToolBar extends TGBrowserBar{
 	
@@ -27,6 +31,11 @@ public class TGBrowserToolBar extends TGBrowserBar{
 	private UIToolCustomItem collectionsItem;
 	private UIDropDownSelect<TGBrowserCollection> collections;
 	private TGBrowserCollection currentCollection;
+	private UIToolCustomItem searchItem;
+	private UITextField search;
+	private UIToolCustomItem sortItem;
+	private UIDropDownSelect<Integer> sort;
+	private boolean ignoreSearchEvents;
 	
 	public TGBrowserToolBar(TGBrowserDialog browser){
 		super(browser);
@@ -78,7 +87,7 @@ public class TGBrowserToolBar extends TGBrowserBar{
 		this.refresh.setImage(TuxGuitar.getInstance().getIconManager().getBrowserRefresh());
 		this.refresh.addSelectionListener(new UISelectionListener() {
 			public void onSelect(UISelectionEvent event) {
-				getBrowser().listElements();
+				getBrowser().refresh();
 			}
 		});
 		
@@ -96,6 +105,35 @@ public class TGBrowserToolBar extends TGBrowserBar{
 				updateCollection();
 			}
 		});
+		
+		this.toolBar.createSeparator();
+		
+		//---Search-------------------------------------------------------------
+		this.searchItem = this.toolBar.createCustomItem();
+		this.searchItem.setLayoutAttribute(UIToolCustomItem.PACKED_WIDTH, 150f);
+		
+		this.search = this.getBrowser().getUIFactory().createTextField(this.searchItem);
+		this.search.setText(getBrowser().getQuery());
+		this.search.addModifyListener(new UIModifyListener() {
+			public void onModify(UIModifyEvent event) {
+				if(!TGBrowserToolBar.this.ignoreSearchEvents ){
+					getBrowser().search(TGBrowserToolBar.this.search.getText());
+				}
+			}
+		});
+		
+		//---Sort---------------------------------------------------------------
+		this.sortItem = this.toolBar.createCustomItem();
+		
+		this.sort = this.getBrowser().getUIFactory().createDropDownSelect(this.sortItem);
+		this.sort.addSelectionListener(new UISelectionListener() {
+			public void onSelect(UISelectionEvent event) {
+				Integer sort = TGBrowserToolBar.this.sort.getSelectedValue();
+				if( sort != null ){
+					getBrowser().sort(sort);
+				}
+			}
+		});
 	}
 	
 	public void updateItems(){
@@ -104,6 +142,7 @@ public class TGBrowserToolBar extends TGBrowserBar{
 		this.root.setEnabled(!getBrowser().getConnection().isLocked() && getBrowser().getConnection().isOpen());
 		this.back.setEnabled(!getBrowser().getConnection().isLocked() && getBrowser().getConnection().isOpen());
 		this.refresh.setEnabled(!getBrowser().getConnection().isLocked() && getBrowser().getConnection().isOpen());
+		this.search.setEnabled(getBrowser().getConnection().isSearchable());
 	}
 	
 	public void updateCollections(TGBrowserCollection selection){
@@ -141,6 +180,24 @@ public class TGBrowserToolBar extends TGBrowserBar{
 		this.back.setToolTipText(TuxGuitar.getProperty("browser.go-back"));
 		this.refresh.setToolTipText(TuxGuitar.getProperty("browser.refresh"));
 		this.updateCollections(getBrowser().getCollection());
+		this.updateSort();
+	}
+	
+	public void updateSort(){
+		this.sort.setIgnoreEvents(true);
+		this.sort.removeItems();
+		this.sort.addItem(new UISelectItem<Integer>(TuxGuitar.getProperty("browser.sort.name"), TGBrowserSongComparator.SORT_NAME));
+		this.sort.addItem(new UISelectItem<Integer>(TuxGuitar.getProperty("browser.sort.title"), TGBrowserSongComparator.SORT_TITLE));
+		this.sort.addItem(new UISelectItem<Integer>(TuxGuitar.getProperty("browser.sort.artist"), TGBrowserSongComparator.SORT_ARTIST));
+		this.sort.addItem(new UISelectItem<Integer>(TuxGuitar.getProperty("browser.sort.album"), TGBrowserSongComparator.SORT_ALBUM));
+		this.sort.setSelectedValue(getBrowser().getSort());
+		this.sort.setIgnoreEvents(false);
+	}
+	
+	public void clearSearch(){
+		this.ignoreSearchEvents = true;
+		this.search.setText("");
+		this.ignoreSearchEvents = false;
 	}
 	
 	public void updateCollection() {
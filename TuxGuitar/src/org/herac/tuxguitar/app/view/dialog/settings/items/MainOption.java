@@ -32,6 +32,8 @@ public class MainOption extends TGSettingsOption {
 	private boolean initialized;
 	private UICheckBox showSplash;
 	private UICheckBox autoSizeTable;
+	private UICheckBox showDocumentMemory;
+	private UICheckBox unloadInactiveDocuments;
 	private UITextField windowTitle;
 	
 	public MainOption(TGSettingsEditor configEditor, UIToolBar toolBar, UILayoutContainer parent){
@@ -94,6 +96,14 @@ public class MainOption extends TGSettingsOption {
 		this.showSplash.setText(TuxGuitar.getProperty("settings.config.main.splash-enabled"));
 		optionsLayout.set(this.showSplash, 2, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true);
 		
+		this.showDocumentMemory = uiFactory.createCheckBox(options);
+		this.showDocumentMemory.setText(TuxGuitar.getProperty("settings.config.main.document.show-memory"));
+		optionsLayout.set(this.showDocumentMemory, 3, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true);
+		
+		this.unloadInactiveDocuments = uiFactory.createCheckBox(options);
+		this.unloadInactiveDocuments.setText(TuxGuitar.getProperty("settings.config.main.document.unload-inactive"));
+		optionsLayout.set(this.unloadInactiveDocuments, 4, 1, UITableLayout.ALIGN_FILL, UITableLayout.ALIGN_FILL, true, true);
+		
 		this.loadConfig();
 	}
 	
@@ -103,12 +113,16 @@ public class MainOption extends TGSettingsOption {
 				final String windowTitle = getConfig().getStringValue(TGConfigKeys.WINDOW_TITLE);
 				final boolean showSplash = getConfig().getBooleanValue(TGConfigKeys.SHOW_SPLASH);
 				final boolean autoSizeTable = getConfig().getBooleanValue(TGConfigKeys.TABLE_AUTO_SIZE);
+				final boolean showDocumentMemory = getConfig().getBooleanValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY);
+				final boolean unloadInactiveDocuments = getConfig().getBooleanValue(TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE);
 				TGSynchronizer.getInstance(getViewContext().getContext()).executeLater(new Runnable() {
 					public void run() {
 						if(!isDisposed()){
 							MainOption.this.windowTitle.setText(windowTitle);
 							MainOption.this.showSplash.setSelected(showSplash);
 							MainOption.this.autoSizeTable.setSelected(autoSizeTable);
+							MainOption.this.showDocumentMemory.setSelected(showDocumentMemory);
+							MainOption.this.unloadInactiveDocuments.setSelected(unloadInactiveDocuments);
 							MainOption.this.initialized = true;
 							MainOption.this.pack();
 						}
@@ -123,6 +137,8 @@ public class MainOption extends TGSettingsOption {
 			getConfig().setValue(TGConfigKeys.WINDOW_TITLE,this.windowTitle.getText());
 			getConfig().setValue(TGConfigKeys.SHOW_SPLASH,this.showSplash.isSelected());
 			getConfig().setValue(TGConfigKeys.TABLE_AUTO_SIZE,this.autoSizeTable.isSelected());
+			getConfig().setValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY,this.showDocumentMemory.isSelected());
+			getConfig().setValue(TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE,this.unloadInactiveDocuments.isSelected());
 		}
 	}
 	
@@ -131,6 +147,8 @@ public class MainOption extends TGSettingsOption {
 			getConfig().setValue(TGConfigKeys.WINDOW_TITLE, getDefaults().getValue(TGConfigKeys.WINDOW_TITLE));
 			getConfig().setValue(TGConfigKeys.SHOW_SPLASH, getDefaults().getValue(TGConfigKeys.SHOW_SPLASH));
 			getConfig().setValue(TGConfigKeys.TABLE_AUTO_SIZE, getDefaults().getValue(TGConfigKeys.TABLE_AUTO_SIZE));
+			getConfig().setValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY, getDefaults().getValue(TGConfigKeys.DOCUMENT_SHOW_MEMORY));
+			getConfig().setValue(TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE, getDefaults().getValue(TGConfigKeys.DOCUMENT_UNLOAD_INACTIVE));
 		}
 	}
 	
@@ -1,7 +1,9 @@
 package org.herac.tuxguitar.app.view.main;
 
+import org.herac.tuxguitar.app.TuxGuitar;
 import org.herac.tuxguitar.app.action.TGActionProcessorListener;
 import org.herac.tuxguitar.app.action.impl.system.TGDisposeAction;
+import org.herac.tuxguitar.app.document.TGDocumentListManager;
 import org.herac.tuxguitar.app.system.config.TGConfigKeys;
 import org.herac.tuxguitar.app.system.config.TGConfigManager;
 import org.herac.tuxguitar.app.system.icons.TGSkinEvent;
@@ -163,8 +165,18 @@ public class TGWindow implements TGEventListener {
 		if(!this.isDisposed()) {
 			String titleLayout = TGConfigManager.getInstance(this.context).getStringValue(TGConfigKeys.WINDOW_TITLE);
 			String title = TGExpressionResolver.getInstance(this.context).resolve(titleLayout);
+			if( title == null ) {
+				title = TGApplication.NAME;
+			}
+			
+			TGDocumentListManager tgDocumentListManager = TGDocumentListManager.getInstance(this.context);
+			if( tgDocumentListManager.getLoadCount() > 0 ) {
+				String loaded = Integer.toString(tgDocumentListManager.getLoadedCount());
+				String count = Integer.toString(tgDocumentListManager.getLoadCount());
+				title += (" - " + TuxGuitar.getProperty("file.open-folder.progress", new String[] {loaded, count}));
+			}
 			
-			this.window.setText(title != null ? title : TGApplication.NAME);
+			this.window.setText(title);
 		}
 	}
 	
@@ -16,6 +16,7 @@ import org.herac.tuxguitar.app.action.impl.file.TGExitAction;
 import org.herac.tuxguitar.app.action.impl.file.TGExportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGImportSongAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenFileAction;
+import org.herac.tuxguitar.app.action.impl.file.TGOpenFolderAction;
 import org.herac.tuxguitar.app.action.impl.file.TGOpenURLAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintAction;
 import org.herac.tuxguitar.app.action.impl.file.TGPrintPreviewAction;
@@ -45,6 +46,7 @@ public class FileMenuItem extends TGMenuItem {
 	private UIMenuActionItem newSongDefault;
 	private UIMenuActionItem open;
 	private UIMenuActionItem openURL;
+	private UIMenuActionItem openFolder;
 	private UIMenuActionItem save;
 	private UIMenuActionItem saveAs;
 	private UIMenuActionItem close;
@@ -86,6 +88,9 @@ public class FileMenuItem extends TGMenuItem {
 		//--OPEN--
 		this.openURL = this.fileMenuItem.getMenu().createActionItem();
 		this.openURL.addSelectionListener(this.createActionProcessor(TGOpenURLAction.NAME));
+		//--OPEN FOLDER--
+		this.openFolder = this.fileMenuItem.getMenu().createActionItem();
+		this.openFolder.addSelectionListener(this.createActionProcessor(TGOpenFolderAction.NAME));
 		//--SEPARATOR--
 		this.fileMenuItem.getMenu().createSeparator();
 		//--CLOSE--
@@ -304,6 +309,7 @@ public class FileMenuItem extends TGMenuItem {
 		setMenuItemTextAndAccelerator(this.newSongDefault, "file.new-song.default-template", TGLoadTemplateAction.NAME);
 		setMenuItemTextAndAccelerator(this.open, "file.open", TGOpenFileAction.NAME);
 		setMenuItemTextAndAccelerator(this.openURL, "file.open-url", TGOpenURLAction.NAME);
+		setMenuItemTextAndAccelerator(this.openFolder, "file.open-folder", TGOpenFolderAction.NAME);
 		setMenuItemTextAndAccelerator(this.close, "file.close", TGCloseCurrentDocumentAction.NAME);
 		setMenuItemTextAndAccelerator(this.closeOthers, "file.close-others", TGCloseOtherDocumentsAction.NAME);
 		setMenuItemTextAndAccelerator(this.closeAll, "file.close-all", TGCloseAllDocumentsAction.NAME);
@@ -1,6 +1,7 @@
 package org.herac.tuxguitar.app.view.util;
 
 import org.herac.tuxguitar.editor.TGEditorManager;
+import org.herac.tuxguitar.editor.TGRedrawScheduler;
 import org.herac.tuxguitar.util.TGContext;
 import org.herac.tuxguitar.util.TGException;
 import org.herac.tuxguitar.util.TGLock;
@@ -11,23 +12,47 @@ public class TGSyncProcessLocked implements TGProcess {
 	private TGContext context;
 	private Runnable runnable;
 	private boolean pending;
+	private long frame;
 	
 	public TGSyncProcessLocked(TGContext context, Runnable runnable) {
 		this.context = context;
 		this.runnable = runnable;
 		this.pending = false;
+		this.frame = TGRedrawScheduler.NO_FRAME;
 	}
 	
 	public void process() {
-		if(!this.pending) {
-			this.pending = true;
+		// playback redraw frames end once the paints requested while dispatching them are done.
+		long frame = findRedrawScheduler().attachPaint();
+		boolean processLater = false;
+		synchronized (this) {
+			if( frame != TGRedrawScheduler.NO_FRAME ) {
+				this.frame = frame;
+			}
+			if(!this.pending) {
+				this.pending = true;
+				processLater = true;
+			}
+		}
+		if( processLater ) {
 			this.processLaterLocked();
 		}
 	}
 	
 	private void processRunnable() {
-		this.pending = false;
-		this.runnable.run();
+		long frame = TGRedrawScheduler.NO_FRAME;
+		synchronized (this) {
+			this.pending = false;
+			frame = this.frame;
+			this.frame = TGRedrawScheduler.NO_FRAME;
+		}
+		try {
+			this.runnable.run();
+		} finally {
+			if( frame != TGRedrawScheduler.NO_FRAME ) {
+				findRedrawScheduler().detachPaint(frame);
+			}
+		}
 	}
 	
 	private void processLaterLocked() throws TGException {
@@ -50,4 +75,8 @@ public class TGSyncProcessLocked implements TGProcess {
 	private TGLock findLockControl() {
 		return TGEditorManager.getInstance(TGSyncProcessLocked.this.context).getLockControl();
 	}
+	
+	private TGRedrawScheduler findRedrawScheduler() {
+		return TGEditorManager.getInstance(this.context).getRedrawScheduler();
+	}
 }